@@ -0,0 +1,60 @@
+package com.crowdfunding.tecendoarte.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leitura das próprias escritas: depois que um usuário altera algo, as leituras dele vão para o
+ * primário durante um prazo maior que o atraso aceito nas réplicas, para que ele não deixe de ver a
+ * própria alteração. Os demais usuários continuam lendo das réplicas.
+ */
+public class AderenciaPrimario {
+
+    private final long duracaoMillis;
+
+    // usuário (Authentication.getName) -> instante até o qual as leituras dele ficam no primário
+    private final ConcurrentHashMap<String, Long> ate = new ConcurrentHashMap<>();
+
+    public AderenciaPrimario(long duracaoMillis) {
+        this.duracaoMillis = duracaoMillis;
+    }
+
+    public void registrarEscrita(String usuario) {
+        ate.put(usuario, System.currentTimeMillis() + duracaoMillis);
+    }
+
+    public boolean ativa(String usuario) {
+        Long limite = ate.get(usuario);
+        if (limite == null) {
+            return false;
+        }
+        if (limite < System.currentTimeMillis()) {
+            ate.remove(usuario, limite);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean ativaParaUsuarioAtual() {
+        String usuario = usuarioAtual();
+        return usuario != null && ativa(usuario);
+    }
+
+    /** Remove os prazos vencidos de usuários que não voltaram a ler. */
+    public void descartarExpiradas() {
+        long agora = System.currentTimeMillis();
+        ate.values().removeIf(limite -> limite < agora);
+    }
+
+    static String usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
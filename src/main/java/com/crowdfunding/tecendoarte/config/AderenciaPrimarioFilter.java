@@ -0,0 +1,42 @@
+package com.crowdfunding.tecendoarte.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Marca o usuário autenticado em AderenciaPrimario a cada requisição que altera dados. A marca é
+ * feita no início, para as leituras da própria requisição, e renovada no fim, já que algumas
+ * escritas (como as doações) terminam depois de a requisição chegar ao service.
+ */
+public class AderenciaPrimarioFilter extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_DE_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final AderenciaPrimario aderencia;
+
+    public AderenciaPrimarioFilter(AderenciaPrimario aderencia) {
+        this.aderencia = aderencia;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String usuario = METODOS_DE_LEITURA.contains(request.getMethod()) ? null : AderenciaPrimario.usuarioAtual();
+        if (usuario == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        aderencia.registrarEscrita(usuario);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            aderencia.registrarEscrita(usuario);
+        }
+    }
+}
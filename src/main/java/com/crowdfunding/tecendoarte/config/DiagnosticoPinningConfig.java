@@ -0,0 +1,72 @@
+package com.crowdfunding.tecendoarte.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Com threads virtuais, uma thread que bloqueia (banco, disco, rede) dentro de um bloco synchronized
+ * fica presa à thread portadora e ocupa um dos poucos núcleos do escalonador. Aqui o evento
+ * jdk.VirtualThreadPinned do JFR é acompanhado em memória e cada ocorrência acima do limite vai para
+ * o log com o topo da pilha, para achar o trecho — nosso ou de biblioteca — que deve trocar
+ * synchronized por ReentrantLock.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class DiagnosticoPinningConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoPinningConfig.class);
+
+    private static final String EVENTO_PINNING = "jdk.VirtualThreadPinned";
+    private static final int QUADROS_NO_LOG = 8;
+
+    @Value("${app.threads.virtual.pinning-limite-ms:20}")
+    private long limiteMillis;
+
+    private RecordingStream gravacao;
+
+    @PostConstruct
+    void iniciar() {
+        if (limiteMillis <= 0) {
+            return;
+        }
+        try {
+            gravacao = new RecordingStream();
+            gravacao.enable(EVENTO_PINNING).withThreshold(Duration.ofMillis(limiteMillis)).withStackTrace();
+            gravacao.onEvent(EVENTO_PINNING, this::registrar);
+            gravacao.startAsync();
+        } catch (RuntimeException e) {
+            // JVM sem JFR disponível: a aplicação segue, só sem o diagnóstico
+            log.warn("Diagnóstico de pinning de threads virtuais indisponível", e);
+            gravacao = null;
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<RecordedFrame> quadros = evento.getStackTrace() == null ? List.of() : evento.getStackTrace().getFrames();
+        String pilha = quadros.stream()
+                .limit(QUADROS_NO_LOG)
+                .map(quadro -> quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                        + ":" + quadro.getLineNumber())
+                .collect(Collectors.joining("\n    at "));
+        log.warn("Thread virtual presa à portadora por {} ms\n    at {}", evento.getDuration().toMillis(), pilha);
+    }
+}
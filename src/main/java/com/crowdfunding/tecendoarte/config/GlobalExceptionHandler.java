@@ -1,8 +1,11 @@
 package com.crowdfunding.tecendoarte.config;
 
+import com.crowdfunding.tecendoarte.services.interfaces.DoacaoServiceInterface.DoacaoNaoConfirmadaException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -11,6 +14,7 @@ import org.springframework.validation.FieldError;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -68,6 +72,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLocking(ObjectOptimisticLockingFailureException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", "Registro alterado por outra operação. Recarregue e tente novamente.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // Pode já ter sido gravada: 202 sem Retry-After, o cliente consulta pela chave em vez de repetir
+    @ExceptionHandler(DoacaoNaoConfirmadaException.class)
+    public ResponseEntity<Map<String, Object>> handleDoacaoNaoConfirmada(DoacaoNaoConfirmadaException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.ACCEPTED.value());
+        body.put("message", ex.getMessage());
+        body.put("chaveIdempotencia", ex.getChaveIdempotencia());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, Object>> handleRejectedExecution(RejectedExecutionException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         ex.printStackTrace();
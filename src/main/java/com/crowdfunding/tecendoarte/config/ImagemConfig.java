@@ -0,0 +1,37 @@
+package com.crowdfunding.tecendoarte.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImagemConfig {
+
+    @Value("${app.imagens.renditions.threads:0}")
+    private int threads;
+
+    @Value("${app.imagens.renditions.fila:64}")
+    private int capacidadeFila;
+
+    /**
+     * Pool limitado para gerar renditions. Com a fila cheia a tarefa é rejeitada e quem agendou
+     * decide: o upload gera na própria thread (backpressure), a leitura pública desiste e entrega
+     * o original, sem gastar CPU da requisição (ver RenditionImagemService).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imagemRenditionExecutor() {
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanhoPool);
+        executor.setMaxPoolSize(tamanhoPool);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("imagem-rendition-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -1,6 +1,5 @@
 package com.crowdfunding.tecendoarte.config;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,14 +14,17 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final UsuarioAutenticadoResolver usuarioAutenticadoResolver;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UsuarioAutenticadoResolver usuarioAutenticadoResolver) {
         this.jwtUtil = jwtUtil;
+        this.usuarioAutenticadoResolver = usuarioAutenticadoResolver;
     }
 
     @Override
@@ -32,20 +34,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtil.isTokenValid(token)) {
-                Claims claims = jwtUtil.parseAllClaims(token);
-                String role = claims.get("role", String.class);
-                
-                if (role != null) {
-                    String email = claims.getSubject();
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            email,
-                            null,
-                            List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                    );
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+            Optional<UsuarioAutenticado> usuario = jwtUtil.parseValidClaims(token)
+                    .flatMap(usuarioAutenticadoResolver::resolver);
+            if (usuario.isPresent()) {
+                UsuarioAutenticado autenticado = usuario.get();
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        autenticado,
+                        null,
+                        List.of(new SimpleGrantedAuthority("ROLE_" + autenticado.role()))
+                );
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
 
@@ -1,8 +1,15 @@
 package com.crowdfunding.tecendoarte.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -11,19 +18,45 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
 
     private final SecretKey secretKey;
     private final long expirationSeconds;
+    private final JwtParser parser;
+
+    // Claims já verificados, indexados pelo próprio token; cada entrada vale até o exp do token
+    private final ConcurrentHashMap<String, ClaimsVerificados> cache = new ConcurrentHashMap<>();
+    private final int cacheMaxEntries;
+    // Tokens na ordem de entrada no cache. Como todos têm a mesma validade, é também a ordem de expiração:
+    // o descarte olha só o início da fila, sem varrer o mapa
+    private final ConcurrentLinkedQueue<String> ordemEntrada = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock descarte = new ReentrantLock();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder verificacoes = new LongAdder();
+    private final LongAdder tempoVerificacaoNanos = new LongAdder();
 
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-seconds:3600}") long expirationSeconds
+            @Value("${jwt.expiration-seconds:3600}") long expirationSeconds,
+            @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationSeconds = expirationSeconds;
+        this.cacheMaxEntries = cacheMaxEntries;
+        // JwtParser é imutável e thread-safe, então pode ser compartilhado entre requisições
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     public String generateTokenForAdmin(Long adminId, String email) {
@@ -40,7 +73,7 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String generateTokenForArtista(Long artistaId, String email) {
+    public String generateTokenForArtista(Long artistaId, Long contaId, String email) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .subject(email)
@@ -48,13 +81,14 @@ public class JwtUtil {
                 .expiration(Date.from(now.plusSeconds(expirationSeconds)))
                 .claims(Map.of(
                         "arid", artistaId,
+                        "cid", contaId,
                         "role", "ARTISTA"
                 ))
                 .signWith(secretKey)
                 .compact();
     }
 
-    public String generateTokenForUsuario(Long usuarioId, String email) {
+    public String generateTokenForUsuario(Long usuarioId, Long contaId, String email) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .subject(email)
@@ -62,6 +96,7 @@ public class JwtUtil {
                 .expiration(Date.from(now.plusSeconds(expirationSeconds)))
                 .claims(Map.of(
                         "uid", usuarioId,
+                        "cid", contaId,
                         "role", "USUARIO"
                 ))
                 .signWith(secretKey)
@@ -69,20 +104,104 @@ public class JwtUtil {
     }
 
     public boolean isTokenValid(String token) {
+        return parseValidClaims(token).isPresent();
+    }
+
+    /**
+     * Verifica o token uma única vez e devolve seus claims, ou vazio se o token for inválido ou expirado.
+     * Tokens já verificados são servidos do cache até o seu exp, sem refazer a verificação HMAC.
+     */
+    public Optional<Claims> parseValidClaims(String token) {
+        long agora = System.currentTimeMillis();
+
+        ClaimsVerificados emCache = cache.get(token);
+        if (emCache != null) {
+            if (emCache.expiraEmMillis() > agora) {
+                cacheHits.increment();
+                return Optional.of(emCache.claims());
+            }
+            cache.remove(token, emCache);
+        }
+        cacheMisses.increment();
+
+        Claims claims;
+        long inicio = System.nanoTime();
         try {
-            Claims claims = parseAllClaims(token);
-            Date expiration = claims.getExpiration();
-            return expiration != null && expiration.after(new Date());
-        } catch (Exception e) {
-            return false;
+            claims = parseAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        } finally {
+            verificacoes.increment();
+            tempoVerificacaoNanos.add(System.nanoTime() - inicio);
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration == null || !expiration.after(new Date(agora))) {
+            return Optional.empty();
         }
+
+        armazenarEmCache(token, new ClaimsVerificados(claims, expiration.getTime()));
+        return Optional.of(claims);
     }
 
     public Claims parseAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private void armazenarEmCache(String token, ClaimsVerificados claims) {
+        if (cache.putIfAbsent(token, claims) != null) {
+            return;
+        }
+        ordemEntrada.add(token);
+        descarte.lock();
+        try {
+            long agora = System.currentTimeMillis();
+            String maisAntigo;
+            while ((maisAntigo = ordemEntrada.peek()) != null) {
+                ClaimsVerificados entrada = cache.get(maisAntigo);
+                // já removido ao expirar em parseValidClaims, expirado ou excedente: sai da fila e do cache
+                boolean descartar = entrada == null || entrada.expiraEmMillis() <= agora || cache.size() > cacheMaxEntries;
+                if (!descartar) {
+                    break;
+                }
+                ordemEntrada.poll();
+                if (entrada != null) {
+                    cache.remove(maisAntigo, entrada);
+                }
+            }
+        } finally {
+            descarte.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.cache.hits", cacheHits, LongAdder::doubleValue)
+                .description("Tokens atendidos pelo cache de claims")
+                .register(registry);
+        FunctionCounter.builder("jwt.cache.misses", cacheMisses, LongAdder::doubleValue)
+                .description("Tokens que precisaram de verificação de assinatura")
+                .register(registry);
+        Gauge.builder("jwt.cache.hit.ratio", this, JwtUtil::taxaDeAcerto)
+                .description("Proporção de requisições atendidas pelo cache de claims")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", cache, Map::size)
+                .description("Quantidade de tokens no cache de claims")
+                .register(registry);
+        FunctionTimer.builder("jwt.verification", this,
+                        jwtUtil -> jwtUtil.verificacoes.sum(),
+                        jwtUtil -> jwtUtil.tempoVerificacaoNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Tempo gasto verificando assinaturas de tokens")
+                .register(registry);
+    }
+
+    private double taxaDeAcerto() {
+        long hits = cacheHits.sum();
+        long total = hits + cacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private record ClaimsVerificados(Claims claims, long expiraEmMillis) {
     }
 }
@@ -0,0 +1,106 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Alarme de saturação dos pools Hikari. As métricas do próprio pool (hikaricp.connections.active,
+ * idle, pending, timeout e os tempos de acquire e usage) já são publicadas pelo Spring Boot; aqui
+ * uma amostra periódica marca o pool como saturado quando há threads esperando conexão ou a
+ * ocupação passa do limite por algumas amostras seguidas. Isso acontece antes do
+ * connection-timeout, quando as requisições começariam a falhar.
+ */
+@Component
+public class MonitorPoolConexoes implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorPoolConexoes.class);
+
+    private final List<Pool> pools;
+    private final double limiteOcupacao;
+    private final int amostrasParaAlarme;
+
+    public MonitorPoolConexoes(Map<String, HikariDataSource> dataSources,
+                               ObjectProvider<RoteamentoDataSource> roteamento,
+                               @Value("${app.datasource.pool.alarme.ocupacao:0.9}") double limiteOcupacao,
+                               @Value("${app.datasource.pool.alarme.amostras:3}") int amostrasParaAlarme) {
+        // identificados pelo nome do bean: o nome do pool Hikari só é gerado quando ele inicia
+        Map<String, HikariDataSource> todos = new LinkedHashMap<>(dataSources);
+        // as réplicas não são beans e vêm do roteamento, quando ele está ativo
+        roteamento.ifAvailable(r -> todos.putAll(r.replicas()));
+        this.pools = todos.entrySet().stream().map(e -> new Pool(e.getKey(), e.getValue())).toList();
+        this.limiteOcupacao = limiteOcupacao;
+        this.amostrasParaAlarme = Math.max(1, amostrasParaAlarme);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Pool pool : pools) {
+            Gauge.builder("datasource.pool.saturated", pool, p -> p.alarmado ? 1 : 0)
+                    .tag("pool", pool.nome)
+                    .description("1 enquanto o alarme de saturação do pool estiver ativo")
+                    .register(registry);
+            FunctionCounter.builder("datasource.pool.saturation.alarms", pool.alarmes, LongAdder::doubleValue)
+                    .tag("pool", pool.nome)
+                    .description("Vezes que o pool entrou em saturação")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.pool.alarme.intervalo-ms:1000}")
+    public void amostrar() {
+        pools.forEach(this::amostrar);
+    }
+
+    // só chamado pela tarefa agendada, que não se sobrepõe
+    private void amostrar(Pool pool) {
+        HikariPoolMXBean estado = pool.dataSource.getHikariPoolMXBean();
+        if (estado == null) {
+            // o Hikari só cria o pool na primeira conexão
+            return;
+        }
+        int ativas = estado.getActiveConnections();
+        int aguardando = estado.getThreadsAwaitingConnection();
+        int maximo = pool.dataSource.getMaximumPoolSize();
+        boolean saturado = aguardando > 0 || ativas >= limiteOcupacao * maximo;
+
+        pool.amostrasSaturadas = saturado ? pool.amostrasSaturadas + 1 : 0;
+        if (!pool.alarmado && pool.amostrasSaturadas >= amostrasParaAlarme) {
+            pool.alarmado = true;
+            pool.alarmes.increment();
+            log.warn("Pool de conexões {} saturado: {} de {} conexões em uso e {} threads aguardando",
+                    pool.nome, ativas, maximo, aguardando);
+        } else if (pool.alarmado && !saturado) {
+            pool.alarmado = false;
+            log.info("Pool de conexões {} normalizado: {} de {} conexões em uso",
+                    pool.nome, ativas, maximo);
+        }
+    }
+
+    private static final class Pool {
+        final String nome;
+        final HikariDataSource dataSource;
+        final LongAdder alarmes = new LongAdder();
+        int amostrasSaturadas;
+        volatile boolean alarmado;
+
+        Pool(String nome, HikariDataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.crowdfunding.tecendoarte.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa encode/matches no pool de hash de senhas. A thread da requisição espera o resultado,
+ * mas o número de hashes simultâneos fica limitado ao tamanho do pool e o excesso é rejeitado.
+ */
+public class PasswordEncoderComExecutor implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final AsyncTaskExecutor executor;
+    private final long timeoutMillis;
+
+    public PasswordEncoderComExecutor(PasswordEncoder delegate, AsyncTaskExecutor executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // só inspeciona o prefixo/custo do hash, não precisa ir para o pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw new RejectedExecutionException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.", e);
+        }
+        try {
+            return futuro.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new RejectedExecutionException("Serviço de autenticação sobrecarregado. Tente novamente em instantes.", e);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Verificação de senha interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class PoolConexoesConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolConexoesConfig.class);
+
+    /**
+     * Com app.datasource.pool.dimensionar=true, cada pool Hikari fica com tamanho fixo de
+     * (núcleos × 2) + 1 conexões, a fórmula usada pelo PostgreSQL para um disco: além disso as
+     * conexões só disputam CPU e disco do banco. Núcleos são os do banco quando informados em
+     * app.datasource.pool.nucleos, senão os desta máquina. Um tamanho explícito em
+     * spring.datasource.hikari.maximum-pool-size sempre prevalece.
+     *
+     * Roda depois do binding das propriedades spring.datasource.hikari e antes da primeira conexão,
+     * que é quando o Hikari passa a recusar mudanças de tamanho.
+     */
+    @Bean
+    static BeanPostProcessor dimensionamentoPoolConexoes(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && environment.getProperty("app.datasource.pool.dimensionar", Boolean.class, false)
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int nucleos = environment.getProperty("app.datasource.pool.nucleos", Integer.class, 0);
+                    int tamanho = (nucleos > 0 ? nucleos : Runtime.getRuntime().availableProcessors()) * 2 + 1;
+                    dataSource.setMaximumPoolSize(tamanho);
+                    dataSource.setMinimumIdle(tamanho);
+                    log.info("Pool de conexões {} dimensionado com {} conexões", beanName, tamanho);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Com app.datasource.replicas.habilitado=true, o DataSource da aplicação passa a ser o
+ * RoteamentoDataSource: o primário continua vindo de spring.datasource e cada URL de
+ * app.datasource.replicas.urls vira um pool Hikari só de leitura, com o mesmo dimensionamento.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    public AderenciaPrimario aderenciaPrimario(@Value("${app.datasource.replicas.aderencia-ms:5000}") long aderenciaMillis) {
+        return new AderenciaPrimario(aderenciaMillis);
+    }
+
+    @Bean
+    public AderenciaPrimarioFilter aderenciaPrimarioFilter(AderenciaPrimario aderenciaPrimario) {
+        return new AderenciaPrimarioFilter(aderenciaPrimario);
+    }
+
+    @Bean
+    public RoteamentoDataSource roteamentoDataSource(
+            HikariDataSource primarioDataSource,
+            AderenciaPrimario aderenciaPrimario,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.usuario:${spring.datasource.username:}}") String usuario,
+            @Value("${app.datasource.replicas.senha:${spring.datasource.password:}}") String senha,
+            @Value("${app.datasource.replicas.consulta-atraso}") String consultaAtraso,
+            @Value("${app.datasource.replicas.atraso-maximo-ms:2000}") long atrasoMaximoMillis) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("app.datasource.replicas.urls deve ter ao menos uma réplica.");
+        }
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(usuario);
+            replica.setPassword(senha);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(primarioDataSource.getMaximumPoolSize());
+            replica.setMinimumIdle(primarioDataSource.getMinimumIdle());
+            replica.setConnectionTimeout(primarioDataSource.getConnectionTimeout());
+            replica.setLeakDetectionThreshold(primarioDataSource.getLeakDetectionThreshold());
+            replica.setMaxLifetime(primarioDataSource.getMaxLifetime());
+            replica.setDataSourceProperties(primarioDataSource.getDataSourceProperties());
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new RoteamentoDataSource(primarioDataSource, replicas, aderenciaPrimario, consultaAtraso, atrasoMaximoMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoDataSource roteamentoDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoDataSource);
+    }
+}
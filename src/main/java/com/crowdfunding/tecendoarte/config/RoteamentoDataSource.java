@@ -0,0 +1,144 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia as transações readOnly para as réplicas, em rodízio, e todo o resto para o primário. Uma
+ * réplica só recebe leituras enquanto o atraso medido na última verificação estiver dentro do
+ * limite; sem réplica disponível, ou com a aderência ao primário ativa para o usuário atual, a
+ * leitura vai para o primário.
+ *
+ * A escolha depende do flag readOnly da transação, que o Spring só define depois de pedir a
+ * conexão; por isso este DataSource deve ficar atrás de um LazyConnectionDataSourceProxy, que só
+ * pega a conexão no primeiro comando.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteamentoDataSource.class);
+
+    static final String PRIMARIO = "primario";
+
+    private final List<Replica> replicas;
+    private final AderenciaPrimario aderencia;
+    private final String consultaAtraso;
+    private final long atrasoMaximoMillis;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteamentoDataSource(DataSource primario, Map<String, HikariDataSource> replicas,
+                                AderenciaPrimario aderencia, String consultaAtraso, long atrasoMaximoMillis) {
+        Map<Object, Object> destinos = new HashMap<>(replicas);
+        destinos.put(PRIMARIO, primario);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primario);
+        this.replicas = replicas.entrySet().stream().map(e -> new Replica(e.getKey(), e.getValue())).toList();
+        this.aderencia = aderencia;
+        this.consultaAtraso = consultaAtraso;
+        this.atrasoMaximoMillis = atrasoMaximoMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        // até a primeira verificação as réplicas ficam fora do rodízio
+        verificarReplicas();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || aderencia.ativaParaUsuarioAtual()) {
+            return PRIMARIO;
+        }
+        int quantidade = replicas.size();
+        int inicio = Math.floorMod(proxima.getAndIncrement(), quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Replica replica = replicas.get((inicio + i) % quantidade);
+            if (replica.disponivel) {
+                return replica.nome;
+            }
+        }
+        return PRIMARIO;
+    }
+
+    /**
+     * Mede o atraso de cada réplica com a consulta configurada, que devolve milissegundos. Réplica
+     * atrasada demais ou inacessível sai do rodízio até a próxima verificação dentro do limite.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.intervalo-verificacao-ms:1000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean disponivel;
+            try (Connection conexao = replica.dataSource.getConnection();
+                 Statement comando = conexao.createStatement();
+                 ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                replica.atrasoMillis = resultado.next() ? Math.round(resultado.getDouble(1)) : 0;
+                disponivel = replica.atrasoMillis <= atrasoMaximoMillis;
+                if (!disponivel && replica.disponivel) {
+                    log.warn("Réplica {} fora do rodízio: atraso de {} ms", replica.nome, replica.atrasoMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                disponivel = false;
+                replica.atrasoMillis = -1;
+                if (replica.disponivel) {
+                    log.warn("Réplica {} fora do rodízio: falha ao medir o atraso", replica.nome, e);
+                }
+            }
+            if (disponivel && !replica.disponivel) {
+                log.info("Réplica {} no rodízio: atraso de {} ms", replica.nome, replica.atrasoMillis);
+            }
+            replica.disponivel = disponivel;
+        }
+        aderencia.descartarExpiradas();
+    }
+
+    public Map<String, HikariDataSource> replicas() {
+        Map<String, HikariDataSource> pools = new HashMap<>();
+        replicas.forEach(replica -> pools.put(replica.nome, replica.dataSource));
+        return pools;
+    }
+
+    /** Fecha os pools das réplicas, que não são beans; o primário é fechado pelo próprio Spring. */
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.atrasoMillis)
+                    .tag("replica", replica.nome)
+                    .description("Atraso da réplica na última verificação, em ms; -1 quando inacessível")
+                    .register(registry);
+        }
+    }
+
+    private static final class Replica {
+        final String nome;
+        final HikariDataSource dataSource;
+        // escritos só pela verificação agendada e lidos por qualquer requisição
+        volatile boolean disponivel;
+        volatile long atrasoMillis;
+
+        Replica(String nome, HikariDataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+    }
+}
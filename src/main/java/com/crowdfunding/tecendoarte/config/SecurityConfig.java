@@ -1,14 +1,28 @@
 package com.crowdfunding.tecendoarte.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.ObjectPostProcessor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.DelegatingRequestMatcherHeaderWriter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 @EnableMethodSecurity
@@ -20,22 +34,66 @@ public class SecurityConfig {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
 
+    /**
+     * Health e Prometheus sem JWT, mas só na porta de gerenciamento (management.server.port) e a partir
+     * das redes em app.gerenciamento.redes-permitidas. Sem porta de gerenciamento configurada esta cadeia
+     * não casa com nada e o actuator segue a regra geral, que exige autenticação.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(1)
+    public SecurityFilterChain gerenciamentoFilterChain(
+            HttpSecurity http,
+            @Value("${management.server.port:-1}") int portaGerenciamento,
+            @Value("${app.gerenciamento.redes-permitidas:127.0.0.1/32,::1/128}") String redesPermitidas) throws Exception {
+        List<IpAddressMatcher> redes = Arrays.stream(redesPermitidas.split(","))
+                .map(String::trim)
+                .filter(rede -> !rede.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        http
+            .securityMatcher(new AndRequestMatcher(
+                    request -> portaGerenciamento > 0 && request.getLocalPort() == portaGerenciamento,
+                    EndpointRequest.to("health", "prometheus")))
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .authorizeHttpRequests(auth -> auth
+                .anyRequest().access((autenticacao, contexto) -> new AuthorizationDecision(
+                        redes.stream().anyMatch(rede -> rede.matches(contexto.getRequest()))))
+            );
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Respostas em streaming (imagens) são escritas por outra thread; com os cabeçalhos de segurança
+            // gravados antes do controller, o commit da resposta não disputa o mapa de cabeçalhos com a requisição.
+            // As imagens definem o próprio Cache-Control, então o no-cache padrão não se aplica a elas.
+            .headers(headers -> headers
+                .cacheControl(cache -> cache.disable())
+                .addHeaderWriter(new DelegatingRequestMatcherHeaderWriter(
+                        new NegatedRequestMatcher(PathPatternRequestMatcher.withDefaults().matcher("/imagens/**")),
+                        new CacheControlHeadersWriter()))
+                .addObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                    @Override
+                    public <O extends HeaderWriterFilter> O postProcess(O filter) {
+                        filter.setShouldWriteHeadersEagerly(true);
+                        return filter;
+                    }
+                }))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/contas", "/contas/**", "/public/**", "/api/admin/login", "/api/artistas/login", "/api/artistas").permitAll()
-                .requestMatchers("/api/artistas/buscar").hasAnyRole("ADMIN", "ARTISTA", "USUARIO")
+                .requestMatchers("/api/artistas/buscar", "/api/artistas/pesquisar").hasAnyRole("ADMIN", "ARTISTA", "USUARIO")
                 .requestMatchers("/api/admin/denuncias/**").hasRole("ADMIN")
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                .requestMatchers(HttpMethod.POST, "/projetos/*/doacoes").authenticated()
+                .requestMatchers(HttpMethod.GET, "/projetos/*/doacoes/*").authenticated()
+                .requestMatchers(HttpMethod.POST, "/projetos/busca/reconstruir").hasRole("ADMIN")
                 .requestMatchers("/projetos/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/imagens/**").permitAll()
                 .requestMatchers( "/usuarios/login").permitAll()
                 .anyRequest().authenticated()
             )
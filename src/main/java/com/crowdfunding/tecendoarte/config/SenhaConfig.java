@@ -0,0 +1,103 @@
+package com.crowdfunding.tecendoarte.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SenhaConfig {
+
+    @Value("${app.senhas.algoritmo:bcrypt}")
+    private String algoritmo;
+
+    @Value("${app.senhas.bcrypt.custo:10}")
+    private int custoBcrypt;
+
+    @Value("${app.senhas.argon2.memoria-kib:19456}")
+    private int memoriaArgon2;
+
+    @Value("${app.senhas.argon2.iteracoes:2}")
+    private int iteracoesArgon2;
+
+    @Value("${app.senhas.executor.threads:0}")
+    private int threads;
+
+    @Value("${app.senhas.executor.fila:100}")
+    private int capacidadeFila;
+
+    @Value("${app.senhas.executor.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    /**
+     * Pool dedicado ao hash de senhas, separado das threads do Tomcat. Com a fila cheia a tarefa
+     * é rejeitada na hora (RejectedExecutionException, respondida como 503) em vez de enfileirar
+     * logins que já passariam do tempo limite.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor hashSenhaExecutor() {
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(tamanhoPool);
+        executor.setMaxPoolSize(tamanhoPool);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("hash-senha-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Novos hashes usam o algoritmo configurado (prefixo {bcrypt} ou {argon2}). Hashes antigos,
+     * gravados sem prefixo, continuam sendo verificados como bcrypt e são regravados no próximo login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Qualifier("hashSenhaExecutor") ThreadPoolTaskExecutor hashSenhaExecutor) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custoBcrypt);
+        Argon2PasswordEncoder argon2 = new Argon2PasswordEncoder(16, 32, 1, memoriaArgon2, iteracoesArgon2);
+
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", argon2
+        );
+        if (!encoders.containsKey(algoritmo)) {
+            throw new IllegalArgumentException("Algoritmo de senha não suportado: " + algoritmo);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algoritmo, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new PasswordEncoderComExecutor(delegating, hashSenhaExecutor, Duration.ofMillis(timeoutMillis));
+    }
+
+    /**
+     * Substitui o open-in-view do Spring Boot (spring.jpa.open-in-view=false). Com o EntityManager
+     * aberto durante a requisição, a conexão pega na primeira consulta só é devolvida no fim dela;
+     * nas rotas que calculam hash de senha isso prenderia a conexão durante a espera pelo pool de hash.
+     */
+    @Bean
+    public WebMvcConfigurer entityManagerNaRequisicao(EntityManagerFactory entityManagerFactory) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor)
+                        .excludePathPatterns("/usuarios/login", "/api/artistas/login", "/api/admin/login",
+                                "/contas", "/contas/*");
+            }
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.crowdfunding.tecendoarte.config;
+
+import java.security.Principal;
+
+/**
+ * Principal resolvido a partir do JWT. Carrega os ids da conta autenticada para que os services
+ * não precisem consultar o banco só para descobrir quem está fazendo a requisição.
+ * Ids que não se aplicam ao papel ficam nulos (ex.: idArtista de um USUARIO).
+ */
+public record UsuarioAutenticado(
+        String email,
+        String role,
+        Long idConta,
+        Long idArtista,
+        Long idUsuario,
+        Long idAdmin
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,120 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Usuario;
+import com.crowdfunding.tecendoarte.repositories.AdministradorRepository;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monta o {@link UsuarioAutenticado} a partir dos claims do token. Quando o token já traz os ids
+ * (tokens emitidos pelo login atual), nenhuma consulta é feita. Tokens sem esses claims caem numa
+ * busca no banco cujo resultado fica em cache por alguns minutos, indexado por papel e email;
+ * o TTL limita por quanto tempo uma conta removida ainda é reconhecida por esse caminho.
+ */
+@Component
+public class UsuarioAutenticadoResolver {
+
+    private final ArtistaRepository artistaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final AdministradorRepository administradorRepository;
+
+    private final ConcurrentHashMap<String, Resolvido> cache = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int cacheMaxEntries;
+
+    public UsuarioAutenticadoResolver(
+            ArtistaRepository artistaRepository,
+            UsuarioRepository usuarioRepository,
+            AdministradorRepository administradorRepository,
+            @Value("${jwt.principal.cache-ttl-seconds:300}") long ttlSeconds,
+            @Value("${jwt.principal.cache-max-entries:10000}") int cacheMaxEntries
+    ) {
+        this.artistaRepository = artistaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.administradorRepository = administradorRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Optional<UsuarioAutenticado> resolver(Claims claims) {
+        String email = claims.getSubject();
+        String role = claims.get("role", String.class);
+        if (email == null || role == null) {
+            return Optional.empty();
+        }
+
+        Long idConta = claims.get("cid", Long.class);
+        Long idArtista = claims.get("arid", Long.class);
+        Long idUsuario = claims.get("uid", Long.class);
+        Long idAdmin = claims.get("aid", Long.class);
+
+        boolean completo = switch (role) {
+            case "ARTISTA" -> idArtista != null && idConta != null;
+            case "USUARIO" -> idUsuario != null && idConta != null;
+            case "ADMIN" -> idAdmin != null;
+            default -> true;
+        };
+        if (completo) {
+            return Optional.of(new UsuarioAutenticado(email, role, idConta, idArtista, idUsuario, idAdmin));
+        }
+        return Optional.ofNullable(buscarEmCache(role, email));
+    }
+
+    private UsuarioAutenticado buscarEmCache(String role, String email) {
+        String chave = role + ":" + email;
+        long agora = System.currentTimeMillis();
+
+        Resolvido emCache = cache.get(chave);
+        if (emCache != null && emCache.expiraEmMillis() > agora) {
+            return emCache.usuario();
+        }
+
+        UsuarioAutenticado usuario = buscarNoBanco(role, email);
+        if (usuario != null) {
+            if (cache.size() >= cacheMaxEntries) {
+                cache.values().removeIf(entrada -> entrada.expiraEmMillis() <= agora);
+            }
+            if (cache.size() < cacheMaxEntries) {
+                cache.put(chave, new Resolvido(usuario, agora + ttlMillis));
+            }
+        } else {
+            cache.remove(chave);
+        }
+        return usuario;
+    }
+
+    private UsuarioAutenticado buscarNoBanco(String role, String email) {
+        return switch (role) {
+            case "ARTISTA" -> artistaRepository.findByContaEmail(email)
+                    .map(this::deArtista)
+                    .orElse(null);
+            case "USUARIO" -> usuarioRepository.findByContaEmail(email)
+                    .map(this::deUsuario)
+                    .orElse(null);
+            case "ADMIN" -> administradorRepository.findByEmail(email)
+                    .map(admin -> new UsuarioAutenticado(email, role, null, null, null, admin.getId()))
+                    .orElse(null);
+            default -> null;
+        };
+    }
+
+    private UsuarioAutenticado deArtista(Artista artista) {
+        return new UsuarioAutenticado(artista.getConta().getEmail(), "ARTISTA",
+                artista.getConta().getIdConta(), artista.getId(), null, null);
+    }
+
+    private UsuarioAutenticado deUsuario(Usuario usuario) {
+        return new UsuarioAutenticado(usuario.getConta().getEmail(), "USUARIO",
+                usuario.getConta().getIdConta(), null, usuario.getId(), null);
+    }
+
+    private record Resolvido(UsuarioAutenticado usuario, long expiraEmMillis) {
+    }
+}
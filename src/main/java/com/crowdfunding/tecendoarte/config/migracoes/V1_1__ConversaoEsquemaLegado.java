@@ -0,0 +1,157 @@
+package com.crowdfunding.tecendoarte.config.migracoes;
+
+import com.crowdfunding.tecendoarte.models.enums.FormatoImagem;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface.ConteudoArmazenado;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Converte bancos criados pelo ddl-auto=update antes do esquema versionado: meta, valor_arrecadado e
+ * valor (double, em reais) viram colunas em centavos, o conteúdo de imagens.dados_imagem vai para o
+ * armazenamento por hash e denuncia ganha a coluna versao. Roda antes dos índices da V2; em bancos
+ * criados pela V1 as colunas antigas não existem e nada é alterado.
+ *
+ * É um bean para usar o mesmo diretório de imagens da aplicação (app.imagens.diretorio); o Spring Boot
+ * entrega ao Flyway as migrações Java registradas no contexto.
+ */
+@Component
+public class V1_1__ConversaoEsquemaLegado extends BaseJavaMigration {
+
+    private static final int LOTE = 50;
+
+    private final ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+
+    public V1_1__ConversaoEsquemaLegado(ArmazenamentoImagemServiceInterface armazenamentoImagemService) {
+        this.armazenamentoImagemService = armazenamentoImagemService;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+
+        if (tipoDaColuna(conexao, "projetos", "meta") != null) {
+            executar(conexao,
+                    "ALTER TABLE projetos ADD COLUMN IF NOT EXISTS meta_centavos BIGINT",
+                    "ALTER TABLE projetos ADD COLUMN IF NOT EXISTS valor_arrecadado_centavos BIGINT",
+                    "UPDATE projetos SET meta_centavos = ROUND(meta::numeric * 100),"
+                            + " valor_arrecadado_centavos = ROUND(COALESCE(valor_arrecadado, 0)::numeric * 100)",
+                    "ALTER TABLE projetos ALTER COLUMN meta_centavos SET NOT NULL",
+                    "ALTER TABLE projetos ALTER COLUMN valor_arrecadado_centavos SET NOT NULL",
+                    "ALTER TABLE projetos DROP COLUMN meta",
+                    "ALTER TABLE projetos DROP COLUMN IF EXISTS valor_arrecadado");
+        }
+
+        if (tipoDaColuna(conexao, "doacao", "valor") != null) {
+            executar(conexao,
+                    "ALTER TABLE doacao ADD COLUMN IF NOT EXISTS valor_centavos BIGINT",
+                    "UPDATE doacao SET valor_centavos = ROUND(valor::numeric * 100)",
+                    "ALTER TABLE doacao ALTER COLUMN valor_centavos SET NOT NULL",
+                    "ALTER TABLE doacao DROP COLUMN valor");
+        }
+
+        String tipoDadosImagem = tipoDaColuna(conexao, "imagens", "dados_imagem");
+        if (tipoDadosImagem != null) {
+            converterImagens(conexao, "oid".equals(tipoDadosImagem));
+        }
+
+        executar(conexao, "ALTER TABLE denuncia ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0");
+    }
+
+    /**
+     * Cada imagem é lida em stream (cursor com fetch size, sem carregar todas as linhas) e gravada pelo
+     * mesmo serviço dos uploads. O @Lob byte[] do Hibernate 6 vira oid no PostgreSQL: nesse caso os
+     * objetos grandes são removidos junto com a coluna, senão ficariam órfãos em pg_largeobject.
+     */
+    private void converterImagens(Connection conexao, boolean objetoGrande) throws SQLException, IOException {
+        executar(conexao,
+                "ALTER TABLE imagens ADD COLUMN IF NOT EXISTS hash_conteudo VARCHAR(64)",
+                "ALTER TABLE imagens ADD COLUMN IF NOT EXISTS tipo_conteudo VARCHAR(100)",
+                "ALTER TABLE imagens ADD COLUMN IF NOT EXISTS tamanho_bytes BIGINT");
+
+        try (Statement leitura = conexao.createStatement();
+             PreparedStatement gravacao = conexao.prepareStatement(
+                     "UPDATE imagens SET hash_conteudo = ?, tipo_conteudo = ?, tamanho_bytes = ? WHERE id_imagem = ?")) {
+            leitura.setFetchSize(LOTE);
+            try (ResultSet imagens = leitura.executeQuery(
+                    "SELECT id_imagem, dados_imagem FROM imagens WHERE hash_conteudo IS NULL")) {
+                int pendentes = 0;
+                while (imagens.next()) {
+                    long idImagem = imagens.getLong(1);
+                    InputStream dados = objetoGrande ? imagens.getBlob(2).getBinaryStream() : imagens.getBinaryStream(2);
+                    try (PushbackInputStream conteudo = new PushbackInputStream(dados, FormatoImagem.TAMANHO_ASSINATURA)) {
+                        byte[] inicio = conteudo.readNBytes(FormatoImagem.TAMANHO_ASSINATURA);
+                        conteudo.unread(inicio);
+                        // Os uploads antigos não validavam o formato; o tipo desconhecido é servido como octet-stream
+                        String tipoConteudo = FormatoImagem.detectar(inicio)
+                                .map(FormatoImagem::getTipoConteudo)
+                                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+                        ConteudoArmazenado armazenado = armazenar(idImagem, conteudo);
+                        gravacao.setString(1, armazenado.hash());
+                        gravacao.setString(2, tipoConteudo);
+                        gravacao.setLong(3, armazenado.tamanhoBytes());
+                        gravacao.setLong(4, idImagem);
+                        gravacao.addBatch();
+                    }
+                    if (++pendentes == LOTE) {
+                        gravacao.executeBatch();
+                        pendentes = 0;
+                    }
+                }
+                if (pendentes > 0) {
+                    gravacao.executeBatch();
+                }
+            }
+        }
+
+        if (objetoGrande) {
+            executar(conexao, "SELECT lo_unlink(oid) FROM pg_largeobject_metadata"
+                    + " WHERE oid IN (SELECT dados_imagem FROM imagens)");
+        }
+        executar(conexao,
+                "ALTER TABLE imagens ALTER COLUMN hash_conteudo SET NOT NULL",
+                "ALTER TABLE imagens ALTER COLUMN tipo_conteudo SET NOT NULL",
+                "ALTER TABLE imagens ALTER COLUMN tamanho_bytes SET NOT NULL",
+                "ALTER TABLE imagens DROP COLUMN dados_imagem");
+    }
+
+    private ConteudoArmazenado armazenar(long idImagem, InputStream conteudo) {
+        try {
+            return armazenamentoImagemService.armazenar(conteudo);
+        } catch (IllegalArgumentException e) {
+            // Imagem vazia ou acima de app.imagens.tamanho-maximo-bytes: a migração para sem apagar nada
+            throw new IllegalStateException("Não foi possível converter a imagem " + idImagem + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String tipoDaColuna(Connection conexao, String tabela, String coluna) throws SQLException {
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                "SELECT data_type FROM information_schema.columns"
+                        + " WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?")) {
+            consulta.setString(1, tabela);
+            consulta.setString(2, coluna);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                return resultado.next() ? resultado.getString(1) : null;
+            }
+        }
+    }
+
+    private static void executar(Connection conexao, String... comandos) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            for (String comando : comandos) {
+                statement.execute(comando);
+            }
+        }
+    }
+}
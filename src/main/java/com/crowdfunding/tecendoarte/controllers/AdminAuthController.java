@@ -5,6 +5,7 @@ import com.crowdfunding.tecendoarte.dto.AdministradorDTO.AdminLoginResponseDTO;
 import com.crowdfunding.tecendoarte.services.interfaces.AdministradorAuthServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @Tag(name = "Administradores", description = "Operações relacionadas a administradores")
 @RestController
@@ -32,7 +34,8 @@ public class AdminAuthController {
         @ApiResponse(responseCode = "400", description = "Dados inválidos ou campos obrigatórios não preenchidos", content = @Content),
         @ApiResponse(responseCode = "401", description = "Credenciais inválidas", content = @Content),
         @ApiResponse(responseCode = "404", description = "Administrador não encontrado", content = @Content),
-        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content),
+        @ApiResponse(responseCode = "503", description = "Muitos logins simultâneos, tente novamente", content = @Content)
     })
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody AdminLoginRequestDTO request) {
@@ -43,6 +46,10 @@ public class AdminAuthController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Erro interno no servidor. Tente novamente mais tarde."));
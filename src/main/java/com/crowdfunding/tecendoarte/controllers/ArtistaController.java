@@ -5,14 +5,19 @@ import org.springframework.web.bind.annotation.*;
 import com.crowdfunding.tecendoarte.services.implementations.ArtistaService;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.http.*;
+import org.springframework.web.multipart.MultipartFile;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.*;
 import com.crowdfunding.tecendoarte.dto.ImagemDTO.ImagemRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ImagemDTO.ImagemResponseDTO;
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -65,7 +70,8 @@ public class ArtistaController {
             @ApiResponse(responseCode = "200", description = "Login realizado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos ou campos obrigatórios não preenchidos"),
             @ApiResponse(responseCode = "404", description = "Artista não encontrado"),
-            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor"),
+            @ApiResponse(responseCode = "503", description = "Muitos logins simultâneos, tente novamente")
         }
     )
     @PostMapping("/login")
@@ -82,6 +88,11 @@ public class ArtistaController {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
                     .body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -91,7 +102,7 @@ public class ArtistaController {
 
     @Operation(
         summary = "Buscar artista por nome", 
-        description = "Retorna um artista que corresponde ao nome informado. Requer autenticação.",
+        description = "Retorna o artista cujo nome mais se parece com o informado, ignorando acentos e caixa. Requer autenticação.",
         responses = {
             @ApiResponse(responseCode = "200", description = "Artista encontrado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos ou campos obrigatórios não preenchidos"),
@@ -125,6 +136,37 @@ public class ArtistaController {
         }
     }
 
+    @Operation(
+        summary = "Pesquisar artistas por nome",
+        description = "Retorna os artistas cujo nome mais se parece com o termo informado, ignorando acentos "
+                + "e caixa, do mais para o menos parecido. A última palavra do termo é tratada como prefixo. "
+                + "Requer autenticação.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Página de artistas retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Nome, página ou tamanho de página inválido"),
+            @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/pesquisar")
+    public ResponseEntity<?> pesquisarPorNome(@RequestParam String nome,
+                                              @RequestParam(required = false) Integer pagina,
+                                              @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity
+                    .ok(this.artistaService.pesquisarPorNome(nome, pagina, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(e.getMessage());
+        }
+    }
+
     @Operation(
         summary = "Listar artistas", 
         description = "Lista todos os artistas cadastrados. Requer autenticação.",
@@ -241,16 +283,69 @@ public class ArtistaController {
         }
     )
 
-    @PostMapping("/perfil/imagens")
+    @PostMapping(value = "/perfil/imagens", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> adicionarImagensAoPerfil(@RequestBody List<ImagemRequestDTO> imagensDto) {
         Long idArtistaAutenticado = artistaService.getIdArtistaAutenticado();
         artistaService.adicionarImagensAoPerfil(idArtistaAutenticado, imagensDto);
         return ResponseEntity.ok("Imagens adicionadas ao portfólio com sucesso.");
     }
 
+    @Operation(
+        summary = "Enviar imagem ao portfólio via multipart",
+        description = "Envia uma imagem no campo 'arquivo' de um formulário multipart. O conteúdo é gravado em streaming, sem base64.",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Imagem adicionada ao portfólio com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Arquivo ausente, vazio, grande demais ou com tipo inválido"),
+            @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @PostMapping(value = "/perfil/imagens", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> enviarImagemMultipart(@RequestPart("arquivo") MultipartFile arquivo,
+                                                   @RequestParam(required = false) String descricao) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            Long idArtistaAutenticado = artistaService.getIdArtistaAutenticado();
+            ImagemResponseDTO imagem = artistaService.adicionarImagemAoPerfil(
+                    idArtistaAutenticado, conteudo, arquivo.getContentType(), descricao);
+            return ResponseEntity.status(HttpStatus.CREATED).body(imagem);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Enviar imagem ao portfólio como binário",
+        description = "Envia os bytes da imagem diretamente no corpo da requisição. Aceita JPEG, PNG, WebP e GIF, reconhecidos "
+                + "pelo conteúdo (Content-Type do formato ou application/octet-stream).",
+        security = @SecurityRequirement(name = "bearerAuth"),
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Imagem adicionada ao portfólio com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Corpo vazio, grande demais ou com tipo inválido"),
+            @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @PostMapping(value = "/perfil/imagens", consumes = {"image/*", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> enviarImagemBinaria(HttpServletRequest request,
+                                                 @RequestParam(required = false) String descricao) throws IOException {
+        try (InputStream conteudo = request.getInputStream()) {
+            Long idArtistaAutenticado = artistaService.getIdArtistaAutenticado();
+            ImagemResponseDTO imagem = artistaService.adicionarImagemAoPerfil(
+                    idArtistaAutenticado, conteudo, request.getContentType(), descricao);
+            return ResponseEntity.status(HttpStatus.CREATED).body(imagem);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @Operation(
         summary = "Listar imagens do portfólio do artista",
-        description = "Retorna todas as imagens do portfólio do artista autenticado.",
+        description = "Retorna os metadados e a URL de cada imagem do portfólio do artista autenticado.",
         security = @SecurityRequirement(name = "bearerAuth"),
         responses = {
             @ApiResponse(responseCode = "200", description = "Lista de imagens retornada com sucesso"),
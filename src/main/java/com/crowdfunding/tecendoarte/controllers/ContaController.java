@@ -4,6 +4,7 @@ import com.crowdfunding.tecendoarte.dto.ContaDTO.*;
 import com.crowdfunding.tecendoarte.services.implementations.ContaService;
 
 import jakarta.validation.Valid;
+import java.util.concurrent.RejectedExecutionException;
 import org.springframework.http.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -39,6 +40,11 @@ public class ContaController {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,51 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.services.interfaces.DenunciaServiceInterface;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+@Tag(name = "Denúncias", description = "Operações relacionadas a denúncias de conteúdo")
+@RestController
+@RequestMapping("/denuncias")
+@RequiredArgsConstructor
+public class DenunciaController {
+
+    private final DenunciaServiceInterface denunciaService;
+
+    @Operation(
+        summary = "Denunciar",
+        description = "Registra uma denúncia da conta autenticada contra um projeto, artista ou usuário. "
+                + "Cada conta pode denunciar o mesmo alvo uma única vez.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Denúncia registrada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos ou alvo já denunciado por esta conta"),
+            @ApiResponse(responseCode = "404", description = "Alvo da denúncia não encontrado")
+        }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping
+    public ResponseEntity<?> denunciar(@RequestBody @Valid DenunciaRequestDTO dto) {
+        try {
+            Long idConta = denunciaService.getIdContaAutenticada();
+            DenunciaResponseDTO response = denunciaService.registrar(dto, idConta);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
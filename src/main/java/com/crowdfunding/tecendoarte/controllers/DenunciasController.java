@@ -1,9 +1,18 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
 import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AnaliseDenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AnaliseLoteDenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AnaliseLoteDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaPaginaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.EscalonamentoDenunciaResponseDTO;
 import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.models.Denuncia;
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
 import com.crowdfunding.tecendoarte.services.interfaces.DenunciaServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.EscalonamentoDenunciaServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -17,8 +26,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Tag(name = "Denúncias", description = "Operações relacionadas a denúncias de conteúdo")
 @RestController
@@ -27,6 +36,7 @@ import java.util.stream.Collectors;
 public class DenunciasController {
 
     private final DenunciaServiceInterface denunciaService;
+    private final EscalonamentoDenunciaServiceInterface escalonamentoDenunciaService;
 
     @Operation(summary = "Listar denúncias", description = "Lista todas as denúncias cadastradas.")
     @ApiResponses(value = {
@@ -35,10 +45,73 @@ public class DenunciasController {
     })
     @GetMapping
     public ResponseEntity<List<ListarDenunciaResponseDTO>> listar() {
-        List<ListarDenunciaResponseDTO> resposta = denunciaService.listarTodas().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(resposta);
+        return ResponseEntity.ok(denunciaService.listarTodas());
+    }
+
+    @Operation(summary = "Fila de moderação",
+        description = "Lista denúncias da mais recente para a mais antiga, com filtros opcionais de status e tipo e "
+                + "paginação por cursor. Use o campo proximoCursor da resposta para obter a página seguinte.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página da fila retornada com sucesso", content = @Content(schema = @Schema(implementation = DenunciaPaginaResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @GetMapping("/fila")
+    public ResponseEntity<DenunciaPaginaResponseDTO> listarFila(@RequestParam(required = false) StatusDenuncia status,
+                                                                @RequestParam(required = false) TipoDenuncia tipo,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(denunciaService.listarFila(status, tipo, cursor, tamanho));
+    }
+
+    @Operation(summary = "Alvos mais denunciados",
+        description = "Lista um item por alvo com denúncias pendentes, do alvo com mais denúncias para o com menos, "
+                + "com a primeira e a última denúncia recebidas.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alvos listados com sucesso", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AlvoDenunciadoResponseDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Limite inválido", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @GetMapping("/alvos")
+    public ResponseEntity<List<AlvoDenunciadoResponseDTO>> listarAlvos(@RequestParam(required = false) TipoDenuncia tipo,
+                                                                       @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(denunciaService.listarAlvosPendentes(tipo, limite));
+    }
+
+    @Operation(summary = "Janelas de escalonamento",
+        description = "Mostra, para cada projeto denunciado dentro da janela deslizante, quantas denúncias recebeu "
+                + "e se já foi colocado em revisão por atingir o limite.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Janelas consultadas com sucesso", content = @Content(schema = @Schema(implementation = EscalonamentoDenunciaResponseDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @GetMapping("/escalonamento")
+    public ResponseEntity<EscalonamentoDenunciaResponseDTO> consultarEscalonamento() {
+        return ResponseEntity.ok(escalonamentoDenunciaService.consultarJanelas(LocalDateTime.now()));
+    }
+
+    @Operation(summary = "Projetos em revisão",
+        description = "Lista os projetos colocados em revisão por excesso de denúncias, do mais recente para o mais antigo.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Projetos listados com sucesso", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProjetoResponseDTO.class)))),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @GetMapping("/projetos-em-revisao")
+    public ResponseEntity<List<ProjetoResponseDTO>> listarProjetosEmRevisao() {
+        return ResponseEntity.ok(escalonamentoDenunciaService.listarEmRevisao());
+    }
+
+    @Operation(summary = "Restaurar projeto em revisão",
+        description = "Devolve ao projeto o status que tinha antes de entrar em revisão, voltando a exibi-lo nas listagens se estava aprovado.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Projeto restaurado com sucesso", content = @Content(schema = @Schema(implementation = ProjetoResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Projeto não está em revisão", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Projeto não encontrado", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @PostMapping("/projetos-em-revisao/{idProjeto}/restauracao")
+    public ResponseEntity<ProjetoResponseDTO> restaurarProjeto(@PathVariable Long idProjeto) {
+        return ResponseEntity.ok(escalonamentoDenunciaService.restaurar(idProjeto));
     }
 
     @Operation(summary = "Analisar denúncia", description = "Analisa uma denúncia e atualiza seu status.")
@@ -55,6 +128,19 @@ public class DenunciasController {
         return ResponseEntity.ok(toResponse(analisada));
     }
 
+    @Operation(summary = "Analisar denúncias em lote",
+        description = "Analisa várias denúncias numa única transação e informa o resultado de cada uma. "
+                + "Se a versão vista na fila for informada, a denúncia alterada desde então não é analisada (CONFLITO).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado; consulte a situação de cada item", content = @Content(schema = @Schema(implementation = AnaliseLoteDenunciaResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com itens sem id ou resultado", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @PostMapping(path = "/analise-lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AnaliseLoteDenunciaResponseDTO> analisarEmLote(@Valid @RequestBody AnaliseLoteDenunciaRequestDTO request) {
+        return ResponseEntity.ok(denunciaService.analisarEmLote(request.getItens()));
+    }
+
     private ListarDenunciaResponseDTO toResponse(Denuncia d) {
         return ListarDenunciaResponseDTO.builder()
                 .id(d.getId())
@@ -66,6 +152,7 @@ public class DenunciasController {
                 .atualizadoEm(d.getAtualizadoEm())
                 .nomeAutor(d.getAutor().getNome())
                 .emailAutor(d.getAutor().getEmail())
+                .versao(d.getVersao())
                 .build();
     }
 }
@@ -0,0 +1,89 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoResponseDTO;
+import com.crowdfunding.tecendoarte.services.implementations.DoacaoService;
+import com.crowdfunding.tecendoarte.services.interfaces.DoacaoServiceInterface.DoacaoNaoConfirmadaException;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.*;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+@Tag(name = "Doações", description = "Doações para projetos")
+@RestController
+@RequestMapping("/projetos/{idProjeto}/doacoes")
+@RequiredArgsConstructor
+public class DoacaoController {
+
+    private final DoacaoService doacaoService;
+
+    @Operation(
+        summary = "Doar para um projeto",
+        description = "Registra uma doação da conta autenticada para um projeto aprovado. "
+                + "O total arrecadado do projeto é atualizado em até alguns segundos. "
+                + "Repetir o pedido com a mesma chaveIdempotencia devolve a doação já registrada.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Doação registrada com sucesso"),
+            @ApiResponse(responseCode = "202", description = "Doação ainda não confirmada; consulte o endereço em Location"),
+            @ApiResponse(responseCode = "400", description = "Valor inválido ou projeto não aberto para doações"),
+            @ApiResponse(responseCode = "404", description = "Projeto ou conta não encontrados"),
+            @ApiResponse(responseCode = "503", description = "Muitas doações simultâneas, nada foi gravado; tente novamente")
+        }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping
+    public ResponseEntity<?> doar(@PathVariable Long idProjeto, @RequestBody @Valid DoacaoRequestDTO dto) {
+        try {
+            Long idConta = doacaoService.getIdContaAutenticada();
+            DoacaoResponseDTO response = doacaoService.doar(idProjeto, dto, idConta);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        } catch (DoacaoNaoConfirmadaException e) {
+            // Sem Retry-After: repetir sem a chave pode duplicar a doação
+            URI consulta = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/{chave}")
+                    .buildAndExpand(e.getChaveIdempotencia())
+                    .toUri();
+            return ResponseEntity.accepted()
+                    .location(consulta)
+                    .body(Map.of("message", e.getMessage(), "chaveIdempotencia", e.getChaveIdempotencia()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Consultar doação pela chave de idempotência",
+        description = "Devolve a doação da conta autenticada registrada com a chave informada.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Doação registrada"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma doação com essa chave neste projeto")
+        }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{chaveIdempotencia}")
+    public ResponseEntity<?> buscarPorChave(@PathVariable Long idProjeto, @PathVariable String chaveIdempotencia) {
+        try {
+            Long idConta = doacaoService.getIdContaAutenticada();
+            return ResponseEntity.ok(doacaoService.buscarPorChave(idProjeto, chaveIdempotencia, idConta));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.models.enums.FormatoImagem;
+import com.crowdfunding.tecendoarte.services.interfaces.ImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.ImagemServiceInterface.ConteudoImagem;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Tag(name = "Imagens", description = "Entrega do conteúdo binário das imagens")
+@RestController
+@RequestMapping("/imagens")
+@RequiredArgsConstructor
+public class ImagemController {
+
+    // O conteúdo é endereçado pelo hash, então a mesma URL nunca muda de bytes
+    private static final String NOSNIFF = "X-Content-Type-Options";
+
+    private static final CacheControl CACHE_IMUTAVEL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    // Original no lugar de uma rendition ainda não gerada: cache curto, para a rendition aparecer assim que existir
+    private static final CacheControl CACHE_PROVISORIO = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+
+    private final ImagemServiceInterface imagemService;
+
+    @Operation(
+        summary = "Obter imagem",
+        description = "Retorna os bytes da imagem. Com o parâmetro largura, entrega a menor rendition JPEG que atenda "
+                + "à largura pedida (160, 480 ou 1200 px), ou o original enquanto ela não foi gerada. "
+                + "Suporta ETag/If-None-Match e requisições parciais via Range. Rota pública.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Imagem retornada com sucesso"),
+            @ApiResponse(responseCode = "206", description = "Trecho da imagem retornado"),
+            @ApiResponse(responseCode = "304", description = "Imagem não modificada"),
+            @ApiResponse(responseCode = "400", description = "Largura inválida"),
+            @ApiResponse(responseCode = "404", description = "Imagem não encontrada"),
+            @ApiResponse(responseCode = "416", description = "Intervalo solicitado inválido")
+        }
+    )
+    @GetMapping("/{idImagem}")
+    public ResponseEntity<StreamingResponseBody> obterImagem(@PathVariable Long idImagem,
+                                         @RequestParam(required = false) Integer largura,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                         @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) {
+        ConteudoImagem imagem;
+        try {
+            imagem = imagemService.buscarConteudo(idImagem, largura);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = "\"" + imagem.versao() + "\"";
+        CacheControl cache = imagem.provisorio() ? CACHE_PROVISORIO : CACHE_IMUTAVEL;
+        if (correspondeEtag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cache)
+                    .build();
+        }
+
+        long tamanho = imagem.tamanhoBytes();
+        long inicio = 0;
+        long quantidade = tamanho;
+        HttpStatus status = HttpStatus.OK;
+
+        // Range só é honrado com um único intervalo e quando o If-Range (se houver) ainda vale
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> intervalos;
+            try {
+                intervalos = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                intervalos = List.of();
+            }
+            if (intervalos.size() == 1) {
+                inicio = intervalos.get(0).getRangeStart(tamanho);
+                quantidade = intervalos.get(0).getRangeEnd(tamanho) - inicio + 1;
+                if (inicio < 0 || inicio >= tamanho || quantidade <= 0) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho)
+                            .build();
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+            }
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(status)
+                .eTag(etag)
+                .cacheControl(cache)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(NOSNIFF, "nosniff")
+                .contentType(tipoSeguro(imagem.tipoConteudo()))
+                .contentLength(quantidade);
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            resposta.header(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + (inicio + quantidade - 1) + "/" + tamanho);
+        }
+        return resposta.body(transferir(imagem.arquivo(), inicio, quantidade));
+    }
+
+    // Só os formatos raster aceitos no upload são servidos com o próprio tipo; qualquer outro valor gravado
+    // (linhas anteriores à validação) vai como octet-stream, que o navegador não interpreta
+    private MediaType tipoSeguro(String tipoConteudo) {
+        return FormatoImagem.doTipo(tipoConteudo)
+                .map(formato -> MediaType.parseMediaType(formato.getTipoConteudo()))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private boolean correspondeEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(valor -> valor.startsWith("W/") ? valor.substring(2) : valor)
+                .anyMatch(valor -> valor.equals("*") || valor.equals(etag));
+    }
+
+    // Copia o trecho do arquivo para o OutputStream da resposta. Como o destino não é um socket, o transferTo
+    // não usa sendfile: a cópia passa por um buffer pequeno em espaço de usuário, nunca do tamanho do arquivo
+    private StreamingResponseBody transferir(Path arquivo, long inicio, long quantidade) {
+        return saida -> {
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                WritableByteChannel destino = Channels.newChannel(saida);
+                long posicao = inicio;
+                long restante = quantidade;
+                while (restante > 0) {
+                    long transferidos = canal.transferTo(posicao, restante, destino);
+                    if (transferidos <= 0) {
+                        break;
+                    }
+                    posicao += transferidos;
+                    restante -= transferidos;
+                }
+            }
+        };
+    }
+}
@@ -1,7 +1,12 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoPaginaResponseDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.services.implementations.ProgressoProjetoService;
 import com.crowdfunding.tecendoarte.services.implementations.ProjetoService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -11,6 +16,7 @@ import java.util.List;
 
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -23,6 +29,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 public class ProjetoController {
 
     private final ProjetoService projetoService;
+    private final ProgressoProjetoService progressoProjetoService;
 
     @Operation(
         summary = "Cadastrar novo projeto",
@@ -67,6 +74,25 @@ public class ProjetoController {
         }
     }
 
+    @Operation(
+        summary = "Acompanhar progresso do projeto",
+        description = "Abre um fluxo Server-Sent Events com o valor arrecadado, a quantidade de doações e o "
+                + "percentual financiado do projeto. O estado atual é enviado ao conectar e, depois, no máximo "
+                + "um evento \"progresso\" por intervalo enquanto houver novas doações.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Fluxo de eventos aberto"),
+            @ApiResponse(responseCode = "404", description = "Projeto não encontrado")
+        }
+    )
+    @GetMapping(path = "/{idProjeto}/progresso/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharProgresso(@PathVariable Long idProjeto) {
+        try {
+            return ResponseEntity.ok(progressoProjetoService.inscrever(idProjeto));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @Operation(
         summary = "Listar projetos",
         description = "Lista todos os projetos.",
@@ -93,6 +119,124 @@ public class ProjetoController {
         }
     }
 
+    @Operation(
+        summary = "Catálogo paginado de projetos",
+        description = "Lista projetos do mais recente para o mais antigo com paginação por cursor. "
+                + "Use o campo proximoCursor da resposta para obter a página seguinte.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Página de projetos retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho de página inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @GetMapping("/catalogo")
+    public ResponseEntity<?> listarCatalogo(@RequestParam(required = false) StatusProjeto status,
+                                            @RequestParam(required = false) TipoArte tipoArte,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer tamanho) {
+        try {
+            ProjetoPaginaResponseDTO response = projetoService.listarCatalogo(status, tipoArte, cursor, tamanho);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Navegar projetos por facetas",
+        description = "Filtra projetos por status, tipo de arte e faixa de financiamento, do mais recente para o mais "
+                + "antigo, e devolve na mesma resposta quantos projetos existem em cada valor de cada faceta. "
+                + "A contagem de uma faceta considera os filtros das outras.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Página de projetos e contagens retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Página ou tamanho de página inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @GetMapping("/facetas")
+    public ResponseEntity<?> listarComFacetas(@RequestParam(required = false) StatusProjeto status,
+                                              @RequestParam(required = false) TipoArte tipoArte,
+                                              @RequestParam(required = false) FaixaFinanciamento faixa,
+                                              @RequestParam(required = false) Integer pagina,
+                                              @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(projetoService.listarComFacetas(status, tipoArte, faixa, pagina, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Projetos em alta",
+        description = "Projetos com mais doações recentes. Cada doação perde metade do peso a cada meia-vida "
+                + "configurada, e doações maiores pesam mais.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Projetos do mais ao menos em alta"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido")
+        }
+    )
+    @GetMapping("/rankings/em-alta")
+    public ResponseEntity<?> listarEmAlta(@RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(projetoService.listarEmAlta(limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Projetos perto da meta",
+        description = "Projetos aprovados que já receberam doações e ainda não atingiram a meta, do maior para o "
+                + "menor percentual financiado.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Projetos do mais ao menos financiado"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido")
+        }
+    )
+    @GetMapping("/rankings/perto-da-meta")
+    public ResponseEntity<?> listarPertoDaMeta(@RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(projetoService.listarPertoDaMeta(limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Buscar projetos por texto",
+        description = "Busca no título, na descrição e na recompensa dos projetos, ignorando acentos, caixa e "
+                + "variações de plural, e retorna os mais relevantes primeiro (BM25).",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Projetos encontrados, do mais ao menos relevante"),
+            @ApiResponse(responseCode = "400", description = "Termo de busca ou limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+        }
+    )
+    @GetMapping("/busca")
+    public ResponseEntity<?> buscarProjetos(@RequestParam(required = false) String q,
+                                            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(projetoService.buscarProjetos(q, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(java.util.Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Reconstruir índice de busca de projetos",
+        description = "Relê todos os projetos do banco e substitui o índice de busca. Restrito a administradores.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Índice reconstruído"),
+            @ApiResponse(responseCode = "403", description = "Acesso negado")
+        }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/busca/reconstruir")
+    public ResponseEntity<?> reconstruirIndiceBusca() {
+        int indexados = projetoService.reconstruirIndiceBusca();
+        return ResponseEntity.ok(java.util.Map.of("projetosIndexados", indexados));
+    }
+
     @Operation(
         summary = "Atualizar projeto",
         description = "Atualiza os dados de um projeto existente do artista autenticado.",
@@ -114,8 +258,10 @@ public class ProjetoController {
             return ResponseEntity.ok(response);
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (IllegalArgumentException e) {
+        } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
@@ -143,7 +289,7 @@ public class ProjetoController {
             );
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(java.util.Map.of("message", e.getMessage()));
-        } catch (IllegalArgumentException e) {
+        } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(java.util.Map.of("message", e.getMessage()));
         }
     }
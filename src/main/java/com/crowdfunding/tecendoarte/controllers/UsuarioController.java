@@ -1,5 +1,6 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
@@ -13,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -102,4 +104,27 @@ public class UsuarioController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
+
+    @Operation(summary = "Recomendar projetos", description = "Lista projetos aprovados recomendados ao usuário pelos seus interesses, pelos artistas que apoiou e pelos projetos que comentou. Projetos já apoiados não aparecem. Requer autenticação.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recomendações geradas com sucesso", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProjetoResponseDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Limite fora do intervalo permitido", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Acesso negado - as recomendações são de outro usuário", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Usuário não encontrado", content = @Content),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor", content = @Content)
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{id}/recomendacoes")
+    public ResponseEntity<?> listarRecomendacoes(@PathVariable Long id,
+                                                 @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(usuarioService.listarRecomendacoes(id, limite));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
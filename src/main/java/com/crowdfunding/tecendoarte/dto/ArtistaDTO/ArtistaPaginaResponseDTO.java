@@ -0,0 +1,27 @@
+package com.crowdfunding.tecendoarte.dto.ArtistaDTO;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArtistaPaginaResponseDTO {
+
+    // Ordenados do mais para o menos parecido com o nome buscado
+    @JsonProperty("itens")
+    private List<ArtistaResponseDTO> itens;
+
+    @JsonProperty("pagina")
+    private Integer pagina;
+
+    @JsonProperty("tamanho")
+    private Integer tamanho;
+
+    @JsonProperty("total")
+    private Integer total;
+}
@@ -10,6 +10,7 @@ import lombok.*;
 @AllArgsConstructor
 public class ArtistaResponseDTO {
 
+    private Long idArtista;
     private String nome;
     private String descricao;
     private List<String> categorias;
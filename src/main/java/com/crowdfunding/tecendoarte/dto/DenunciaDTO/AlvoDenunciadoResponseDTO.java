@@ -0,0 +1,20 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class AlvoDenunciadoResponseDTO {
+    private TipoDenuncia tipo;
+    private Long idAlvo;
+    private long quantidade;
+    private long pendentes;
+    private LocalDateTime primeiraEm;
+    private LocalDateTime ultimaEm;
+}
@@ -0,0 +1,13 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AnaliseLoteDenunciaRequestDTO {
+    @NotEmpty(message = "Informe ao menos uma denuncia.")
+    private List<@Valid ItemAnaliseDenunciaRequestDTO> itens;
+}
@@ -0,0 +1,15 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class AnaliseLoteDenunciaResponseDTO {
+    private int analisadas;
+    private List<ResultadoAnaliseDenunciaDTO> resultados;
+}
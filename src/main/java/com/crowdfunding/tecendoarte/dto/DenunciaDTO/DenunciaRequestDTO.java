@@ -2,6 +2,8 @@ package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
 
 import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 import lombok.*;
 
@@ -11,15 +13,19 @@ import lombok.*;
 @Builder
 public class DenunciaRequestDTO {
 
+    @NotNull(message = "Tipo da denuncia obrigatorio.")
     @JsonProperty("tipo_denuncia")
     private TipoDenuncia tipoDenuncia;
 
+    @NotBlank(message = "Descricao obrigatoria.")
     @JsonProperty("descricao")
     private String descricao;
 
+    // Ignorado no registro: o autor é sempre a conta autenticada
     @JsonProperty("autor_id")
     private Long autorId;
 
+    @NotNull(message = "Alvo da denuncia obrigatorio.")
     @JsonProperty("id_alvo")
     private Long idAlvo;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class EscalonamentoDenunciaResponseDTO {
+    private long janelaSegundos;
+    private int limite;
+    // projetos com denúncias dentro da janela, do mais denunciado para o menos
+    private List<JanelaDenunciaResponseDTO> janelas;
+}
@@ -0,0 +1,21 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAnaliseDenunciaRequestDTO {
+    @NotNull(message = "Id obrigatorio.")
+    private Long id;
+
+    @NotNull(message = "Resultado obrigatorio.")
+    private StatusDenuncia resultado;
+
+    // Versão vista pelo moderador na fila; se informada, a análise só é aplicada se ninguém alterou a denúncia desde então
+    private Long versao;
+}
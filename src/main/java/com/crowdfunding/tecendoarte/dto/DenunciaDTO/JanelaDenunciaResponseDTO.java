@@ -0,0 +1,17 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class JanelaDenunciaResponseDTO {
+    private Long idProjeto;
+    private int denunciasNaJanela;
+    private LocalDateTime ultimaEm;
+    private boolean escalonado;
+}
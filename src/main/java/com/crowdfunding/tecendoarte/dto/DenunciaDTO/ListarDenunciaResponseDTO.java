@@ -2,6 +2,7 @@ package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
 
 import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
 import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class ListarDenunciaResponseDTO {
     private Long id;
     private TipoDenuncia tipo;
@@ -19,4 +21,5 @@ public class ListarDenunciaResponseDTO {
     private LocalDateTime atualizadoEm;
     private String nomeAutor;
     private String emailAutor;
+    private long versao;
 }
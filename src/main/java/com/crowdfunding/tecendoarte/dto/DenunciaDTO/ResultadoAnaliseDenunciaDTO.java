@@ -0,0 +1,18 @@
+package com.crowdfunding.tecendoarte.dto.DenunciaDTO;
+
+import com.crowdfunding.tecendoarte.models.enums.SituacaoAnaliseDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ResultadoAnaliseDenunciaDTO {
+    private Long id;
+    private SituacaoAnaliseDenuncia situacao;
+    private StatusDenuncia status;
+    private Long versao;
+    private String mensagem;
+}
@@ -0,0 +1,24 @@
+package com.crowdfunding.tecendoarte.dto.DoacaoDTO;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoacaoRequestDTO {
+
+    @JsonProperty("valor")
+    @NotNull(message = "O valor é obrigatório")
+    @Positive(message = "O valor deve ser maior que zero")
+    @Digits(integer = 13, fraction = 2, message = "O valor deve ter no máximo duas casas decimais")
+    private Double valor;
+
+    // Opcional: a mesma chave em uma nova tentativa devolve a doação já registrada, sem duplicá-la
+    @JsonProperty("chaveIdempotencia")
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "A chave de idempotência deve ter até 64 letras, dígitos, '-' ou '_'")
+    private String chaveIdempotencia;
+}
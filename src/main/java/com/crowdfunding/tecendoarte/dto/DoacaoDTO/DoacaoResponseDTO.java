@@ -0,0 +1,17 @@
+package com.crowdfunding.tecendoarte.dto.DoacaoDTO;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoacaoResponseDTO {
+    private Long idDoacao;
+    private Long projetoId;
+    private Double valor;
+    private LocalDateTime data;
+    private String chaveIdempotencia;
+}
@@ -8,6 +8,7 @@ import lombok.*;
 @AllArgsConstructor
 public class ImagemRequestDTO {
     private String dadosImagemBase64; // Conteúdo da imagem em base64
+    private String tipoConteudo;
     private String descricao;
     private Long projetoId;
-}
\ No newline at end of file
+}
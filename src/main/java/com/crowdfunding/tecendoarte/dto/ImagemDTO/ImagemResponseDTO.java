@@ -8,7 +8,11 @@ import lombok.*;
 @AllArgsConstructor
 public class ImagemResponseDTO {
     private Long idImagem;
-    private String dadosImagemBase64; // Conteúdo da imagem em base64
     private String descricao;
     private Long projetoId;
-}
\ No newline at end of file
+    private String hashConteudo;
+    private String tipoConteudo;
+    private Long tamanhoBytes;
+    private String url; // Endereço de onde o conteúdo da imagem pode ser baixado
+    private String miniaturaUrl; // Menor rendition, para cards e feeds
+}
@@ -0,0 +1,27 @@
+package com.crowdfunding.tecendoarte.dto.ProjetoDTO;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProgressoProjetoDTO {
+
+    @JsonProperty("idProjeto")
+    private Long idProjeto;
+
+    @JsonProperty("meta")
+    private Double meta;
+
+    @JsonProperty("valorArrecadado")
+    private Double valorArrecadado;
+
+    @JsonProperty("quantidadeDoacoes")
+    private Long quantidadeDoacoes;
+
+    @JsonProperty("percentualFinanciado")
+    private Integer percentualFinanciado;
+}
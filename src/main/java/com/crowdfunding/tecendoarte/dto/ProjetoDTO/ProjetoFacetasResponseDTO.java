@@ -0,0 +1,40 @@
+package com.crowdfunding.tecendoarte.dto.ProjetoDTO;
+
+import java.util.List;
+import java.util.Map;
+
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjetoFacetasResponseDTO {
+
+    @JsonProperty("itens")
+    private List<ProjetoResponseDTO> itens;
+
+    @JsonProperty("pagina")
+    private int pagina;
+
+    @JsonProperty("tamanho")
+    private int tamanho;
+
+    @JsonProperty("total")
+    private int total;
+
+    // Cada contagem considera os filtros das outras facetas, mas não o da própria
+    @JsonProperty("contagemPorStatus")
+    private Map<StatusProjeto, Integer> contagemPorStatus;
+
+    @JsonProperty("contagemPorTipoArte")
+    private Map<TipoArte, Integer> contagemPorTipoArte;
+
+    @JsonProperty("contagemPorFaixa")
+    private Map<FaixaFinanciamento, Integer> contagemPorFaixa;
+}
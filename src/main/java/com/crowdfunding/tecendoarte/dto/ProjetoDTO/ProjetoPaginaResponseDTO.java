@@ -0,0 +1,21 @@
+package com.crowdfunding.tecendoarte.dto.ProjetoDTO;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjetoPaginaResponseDTO {
+
+    @JsonProperty("itens")
+    private List<ProjetoResponseDTO> itens;
+
+    // Cursor opaco para a próxima página; nulo quando não há mais resultados
+    @JsonProperty("proximoCursor")
+    private String proximoCursor;
+}
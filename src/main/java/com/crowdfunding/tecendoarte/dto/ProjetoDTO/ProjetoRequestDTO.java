@@ -23,6 +23,7 @@ public class ProjetoRequestDTO {
     @JsonProperty("meta")
     @NotNull(message = "A meta é obrigatória")
     @Positive(message = "A meta deve ser maior que zero")
+    @Digits(integer = 13, fraction = 2, message = "A meta deve ter no máximo duas casas decimais")
     private Double meta;
 
     @JsonProperty("tipoArte")
@@ -2,6 +2,7 @@ package com.crowdfunding.tecendoarte.dto.ProjetoDTO;
 
 import java.time.LocalDate;
 
+import com.crowdfunding.tecendoarte.models.Centavos;
 import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -40,4 +41,16 @@ public class ProjetoResponseDTO {
 
     @JsonProperty("nomeArtista")
     private String nomeArtista;
+
+    @JsonProperty("percentualFinanciado")
+    private Integer percentualFinanciado;
+
+    // Usado pelas projeções JPQL, que leem os valores monetários em centavos
+    public ProjetoResponseDTO(Long idProjeto, String titulo, String descricaoProjeto, long metaCentavos,
+                              long valorArrecadadoCentavos, LocalDate dataCriacao, StatusProjeto status,
+                              TipoArte tipoArte, String nomeArtista) {
+        this(idProjeto, titulo, descricaoProjeto, Centavos.paraReais(metaCentavos),
+                Centavos.paraReais(valorArrecadadoCentavos), dataCriacao, status, tipoArte, nomeArtista,
+                Centavos.percentualFinanciado(valorArrecadadoCentavos, metaCentavos));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.crowdfunding.tecendoarte.events;
+
+/**
+ * Publicado pelo DoacaoService depois do commit de um lote de doações, com o que o lote somou ao
+ * total arrecadado do projeto no banco e o total resultante, lido na mesma transação. Como o total
+ * só cresce, quem guarda o valor pode aplicar o maior já visto sem depender da ordem dos eventos.
+ */
+public record ArrecadacaoAtualizadaEvent(Long idProjeto, long centavosSomados, long totalCentavos) {
+}
@@ -0,0 +1,9 @@
+package com.crowdfunding.tecendoarte.events;
+
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+
+/**
+ * Publicado pelo DenunciaService para cada denúncia que deixou de estar pendente.
+ */
+public record DenunciaAnalisadaEvent(TipoDenuncia tipo, Long idAlvo) {
+}
@@ -0,0 +1,11 @@
+package com.crowdfunding.tecendoarte.events;
+
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado pelo DenunciaService para cada denúncia gravada, já sem as repetições do mesmo autor.
+ */
+public record DenunciaRegistradaEvent(TipoDenuncia tipo, Long idAlvo, LocalDateTime criadaEm) {
+}
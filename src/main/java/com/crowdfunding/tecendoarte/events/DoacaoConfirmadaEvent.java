@@ -0,0 +1,9 @@
+package com.crowdfunding.tecendoarte.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publicado pelo DoacaoService para cada doação gravada, logo depois do commit do lote.
+ */
+public record DoacaoConfirmadaEvent(Long idProjeto, Long idConta, long centavos, LocalDateTime data) {
+}
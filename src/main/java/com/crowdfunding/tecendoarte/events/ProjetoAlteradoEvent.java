@@ -0,0 +1,38 @@
+package com.crowdfunding.tecendoarte.events;
+
+import com.crowdfunding.tecendoarte.models.Projeto;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+
+import java.time.LocalDate;
+
+/**
+ * Publicado pelo ProjetoService quando um projeto é criado, alterado ou removido, com os campos
+ * já copiados da entidade para que os ouvintes não dependam da sessão JPA. O valor arrecadado é o
+ * lido com a entidade e pode estar atrás de um lote de doações gravado em paralelo; quem acompanha a
+ * arrecadação deve usar ArrecadacaoAtualizadaEvent.
+ */
+public record ProjetoAlteradoEvent(
+        Long idProjeto,
+        boolean removido,
+        String titulo,
+        String descricaoProjeto,
+        String descricaoRecompensa,
+        StatusProjeto status,
+        TipoArte tipoArte,
+        long metaCentavos,
+        long valorArrecadadoCentavos,
+        LocalDate dataCriacao,
+        Long idArtista) {
+
+    public static ProjetoAlteradoEvent salvo(Projeto projeto) {
+        return new ProjetoAlteradoEvent(projeto.getIdProjeto(), false, projeto.getTitulo(),
+                projeto.getDescricaoProjeto(), projeto.getDescricaoRecompensa(), projeto.getStatus(),
+                projeto.getTipoArte(), projeto.getMetaCentavos(), projeto.getValorArrecadadoCentavos(),
+                projeto.getDataCriacao(), projeto.getArtista().getId());
+    }
+
+    public static ProjetoAlteradoEvent removido(Long idProjeto) {
+        return new ProjetoAlteradoEvent(idProjeto, true, null, null, null, null, null, 0, 0, null, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.crowdfunding.tecendoarte.events;
+
+/**
+ * Publicado pelo UsuarioService quando um usuário é alterado (inclusive os interesses) ou removido.
+ */
+public record UsuarioAlteradoEvent(Long idUsuario) {
+}
@@ -2,6 +2,7 @@ package com.crowdfunding.tecendoarte.models;
 
 import java.util.*;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.models.listeners.IndiceNomeArtistaListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,6 +12,7 @@ import lombok.*;
 @AllArgsConstructor
 @Entity
 @Table(name = "artistas")
+@EntityListeners(IndiceNomeArtistaListener.class)
 public class Artista {
 
     @Id
@@ -27,7 +29,8 @@ public class Artista {
 
     @Builder.Default
     @ElementCollection(targetClass = TipoArte.class, fetch = FetchType.EAGER)
-    @CollectionTable(name = "artista_categorias", joinColumns = @JoinColumn(name = "id_artista"))
+    @CollectionTable(name = "artista_categorias", joinColumns = @JoinColumn(name = "id_artista"),
+            indexes = @Index(name = "idx_artista_categorias_artista", columnList = "id_artista"))
     @Enumerated(EnumType.STRING)
     @Column(name = "categorias", nullable = false)
     private List<TipoArte> categorias = new ArrayList<>();
@@ -0,0 +1,62 @@
+package com.crowdfunding.tecendoarte.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valores monetários são guardados em centavos (long). A conversão para reais (double) só
+ * acontece na borda da API, para manter o formato dos DTOs; somas e comparações ficam em long.
+ * Não há AttributeConverter: as colunas já são BIGINT em centavos e os campos das entidades são
+ * long, que o JPA mapeia sem conversão; um conversor reintroduziria o valor em caixa a cada leitura.
+ */
+public final class Centavos {
+
+    private Centavos() {
+    }
+
+    /**
+     * Converte um valor em reais vindo da API. Rejeita valores com mais de duas casas decimais
+     * em vez de arredondar silenciosamente.
+     */
+    public static long deReais(Double reais) {
+        if (reais == null) {
+            throw new IllegalArgumentException("Valor monetário obrigatório.");
+        }
+        try {
+            return BigDecimal.valueOf(reais).setScale(2, RoundingMode.UNNECESSARY).movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor deve ter no máximo duas casas decimais.");
+        }
+    }
+
+    public static double paraReais(long centavos) {
+        return centavos / 100.0;
+    }
+
+    public static long somar(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Percentual da meta já arrecadado, truncado (pode passar de 100). Meta zero resulta em 0.
+     */
+    public static int percentualFinanciado(long arrecadado, long meta) {
+        if (meta <= 0 || arrecadado <= 0) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.multiplyExact(arrecadado, 100L) / meta);
+    }
+
+    /**
+     * Compara arrecadadoA/metaA com arrecadadoB/metaB sem divisão nem perda de precisão,
+     * multiplicando em cruz com resultado de 128 bits. Valores devem ser não negativos e metas positivas.
+     */
+    public static int compararFinanciamento(long arrecadadoA, long metaA, long arrecadadoB, long metaB) {
+        long altoA = Math.multiplyHigh(arrecadadoA, metaB);
+        long altoB = Math.multiplyHigh(arrecadadoB, metaA);
+        if (altoA != altoB) {
+            return Long.compare(altoA, altoB);
+        }
+        return Long.compareUnsigned(arrecadadoA * metaB, arrecadadoB * metaA);
+    }
+}
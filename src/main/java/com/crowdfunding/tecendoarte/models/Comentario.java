@@ -9,10 +9,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comentario_projeto_data", columnList = "projeto_id, data"),
+        @Index(name = "idx_comentario_conta", columnList = "conta_id")
+})
 public class Comentario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comentario_seq")
+    @SequenceGenerator(name = "comentario_seq", sequenceName = "comentario_seq", allocationSize = 50)
     private Long idComentario;
 
     @ManyToOne
@@ -1,6 +1,7 @@
 package com.crowdfunding.tecendoarte.models;
 
 import com.crowdfunding.tecendoarte.models.enums.TipoConta;
+import com.crowdfunding.tecendoarte.models.listeners.IndiceNomeArtistaListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.List;
@@ -11,6 +12,7 @@ import java.util.ArrayList;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(IndiceNomeArtistaListener.class)
 public class Conta {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -12,10 +12,23 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(uniqueConstraints = {
+        // um autor denuncia cada alvo uma vez; a agregação recusa antes, a restrição cobre o que escapar dela
+        @UniqueConstraint(name = "uk_denuncia_alvo_autor", columnNames = {"tipo", "id_alvo", "conta_id"})
+}, indexes = {
+        // fila de moderação: filtro por status e/ou tipo e ordem por (criadoEm, id), ver DenunciaRepositoryCustomImpl
+        @Index(name = "idx_denuncia_criado_em", columnList = "criado_em, id"),
+        @Index(name = "idx_denuncia_status_criado_em", columnList = "status, criado_em, id"),
+        @Index(name = "idx_denuncia_status_tipo_criado_em", columnList = "status, tipo, criado_em, id"),
+        @Index(name = "idx_denuncia_tipo_criado_em", columnList = "tipo, criado_em, id"),
+        @Index(name = "idx_denuncia_projeto", columnList = "projeto_id"),
+        @Index(name = "idx_denuncia_administrador", columnList = "id_adm")
+})
 public class Denuncia {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "denuncia_seq")
+    @SequenceGenerator(name = "denuncia_seq", sequenceName = "denuncia_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -37,7 +50,7 @@ public class Denuncia {
     @JoinColumn(name = "conta_id", nullable = false)
     private Conta autor;
 
-    @Column(nullable = false)
+    @Column(name = "id_alvo", nullable = false)
     private Long idAlvo;
   
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,6 +63,11 @@ public class Denuncia {
     @Column(nullable = false)
     private LocalDateTime atualizadoEm;
 
+    // o default preenche as linhas que já existiam quando a coluna foi criada
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long versao;
+
     @PrePersist
     void onCreate() {
         LocalDateTime agora = LocalDateTime.now();
@@ -9,18 +9,30 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_doacao_conta_chave", columnNames = {"conta_id", "chave_idempotencia"})
+}, indexes = {
+        @Index(name = "idx_doacao_projeto_data", columnList = "projeto_id, data"),
+        @Index(name = "idx_doacao_conta", columnList = "conta_id")
+})
 public class Doacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // ids reservados em blocos (pooled-lo): os INSERTs de um mesmo flush vão em lote, o que IDENTITY impede
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doacao_seq")
+    @SequenceGenerator(name = "doacao_seq", sequenceName = "doacao_seq", allocationSize = 50)
     private Long idDoacao;
 
-    @Column(nullable = false)
-    private double valor;
+    @Column(name = "valor_centavos", nullable = false)
+    private long valorCentavos;
 
     @Column(nullable = false)
     private LocalDateTime data;
 
+    // Repetir o POST com a mesma chave devolve esta doação em vez de gravar outra
+    @Column(name = "chave_idempotencia", length = 64)
+    private String chaveIdempotencia;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "conta_id", nullable = false)
     private Conta conta;
@@ -4,7 +4,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "imagens")
+@Table(name = "imagens", indexes = {
+        @Index(name = "idx_imagens_projeto", columnList = "id_projeto"),
+        @Index(name = "idx_imagens_artista", columnList = "id_artista")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,12 +15,19 @@ import lombok.*;
 public class Imagem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "imagens_seq")
+    @SequenceGenerator(name = "imagens_seq", sequenceName = "imagens_seq", allocationSize = 50)
     private Long idImagem;
 
-    @Lob
-    @Column(name = "dados_imagem", nullable = false)
-    private byte[] dadosImagem; // Conteúdo binário da imagem
+    // SHA-256 do conteúdo; os bytes ficam no armazenamento de imagens, não no banco
+    @Column(name = "hash_conteudo", nullable = false, length = 64)
+    private String hashConteudo;
+
+    @Column(name = "tipo_conteudo", nullable = false, length = 100)
+    private String tipoConteudo;
+
+    @Column(name = "tamanho_bytes", nullable = false)
+    private Long tamanhoBytes;
 
     @Column(name = "descricao", length = 500)
     private String descricao;
@@ -29,4 +39,4 @@ public class Imagem {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_artista")
     private Artista artista;
-}
\ No newline at end of file
+}
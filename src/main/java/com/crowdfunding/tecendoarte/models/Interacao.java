@@ -6,13 +6,19 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_interacao_remetente", columnList = "remetente_id"),
+        @Index(name = "idx_interacao_destinatario", columnList = "destinatario_id"),
+        @Index(name = "idx_interacao_projeto", columnList = "projeto_id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Interacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interacao_seq")
+    @SequenceGenerator(name = "interacao_seq", sequenceName = "interacao_seq", allocationSize = 50)
     private Long idInteracao;
 
     @Column(nullable = false, columnDefinition = "TEXT")
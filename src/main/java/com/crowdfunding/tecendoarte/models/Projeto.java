@@ -1,6 +1,7 @@
 package com.crowdfunding.tecendoarte.models;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,9 +10,16 @@ import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "projetos")
+@Table(name = "projetos", indexes = {
+        // catálogo: filtro por status e tipo, ordem por (dataCriacao, idProjeto), ver ProjetoRepository
+        @Index(name = "idx_projetos_status_tipo_arte_data_criacao", columnList = "status, tipo_arte, data_criacao, id_projeto"),
+        @Index(name = "idx_projetos_data_criacao", columnList = "data_criacao, id_projeto"),
+        @Index(name = "idx_projetos_artista", columnList = "id_artista"),
+        @Index(name = "idx_projetos_validator", columnList = "id_validator")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,19 +41,32 @@ public class Projeto {
     @Column(name = "descricao_projeto", nullable = false)
     private String descricaoProjeto;
 
-    @Column(name = "meta", nullable = false)
-    private Double meta;
+    @Column(name = "meta_centavos", nullable = false)
+    private long metaCentavos;
 
-    @Column(name = "valor_arrecadado")
-    private Double valorArrecadado;
+    // Só muda via ProjetoRepository.somarValorArrecadado; salvar a entidade não sobrescreve o total
+    @Column(name = "valor_arrecadado_centavos", nullable = false, updatable = false)
+    private long valorArrecadadoCentavos;
 
     @Column(name = "data_criacao", nullable = false)
     private LocalDate dataCriacao;
 
+    // Muda a cada gravação; com a quantidade e o maior id, diz se um snapshot de índice ainda vale
+    @UpdateTimestamp
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    // Só muda via ProjetoRepository.colocarEmRevisao/restaurarStatus: uma edição do artista concorrente
+    // com a moderação não grava de volta o status que leu
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private StatusProjeto status;
 
+    // Status de antes da revisão por denúncias; volta a valer quando um administrador restaura o projeto
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_anterior", updatable = false)
+    private StatusProjeto statusAnterior;
+
     @Column(name = "descricao_recompensa", columnDefinition = "TEXT")
     private String descricaoRecompensa;
     
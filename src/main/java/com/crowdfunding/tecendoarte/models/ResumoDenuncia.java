@@ -0,0 +1,44 @@
+package com.crowdfunding.tecendoarte.models;
+
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agregado das denúncias de um mesmo alvo (tipo + idAlvo). Mantido pelo AgregacaoDenunciaService, que
+ * acumula em memória e grava aqui periodicamente; não deve ser alterado por outro caminho.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "resumo_denuncia",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_denuncia_alvo", columnNames = {"tipo", "id_alvo"}))
+public class ResumoDenuncia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoDenuncia tipo;
+
+    @Column(name = "id_alvo", nullable = false)
+    private Long idAlvo;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false)
+    private long pendentes;
+
+    @Column(nullable = false)
+    private LocalDateTime primeiraEm;
+
+    @Column(nullable = false)
+    private LocalDateTime ultimaEm;
+}
@@ -23,7 +23,8 @@ public class Usuario {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
         name = "usuario_interesse",
-        joinColumns = @JoinColumn(name = "id")
+        joinColumns = @JoinColumn(name = "id"),
+        indexes = @Index(name = "idx_usuario_interesse_usuario", columnList = "id")
     )
 
     @Enumerated(EnumType.STRING)
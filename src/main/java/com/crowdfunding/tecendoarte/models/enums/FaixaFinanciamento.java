@@ -0,0 +1,20 @@
+package com.crowdfunding.tecendoarte.models.enums;
+
+import com.crowdfunding.tecendoarte.models.Centavos;
+
+public enum FaixaFinanciamento {
+    ATE_25,
+    DE_25_A_50,
+    DE_50_A_75,
+    DE_75_A_100,
+    ACIMA_DE_100;
+
+    // Cada faixa inclui o limite inferior: 50% cai em DE_50_A_75 e 100% em ACIMA_DE_100
+    public static FaixaFinanciamento de(long arrecadadoCentavos, long metaCentavos) {
+        int percentual = Centavos.percentualFinanciado(arrecadadoCentavos, metaCentavos);
+        if (percentual >= 100) {
+            return ACIMA_DE_100;
+        }
+        return values()[percentual / 25];
+    }
+}
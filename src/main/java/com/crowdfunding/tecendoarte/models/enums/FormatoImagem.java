@@ -0,0 +1,74 @@
+package com.crowdfunding.tecendoarte.models.enums;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formatos de imagem aceitos no upload. Só formatos raster: SVG e outros tipos com script não são servidos
+ * pela origem da API. O formato é reconhecido pelos bytes iniciais do arquivo, não pelo tipo informado.
+ */
+public enum FormatoImagem {
+    JPEG("image/jpeg"),
+    PNG("image/png"),
+    WEBP("image/webp"),
+    GIF("image/gif");
+
+    // bytes suficientes para reconhecer qualquer um dos formatos (o WebP precisa de 12)
+    public static final int TAMANHO_ASSINATURA = 12;
+
+    private final String tipoConteudo;
+
+    FormatoImagem(String tipoConteudo) {
+        this.tipoConteudo = tipoConteudo;
+    }
+
+    public String getTipoConteudo() {
+        return tipoConteudo;
+    }
+
+    /**
+     * Formato correspondente a um tipo de conteúdo (sem considerar parâmetros nem maiúsculas), ou vazio se o
+     * tipo não for um dos aceitos.
+     */
+    public static Optional<FormatoImagem> doTipo(String tipoConteudo) {
+        if (tipoConteudo == null) {
+            return Optional.empty();
+        }
+        int parametros = tipoConteudo.indexOf(';');
+        String tipo = (parametros >= 0 ? tipoConteudo.substring(0, parametros) : tipoConteudo).trim().toLowerCase(Locale.ROOT);
+        if (tipo.equals("image/jpg")) {
+            return Optional.of(JPEG);
+        }
+        return Arrays.stream(values()).filter(formato -> formato.tipoConteudo.equals(tipo)).findFirst();
+    }
+
+    public static Optional<FormatoImagem> detectar(byte[] inicio) {
+        if (comeca(inicio, 0xFF, 0xD8, 0xFF)) {
+            return Optional.of(JPEG);
+        }
+        if (comeca(inicio, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return Optional.of(PNG);
+        }
+        if (comeca(inicio, 'G', 'I', 'F', '8') && inicio.length >= 6 && (inicio[4] == '7' || inicio[4] == '9') && inicio[5] == 'a') {
+            return Optional.of(GIF);
+        }
+        if (comeca(inicio, 'R', 'I', 'F', 'F') && inicio.length >= 12
+                && inicio[8] == 'W' && inicio[9] == 'E' && inicio[10] == 'B' && inicio[11] == 'P') {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    private static boolean comeca(byte[] inicio, int... assinatura) {
+        if (inicio.length < assinatura.length) {
+            return false;
+        }
+        for (int i = 0; i < assinatura.length; i++) {
+            if ((inicio[i] & 0xFF) != assinatura[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
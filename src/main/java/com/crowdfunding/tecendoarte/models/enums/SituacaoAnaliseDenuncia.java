@@ -0,0 +1,9 @@
+package com.crowdfunding.tecendoarte.models.enums;
+
+public enum SituacaoAnaliseDenuncia {
+    ANALISADA,
+    NAO_ENCONTRADA,
+    JA_ANALISADA,
+    CONFLITO,
+    INVALIDA
+}
@@ -3,5 +3,7 @@ package com.crowdfunding.tecendoarte.models.enums;
 public enum StatusProjeto {
     AGUARDANDO_AVALIACAO,
     APROVADO,
-    REJEITADO
+    REJEITADO,
+    // oculto das listagens por excesso de denúncias até a moderação decidir
+    EM_REVISAO
 }
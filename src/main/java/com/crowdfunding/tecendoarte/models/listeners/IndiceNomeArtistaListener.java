@@ -0,0 +1,61 @@
+package com.crowdfunding.tecendoarte.models.listeners;
+
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantém o índice de nomes de artistas em dia com as gravações de Artista e Conta. As alterações
+ * só chegam ao índice depois do commit, para que um rollback não deixe nomes fantasmas na busca.
+ */
+public class IndiceNomeArtistaListener {
+
+    // resolvido sob demanda: o índice depende do repositório, que depende do EntityManagerFactory
+    private final ObjectProvider<IndiceNomeArtistaServiceInterface> indice;
+
+    public IndiceNomeArtistaListener(ObjectProvider<IndiceNomeArtistaServiceInterface> indice) {
+        this.indice = indice;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aposGravar(Object entidade) {
+        if (entidade instanceof Artista artista) {
+            Long idArtista = artista.getId();
+            Long idConta = artista.getConta().getIdConta();
+            String nome = artista.getConta().getNome();
+            aposCommit(() -> indice.getObject().indexar(idArtista, idConta, nome));
+        } else if (entidade instanceof Conta conta) {
+            Long idConta = conta.getIdConta();
+            String nome = conta.getNome();
+            aposCommit(() -> indice.getObject().renomearConta(idConta, nome));
+        }
+    }
+
+    @PostRemove
+    public void aposRemover(Object entidade) {
+        if (entidade instanceof Artista artista) {
+            Long idArtista = artista.getId();
+            aposCommit(() -> indice.getObject().remover(idArtista));
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
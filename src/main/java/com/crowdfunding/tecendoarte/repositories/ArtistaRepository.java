@@ -1,5 +1,6 @@
 package com.crowdfunding.tecendoarte.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,7 +11,15 @@ import com.crowdfunding.tecendoarte.models.Artista;
 public interface ArtistaRepository extends JpaRepository<Artista, Long> {
     
     Optional<Artista> findByContaEmail(String email);
-    Optional<Artista> findByContaNomeContainingIgnoreCase(String nome);
     @Query("SELECT u FROM Usuario u WHERE u.conta.idConta = :contaId")
     Optional<Artista> findByContaId(@Param("contaId") Long contaId);
+
+    @Query("SELECT a.id AS idArtista, c.idConta AS idConta, c.nome AS nome FROM Artista a JOIN a.conta c")
+    List<NomeArtista> listarNomes();
+
+    interface NomeArtista {
+        Long getIdArtista();
+        Long getIdConta();
+        String getNome();
+    }
 }
\ No newline at end of file
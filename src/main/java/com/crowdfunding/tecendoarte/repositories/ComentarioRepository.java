@@ -0,0 +1,25 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.crowdfunding.tecendoarte.models.Comentario;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+
+public interface ComentarioRepository extends JpaRepository<Comentario, Long> {
+
+    @Query("""
+            SELECT DISTINCT p.artista.id AS idArtista, p.tipoArte AS tipoArte
+            FROM Comentario c JOIN c.projeto p
+            WHERE c.autor.idConta = :idConta
+            """)
+    List<ProjetoComentado> listarProjetosComentados(@Param("idConta") Long idConta);
+
+    interface ProjetoComentado {
+        Long getIdArtista();
+        TipoArte getTipoArte();
+    }
+}
@@ -1,7 +1,11 @@
 package com.crowdfunding.tecendoarte.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.crowdfunding.tecendoarte.models.Conta;
 import java.util.Optional;
 
@@ -9,4 +13,12 @@ import java.util.Optional;
 public interface ContaRepository extends JpaRepository<Conta, Long> {
     boolean existsByEmail(String email);
     Optional<Conta> findByEmail(String email);
-}
\ No newline at end of file
+
+    // Regrava o hash só se a senha não mudou desde a leitura; a transação é só este UPDATE
+    @Modifying
+    @Transactional
+    @Query("UPDATE Conta c SET c.senha = :senhaNova WHERE c.idConta = :idConta AND c.senha = :senhaAtual")
+    int regravarSenha(@Param("idConta") Long idConta,
+                      @Param("senhaAtual") String senhaAtual,
+                      @Param("senhaNova") String senhaNova);
+}
@@ -1,7 +1,54 @@
 package com.crowdfunding.tecendoarte.repositories;
 
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
 import com.crowdfunding.tecendoarte.models.Denuncia;
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface DenunciaRepository extends JpaRepository<Denuncia, Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface DenunciaRepository extends JpaRepository<Denuncia, Long>, DenunciaRepositoryCustom {
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO(
+                d.id, d.tipo, d.idAlvo, d.descricao, d.status, d.criadoEm, d.atualizadoEm, a.nome, a.email, d.versao)
+            FROM Denuncia d JOIN d.autor a
+            ORDER BY d.criadoEm DESC, d.id DESC
+            """)
+    List<ListarDenunciaResponseDTO> listarResumos();
+
+    // Somente leitura: as alterações feitas nas entidades não são gravadas pelo Hibernate, a análise em lote
+    // grava por JDBC
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT d FROM Denuncia d WHERE d.id IN :ids")
+    List<Denuncia> listarSomenteLeitura(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT d.autor.idConta FROM Denuncia d WHERE d.tipo = :tipo AND d.idAlvo = :idAlvo")
+    List<Long> listarAutoresPorAlvo(@Param("tipo") TipoDenuncia tipo, @Param("idAlvo") Long idAlvo);
+
+    @Query("""
+            SELECT d.tipo AS tipo, d.idAlvo AS idAlvo, COUNT(d) AS quantidade,
+                SUM(CASE WHEN d.status = com.crowdfunding.tecendoarte.models.enums.StatusDenuncia.PENDENTE THEN 1 ELSE 0 END) AS pendentes,
+                MIN(d.criadoEm) AS primeiraEm, MAX(d.criadoEm) AS ultimaEm
+            FROM Denuncia d
+            GROUP BY d.tipo, d.idAlvo
+            """)
+    List<AgregadoAlvo> agregarPorAlvo();
+
+    interface AgregadoAlvo {
+        TipoDenuncia getTipo();
+        Long getIdAlvo();
+        long getQuantidade();
+        long getPendentes();
+        LocalDateTime getPrimeiraEm();
+        LocalDateTime getUltimaEm();
+    }
 }
@@ -0,0 +1,18 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DenunciaRepositoryCustom {
+
+    /**
+     * Página da fila de moderação, da denúncia mais recente para a mais antiga. Filtros e cursor nulos
+     * ficam fora da consulta; o cursor é a posição (criadoEm, id) da última denúncia da página anterior.
+     */
+    List<ListarDenunciaResponseDTO> buscarFila(StatusDenuncia status, TipoDenuncia tipo,
+                                               LocalDateTime criadoEmCursor, Long idCursor, int limite);
+}
@@ -0,0 +1,61 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Monta uma consulta para cada combinação de filtros em vez de um único texto com ":status IS NULL OR ...",
+ * que faz o banco planejar a fila sem saber quais colunas filtram e perder os índices de V2 e V5.
+ */
+class DenunciaRepositoryCustomImpl implements DenunciaRepositoryCustom {
+
+    private static final String SELECAO = """
+            SELECT new com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO(
+                d.id, d.tipo, d.idAlvo, d.descricao, d.status, d.criadoEm, d.atualizadoEm, a.nome, a.email, d.versao)
+            FROM Denuncia d JOIN d.autor a
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ListarDenunciaResponseDTO> buscarFila(StatusDenuncia status, TipoDenuncia tipo,
+                                                      LocalDateTime criadoEmCursor, Long idCursor, int limite) {
+        boolean aposCursor = criadoEmCursor != null && idCursor != null;
+        StringBuilder jpql = new StringBuilder(SELECAO);
+        String conector = "WHERE ";
+        if (status != null) {
+            jpql.append(conector).append("d.status = :status ");
+            conector = "AND ";
+        }
+        if (tipo != null) {
+            jpql.append(conector).append("d.tipo = :tipo ");
+            conector = "AND ";
+        }
+        if (aposCursor) {
+            jpql.append(conector).append("(d.criadoEm, d.id) < (:criadoEmCursor, :idCursor) ");
+        }
+        jpql.append("ORDER BY d.criadoEm DESC, d.id DESC");
+
+        TypedQuery<ListarDenunciaResponseDTO> consulta =
+                entityManager.createQuery(jpql.toString(), ListarDenunciaResponseDTO.class);
+        if (status != null) {
+            consulta.setParameter("status", status);
+        }
+        if (tipo != null) {
+            consulta.setParameter("tipo", tipo);
+        }
+        if (aposCursor) {
+            consulta.setParameter("criadoEmCursor", criadoEmCursor);
+            consulta.setParameter("idCursor", idCursor);
+        }
+        return consulta.setMaxResults(limite).getResultList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.crowdfunding.tecendoarte.models.Doacao;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+
+public interface DoacaoRepository extends JpaRepository<Doacao, Long> {
+
+    long countByProjetoIdProjeto(Long idProjeto);
+
+    Optional<Doacao> findByContaIdContaAndChaveIdempotencia(Long idConta, String chaveIdempotencia);
+
+    @Query("SELECT COALESCE(SUM(d.valorCentavos), 0) FROM Doacao d WHERE d.projeto.idProjeto = :idProjeto")
+    long somarCentavosPorProjeto(@Param("idProjeto") Long idProjeto);
+
+    @Query("""
+            SELECT COUNT(d) AS quantidade, COALESCE(SUM(d.valorCentavos), 0) AS centavos
+            FROM Doacao d WHERE d.projeto.idProjeto = :idProjeto
+            """)
+    TotaisDoacao totalizarPorProjeto(@Param("idProjeto") Long idProjeto);
+
+    // Leitura em páginas por chave para recalcular os rankings a partir das doações recentes
+    @Query("""
+            SELECT d.idDoacao AS idDoacao, d.projeto.idProjeto AS idProjeto,
+                   d.valorCentavos AS valorCentavos, d.data AS data
+            FROM Doacao d
+            WHERE d.data > :desde AND d.idDoacao > :idCursor
+            ORDER BY d.idDoacao
+            """)
+    List<DoacaoRecente> listarRecentesAposCursor(@Param("desde") LocalDateTime desde,
+                                                 @Param("idCursor") Long idCursor,
+                                                 Pageable pageable);
+
+    @Query("""
+            SELECT DISTINCT p.idProjeto AS idProjeto, p.artista.id AS idArtista, p.tipoArte AS tipoArte
+            FROM Doacao d JOIN d.projeto p
+            WHERE d.conta.idConta = :idConta
+            """)
+    List<ProjetoApoiado> listarProjetosApoiados(@Param("idConta") Long idConta);
+
+    interface TotaisDoacao {
+        long getQuantidade();
+        long getCentavos();
+    }
+
+    interface DoacaoRecente {
+        Long getIdDoacao();
+        Long getIdProjeto();
+        long getValorCentavos();
+        LocalDateTime getData();
+    }
+
+    interface ProjetoApoiado {
+        Long getIdProjeto();
+        Long getIdArtista();
+        TipoArte getTipoArte();
+    }
+}
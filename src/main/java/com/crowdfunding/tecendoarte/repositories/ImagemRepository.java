@@ -0,0 +1,8 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.crowdfunding.tecendoarte.models.Imagem;
+
+public interface ImagemRepository extends JpaRepository<Imagem, Long> {
+}
@@ -1,16 +1,248 @@
 package com.crowdfunding.tecendoarte.repositories;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.models.Projeto;
 import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 
 public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
-    List<Projeto> findByStatus(StatusProjeto status);
     List<Projeto> findByArtistaId(Long artistaId);
-    List<Projeto> findByTipoArte(TipoArte tipoArte);
 
-}
\ No newline at end of file
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.status <> com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+            ORDER BY p.dataCriacao DESC, p.idProjeto DESC
+            """)
+    List<ProjetoResponseDTO> listarResumos();
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE (:status IS NULL OR p.status = :status)
+              AND p.status <> com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+              AND (:tipoArte IS NULL OR p.tipoArte = :tipoArte)
+            ORDER BY p.dataCriacao DESC, p.idProjeto DESC
+            """)
+    List<ProjetoResponseDTO> buscarCatalogo(@Param("status") StatusProjeto status,
+                                            @Param("tipoArte") TipoArte tipoArte,
+                                            Pageable pageable);
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE (:status IS NULL OR p.status = :status)
+              AND p.status <> com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+              AND (:tipoArte IS NULL OR p.tipoArte = :tipoArte)
+              AND (p.dataCriacao < :dataCursor
+                   OR (p.dataCriacao = :dataCursor AND p.idProjeto < :idCursor))
+            ORDER BY p.dataCriacao DESC, p.idProjeto DESC
+            """)
+    List<ProjetoResponseDTO> buscarCatalogoAposCursor(@Param("status") StatusProjeto status,
+                                                      @Param("tipoArte") TipoArte tipoArte,
+                                                      @Param("dataCursor") LocalDate dataCursor,
+                                                      @Param("idCursor") Long idCursor,
+                                                      Pageable pageable);
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.idProjeto IN :ids
+              AND p.status <> com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+            """)
+    List<ProjetoResponseDTO> listarResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.idProjeto IN :ids
+              AND p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.APROVADO
+            """)
+    List<ProjetoResponseDTO> listarResumosAprovadosPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Resumos na mesma ordem dos ids recebidos, já que a consulta IN não preserva a ordem. Projetos em
+     * revisão ficam de fora, mesmo que um índice em memória ainda não tenha recebido a mudança de status.
+     */
+    default List<ProjetoResponseDTO> listarResumosNaOrdem(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : naOrdem(ids, listarResumosPorIds(ids));
+    }
+
+    /** Como listarResumosNaOrdem, mas só com projetos aprovados, para a busca pública. */
+    default List<ProjetoResponseDTO> listarAprovadosNaOrdem(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : naOrdem(ids, listarResumosAprovadosPorIds(ids));
+    }
+
+    private static List<ProjetoResponseDTO> naOrdem(List<Long> ids, List<ProjetoResponseDTO> resumos) {
+        Map<Long, ProjetoResponseDTO> porId = resumos.stream()
+                .collect(Collectors.toMap(ProjetoResponseDTO::getIdProjeto, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.idProjeto = :idProjeto
+            """)
+    Optional<ProjetoResponseDTO> buscarResumoPorId(@Param("idProjeto") Long idProjeto);
+
+    // Leitura em páginas por chave para reconstruir o índice de busca sem carregar todos os projetos
+    @Query("""
+            SELECT p.idProjeto AS idProjeto, p.titulo AS titulo, p.descricaoProjeto AS descricaoProjeto,
+                   p.descricaoRecompensa AS descricaoRecompensa
+            FROM Projeto p
+            WHERE p.idProjeto > :idCursor
+              AND p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.APROVADO
+            ORDER BY p.idProjeto
+            """)
+    List<TextoProjeto> listarTextosAposId(@Param("idCursor") Long idCursor, Pageable pageable);
+
+    interface TextoProjeto {
+        Long getIdProjeto();
+        String getTitulo();
+        String getDescricaoProjeto();
+        String getDescricaoRecompensa();
+    }
+
+    // Qualquer inclusão, remoção ou gravação de projeto muda pelo menos um destes valores
+    @Query("""
+            SELECT COUNT(p) AS quantidade, MAX(p.idProjeto) AS maiorId, MAX(p.atualizadoEm) AS ultimaAtualizacao
+            FROM Projeto p
+            """)
+    MarcaProjetos buscarMarca();
+
+    interface MarcaProjetos {
+        long getQuantidade();
+        Long getMaiorId();
+        LocalDateTime getUltimaAtualizacao();
+    }
+
+    // Mesma ordem do catálogo, do mais antigo para o mais recente, em páginas por chave
+    @Query("""
+            SELECT p.idProjeto AS idProjeto, p.status AS status, p.tipoArte AS tipoArte,
+                   p.metaCentavos AS metaCentavos, p.valorArrecadadoCentavos AS valorArrecadadoCentavos,
+                   p.dataCriacao AS dataCriacao
+            FROM Projeto p
+            WHERE p.dataCriacao > :dataCursor
+               OR (p.dataCriacao = :dataCursor AND p.idProjeto > :idCursor)
+            ORDER BY p.dataCriacao, p.idProjeto
+            """)
+    List<FacetasProjeto> listarFacetasAposCursor(@Param("dataCursor") LocalDate dataCursor,
+                                                 @Param("idCursor") Long idCursor,
+                                                 Pageable pageable);
+
+    @Query("""
+            SELECT p.idProjeto AS idProjeto, p.artista.id AS idArtista, p.tipoArte AS tipoArte,
+                   p.dataCriacao AS dataCriacao
+            FROM Projeto p
+            WHERE p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.APROVADO
+              AND p.idProjeto > :idCursor
+            ORDER BY p.idProjeto
+            """)
+    List<CandidatoRecomendacao> listarCandidatosRecomendacaoAposId(@Param("idCursor") Long idCursor, Pageable pageable);
+
+    interface FacetasProjeto {
+        Long getIdProjeto();
+        StatusProjeto getStatus();
+        TipoArte getTipoArte();
+        long getMetaCentavos();
+        long getValorArrecadadoCentavos();
+        LocalDate getDataCriacao();
+    }
+
+    @Query("SELECT p.metaCentavos FROM Projeto p WHERE p.idProjeto = :idProjeto")
+    Optional<Long> buscarMetaCentavos(@Param("idProjeto") Long idProjeto);
+
+    @Query("SELECT p.valorArrecadadoCentavos FROM Projeto p WHERE p.idProjeto = :idProjeto")
+    Optional<Long> buscarValorArrecadadoCentavos(@Param("idProjeto") Long idProjeto);
+
+    @Query("SELECT p.status FROM Projeto p WHERE p.idProjeto = :idProjeto")
+    Optional<StatusProjeto> buscarStatus(@Param("idProjeto") Long idProjeto);
+
+    // Incremento feito no banco: não lê o valor atual, então não perde atualizações concorrentes
+    @Modifying
+    @Query("UPDATE Projeto p SET p.valorArrecadadoCentavos = p.valorArrecadadoCentavos + :centavos WHERE p.idProjeto = :idProjeto")
+    int somarValorArrecadado(@Param("idProjeto") Long idProjeto, @Param("centavos") long centavos);
+
+    // Só projetos visíveis entram em revisão; rejeitados e os já em revisão ficam como estão. O status
+    // de antes fica em statusAnterior (as atribuições leem a linha como estava antes do UPDATE)
+    @Modifying
+    @Query("""
+            UPDATE Projeto p SET p.statusAnterior = p.status,
+                                 p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO,
+                                 p.atualizadoEm = local datetime
+            WHERE p.idProjeto = :idProjeto
+              AND p.status IN (com.crowdfunding.tecendoarte.models.enums.StatusProjeto.APROVADO,
+                               com.crowdfunding.tecendoarte.models.enums.StatusProjeto.AGUARDANDO_AVALIACAO)
+            """)
+    int colocarEmRevisao(@Param("idProjeto") Long idProjeto);
+
+    // Sem status anterior gravado (revisões de antes da coluna), o projeto volta para avaliação
+    @Modifying
+    @Query("""
+            UPDATE Projeto p SET p.status = COALESCE(p.statusAnterior,
+                                     com.crowdfunding.tecendoarte.models.enums.StatusProjeto.AGUARDANDO_AVALIACAO),
+                                 p.statusAnterior = NULL,
+                                 p.atualizadoEm = local datetime
+            WHERE p.idProjeto = :idProjeto
+              AND p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+            """)
+    int restaurarStatus(@Param("idProjeto") Long idProjeto);
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.status = com.crowdfunding.tecendoarte.models.enums.StatusProjeto.EM_REVISAO
+            ORDER BY p.atualizadoEm DESC, p.idProjeto DESC
+            """)
+    List<ProjetoResponseDTO> listarEmRevisao();
+
+    @Query("""
+            SELECT new com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO(
+                p.idProjeto, p.titulo, p.descricaoProjeto, p.metaCentavos, p.valorArrecadadoCentavos,
+                p.dataCriacao, p.status, p.tipoArte, c.nome)
+            FROM Projeto p JOIN p.artista a JOIN a.conta c
+            WHERE p.idProjeto = :idProjeto
+            """)
+    Optional<ProjetoResponseDTO> buscarResumo(@Param("idProjeto") Long idProjeto);
+
+    interface CandidatoRecomendacao {
+        Long getIdProjeto();
+        Long getIdArtista();
+        TipoArte getTipoArte();
+        LocalDate getDataCriacao();
+    }
+}
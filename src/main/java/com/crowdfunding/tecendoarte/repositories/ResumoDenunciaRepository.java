@@ -0,0 +1,31 @@
+package com.crowdfunding.tecendoarte.repositories;
+
+import com.crowdfunding.tecendoarte.models.ResumoDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResumoDenunciaRepository extends JpaRepository<ResumoDenuncia, Long> {
+
+    Optional<ResumoDenuncia> findByTipoAndIdAlvo(TipoDenuncia tipo, Long idAlvo);
+
+    List<ResumoDenuncia> findByPendentesGreaterThan(long pendentes);
+
+    @Modifying
+    @Query("""
+            UPDATE ResumoDenuncia r
+            SET r.quantidade = :quantidade, r.pendentes = :pendentes, r.primeiraEm = :primeiraEm, r.ultimaEm = :ultimaEm
+            WHERE r.id = :id
+            """)
+    int atualizar(@Param("id") Long id,
+                  @Param("quantidade") long quantidade,
+                  @Param("pendentes") long pendentes,
+                  @Param("primeiraEm") LocalDateTime primeiraEm,
+                  @Param("ultimaEm") LocalDateTime ultimaEm);
+}
@@ -13,6 +13,7 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>  {
     Optional<Usuario> findByConta(Conta conta);
+    Optional<Usuario> findByContaEmail(String email);
     @Query("SELECT u FROM Usuario u WHERE u.conta.idConta = :contaId")
     Optional<Usuario> findByContaId(@Param("contaId") Long contaId);
 }
@@ -28,6 +28,11 @@ public class AdministradorAuthService implements AdministradorAuthServiceInterfa
             throw new IllegalArgumentException("Senha inválida.");
         }
 
+        if (passwordEncoder.upgradeEncoding(administrador.getSenha())) {
+            administrador.setSenha(passwordEncoder.encode(request.getSenha()));
+            administradorRepository.save(administrador);
+        }
+
         String token = jwtUtil.generateTokenForAdmin(administrador.getId(), administrador.getEmail());
 
         return AdminLoginResponseDTO.builder()
@@ -0,0 +1,389 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
+import com.crowdfunding.tecendoarte.events.DenunciaAnalisadaEvent;
+import com.crowdfunding.tecendoarte.models.ResumoDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import com.crowdfunding.tecendoarte.repositories.DenunciaRepository;
+import com.crowdfunding.tecendoarte.repositories.DenunciaRepository.AgregadoAlvo;
+import com.crowdfunding.tecendoarte.repositories.ResumoDenunciaRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.AgregacaoDenunciaServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Agrega as denúncias por alvo (tipo + idAlvo) no momento em que são registradas: quantidade total,
+ * pendentes, primeira e última denúncia, e o conjunto de contas que já denunciaram o alvo, usado para
+ * recusar a denúncia repetida de um mesmo autor sem consultar o banco.
+ *
+ * Ficam em memória os alvos com denúncias pendentes e os tocados desde a última descarga; os demais
+ * são carregados sob demanda da tabela resumo_denuncia (e os autores, da tabela de denúncias). As
+ * alterações vão para resumo_denuncia a cada descarga, e um alvo sem pendências sai da memória na
+ * descarga seguinte à sua gravação. A restrição única (tipo, id_alvo, conta_id) da tabela de denúncias
+ * recusa a repetição que escapar da reserva em memória.
+ */
+@Service
+public class AgregacaoDenunciaService implements AgregacaoDenunciaServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(AgregacaoDenunciaService.class);
+
+    private static final Comparator<AlvoDenunciadoResponseDTO> MAIS_DENUNCIADO_PRIMEIRO = Comparator
+            .comparingLong(AlvoDenunciadoResponseDTO::getQuantidade).reversed()
+            .thenComparing(AlvoDenunciadoResponseDTO::getUltimaEm, Comparator.reverseOrder());
+
+    private final DenunciaRepository denunciaRepository;
+    private final ResumoDenunciaRepository resumoDenunciaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<ChaveAlvo, Agregado> agregados = new ConcurrentHashMap<>();
+    // lock explícito em vez de synchronized: a descarga grava no banco
+    private final ReentrantLock descarga = new ReentrantLock();
+
+    public AgregacaoDenunciaService(DenunciaRepository denunciaRepository,
+                                    ResumoDenunciaRepository resumoDenunciaRepository,
+                                    TransactionTemplate transactionTemplate) {
+        this.denunciaRepository = denunciaRepository;
+        this.resumoDenunciaRepository = resumoDenunciaRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reconcilia resumo_denuncia com a tabela de denúncias a cada subida, não só na primeira: uma queda
+     * entre a gravação de uma denúncia e a descarga seguinte, ou denúncias removidas fora da aplicação,
+     * deixam os contadores gravados defasados. Ficam em memória os alvos com pendências e os corrigidos,
+     * que a próxima descarga grava.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        Map<ChaveAlvo, ResumoDenuncia> gravados = new HashMap<>();
+        for (ResumoDenuncia resumo : resumoDenunciaRepository.findAll()) {
+            gravados.put(new ChaveAlvo(resumo.getTipo(), resumo.getIdAlvo()), resumo);
+        }
+        for (AgregadoAlvo agregado : denunciaRepository.agregarPorAlvo()) {
+            ChaveAlvo chave = new ChaveAlvo(agregado.getTipo(), agregado.getIdAlvo());
+            ResumoDenuncia gravado = gravados.remove(chave);
+            Agregado atual = new Agregado(gravado == null ? null : gravado.getId(), agregado.getQuantidade(),
+                    agregado.getPendentes(), agregado.getPrimeiraEm(), agregado.getUltimaEm());
+            atual.alterado = gravado == null || !atual.igualA(gravado);
+            if (atual.alterado || atual.pendentes > 0) {
+                agregados.putIfAbsent(chave, atual);
+            }
+        }
+        // alvos sem nenhuma denúncia restante: zera os contadores e mantém as datas, que não aceitam nulo
+        gravados.forEach((chave, gravado) -> {
+            if (gravado.getQuantidade() != 0 || gravado.getPendentes() != 0) {
+                Agregado zerado = new Agregado(gravado.getId(), 0, 0, gravado.getPrimeiraEm(), gravado.getUltimaEm());
+                zerado.alterado = true;
+                agregados.putIfAbsent(chave, zerado);
+            }
+        });
+    }
+
+    @Override
+    public boolean reservarAutor(TipoDenuncia tipo, Long idAlvo, Long idConta) {
+        ChaveAlvo chave = new ChaveAlvo(tipo, idAlvo);
+        while (true) {
+            Agregado agregado = obter(chave);
+            synchronized (agregado) {
+                if (agregado.descartado) {
+                    continue;
+                }
+                if (agregado.autores != null) {
+                    return reservar(agregado, idConta);
+                }
+            }
+            // consulta fora do lock do agregado, que é synchronized e prenderia a thread virtual à portadora;
+            // em corrida, fica o primeiro conjunto carregado
+            List<Long> autoresGravados = denunciaRepository.listarAutoresPorAlvo(tipo, idAlvo);
+            synchronized (agregado) {
+                if (agregado.descartado) {
+                    continue;
+                }
+                if (agregado.autores == null) {
+                    agregado.autores = new ConjuntoIds(autoresGravados);
+                }
+                return reservar(agregado, idConta);
+            }
+        }
+    }
+
+    /** Chamado com o lock do agregado e os autores já carregados. */
+    private static boolean reservar(Agregado agregado, Long idConta) {
+        if (!agregado.autores.adicionar(idConta)) {
+            return false;
+        }
+        agregado.reservas++;
+        return true;
+    }
+
+    @Override
+    public void cancelarReserva(TipoDenuncia tipo, Long idAlvo, Long idConta) {
+        Agregado agregado = agregados.get(new ChaveAlvo(tipo, idAlvo));
+        if (agregado == null) {
+            return;
+        }
+        synchronized (agregado) {
+            agregado.reservas--;
+            agregado.autores.remover(idConta);
+        }
+    }
+
+    @Override
+    public void registrarDenuncia(TipoDenuncia tipo, Long idAlvo, LocalDateTime criadaEm) {
+        alterar(new ChaveAlvo(tipo, idAlvo), agregado -> {
+            agregado.reservas--;
+            agregado.quantidade++;
+            agregado.pendentes++;
+            if (agregado.primeiraEm == null || criadaEm.isBefore(agregado.primeiraEm)) {
+                agregado.primeiraEm = criadaEm;
+            }
+            if (agregado.ultimaEm == null || criadaEm.isAfter(agregado.ultimaEm)) {
+                agregado.ultimaEm = criadaEm;
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAnalisarDenuncia(DenunciaAnalisadaEvent evento) {
+        alterar(new ChaveAlvo(evento.tipo(), evento.idAlvo()), agregado -> {
+            if (agregado.pendentes > 0) {
+                agregado.pendentes--;
+            }
+        });
+    }
+
+    @Override
+    public List<AlvoDenunciadoResponseDTO> listarAlvosPendentes(TipoDenuncia tipo, int limite) {
+        List<AlvoDenunciadoResponseDTO> pendentes = new ArrayList<>();
+        agregados.forEach((chave, agregado) -> {
+            if (tipo != null && chave.tipo() != tipo) {
+                return;
+            }
+            synchronized (agregado) {
+                if (agregado.pendentes > 0 && !agregado.descartado) {
+                    pendentes.add(new AlvoDenunciadoResponseDTO(chave.tipo(), chave.idAlvo(), agregado.quantidade,
+                            agregado.pendentes, agregado.primeiraEm, agregado.ultimaEm));
+                }
+            }
+        });
+        pendentes.sort(MAIS_DENUNCIADO_PRIMEIRO);
+        return pendentes.size() > limite ? List.copyOf(pendentes.subList(0, limite)) : pendentes;
+    }
+
+    /**
+     * Grava em resumo_denuncia os alvos alterados desde a última descarga e tira da memória os que não
+     * têm mais pendências e já estão gravados.
+     */
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.denuncias.agregacao.intervalo-descarga-ms:5000}")
+    public void descarregar() {
+        descarga.lock();
+        try {
+            agregados.forEach((chave, agregado) -> {
+                ResumoDenuncia resumo;
+                synchronized (agregado) {
+                    if (!agregado.alterado) {
+                        if (agregado.pendentes == 0 && agregado.reservas == 0) {
+                            agregado.descartado = true;
+                            agregados.remove(chave, agregado);
+                        }
+                        return;
+                    }
+                    agregado.alterado = false;
+                    resumo = new ResumoDenuncia(agregado.idResumo, chave.tipo(), chave.idAlvo(), agregado.quantidade,
+                            agregado.pendentes, agregado.primeiraEm, agregado.ultimaEm);
+                }
+                try {
+                    gravar(agregado, resumo);
+                } catch (RuntimeException e) {
+                    log.error("Falha ao gravar o resumo de denúncias de {} {}", chave.tipo(), chave.idAlvo(), e);
+                    synchronized (agregado) {
+                        agregado.alterado = true;
+                    }
+                }
+            });
+        } finally {
+            descarga.unlock();
+        }
+    }
+
+    private void gravar(Agregado agregado, ResumoDenuncia resumo) {
+        if (resumo.getId() != null) {
+            transactionTemplate.executeWithoutResult(tx -> resumoDenunciaRepository.atualizar(resumo.getId(),
+                    resumo.getQuantidade(), resumo.getPendentes(), resumo.getPrimeiraEm(), resumo.getUltimaEm()));
+            return;
+        }
+        Long idResumo = resumoDenunciaRepository.save(resumo).getId();
+        synchronized (agregado) {
+            agregado.idResumo = idResumo;
+        }
+    }
+
+    private void alterar(ChaveAlvo chave, Consumer<Agregado> alteracao) {
+        while (true) {
+            Agregado agregado = obter(chave);
+            synchronized (agregado) {
+                if (agregado.descartado) {
+                    continue;
+                }
+                alteracao.accept(agregado);
+                agregado.alterado = true;
+                return;
+            }
+        }
+    }
+
+    private Agregado obter(ChaveAlvo chave) {
+        Agregado agregado = agregados.get(chave);
+        if (agregado != null) {
+            return agregado;
+        }
+        // consulta fora do mapa para não segurar o lock interno dele; em corrida, fica o primeiro carregado
+        Agregado carregado = resumoDenunciaRepository.findByTipoAndIdAlvo(chave.tipo(), chave.idAlvo())
+                .map(Agregado::de)
+                .orElseGet(() -> new Agregado(null, 0, 0, null, null));
+        Agregado existente = agregados.putIfAbsent(chave, carregado);
+        return existente != null ? existente : carregado;
+    }
+
+    private record ChaveAlvo(TipoDenuncia tipo, Long idAlvo) {
+    }
+
+    /** Estado de um alvo; todos os campos só são acessados com o lock do próprio objeto. */
+    private static final class Agregado {
+        Long idResumo;
+        long quantidade;
+        long pendentes;
+        LocalDateTime primeiraEm;
+        LocalDateTime ultimaEm;
+        // carregado do banco na primeira reserva
+        ConjuntoIds autores;
+        // denúncias reservadas e ainda não gravadas; enquanto houver, o alvo não sai da memória
+        int reservas;
+        boolean alterado;
+        // removido do mapa; quem ainda tem a referência deve buscar de novo
+        boolean descartado;
+
+        Agregado(Long idResumo, long quantidade, long pendentes, LocalDateTime primeiraEm, LocalDateTime ultimaEm) {
+            this.idResumo = idResumo;
+            this.quantidade = quantidade;
+            this.pendentes = pendentes;
+            this.primeiraEm = primeiraEm;
+            this.ultimaEm = ultimaEm;
+        }
+
+        boolean igualA(ResumoDenuncia resumo) {
+            return quantidade == resumo.getQuantidade()
+                    && pendentes == resumo.getPendentes()
+                    && Objects.equals(primeiraEm, resumo.getPrimeiraEm())
+                    && Objects.equals(ultimaEm, resumo.getUltimaEm());
+        }
+
+        static Agregado de(ResumoDenuncia resumo) {
+            return new Agregado(resumo.getId(), resumo.getQuantidade(), resumo.getPendentes(),
+                    resumo.getPrimeiraEm(), resumo.getUltimaEm());
+        }
+    }
+
+    /**
+     * Conjunto de ids em endereçamento aberto com sondagem linear sobre um long[], sem objetos por
+     * elemento. A maioria dos alvos tem poucos autores, então começa com 4 posições.
+     */
+    private static final class ConjuntoIds {
+        private static final long VAZIO = 0;
+
+        private long[] posicoes;
+        private int tamanho;
+        // o id 0 coincide com a marca de posição vazia e é guardado à parte
+        private boolean contemZero;
+
+        ConjuntoIds(List<Long> ids) {
+            int capacidade = 4;
+            while (capacidade < ids.size() * 2) {
+                capacidade <<= 1;
+            }
+            posicoes = new long[capacidade];
+            ids.forEach(this::adicionar);
+        }
+
+        boolean adicionar(long id) {
+            if (id == VAZIO) {
+                boolean novo = !contemZero;
+                contemZero = true;
+                return novo;
+            }
+            int mascara = posicoes.length - 1;
+            for (int i = indice(id, mascara); ; i = (i + 1) & mascara) {
+                if (posicoes[i] == id) {
+                    return false;
+                }
+                if (posicoes[i] == VAZIO) {
+                    posicoes[i] = id;
+                    if (++tamanho * 2 > posicoes.length) {
+                        redimensionar();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        void remover(long id) {
+            if (id == VAZIO) {
+                contemZero = false;
+                return;
+            }
+            int mascara = posicoes.length - 1;
+            int i = indice(id, mascara);
+            while (posicoes[i] != id) {
+                if (posicoes[i] == VAZIO) {
+                    return;
+                }
+                i = (i + 1) & mascara;
+            }
+            posicoes[i] = VAZIO;
+            tamanho--;
+            // reposiciona os elementos seguintes da sequência para não deixar buracos na sondagem
+            for (int j = (i + 1) & mascara; posicoes[j] != VAZIO; j = (j + 1) & mascara) {
+                long deslocado = posicoes[j];
+                posicoes[j] = VAZIO;
+                tamanho--;
+                adicionar(deslocado);
+            }
+        }
+
+        private void redimensionar() {
+            long[] antigas = posicoes;
+            posicoes = new long[antigas.length * 2];
+            tamanho = 0;
+            for (long id : antigas) {
+                if (id != VAZIO) {
+                    adicionar(id);
+                }
+            }
+        }
+
+        private static int indice(long id, int mascara) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mascara;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Quebra texto em português em termos para busca: normaliza acentos e caixa, descarta palavras
+ * vazias e reduz cada palavra a um radical leve (plural, diminutivo e vogal temática), de modo que
+ * "pinturas", "pintura" e "pinturinha" gerem o mesmo termo. Indexação e consulta precisam passar
+ * pelo mesmo analisador.
+ */
+public final class AnalisadorTextoPortugues {
+
+    // já sem acentos, pois a comparação é feita depois da normalização
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "em", "entre",
+            "esta", "este", "isso", "isto", "mais", "mas", "na", "nas", "nao", "no", "nos", "num",
+            "numa", "o", "os", "ou", "para", "pela", "pelas", "pelo", "pelos", "por", "que", "se",
+            "sem", "seu", "seus", "sua", "suas", "um", "uma", "umas", "uns");
+
+    private AnalisadorTextoPortugues() {
+    }
+
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        for (String palavra : NormalizadorTexto.palavras(NormalizadorTexto.normalizar(texto))) {
+            if (!PALAVRAS_VAZIAS.contains(palavra)) {
+                termos.add(radical(palavra));
+            }
+        }
+        return termos;
+    }
+
+    static String radical(String palavra) {
+        if (palavra.length() <= 3 || !Character.isLetter(palavra.charAt(palavra.length() - 1))) {
+            return palavra;
+        }
+        String radical = singular(palavra);
+        radical = semDiminutivo(radical);
+        if (radical.length() > 4 && "aoe".indexOf(radical.charAt(radical.length() - 1)) >= 0) {
+            radical = radical.substring(0, radical.length() - 1);
+        }
+        return radical;
+    }
+
+    private static String singular(String palavra) {
+        if (palavra.endsWith("oes") || palavra.endsWith("aes")) {
+            return palavra.substring(0, palavra.length() - 3) + "ao";
+        }
+        if (palavra.endsWith("ais") || palavra.endsWith("eis") || palavra.endsWith("ois")) {
+            return palavra.substring(0, palavra.length() - 2) + "l";
+        }
+        if (palavra.endsWith("ns")) {
+            return palavra.substring(0, palavra.length() - 2) + "m";
+        }
+        if (palavra.endsWith("res") || palavra.endsWith("zes")) {
+            return palavra.substring(0, palavra.length() - 2);
+        }
+        if (palavra.endsWith("s") && !palavra.endsWith("ss") && palavra.length() > 4) {
+            return palavra.substring(0, palavra.length() - 1);
+        }
+        return palavra;
+    }
+
+    private static String semDiminutivo(String palavra) {
+        for (String sufixo : new String[]{"zinho", "zinha", "inho", "inha"}) {
+            if (palavra.endsWith(sufixo) && palavra.length() - sufixo.length() >= 3) {
+                return palavra.substring(0, palavra.length() - sufixo.length());
+            }
+        }
+        return palavra;
+    }
+}
@@ -0,0 +1,124 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Armazena imagens no sistema de arquivos local, endereçadas pelo SHA-256 do conteúdo.
+ * Os bytes são copiados do stream da requisição direto para o arquivo em blocos pequenos,
+ * então o uso de heap não cresce com o tamanho da imagem.
+ */
+@Service
+public class ArmazenamentoImagemService implements ArmazenamentoImagemServiceInterface {
+
+    private static final long BLOCO_TRANSFERENCIA = 64 * 1024;
+
+    private final Path raiz;
+    private final Path temporarios;
+    private final long tamanhoMaximoBytes;
+
+    public ArmazenamentoImagemService(
+            @Value("${app.imagens.diretorio:data/imagens}") String diretorio,
+            @Value("${app.imagens.tamanho-maximo-bytes:20971520}") long tamanhoMaximoBytes) {
+        this.raiz = Paths.get(diretorio).toAbsolutePath().normalize();
+        this.temporarios = raiz.resolve("tmp");
+        this.tamanhoMaximoBytes = tamanhoMaximoBytes;
+        try {
+            Files.createDirectories(temporarios);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de imagens: " + raiz, e);
+        }
+    }
+
+    @Override
+    public ConteudoArmazenado armazenar(InputStream conteudo) {
+        MessageDigest digest = novoDigest();
+        Path temporario = null;
+        try {
+            temporario = Files.createTempFile(temporarios, "upload-", ".part");
+
+            long tamanho = 0;
+            try (ReadableByteChannel origem = Channels.newChannel(new DigestInputStream(conteudo, digest));
+                 FileChannel destino = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                long transferidos;
+                while ((transferidos = destino.transferFrom(origem, tamanho, BLOCO_TRANSFERENCIA)) > 0) {
+                    tamanho += transferidos;
+                    if (tamanho > tamanhoMaximoBytes) {
+                        throw new IllegalArgumentException("Imagem excede o tamanho máximo permitido.");
+                    }
+                }
+            }
+
+            if (tamanho == 0) {
+                throw new IllegalArgumentException("Imagem vazia.");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path definitivo = localizar(hash);
+            if (Files.exists(definitivo)) {
+                // Mesmo conteúdo já armazenado: o arquivo existente é reaproveitado
+                Files.delete(temporario);
+            } else {
+                Files.createDirectories(definitivo.getParent());
+                Files.move(temporario, definitivo, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new ConteudoArmazenado(hash, tamanho);
+        } catch (IOException e) {
+            apagarSilenciosamente(temporario);
+            throw new UncheckedIOException("Falha ao armazenar imagem.", e);
+        } catch (RuntimeException e) {
+            apagarSilenciosamente(temporario);
+            throw e;
+        }
+    }
+
+    @Override
+    public Path localizar(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Hash de imagem inválido.");
+        }
+        return raiz.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Override
+    public Path localizarRendition(String hash, int largura) {
+        Path original = localizar(hash);
+        return raiz.resolve("renditions").resolve(String.valueOf(largura)).resolve(original.getFileName() + ".jpg");
+    }
+
+    private MessageDigest novoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível.", e);
+        }
+    }
+
+    private void apagarSilenciosamente(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ignored) {
+            // arquivo temporário órfão será sobrescrito/limpo depois
+        }
+    }
+}
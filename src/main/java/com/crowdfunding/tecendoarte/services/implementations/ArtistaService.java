@@ -4,19 +4,40 @@ import org.springframework.stereotype.Service;
 import com.crowdfunding.tecendoarte.models.Artista;
 import com.crowdfunding.tecendoarte.models.Conta;
 import com.crowdfunding.tecendoarte.models.Imagem;
+import com.crowdfunding.tecendoarte.models.enums.FormatoImagem;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
 import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.ImagemRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface.ConteudoArmazenado;
 import com.crowdfunding.tecendoarte.services.interfaces.ArtistaServiceInterface;
-
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.ArtistaEncontrado;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.PaginaArtistas;
+import com.crowdfunding.tecendoarte.services.interfaces.RenditionImagemServiceInterface;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.*;
 import com.crowdfunding.tecendoarte.dto.ImagemDTO.ImagemRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ImagemDTO.ImagemResponseDTO;
 import com.crowdfunding.tecendoarte.config.JwtUtil;
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
 
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,10 +49,17 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ArtistaService implements ArtistaServiceInterface {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     private final ArtistaRepository artistaRepository;
     private final ContaRepository contaRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final ImagemRepository imagemRepository;
+    private final ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+    private final RenditionImagemServiceInterface renditionImagemService;
+    private final IndiceNomeArtistaServiceInterface indiceNomeArtistaService;
 
     @Override
     public ArtistaResponseDTO cadastrarArtista(ArtistaRequestDTO request) {
@@ -54,6 +82,7 @@ public class ArtistaService implements ArtistaServiceInterface {
         Artista salvo = this.artistaRepository.save(artista);
 
         return ArtistaResponseDTO.builder()
+                .idArtista(salvo.getId())
                 .nome(conta.getNome())
                 .descricao(salvo.getDescricao())
                 .categorias(salvo.getCategorias().stream().map(TipoArte::name).collect(Collectors.toList()))
@@ -77,7 +106,11 @@ public class ArtistaService implements ArtistaServiceInterface {
 
         Conta conta = artista.getConta();
 
-        String token = this.jwtUtil.generateTokenForArtista(artista.getId(), artista.getConta().getEmail());
+        if (this.passwordEncoder.upgradeEncoding(conta.getSenha())) {
+            this.contaRepository.regravarSenha(conta.getIdConta(), conta.getSenha(), this.passwordEncoder.encode(request.getSenha()));
+        }
+
+        String token = this.jwtUtil.generateTokenForArtista(artista.getId(), conta.getIdConta(), conta.getEmail());
 
         return ArtistaLoginResponseDTO.builder()
                 .nome(conta.getNome())
@@ -93,20 +126,46 @@ public class ArtistaService implements ArtistaServiceInterface {
             throw new IllegalArgumentException("Nome para busca obrigatório.");
         }
 
-        Artista artista = this.artistaRepository.findByContaNomeContainingIgnoreCase(nome)
-                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
+        return this.toResponseDTO(this.buscarMaisParecido(nome, false));
+    }
 
-        Conta conta = artista.getConta();
+    @Override
+    public ArtistaPaginaResponseDTO pesquisarPorNome(String nome, Integer pagina, Integer tamanho) {
 
-        return ArtistaResponseDTO.builder()
-                .nome(conta.getNome())
-                .descricao(artista.getDescricao())
-                .categorias(artista.getCategorias().stream().map(TipoArte::name).collect(Collectors.toList()))
-                .projetos(List.of())
+        if (this.isBlank(nome)) {
+            throw new IllegalArgumentException("Nome para busca obrigatório.");
+        }
+        int numeroPagina = pagina == null ? 0 : pagina;
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : tamanho;
+        if (numeroPagina < 0) {
+            throw new IllegalArgumentException("A página não pode ser negativa.");
+        }
+        if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+
+        PaginaArtistas encontrados = this.indiceNomeArtistaService.buscar(nome, numeroPagina, tamanhoPagina);
+        List<Long> ids = encontrados.itens().stream().map(ArtistaEncontrado::idArtista).toList();
+        Map<Long, Artista> porId = this.artistaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Artista::getId, Function.identity()));
+
+        // findAllById não preserva a ordem; a ordem do índice é a do ranking
+        List<ArtistaResponseDTO> itens = ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponseDTO)
+                .toList();
+
+        return ArtistaPaginaResponseDTO.builder()
+                .itens(itens)
+                .pagina(numeroPagina)
+                .tamanho(tamanhoPagina)
+                .total(encontrados.total())
                 .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ArtistaResponseDTO> listarArtistas() {
 
         List<Artista> artistas = this.artistaRepository.findAll();
@@ -116,20 +175,14 @@ public class ArtistaService implements ArtistaServiceInterface {
         }
 
         return artistas.stream()
-                .map(artista -> ArtistaResponseDTO.builder()
-                        .nome(artista.getConta().getNome())
-                        .descricao(artista.getDescricao())
-                        .categorias(artista.getCategorias().stream().map(TipoArte::name).collect(Collectors.toList()))
-                        .projetos(List.of())
-                        .build())
+                .map(this::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     public ArtistaResponseDTO atualizarArtista(String nome, ArtistaRequestDTO request) {
 
-        Artista artista = this.artistaRepository.findByContaNomeContainingIgnoreCase(nome)
-                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
+        Artista artista = this.buscarMaisParecido(nome, true);
 
         if (!this.isBlank(request.getDescricao())) {
             artista.setDescricao(request.getDescricao());
@@ -143,12 +196,7 @@ public class ArtistaService implements ArtistaServiceInterface {
 
         Artista atualizado = this.artistaRepository.save(artista);
 
-        return ArtistaResponseDTO.builder()
-                .nome(atualizado.getConta().getNome())
-                .descricao(atualizado.getDescricao())
-                .categorias(atualizado.getCategorias().stream().map(TipoArte::name).collect(Collectors.toList()))
-                .projetos(List.of())
-                .build();
+        return this.toResponseDTO(atualizado);
     }
 
     public void deletarArtista(String nome) {
@@ -157,12 +205,33 @@ public class ArtistaService implements ArtistaServiceInterface {
             throw new IllegalArgumentException("Nome obrigatório.");
         }
 
-        Artista artista = this.artistaRepository.findByContaNomeContainingIgnoreCase(nome)
-                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
+        Artista artista = this.buscarMaisParecido(nome, true);
 
         this.artistaRepository.delete(artista);
     }
 
+    /**
+     * Artista mais bem ranqueado para o nome. Operações que alteram dados exigem que o nome
+     * contenha o termo (ignorando acentos e caixa), sem aceitar correspondências aproximadas.
+     */
+    private Artista buscarMaisParecido(String nome, boolean exigirTermo) {
+        return this.indiceNomeArtistaService.buscar(nome, 0, 1).itens().stream()
+                .filter(encontrado -> !exigirTermo || encontrado.contemTermo())
+                .findFirst()
+                .flatMap(encontrado -> this.artistaRepository.findById(encontrado.idArtista()))
+                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
+    }
+
+    private ArtistaResponseDTO toResponseDTO(Artista artista) {
+        return ArtistaResponseDTO.builder()
+                .idArtista(artista.getId())
+                .nome(artista.getConta().getNome())
+                .descricao(artista.getDescricao())
+                .categorias(artista.getCategorias().stream().map(TipoArte::name).collect(Collectors.toList()))
+                .projetos(List.of())
+                .build();
+    }
+
     private boolean isBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
@@ -185,34 +254,85 @@ public class ArtistaService implements ArtistaServiceInterface {
         Artista artista = artistaRepository.findById(idArtista)
             .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
         for (ImagemRequestDTO dto : imagensDto) {
-            byte[] dadosImagem = Base64.getDecoder().decode(dto.getDadosImagemBase64());
-            Imagem imagem = Imagem.builder()
-                .dadosImagem(dadosImagem)
-                .descricao(dto.getDescricao())
-                .artista(artista)
-                .build();
-            artista.getImagensPortifolio().add(imagem);
+            if (this.isBlank(dto.getDadosImagemBase64())) {
+                throw new IllegalArgumentException("Conteúdo da imagem obrigatório.");
+            }
+            // Decodifica o base64 em streaming, sem materializar o byte[] decodificado
+            InputStream conteudo = Base64.getMimeDecoder().wrap(
+                new ByteArrayInputStream(dto.getDadosImagemBase64().getBytes(StandardCharsets.ISO_8859_1)));
+            artista.getImagensPortifolio().add(this.armazenarImagem(artista, conteudo, dto.getTipoConteudo(), dto.getDescricao()));
         }
         artistaRepository.save(artista);
     }
 
+    @Transactional
+    public ImagemResponseDTO adicionarImagemAoPerfil(Long idArtista, InputStream conteudo, String tipoConteudo, String descricao) {
+        Artista artista = artistaRepository.findById(idArtista)
+            .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
+        Imagem imagem = imagemRepository.save(this.armazenarImagem(artista, conteudo, tipoConteudo, descricao));
+        return this.metadadosImagem(imagem).build();
+    }
+
     @Transactional(readOnly = true)
     public List<ImagemResponseDTO> listarImagensPortifolio(Long idArtista) {
         Artista artista = artistaRepository.findById(idArtista)
             .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
         return artista.getImagensPortifolio().stream()
-            .map(imagem -> ImagemResponseDTO.builder()
-                .idImagem(imagem.getIdImagem())
-                .dadosImagemBase64(Base64.getEncoder().encodeToString(imagem.getDadosImagem())) // CORRIGIDO AQUI
-                .descricao(imagem.getDescricao())
-                .projetoId(imagem.getProjeto() != null ? imagem.getProjeto().getIdProjeto() : null)
-                .build())
+            .map(imagem -> this.metadadosImagem(imagem).build())
             .toList();
     }
 
+    private Imagem armazenarImagem(Artista artista, InputStream conteudo, String tipoConteudo, String descricao) {
+        // Sem tipo (ou octet-stream) o formato vem só dos bytes; com tipo, ele precisa ser aceito e bater com os bytes
+        boolean tipoInformado = !this.isBlank(tipoConteudo)
+            && !MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(tipoConteudo.trim().toLowerCase(Locale.ROOT));
+        Optional<FormatoImagem> declarado = FormatoImagem.doTipo(tipoConteudo);
+        if (tipoInformado && declarado.isEmpty()) {
+            throw new IllegalArgumentException("Tipo de conteúdo de imagem inválido.");
+        }
+        PushbackInputStream entrada = new PushbackInputStream(conteudo, FormatoImagem.TAMANHO_ASSINATURA);
+        FormatoImagem formato;
+        try {
+            byte[] inicio = entrada.readNBytes(FormatoImagem.TAMANHO_ASSINATURA);
+            entrada.unread(inicio);
+            formato = FormatoImagem.detectar(inicio)
+                .orElseThrow(() -> new IllegalArgumentException("Formato de imagem não suportado. Use JPEG, PNG, WebP ou GIF."));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler a imagem.", e);
+        }
+        if (declarado.isPresent() && declarado.get() != formato) {
+            throw new IllegalArgumentException("O conteúdo da imagem não corresponde ao tipo informado.");
+        }
+        ConteudoArmazenado armazenado = armazenamentoImagemService.armazenar(entrada);
+        renditionImagemService.agendar(armazenado.hash());
+        return Imagem.builder()
+            .hashConteudo(armazenado.hash())
+            .tipoConteudo(formato.getTipoConteudo())
+            .tamanhoBytes(armazenado.tamanhoBytes())
+            .descricao(descricao)
+            .artista(artista)
+            .build();
+    }
+
+    private ImagemResponseDTO.ImagemResponseDTOBuilder metadadosImagem(Imagem imagem) {
+        return ImagemResponseDTO.builder()
+            .idImagem(imagem.getIdImagem())
+            .descricao(imagem.getDescricao())
+            .projetoId(imagem.getProjeto() != null ? imagem.getProjeto().getIdProjeto() : null)
+            .hashConteudo(imagem.getHashConteudo())
+            .tipoConteudo(imagem.getTipoConteudo())
+            .tamanhoBytes(imagem.getTamanhoBytes())
+            .url("/imagens/" + imagem.getIdImagem())
+            .miniaturaUrl("/imagens/" + imagem.getIdImagem() + "?largura=" + RenditionImagemServiceInterface.MENOR_LARGURA);
+    }
+
     public Long getIdArtistaAutenticado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = (String) authentication.getPrincipal();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuario && usuario.idArtista() != null) {
+            return usuario.idArtista();
+        }
+        String email = principal instanceof UsuarioAutenticado autenticado ? autenticado.email() : (String) principal;
         return artistaRepository.findByContaEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."))
                 .getId();
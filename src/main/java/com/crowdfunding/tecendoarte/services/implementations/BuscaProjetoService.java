@@ -0,0 +1,512 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.TextoProjeto;
+import com.crowdfunding.tecendoarte.services.interfaces.BuscaProjetoServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre título, descrição e recompensa dos projetos, com ranking BM25.
+ *
+ * Cada projeto recebe um número de documento sequencial; as postagens de cada termo são pares de
+ * arrays de int (documento, frequência) em ordem crescente de documento, o que permite percorrer
+ * os termos da consulta em paralelo e manter só os k melhores num heap. Alterar um projeto marca
+ * o documento antigo como removido e acrescenta um novo no fim; quando os removidos passam dos
+ * vivos o índice é compactado.
+ *
+ * Só projetos aprovados são indexados. O índice é mantido pelos eventos do ProjetoService,
+ * gravado em disco periodicamente e no desligamento junto com a marca do banco no momento
+ * (quantidade de projetos, maior id e última gravação), e recarregado desse arquivo na subida
+ * quando a marca confere; caso contrário é reconstruído a partir do banco.
+ */
+@Service
+public class BuscaProjetoService implements BuscaProjetoServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaProjetoService.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int PESO_TITULO = 3;
+    private static final int LOTE_RECONSTRUCAO = 5000;
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private static final int FORMATO_SNAPSHOT = 0x42555343;
+    private static final int VERSAO_SNAPSHOT = 2;
+
+    private final ProjetoRepository projetoRepository;
+    private final Path snapshot;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Indice indice = new Indice();
+    private volatile boolean alteradoDesdeSnapshot;
+
+    // alterações recebidas durante uma reconstrução, reaplicadas sobre o índice novo;
+    // reconstruindo e pendentes só são lidos e alterados sob o lock de escrita
+    private boolean reconstruindo;
+    private final List<Runnable> pendentes = new ArrayList<>();
+    // a reconstrução agendada e a pedida pelo admin não rodam juntas
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+
+    public BuscaProjetoService(
+            ProjetoRepository projetoRepository,
+            @Value("${app.busca.projetos.snapshot:data/indice-projetos.bin}") String snapshot) {
+        this.projetoRepository = projetoRepository;
+        this.snapshot = snapshot == null || snapshot.isBlank() ? null : Paths.get(snapshot).toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        if (snapshot != null && Files.exists(snapshot)) {
+            try {
+                Snapshot carregado = lerSnapshot(snapshot);
+                if (carregado.marca().equals(marcaAtual())) {
+                    substituir(carregado.indice());
+                    log.info("Índice de busca de projetos carregado do snapshot com {} projetos", carregado.indice().vivos);
+                    return;
+                }
+                log.info("Snapshot do índice de busca desatualizado; reconstruindo a partir do banco");
+            } catch (IOException | RuntimeException e) {
+                log.warn("Snapshot do índice de busca ilegível; reconstruindo a partir do banco", e);
+            }
+        }
+        reconstruir();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        salvarSnapshotSeAlterado();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        // só aprovados aparecem na busca; em revisão sai e volta a ser indexado quando deixar a revisão
+        if (evento.removido() || evento.status() != StatusProjeto.APROVADO) {
+            remover(evento.idProjeto());
+        } else {
+            indexar(evento.idProjeto(), evento.titulo(), evento.descricaoProjeto(), evento.descricaoRecompensa());
+        }
+    }
+
+    @Override
+    public List<ProjetoEncontrado> buscar(String consulta, int limite) {
+        List<String> termosConsulta = new ArrayList<>(new LinkedHashSet<>(AnalisadorTextoPortugues.termos(consulta)));
+        if (termosConsulta.isEmpty() || limite < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Indice atual = indice;
+            if (atual.vivos == 0) {
+                return List.of();
+            }
+            List<Postagens> listas = new ArrayList<>();
+            for (String termo : termosConsulta) {
+                Postagens postagens = atual.termos.get(termo);
+                if (postagens != null) {
+                    listas.add(postagens);
+                }
+            }
+            if (listas.isEmpty()) {
+                return List.of();
+            }
+
+            int n = listas.size();
+            double[] idf = new double[n];
+            for (int i = 0; i < n; i++) {
+                int df = listas.get(i).tamanho;
+                idf[i] = Math.log(1 + (atual.vivos - df + 0.5) / (df + 0.5));
+            }
+            double tamanhoMedio = (double) atual.somaTamanhos / atual.vivos;
+
+            // percorre as listas de postagens em paralelo, documento a documento
+            PriorityQueue<Pontuado> melhores = new PriorityQueue<>(limite + 1, Comparator.comparingDouble(Pontuado::pontuacao));
+            int[] posicao = new int[n];
+            while (true) {
+                int documento = Integer.MAX_VALUE;
+                for (int i = 0; i < n; i++) {
+                    Postagens lista = listas.get(i);
+                    if (posicao[i] < lista.tamanho && lista.documentos[posicao[i]] < documento) {
+                        documento = lista.documentos[posicao[i]];
+                    }
+                }
+                if (documento == Integer.MAX_VALUE) {
+                    break;
+                }
+
+                double normalizacao = K1 * (1 - B + B * atual.tamanhos[documento] / tamanhoMedio);
+                double pontuacao = 0;
+                for (int i = 0; i < n; i++) {
+                    Postagens lista = listas.get(i);
+                    if (posicao[i] < lista.tamanho && lista.documentos[posicao[i]] == documento) {
+                        int frequencia = lista.frequencias[posicao[i]];
+                        pontuacao += idf[i] * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                        posicao[i]++;
+                    }
+                }
+                if (atual.removidos.get(documento)) {
+                    continue;
+                }
+                if (melhores.size() < limite) {
+                    melhores.add(new Pontuado(documento, pontuacao));
+                } else if (pontuacao > melhores.peek().pontuacao()) {
+                    melhores.poll();
+                    melhores.add(new Pontuado(documento, pontuacao));
+                }
+            }
+
+            List<Pontuado> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(Comparator.comparingDouble(Pontuado::pontuacao).reversed()
+                    .thenComparingInt(Pontuado::documento));
+            return ordenados.stream()
+                    .map(p -> new ProjetoEncontrado(atual.idsProjeto[p.documento()], p.pontuacao()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexar(Long idProjeto, String titulo, String descricaoProjeto, String descricaoRecompensa) {
+        Map<String, Integer> frequencias = frequencias(titulo, descricaoProjeto, descricaoRecompensa);
+        alterar(() -> {
+            indice.adicionar(idProjeto, frequencias);
+            if (indice.precisaCompactar()) {
+                indice = indice.compactado();
+            }
+        });
+    }
+
+    @Override
+    public void remover(Long idProjeto) {
+        alterar(() -> indice.remover(idProjeto));
+    }
+
+    /**
+     * Aplica a alteração ao índice atual e, durante uma reconstrução, guarda-a para reaplicar sobre
+     * o índice novo. Ambos acontecem sob o lock de escrita, o mesmo da troca, então nenhuma
+     * alteração cai entre a verificação e a troca.
+     */
+    private void alterar(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.run();
+            if (reconstruindo) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        alteradoDesdeSnapshot = true;
+    }
+
+    /**
+     * Reconstrói o índice lendo os projetos do banco em lotes. Buscas continuam respondendo com o
+     * índice anterior até a troca; alterações que chegam durante a leitura são reaplicadas depois.
+     */
+    @Override
+    public int reconstruir() {
+        reconstrucao.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                reconstruindo = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                Indice novo = new Indice();
+                Long cursor = 0L;
+                List<TextoProjeto> lote;
+                do {
+                    lote = projetoRepository.listarTextosAposId(cursor, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                    for (TextoProjeto texto : lote) {
+                        novo.adicionar(texto.getIdProjeto(),
+                                frequencias(texto.getTitulo(), texto.getDescricaoProjeto(), texto.getDescricaoRecompensa()));
+                        cursor = texto.getIdProjeto();
+                    }
+                } while (lote.size() == LOTE_RECONSTRUCAO);
+
+                lock.writeLock().lock();
+                try {
+                    indice = novo;
+                    pendentes.forEach(Runnable::run);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    reconstruindo = false;
+                    pendentes.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            alteradoDesdeSnapshot = true;
+            salvarSnapshotSeAlterado();
+
+            log.info("Índice de busca de projetos reconstruído com {} projetos", indice.vivos);
+            return indice.vivos;
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.busca.projetos.intervalo-snapshot-ms:300000}",
+            initialDelayString = "${app.busca.projetos.intervalo-snapshot-ms:300000}")
+    public void salvarSnapshotSeAlterado() {
+        if (snapshot == null || !alteradoDesdeSnapshot) {
+            return;
+        }
+        alteradoDesdeSnapshot = false;
+        try {
+            // A marca é lida antes de copiar o índice: uma alteração que chegue entre as duas só deixa
+            // o snapshot mais novo que a marca, e na subida a diferença força a reconstrução
+            Marca marca = marcaAtual();
+            Files.createDirectories(snapshot.getParent());
+            Path temporario = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            lock.readLock().lock();
+            try {
+                escreverSnapshot(new Snapshot(marca, indice), temporario);
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temporario, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            alteradoDesdeSnapshot = true;
+            log.warn("Falha ao gravar snapshot do índice de busca de projetos", e);
+        }
+    }
+
+    /** Frequência de cada termo no projeto, com o título pesando mais que as descrições. */
+    private static Map<String, Integer> frequencias(String titulo, String descricaoProjeto, String descricaoRecompensa) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        AnalisadorTextoPortugues.termos(titulo).forEach(t -> frequencias.merge(t, PESO_TITULO, Integer::sum));
+        AnalisadorTextoPortugues.termos(descricaoProjeto).forEach(t -> frequencias.merge(t, 1, Integer::sum));
+        AnalisadorTextoPortugues.termos(descricaoRecompensa).forEach(t -> frequencias.merge(t, 1, Integer::sum));
+        return frequencias;
+    }
+
+    private Marca marcaAtual() {
+        ProjetoRepository.MarcaProjetos marca = projetoRepository.buscarMarca();
+        return new Marca(marca.getQuantidade(),
+                marca.getMaiorId() == null ? 0L : marca.getMaiorId(),
+                marca.getUltimaAtualizacao() == null ? "" : marca.getUltimaAtualizacao().toString());
+    }
+
+    private void substituir(Indice novo) {
+        lock.writeLock().lock();
+        try {
+            indice = novo;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static void escreverSnapshot(Snapshot conteudo, Path arquivo) throws IOException {
+        // só documentos vivos vão para o disco
+        Indice indice = conteudo.indice();
+        Indice compacto = indice.removidos.isEmpty() ? indice : indice.compactado();
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo), 1 << 16))) {
+            saida.writeInt(FORMATO_SNAPSHOT);
+            saida.writeInt(VERSAO_SNAPSHOT);
+            saida.writeLong(conteudo.marca().quantidade());
+            saida.writeLong(conteudo.marca().maiorId());
+            saida.writeUTF(conteudo.marca().ultimaAtualizacao());
+            saida.writeInt(compacto.documentos);
+            for (int d = 0; d < compacto.documentos; d++) {
+                saida.writeLong(compacto.idsProjeto[d]);
+                saida.writeInt(compacto.tamanhos[d]);
+            }
+            saida.writeInt(compacto.termos.size());
+            for (Map.Entry<String, Postagens> termo : compacto.termos.entrySet()) {
+                Postagens postagens = termo.getValue();
+                saida.writeUTF(termo.getKey());
+                saida.writeInt(postagens.tamanho);
+                for (int i = 0; i < postagens.tamanho; i++) {
+                    saida.writeInt(postagens.documentos[i]);
+                    saida.writeInt(postagens.frequencias[i]);
+                }
+            }
+        }
+    }
+
+    static Snapshot lerSnapshot(Path arquivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), 1 << 16))) {
+            if (entrada.readInt() != FORMATO_SNAPSHOT || entrada.readInt() != VERSAO_SNAPSHOT) {
+                throw new IOException("Formato de snapshot não reconhecido: " + arquivo);
+            }
+            Marca marca = new Marca(entrada.readLong(), entrada.readLong(), entrada.readUTF());
+            Indice indice = new Indice();
+            int documentos = entrada.readInt();
+            indice.idsProjeto = new long[Math.max(documentos, 16)];
+            indice.tamanhos = new int[Math.max(documentos, 16)];
+            for (int d = 0; d < documentos; d++) {
+                indice.idsProjeto[d] = entrada.readLong();
+                indice.tamanhos[d] = entrada.readInt();
+                indice.documentoPorProjeto.put(indice.idsProjeto[d], d);
+                indice.somaTamanhos += indice.tamanhos[d];
+            }
+            indice.documentos = documentos;
+            indice.vivos = documentos;
+
+            int termos = entrada.readInt();
+            for (int t = 0; t < termos; t++) {
+                String termo = entrada.readUTF();
+                int tamanho = entrada.readInt();
+                Postagens postagens = new Postagens(tamanho);
+                for (int i = 0; i < tamanho; i++) {
+                    postagens.adicionar(entrada.readInt(), entrada.readInt());
+                }
+                indice.termos.put(termo, postagens);
+            }
+            return new Snapshot(marca, indice);
+        }
+    }
+
+    record Marca(long quantidade, long maiorId, String ultimaAtualizacao) {
+    }
+
+    record Snapshot(Marca marca, Indice indice) {
+    }
+
+    static final class Indice {
+        long[] idsProjeto = new long[16];
+        int[] tamanhos = new int[16];
+        int documentos;
+        int vivos;
+        long somaTamanhos;
+        final BitSet removidos = new BitSet();
+        final Map<Long, Integer> documentoPorProjeto = new HashMap<>();
+        final Map<String, Postagens> termos = new HashMap<>();
+
+        void adicionar(Long idProjeto, Map<String, Integer> frequencias) {
+            remover(idProjeto);
+            if (documentos == idsProjeto.length) {
+                idsProjeto = Arrays.copyOf(idsProjeto, documentos * 2);
+                tamanhos = Arrays.copyOf(tamanhos, documentos * 2);
+            }
+            int documento = documentos++;
+            int tamanho = 0;
+            for (Map.Entry<String, Integer> termo : frequencias.entrySet()) {
+                termos.computeIfAbsent(termo.getKey(), t -> new Postagens(4)).adicionar(documento, termo.getValue());
+                tamanho += termo.getValue();
+            }
+            idsProjeto[documento] = idProjeto;
+            tamanhos[documento] = tamanho;
+            documentoPorProjeto.put(idProjeto, documento);
+            vivos++;
+            somaTamanhos += tamanho;
+        }
+
+        void remover(Long idProjeto) {
+            Integer documento = documentoPorProjeto.remove(idProjeto);
+            if (documento != null) {
+                removidos.set(documento);
+                vivos--;
+                somaTamanhos -= tamanhos[documento];
+            }
+        }
+
+        boolean precisaCompactar() {
+            int quantidadeRemovidos = documentos - vivos;
+            return quantidadeRemovidos >= MINIMO_PARA_COMPACTAR && quantidadeRemovidos > vivos;
+        }
+
+        /** Cópia sem os documentos removidos, renumerando os vivos na mesma ordem. */
+        Indice compactado() {
+            int[] novoNumero = new int[documentos];
+            Indice novo = new Indice();
+            novo.idsProjeto = new long[Math.max(vivos, 16)];
+            novo.tamanhos = new int[Math.max(vivos, 16)];
+            for (int d = 0; d < documentos; d++) {
+                if (removidos.get(d)) {
+                    novoNumero[d] = -1;
+                    continue;
+                }
+                int numero = novo.documentos++;
+                novoNumero[d] = numero;
+                novo.idsProjeto[numero] = idsProjeto[d];
+                novo.tamanhos[numero] = tamanhos[d];
+                novo.documentoPorProjeto.put(idsProjeto[d], numero);
+            }
+            novo.vivos = novo.documentos;
+            novo.somaTamanhos = somaTamanhos;
+
+            termos.forEach((termo, postagens) -> {
+                Postagens filtradas = null;
+                for (int i = 0; i < postagens.tamanho; i++) {
+                    int numero = novoNumero[postagens.documentos[i]];
+                    if (numero >= 0) {
+                        if (filtradas == null) {
+                            filtradas = new Postagens(postagens.tamanho);
+                        }
+                        filtradas.adicionar(numero, postagens.frequencias[i]);
+                    }
+                }
+                if (filtradas != null) {
+                    novo.termos.put(termo, filtradas);
+                }
+            });
+            return novo;
+        }
+    }
+
+    static final class Postagens {
+        int[] documentos;
+        int[] frequencias;
+        int tamanho;
+
+        Postagens(int capacidade) {
+            documentos = new int[Math.max(capacidade, 1)];
+            frequencias = new int[Math.max(capacidade, 1)];
+        }
+
+        void adicionar(int documento, int frequencia) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+            }
+            documentos[tamanho] = documento;
+            frequencias[tamanho] = frequencia;
+            tamanho++;
+        }
+    }
+
+    private record Pontuado(int documento, double pontuacao) {
+    }
+}
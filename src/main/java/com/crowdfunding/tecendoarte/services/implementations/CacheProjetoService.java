@@ -0,0 +1,327 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.ArrecadacaoAtualizadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.CacheProjetoServiceInterface;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache limitado dos detalhes de projeto, com política W-TinyLFU: uma janela LRU pequena recebe as
+ * entradas novas e, quando transborda, o candidato só toma o lugar da vítima da área principal se
+ * for mais frequente segundo um esboço de contagem (count-min, com contadores divididos pela metade
+ * periodicamente). Assim uma varredura de projetos acessados uma vez não expulsa os populares.
+ *
+ * Leituras não bloqueiam: o valor vem de um ConcurrentHashMap e o registro do acesso na política é
+ * descartado se o lock estiver ocupado. Faltas simultâneas do mesmo projeto fazem uma única consulta.
+ * O cache guarda uma cópia imutável do resumo e cada leitura recebe um DTO novo, então quem altera o
+ * DTO devolvido não afeta as outras requisições. A entrada é invalidada a cada alteração do projeto;
+ * doações só atualizam o valor arrecadado da entrada, sem nova consulta.
+ *
+ * A consulta de uma falta vai sempre ao primário, numa transação de leitura e escrita: a entrada não
+ * expira, e uma réplica atrasada lida logo depois da invalidação guardaria a versão anterior do
+ * projeto até a próxima alteração. Com o cache, as faltas são poucas.
+ */
+@Service
+public class CacheProjetoService implements CacheProjetoServiceInterface, MeterBinder {
+
+    private final ProjetoRepository projetoRepository;
+    private final TransactionTemplate primario;
+
+    private final ConcurrentHashMap<Long, Entrada> valores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<Entrada>> carregando = new ConcurrentHashMap<>();
+
+    // estruturas da política; só acessadas com o lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Boolean> janela = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Boolean> principal = new LinkedHashMap<>(16, 0.75f, true);
+    private final EsbocoFrequencia frequencias;
+    private final int capacidadeJanela;
+    private final int capacidadePrincipal;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final LongAdder carregamentosCompartilhados = new LongAdder();
+
+    public CacheProjetoService(ProjetoRepository projetoRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.cache.projetos.tamanho-maximo:10000}") int tamanhoMaximo) {
+        if (tamanhoMaximo < 2) {
+            throw new IllegalArgumentException("app.cache.projetos.tamanho-maximo deve ser pelo menos 2.");
+        }
+        this.projetoRepository = projetoRepository;
+        // sem readOnly o roteamento não escolhe réplica; a consulta do repositório entra nesta transação
+        this.primario = new TransactionTemplate(transactionManager);
+        this.primario.setReadOnly(false);
+        this.capacidadeJanela = Math.max(1, tamanhoMaximo / 100);
+        this.capacidadePrincipal = tamanhoMaximo - capacidadeJanela;
+        this.frequencias = new EsbocoFrequencia(tamanhoMaximo);
+    }
+
+    @Override
+    public ProjetoResponseDTO buscar(Long idProjeto) {
+        Entrada valor = valores.get(idProjeto);
+        if (valor != null) {
+            acertos.increment();
+            registrarAcesso(idProjeto);
+            return valor.paraDTO();
+        }
+        faltas.increment();
+
+        CompletableFuture<Entrada> carga = new CompletableFuture<>();
+        CompletableFuture<Entrada> emAndamento = carregando.putIfAbsent(idProjeto, carga);
+        if (emAndamento != null) {
+            carregamentosCompartilhados.increment();
+            return aguardar(emAndamento).paraDTO();
+        }
+
+        try {
+            valor = primario.execute(tx -> projetoRepository.buscarResumoPorId(idProjeto))
+                    .map(Entrada::de)
+                    .orElseThrow(() -> new EntityNotFoundException("Projeto não encontrado."));
+        } catch (RuntimeException e) {
+            carregando.remove(idProjeto, carga);
+            carga.completeExceptionally(e);
+            throw e;
+        }
+        Entrada carregado = valor;
+        // só guarda se ninguém invalidou o projeto durante a consulta; invalidar remove a carga daqui
+        carregando.computeIfPresent(idProjeto, (id, atual) -> {
+            if (atual == carga) {
+                armazenar(id, carregado);
+            }
+            return atual == carga ? null : atual;
+        });
+        carga.complete(carregado);
+        return carregado.paraDTO();
+    }
+
+    @Override
+    public void invalidar(Long idProjeto) {
+        carregando.remove(idProjeto);
+        lock.lock();
+        try {
+            janela.remove(idProjeto);
+            principal.remove(idProjeto);
+            valores.remove(idProjeto);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        invalidar(evento.idProjeto());
+    }
+
+    /**
+     * Aplica o novo total à entrada em vez de descartá-la. O total só cresce, então o maior valor visto
+     * vence: um evento fora de ordem ou já refletido na consulta não conta a doação duas vezes. Uma
+     * consulta em andamento pode ter lido o total anterior e por isso não é guardada.
+     */
+    @EventListener
+    public void aoAtualizarArrecadacao(ArrecadacaoAtualizadaEvent evento) {
+        carregando.remove(evento.idProjeto());
+        valores.computeIfPresent(evento.idProjeto(), (id, entrada) -> entrada.comArrecadado(evento.totalCentavos()));
+    }
+
+    private Entrada aguardar(CompletableFuture<Entrada> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private void registrarAcesso(Long idProjeto) {
+        // acesso perdido só atrasa a política; não vale esperar pelo lock numa leitura
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            frequencias.incrementar(idProjeto);
+            if (janela.get(idProjeto) == null) {
+                principal.get(idProjeto);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void armazenar(Long idProjeto, Entrada valor) {
+        lock.lock();
+        try {
+            frequencias.incrementar(idProjeto);
+            valores.put(idProjeto, valor);
+            if (principal.containsKey(idProjeto)) {
+                principal.get(idProjeto);
+                return;
+            }
+            janela.put(idProjeto, Boolean.TRUE);
+            if (janela.size() <= capacidadeJanela) {
+                return;
+            }
+
+            Long candidato = removerMaisAntigo(janela);
+            if (principal.size() < capacidadePrincipal) {
+                principal.put(candidato, Boolean.TRUE);
+                return;
+            }
+            Long vitima = principal.keySet().iterator().next();
+            if (frequencias.estimar(candidato) > frequencias.estimar(vitima)) {
+                principal.remove(vitima);
+                principal.put(candidato, Boolean.TRUE);
+                expulsar(vitima);
+            } else {
+                expulsar(candidato);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Long removerMaisAntigo(LinkedHashMap<Long, Boolean> segmento) {
+        Iterator<Long> iterator = segmento.keySet().iterator();
+        Long maisAntigo = iterator.next();
+        iterator.remove();
+        return maisAntigo;
+    }
+
+    private void expulsar(Long idProjeto) {
+        valores.remove(idProjeto);
+        remocoes.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("projetos.cache.hits", acertos, LongAdder::doubleValue)
+                .description("Detalhes de projeto atendidos pelo cache")
+                .register(registry);
+        FunctionCounter.builder("projetos.cache.misses", faltas, LongAdder::doubleValue)
+                .description("Detalhes de projeto que não estavam no cache")
+                .register(registry);
+        FunctionCounter.builder("projetos.cache.evictions", remocoes, LongAdder::doubleValue)
+                .description("Entradas expulsas pela política de tamanho")
+                .register(registry);
+        FunctionCounter.builder("projetos.cache.coalesced", carregamentosCompartilhados, LongAdder::doubleValue)
+                .description("Faltas atendidas pela consulta já em andamento de outra requisição")
+                .register(registry);
+        Gauge.builder("projetos.cache.size", valores, Map::size)
+                .description("Quantidade de projetos no cache")
+                .register(registry);
+    }
+
+    /** Resumo guardado no cache; cada leitura monta um ProjetoResponseDTO novo a partir dele. */
+    private record Entrada(Long idProjeto, String titulo, String descricaoProjeto, long metaCentavos,
+                           long valorArrecadadoCentavos, LocalDate dataCriacao, StatusProjeto status,
+                           TipoArte tipoArte, String nomeArtista) {
+
+        static Entrada de(ProjetoResponseDTO resumo) {
+            return new Entrada(resumo.getIdProjeto(), resumo.getTitulo(), resumo.getDescricaoProjeto(),
+                    centavos(resumo.getMeta()), centavos(resumo.getValorArrecadado()), resumo.getDataCriacao(),
+                    resumo.getStatus(), resumo.getTipoArte(), resumo.getNomeArtista());
+        }
+
+        // os reais do resumo vieram de centavos / 100.0, então o arredondamento devolve o valor exato
+        private static long centavos(Double reais) {
+            return reais == null ? 0L : Math.round(reais * 100);
+        }
+
+        Entrada comArrecadado(long totalCentavos) {
+            if (totalCentavos <= valorArrecadadoCentavos) {
+                return this;
+            }
+            return new Entrada(idProjeto, titulo, descricaoProjeto, metaCentavos, totalCentavos, dataCriacao,
+                    status, tipoArte, nomeArtista);
+        }
+
+        ProjetoResponseDTO paraDTO() {
+            return new ProjetoResponseDTO(idProjeto, titulo, descricaoProjeto, metaCentavos, valorArrecadadoCentavos,
+                    dataCriacao, status, tipoArte, nomeArtista);
+        }
+    }
+
+    /**
+     * Count-min com quatro linhas de contadores de até 15. Depois de 10 inserções por posição do
+     * cache todos os contadores são divididos por dois, para que popularidade antiga envelheça.
+     */
+    private static final class EsbocoFrequencia {
+        private static final int LINHAS = 4;
+        private static final int MAXIMO = 15;
+        private static final long[] SEMENTES = {
+                0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+        private final byte[][] contadores;
+        private final int mascara;
+        private final int limiteAmostras;
+        private int amostras;
+
+        EsbocoFrequencia(int tamanhoMaximo) {
+            int largura = Integer.highestOneBit(Math.max(16, tamanhoMaximo - 1) << 1);
+            this.contadores = new byte[LINHAS][largura];
+            this.mascara = largura - 1;
+            this.limiteAmostras = 10 * tamanhoMaximo;
+        }
+
+        void incrementar(long chave) {
+            for (int linha = 0; linha < LINHAS; linha++) {
+                int posicao = posicao(chave, linha);
+                if (contadores[linha][posicao] < MAXIMO) {
+                    contadores[linha][posicao]++;
+                }
+            }
+            if (++amostras >= limiteAmostras) {
+                envelhecer();
+            }
+        }
+
+        int estimar(long chave) {
+            int minimo = MAXIMO;
+            for (int linha = 0; linha < LINHAS; linha++) {
+                minimo = Math.min(minimo, contadores[linha][posicao(chave, linha)]);
+            }
+            return minimo;
+        }
+
+        private void envelhecer() {
+            for (byte[] linha : contadores) {
+                for (int i = 0; i < linha.length; i++) {
+                    linha[i] >>= 1;
+                }
+            }
+            amostras /= 2;
+        }
+
+        private int posicao(long chave, int linha) {
+            long hash = (chave + SEMENTES[linha]) * SEMENTES[(linha + 1) % LINHAS];
+            return (int) (hash ^ (hash >>> 32)) & mascara;
+        }
+    }
+}
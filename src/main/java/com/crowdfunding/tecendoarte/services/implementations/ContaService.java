@@ -14,8 +14,14 @@ import java.util.ArrayList;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * O hash da senha espera na fila do pool de hash por até alguns segundos; por isso é calculado antes
+ * da transação, e a conexão do banco só é pega para a gravação.
+ */
 @Service
 public class ContaService implements ContaServiceInterface {
 
@@ -23,28 +29,35 @@ public class ContaService implements ContaServiceInterface {
     private final UsuarioRepository usuarioRepository;
     private final ArtistaRepository artistaRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
     public ContaService(
             ContaRepository contaRepository,
             PasswordEncoder passwordEncoder,
             UsuarioRepository usuarioRepository,
-            ArtistaRepository artistaRepository) {
+            ArtistaRepository artistaRepository,
+            PlatformTransactionManager transactionManager) {
         this.contaRepository = contaRepository;
         this.passwordEncoder = passwordEncoder;
         this.usuarioRepository = usuarioRepository;
         this.artistaRepository = artistaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional
     public ContaResponseDTO cadastrar(ContaRequestDTO contaDTO) {
         if (contaRepository.existsByEmail(contaDTO.getEmail())) {
             throw new IllegalArgumentException("Já existe uma conta com esse email.");
         }
 
+        String senha = passwordEncoder.encode(contaDTO.getSenha());
+        return transactionTemplate.execute(tx -> gravarNovaConta(contaDTO, senha));
+    }
+
+    private ContaResponseDTO gravarNovaConta(ContaRequestDTO contaDTO, String senha) {
         Conta conta = Conta.builder()
                 .email(contaDTO.getEmail())
-                .senha(passwordEncoder.encode(contaDTO.getSenha()))
+                .senha(senha)
                 .nome(contaDTO.getNome())
                 .tipoConta(contaDTO.getTipoConta())
                 .build();
@@ -70,14 +83,18 @@ public class ContaService implements ContaServiceInterface {
     }
 
     @Override
-    @Transactional
     public ContaResponseDTO atualizarConta(Long id, ContaRequestDTO contaDTO) {
+        String senha = passwordEncoder.encode(contaDTO.getSenha());
+        return transactionTemplate.execute(tx -> gravarAtualizacao(id, contaDTO, senha));
+    }
+
+    private ContaResponseDTO gravarAtualizacao(Long id, ContaRequestDTO contaDTO, String senha) {
         Conta conta = contaRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Conta nao encontrada."));
 
         conta.setNome(contaDTO.getNome());
         conta.setEmail(contaDTO.getEmail());
-        conta.setSenha(passwordEncoder.encode(contaDTO.getSenha()));
+        conta.setSenha(senha);
 
         //tipo da conta mudou
         TipoConta tipoAnterior = conta.getTipoConta();
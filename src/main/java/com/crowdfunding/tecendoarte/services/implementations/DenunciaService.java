@@ -1,25 +1,196 @@
 package com.crowdfunding.tecendoarte.services.implementations;
 
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AnaliseLoteDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaPaginaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ItemAnaliseDenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ResultadoAnaliseDenunciaDTO;
+import com.crowdfunding.tecendoarte.events.DenunciaAnalisadaEvent;
+import com.crowdfunding.tecendoarte.events.DenunciaRegistradaEvent;
 import com.crowdfunding.tecendoarte.models.Denuncia;
+import com.crowdfunding.tecendoarte.models.enums.SituacaoAnaliseDenuncia;
 import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
 import com.crowdfunding.tecendoarte.repositories.DenunciaRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.AgregacaoDenunciaServiceInterface;
 import com.crowdfunding.tecendoarte.services.interfaces.DenunciaServiceInterface;
 import jakarta.persistence.EntityNotFoundException;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class DenunciaService implements DenunciaServiceInterface {
 
+    private static final String RESTRICAO_AUTOR_UNICO = "uk_denuncia_alvo_autor";
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+    private static final int LIMITE_ALVOS_PADRAO = 20;
+
+    // A versão na cláusula WHERE faz o papel do @Version: se outra análise gravou antes, nenhuma linha é atualizada
+    private static final String SQL_ANALISAR = """
+            UPDATE denuncia SET status = ?, atualizado_em = ?, versao = versao + 1
+            WHERE id = ? AND versao = ?
+            """;
+
     private final DenunciaRepository denunciaRepository;
+    private final ContaRepository contaRepository;
+    private final ProjetoRepository projetoRepository;
+    private final ArtistaRepository artistaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final AgregacaoDenunciaServiceInterface agregacaoDenunciaService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoMaximoLote;
+
+    public DenunciaService(DenunciaRepository denunciaRepository,
+                           ContaRepository contaRepository,
+                           ProjetoRepository projetoRepository,
+                           ArtistaRepository artistaRepository,
+                           UsuarioRepository usuarioRepository,
+                           AgregacaoDenunciaServiceInterface agregacaoDenunciaService,
+                           ApplicationEventPublisher eventPublisher,
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${app.denuncias.analise-lote.tamanho-maximo:500}") int tamanhoMaximoLote) {
+        this.denunciaRepository = denunciaRepository;
+        this.contaRepository = contaRepository;
+        this.projetoRepository = projetoRepository;
+        this.artistaRepository = artistaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.agregacaoDenunciaService = agregacaoDenunciaService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+    }
+
+    @Override
+    public DenunciaResponseDTO registrar(DenunciaRequestDTO dto, Long idConta) {
+        TipoDenuncia tipo = dto.getTipoDenuncia();
+        Long idAlvo = dto.getIdAlvo();
+        boolean alvoExiste = switch (tipo) {
+            case PROJETO -> projetoRepository.existsById(idAlvo);
+            case ARTISTA -> artistaRepository.existsById(idAlvo);
+            case USUARIO -> usuarioRepository.existsById(idAlvo);
+        };
+        if (!alvoExiste) {
+            throw new EntityNotFoundException("Alvo da denúncia não encontrado.");
+        }
+
+        // a reserva recusa a repetição do mesmo autor antes de gravar, inclusive entre requisições simultâneas
+        if (!agregacaoDenunciaService.reservarAutor(tipo, idAlvo, idConta)) {
+            throw new IllegalArgumentException("Você já denunciou este alvo.");
+        }
+        Denuncia salva;
+        try {
+            salva = denunciaRepository.save(Denuncia.builder()
+                    .tipo(tipo)
+                    .idAlvo(idAlvo)
+                    .descricao(dto.getDescricao())
+                    .autor(contaRepository.getReferenceById(idConta))
+                    .projeto(tipo == TipoDenuncia.PROJETO ? projetoRepository.getReferenceById(idAlvo) : null)
+                    .build());
+        } catch (RuntimeException e) {
+            agregacaoDenunciaService.cancelarReserva(tipo, idAlvo, idConta);
+            // a reserva não vê denúncias gravadas por outra instância ou fora da aplicação depois que os
+            // autores do alvo foram carregados; a restrição única recusa essas
+            if (e instanceof DataIntegrityViolationException violacao && violouAutorUnico(violacao)) {
+                throw new IllegalArgumentException("Você já denunciou este alvo.", e);
+            }
+            throw e;
+        }
+        agregacaoDenunciaService.registrarDenuncia(tipo, idAlvo, salva.getCriadoEm());
+        eventPublisher.publishEvent(new DenunciaRegistradaEvent(tipo, idAlvo, salva.getCriadoEm()));
+
+        return DenunciaResponseDTO.builder()
+                .idDenuncia(salva.getId())
+                .tipoDenuncia(salva.getTipo())
+                .descricao(salva.getDescricao())
+                .statusDenuncia(salva.getStatus())
+                .idAlvo(salva.getIdAlvo())
+                .build();
+    }
 
     @Override
-    public List<Denuncia> listarTodas() {
-        return denunciaRepository.findAll(Sort.by(Sort.Direction.DESC, "criadoEm"));
+    public List<AlvoDenunciadoResponseDTO> listarAlvosPendentes(TipoDenuncia tipo, Integer limite) {
+        int quantidade = limite == null ? LIMITE_ALVOS_PADRAO : limite;
+        if (quantidade < 1 || quantidade > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+        return agregacaoDenunciaService.listarAlvosPendentes(tipo, quantidade);
+    }
+
+    public Long getIdContaAutenticada() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuario && usuario.idConta() != null) {
+            return usuario.idConta();
+        }
+        String email = principal instanceof UsuarioAutenticado autenticado ? autenticado.email() : (String) principal;
+        return contaRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."))
+                .getIdConta();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ListarDenunciaResponseDTO> listarTodas() {
+        return denunciaRepository.listarResumos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DenunciaPaginaResponseDTO listarFila(StatusDenuncia status, TipoDenuncia tipo, String cursor, Integer tamanho) {
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : tamanho;
+        if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        List<ListarDenunciaResponseDTO> encontradas;
+        if (cursor == null || cursor.isBlank()) {
+            encontradas = denunciaRepository.buscarFila(status, tipo, null, null, tamanhoPagina + 1);
+        } else {
+            CursorFila posicao = decodificarCursor(cursor);
+            encontradas = denunciaRepository.buscarFila(status, tipo, posicao.criadoEm(), posicao.id(), tamanhoPagina + 1);
+        }
+
+        boolean temMais = encontradas.size() > tamanhoPagina;
+        List<ListarDenunciaResponseDTO> itens = temMais ? encontradas.subList(0, tamanhoPagina) : encontradas;
+        String proximoCursor = temMais ? codificarCursor(itens.get(itens.size() - 1)) : null;
+
+        return DenunciaPaginaResponseDTO.builder()
+                .itens(List.copyOf(itens))
+                .proximoCursor(proximoCursor)
+                .build();
     }
 
     @Override
@@ -27,19 +198,136 @@ public class DenunciaService implements DenunciaServiceInterface {
         Denuncia denuncia = denunciaRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Denúncia não encontrada."));
 
+        validarResultado(resultado);
+        aplicarResultado(denuncia, resultado);
+
+        Denuncia analisada = denunciaRepository.save(denuncia);
+        eventPublisher.publishEvent(new DenunciaAnalisadaEvent(analisada.getTipo(), analisada.getIdAlvo()));
+        return analisada;
+    }
+
+    @Override
+    @Transactional
+    public AnaliseLoteDenunciaResponseDTO analisarEmLote(List<ItemAnaliseDenunciaRequestDTO> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma denúncia.");
+        }
+        if (itens.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException("O lote deve ter no máximo " + tamanhoMaximoLote + " denúncias.");
+        }
+
+        Map<Long, Denuncia> denuncias = denunciaRepository.listarSomenteLeitura(
+                        itens.stream().map(ItemAnaliseDenunciaRequestDTO::getId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Denuncia::getId, Function.identity()));
+
+        ResultadoAnaliseDenunciaDTO[] resultados = new ResultadoAnaliseDenunciaDTO[itens.size()];
+        List<Object[]> atualizacoes = new ArrayList<>();
+        List<Integer> posicoes = new ArrayList<>();
+        Set<Long> vistas = new HashSet<>();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < itens.size(); i++) {
+            ItemAnaliseDenunciaRequestDTO item = itens.get(i);
+            Denuncia denuncia = denuncias.get(item.getId());
+            if (!vistas.add(item.getId())) {
+                resultados[i] = resultado(item.getId(), SituacaoAnaliseDenuncia.INVALIDA, null, "Denúncia repetida no lote.");
+            } else if (denuncia == null) {
+                resultados[i] = resultado(item.getId(), SituacaoAnaliseDenuncia.NAO_ENCONTRADA, null, "Denúncia não encontrada.");
+            } else if (item.getResultado() == null || item.getResultado() == StatusDenuncia.PENDENTE) {
+                resultados[i] = resultado(item.getId(), SituacaoAnaliseDenuncia.INVALIDA, denuncia, "Resultado inválido para análise.");
+            } else if (item.getVersao() != null && item.getVersao() != denuncia.getVersao()) {
+                resultados[i] = resultado(item.getId(), SituacaoAnaliseDenuncia.CONFLITO, denuncia,
+                        "Denúncia alterada desde a versão informada.");
+            } else {
+                try {
+                    // entidade somente leitura: a mudança de status só valida a transição e monta o UPDATE
+                    aplicarResultado(denuncia, item.getResultado());
+                    atualizacoes.add(new Object[]{denuncia.getStatus().name(), agora, denuncia.getId(), denuncia.getVersao()});
+                    posicoes.add(i);
+                } catch (IllegalArgumentException e) {
+                    resultados[i] = resultado(item.getId(), SituacaoAnaliseDenuncia.JA_ANALISADA, denuncia, e.getMessage());
+                }
+            }
+        }
+
+        int[] atualizadas = atualizacoes.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(SQL_ANALISAR, atualizacoes);
+        int analisadas = 0;
+        for (int j = 0; j < atualizadas.length; j++) {
+            int posicao = posicoes.get(j);
+            Denuncia denuncia = denuncias.get(itens.get(posicao).getId());
+            // drivers que não informam a contagem por comando do lote não permitem detectar o conflito aqui
+            if (atualizadas[j] > 0 || atualizadas[j] == Statement.SUCCESS_NO_INFO) {
+                analisadas++;
+                eventPublisher.publishEvent(new DenunciaAnalisadaEvent(denuncia.getTipo(), denuncia.getIdAlvo()));
+                resultados[posicao] = ResultadoAnaliseDenunciaDTO.builder()
+                        .id(denuncia.getId())
+                        .situacao(SituacaoAnaliseDenuncia.ANALISADA)
+                        .status(denuncia.getStatus())
+                        .versao(denuncia.getVersao() + 1)
+                        .build();
+            } else {
+                resultados[posicao] = resultado(denuncia.getId(), SituacaoAnaliseDenuncia.CONFLITO, null,
+                        "Denúncia alterada por outra análise.");
+            }
+        }
+
+        return AnaliseLoteDenunciaResponseDTO.builder()
+                .analisadas(analisadas)
+                .resultados(Arrays.asList(resultados))
+                .build();
+    }
+
+    private void validarResultado(StatusDenuncia resultado) {
         if (resultado == null) {
             throw new IllegalArgumentException("Resultado da análise é obrigatório.");
         }
         if (resultado == StatusDenuncia.PENDENTE) {
             throw new IllegalArgumentException("Resultado inválido para análise.");
         }
+    }
 
+    private void aplicarResultado(Denuncia denuncia, StatusDenuncia resultado) {
         switch (resultado) {
             case PROCEDENTE -> denuncia.marcarComoProcedente();
             case IMPROCEDENTE -> denuncia.marcarComoImprocedente();
             default -> throw new IllegalArgumentException("Resultado inválido para análise.");
         }
+    }
+
+    private ResultadoAnaliseDenunciaDTO resultado(Long id, SituacaoAnaliseDenuncia situacao, Denuncia denuncia, String mensagem) {
+        return ResultadoAnaliseDenunciaDTO.builder()
+                .id(id)
+                .situacao(situacao)
+                .status(denuncia == null ? null : denuncia.getStatus())
+                .versao(denuncia == null ? null : denuncia.getVersao())
+                .mensagem(mensagem)
+                .build();
+    }
+
+    private String codificarCursor(ListarDenunciaResponseDTO ultima) {
+        String valor = ultima.getCriadoEm() + "|" + ultima.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean violouAutorUnico(DataIntegrityViolationException e) {
+        // o PostgreSQL e o H2 citam o nome da restrição na mensagem do driver
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(RESTRICAO_AUTOR_UNICO);
+    }
+
+    private CursorFila decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new CursorFila(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido.", ex);
+        }
+    }
 
-        return denunciaRepository.save(denuncia);
+    private record CursorFila(LocalDateTime criadoEm, Long id) {
     }
 }
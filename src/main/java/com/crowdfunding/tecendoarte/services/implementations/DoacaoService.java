@@ -0,0 +1,323 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoResponseDTO;
+import com.crowdfunding.tecendoarte.events.ArrecadacaoAtualizadaEvent;
+import com.crowdfunding.tecendoarte.events.DoacaoConfirmadaEvent;
+import com.crowdfunding.tecendoarte.models.Centavos;
+import com.crowdfunding.tecendoarte.models.Doacao;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.DoacaoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.DoacaoServiceInterface.DoacaoNaoConfirmadaException;
+import com.crowdfunding.tecendoarte.services.interfaces.ProgressoProjetoServiceInterface;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recebe doações e as grava em lotes: as requisições entram numa fila limitada e threads
+ * escritoras gravam o que houver acumulado numa única transação, respondendo cada requisição
+ * só depois do commit. Na mesma transação, o total arrecadado de cada projeto do lote recebe um
+ * único UPDATE de incremento (em centavos), então a linha do projeto é disputada uma vez por lote,
+ * não por doação, e o total nunca fica diferente das doações gravadas.
+ *
+ * Toda doação leva uma chave de idempotência (do cliente ou gerada aqui), única por conta: repetir o
+ * pedido com a mesma chave devolve a doação já gravada. Fila cheia ou desistência antes da gravação
+ * não gravam nada e podem ser repetidas; sem confirmação depois que a gravação começou, a resposta
+ * é DoacaoNaoConfirmadaException com a chave, para consulta.
+ */
+@Service
+public class DoacaoService implements DoacaoServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(DoacaoService.class);
+
+    private static final int PENDENTE = 0;
+    private static final int GRAVANDO = 1;
+    private static final int DESISTIU = 2;
+
+    private final DoacaoRepository doacaoRepository;
+    private final ProjetoRepository projetoRepository;
+    private final ContaRepository contaRepository;
+    private final ProgressoProjetoServiceInterface progressoProjetoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<DoacaoPendente> fila;
+    private final int tamanhoLote;
+    private final int quantidadeEscritores;
+    private final long timeoutMillis;
+    private final List<Thread> escritores = new ArrayList<>();
+    private volatile boolean ativo = true;
+
+    public DoacaoService(
+            DoacaoRepository doacaoRepository,
+            ProjetoRepository projetoRepository,
+            ContaRepository contaRepository,
+            ProgressoProjetoServiceInterface progressoProjetoService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.doacoes.fila:10000}") int capacidadeFila,
+            @Value("${app.doacoes.tamanho-lote:500}") int tamanhoLote,
+            @Value("${app.doacoes.escritores:2}") int quantidadeEscritores,
+            @Value("${app.doacoes.timeout-ms:5000}") long timeoutMillis) {
+        this.doacaoRepository = doacaoRepository;
+        this.projetoRepository = projetoRepository;
+        this.contaRepository = contaRepository;
+        this.progressoProjetoService = progressoProjetoService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.quantidadeEscritores = quantidadeEscritores;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    void iniciarEscritores() {
+        for (int i = 0; i < quantidadeEscritores; i++) {
+            escritores.add(Thread.ofPlatform()
+                    .name("doacao-escritor-" + i)
+                    .daemon()
+                    .start(this::processarFila));
+        }
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        for (Thread escritor : escritores) {
+            escritor.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Override
+    public DoacaoResponseDTO doar(Long idProjeto, DoacaoRequestDTO dto, Long idContaAutenticada) {
+        long centavos = Centavos.deReais(dto.getValor());
+        String chave = dto.getChaveIdempotencia() != null ? dto.getChaveIdempotencia() : UUID.randomUUID().toString();
+
+        if (dto.getChaveIdempotencia() != null) {
+            Optional<Doacao> existente = doacaoRepository.findByContaIdContaAndChaveIdempotencia(idContaAutenticada, chave);
+            if (existente.isPresent()) {
+                return paraResposta(existente.get());
+            }
+        }
+
+        StatusProjeto status = projetoRepository.buscarStatus(idProjeto)
+                .orElseThrow(() -> new EntityNotFoundException("Projeto não encontrado."));
+        if (status != StatusProjeto.APROVADO) {
+            throw new IllegalArgumentException("Projeto não está aberto para doações.");
+        }
+
+        DoacaoPendente pendente = new DoacaoPendente(idProjeto, idContaAutenticada, centavos, chave,
+                LocalDateTime.now(), new CompletableFuture<>(), new AtomicInteger(PENDENTE));
+        if (!ativo || !fila.offer(pendente)) {
+            throw new RejectedExecutionException("Muitas doações simultâneas. Tente novamente em instantes.");
+        }
+
+        try {
+            return paraResposta(aguardarGravacao(pendente));
+        } catch (DataIntegrityViolationException e) {
+            // Outra tentativa com a mesma chave gravou primeiro
+            return doacaoRepository.findByContaIdContaAndChaveIdempotencia(idContaAutenticada, chave)
+                    .map(this::paraResposta)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Doacao aguardarGravacao(DoacaoPendente pendente) {
+        try {
+            return aguardar(pendente);
+        } catch (TimeoutException e) {
+            // Ainda na fila: a doação é retirada e não será gravada
+            if (pendente.estado().compareAndSet(PENDENTE, DESISTIU)) {
+                throw new RejectedExecutionException("Muitas doações simultâneas. Tente novamente em instantes.");
+            }
+        }
+        // Já está numa transação: espera o commit mais uma vez antes de responder sem saber o resultado
+        try {
+            return aguardar(pendente);
+        } catch (TimeoutException e) {
+            throw new DoacaoNaoConfirmadaException(
+                    "A doação ainda não foi confirmada e pode ter sido registrada. Consulte pela chave antes de doar de novo.",
+                    pendente.chave());
+        }
+    }
+
+    @Override
+    public DoacaoResponseDTO buscarPorChave(Long idProjeto, String chaveIdempotencia, Long idContaAutenticada) {
+        return doacaoRepository.findByContaIdContaAndChaveIdempotencia(idContaAutenticada, chaveIdempotencia)
+                .filter(doacao -> doacao.getProjeto().getIdProjeto().equals(idProjeto))
+                .map(this::paraResposta)
+                .orElseThrow(() -> new EntityNotFoundException("Doação não encontrada."));
+    }
+
+    private DoacaoResponseDTO paraResposta(Doacao doacao) {
+        return DoacaoResponseDTO.builder()
+                .idDoacao(doacao.getIdDoacao())
+                .projetoId(doacao.getProjeto().getIdProjeto())
+                .valor(Centavos.paraReais(doacao.getValorCentavos()))
+                .data(doacao.getData())
+                .chaveIdempotencia(doacao.getChaveIdempotencia())
+                .build();
+    }
+
+    @Override
+    public Long getIdContaAutenticada() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuario && usuario.idConta() != null) {
+            return usuario.idConta();
+        }
+        String email = principal instanceof UsuarioAutenticado autenticado ? autenticado.email() : (String) principal;
+        return contaRepository.findByEmail(email)
+                .orElseThrow(() -> new EntityNotFoundException("Conta não encontrada."))
+                .getIdConta();
+    }
+
+    private Doacao aguardar(DoacaoPendente pendente) throws TimeoutException {
+        try {
+            return pendente.resultado().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // Tratada como espera esgotada: só é recusada se ainda não começou a ser gravada
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Doação interrompida.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha ao gravar doação.", e.getCause());
+        }
+    }
+
+    private void processarFila() {
+        List<DoacaoPendente> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                DoacaoPendente primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                lote.add(primeira);
+                fila.drainTo(lote, tamanhoLote - 1);
+                // quem desistiu por timeout fica fora; os demais não podem mais desistir
+                lote.removeIf(pendente -> !pendente.estado().compareAndSet(PENDENTE, GRAVANDO));
+                if (!lote.isEmpty()) {
+                    gravarLote(lote);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | Error e) {
+                // A thread escritora continua viva e ninguém fica esperando por um lote que não será confirmado
+                log.error("Falha inesperada ao gravar lote de doações", e);
+                lote.forEach(pendente -> pendente.resultado().completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravarLote(List<DoacaoPendente> lote) {
+        Map<Long, Long> somasPorProjeto = somarPorProjeto(lote);
+        Map<Long, Long> totaisPorProjeto = new HashMap<>();
+        List<Doacao> gravadas;
+        try {
+            gravadas = transactionTemplate.execute(tx -> {
+                List<Doacao> salvas = doacaoRepository.saveAll(lote.stream().map(this::novaDoacao).toList());
+                somasPorProjeto.forEach((idProjeto, centavos) ->
+                        totaisPorProjeto.put(idProjeto, somarAoProjeto(idProjeto, centavos)));
+                return salvas;
+            });
+        } catch (RuntimeException e) {
+            // Uma doação inválida não deve derrubar as demais do lote: grava uma a uma
+            lote.forEach(this::gravarIndividualmente);
+            return;
+        }
+        somasPorProjeto.forEach((idProjeto, centavos) ->
+                eventPublisher.publishEvent(new ArrecadacaoAtualizadaEvent(idProjeto, centavos, totaisPorProjeto.get(idProjeto))));
+        for (int i = 0; i < lote.size(); i++) {
+            confirmar(lote.get(i), gravadas.get(i));
+        }
+    }
+
+    /** Soma ao total do projeto e devolve o total já com a soma, lido na mesma transação. */
+    private long somarAoProjeto(Long idProjeto, long centavos) {
+        projetoRepository.somarValorArrecadado(idProjeto, centavos);
+        return projetoRepository.buscarValorArrecadadoCentavos(idProjeto).orElse(0L);
+    }
+
+    // Ordenado por id: dois escritores atualizam os projetos em comum na mesma ordem, sem deadlock
+    private Map<Long, Long> somarPorProjeto(List<DoacaoPendente> lote) {
+        Map<Long, Long> somas = new TreeMap<>();
+        lote.forEach(pendente -> somas.merge(pendente.idProjeto(), pendente.centavos(), Long::sum));
+        return somas;
+    }
+
+    private void gravarIndividualmente(DoacaoPendente pendente) {
+        try {
+            long[] total = new long[1];
+            Doacao gravada = transactionTemplate.execute(tx -> {
+                Doacao salva = doacaoRepository.save(novaDoacao(pendente));
+                total[0] = somarAoProjeto(pendente.idProjeto(), pendente.centavos());
+                return salva;
+            });
+            eventPublisher.publishEvent(new ArrecadacaoAtualizadaEvent(pendente.idProjeto(), pendente.centavos(), total[0]));
+            confirmar(pendente, gravada);
+        } catch (RuntimeException e) {
+            pendente.resultado().completeExceptionally(e);
+        }
+    }
+
+    private void confirmar(DoacaoPendente pendente, Doacao gravada) {
+        progressoProjetoService.registrarDoacao(pendente.idProjeto(), pendente.centavos());
+        eventPublisher.publishEvent(new DoacaoConfirmadaEvent(pendente.idProjeto(), pendente.idConta(),
+                pendente.centavos(), pendente.data()));
+        pendente.resultado().complete(gravada);
+    }
+
+    private Doacao novaDoacao(DoacaoPendente pendente) {
+        return Doacao.builder()
+                .valorCentavos(pendente.centavos())
+                .data(pendente.data())
+                .chaveIdempotencia(pendente.chave())
+                .conta(contaRepository.getReferenceById(pendente.idConta()))
+                .projeto(projetoRepository.getReferenceById(pendente.idProjeto()))
+                .build();
+    }
+
+    // estado: PENDENTE na fila, GRAVANDO depois que um escritor a pegou, DESISTIU se a requisição desistiu antes
+    private record DoacaoPendente(Long idProjeto, Long idConta, long centavos, String chave, LocalDateTime data,
+                                  CompletableFuture<Doacao> resultado, AtomicInteger estado) {
+    }
+}
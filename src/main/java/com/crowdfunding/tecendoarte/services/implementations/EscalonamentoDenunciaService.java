@@ -0,0 +1,240 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.EscalonamentoDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.JanelaDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.DenunciaRegistradaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.EscalonamentoDenunciaServiceInterface;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acompanha as denúncias de cada projeto numa janela deslizante e coloca o projeto em revisão
+ * (StatusProjeto.EM_REVISAO, fora das listagens) assim que a quantidade na janela atinge o limite.
+ * O status de antes fica gravado no projeto, e um administrador pode restaurá-lo depois de avaliar.
+ *
+ * A janela é dividida em baldes de tempo guardados num vetor circular: uma denúncia incrementa o
+ * balde do seu instante e a contagem soma os baldes que ainda estão dentro da janela. Registrar custa
+ * o mesmo em qualquer volume de denúncias e não consulta o banco; só a entrada em revisão grava.
+ * Janelas sem denúncias recentes são descartadas periodicamente.
+ */
+@Service
+public class EscalonamentoDenunciaService implements EscalonamentoDenunciaServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalonamentoDenunciaService.class);
+
+    private static final int BALDES = 60;
+
+    private static final Comparator<JanelaDenunciaResponseDTO> MAIS_DENUNCIADO_PRIMEIRO = Comparator
+            .comparingInt(JanelaDenunciaResponseDTO::getDenunciasNaJanela).reversed()
+            .thenComparing(JanelaDenunciaResponseDTO::getIdProjeto);
+
+    private final ProjetoRepository projetoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long janelaSegundos;
+    private final int limite;
+    private final long duracaoBaldeMs;
+
+    private final ConcurrentHashMap<Long, Janela> janelas = new ConcurrentHashMap<>();
+
+    public EscalonamentoDenunciaService(
+            ProjetoRepository projetoRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.denuncias.escalonamento.janela-segundos:600}") long janelaSegundos,
+            @Value("${app.denuncias.escalonamento.limite:10}") int limite) {
+        if (janelaSegundos <= 0) {
+            throw new IllegalArgumentException("app.denuncias.escalonamento.janela-segundos deve ser positivo.");
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("app.denuncias.escalonamento.limite deve ser positivo.");
+        }
+        this.projetoRepository = projetoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.janelaSegundos = janelaSegundos;
+        this.limite = limite;
+        this.duracaoBaldeMs = Math.max(1, janelaSegundos * 1000 / BALDES);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrarDenuncia(DenunciaRegistradaEvent evento) {
+        if (evento.tipo() == TipoDenuncia.PROJETO) {
+            registrarDenuncia(evento.idAlvo(), evento.criadaEm());
+        }
+    }
+
+    @Override
+    public void registrarDenuncia(Long idProjeto, LocalDateTime criadaEm) {
+        long balde = balde(criadaEm);
+        boolean escalonar;
+        while (true) {
+            Janela janela = janelas.computeIfAbsent(idProjeto, id -> new Janela());
+            synchronized (janela) {
+                if (janela.descartada) {
+                    continue;
+                }
+                janela.adicionar(balde, criadaEm);
+                // só a denúncia que atinge o limite escalona; as seguintes apenas contam
+                escalonar = !janela.escalonado && janela.contar(balde) >= limite;
+                if (escalonar) {
+                    janela.escalonado = true;
+                }
+                break;
+            }
+        }
+        if (escalonar) {
+            colocarEmRevisao(idProjeto);
+        }
+    }
+
+    @Override
+    public EscalonamentoDenunciaResponseDTO consultarJanelas(LocalDateTime agora) {
+        long balde = balde(agora);
+        List<JanelaDenunciaResponseDTO> ativas = new ArrayList<>();
+        janelas.forEach((idProjeto, janela) -> {
+            synchronized (janela) {
+                int quantidade = janela.contar(balde);
+                if (quantidade > 0) {
+                    ativas.add(new JanelaDenunciaResponseDTO(idProjeto, quantidade, janela.ultimaEm, janela.escalonado));
+                }
+            }
+        });
+        ativas.sort(MAIS_DENUNCIADO_PRIMEIRO);
+        return new EscalonamentoDenunciaResponseDTO(janelaSegundos, limite, ativas);
+    }
+
+    /**
+     * Tira da memória as janelas sem denúncias dentro do prazo. Um projeto que volte a ser denunciado
+     * depois disso começa uma janela nova, que pode escaloná-lo de novo.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.denuncias.escalonamento.intervalo-limpeza-ms:60000}")
+    public void descartarJanelasVazias() {
+        long balde = balde(LocalDateTime.now());
+        janelas.forEach((idProjeto, janela) -> {
+            synchronized (janela) {
+                if (janela.contar(balde) == 0) {
+                    janela.descartada = true;
+                    janelas.remove(idProjeto, janela);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<ProjetoResponseDTO> listarEmRevisao() {
+        return projetoRepository.listarEmRevisao();
+    }
+
+    @Override
+    public ProjetoResponseDTO restaurar(Long idProjeto) {
+        ProjetoResponseDTO restaurado = transactionTemplate.execute(tx -> {
+            if (projetoRepository.restaurarStatus(idProjeto) == 0) {
+                if (projetoRepository.buscarStatus(idProjeto).isEmpty()) {
+                    throw new EntityNotFoundException("Projeto não encontrado.");
+                }
+                throw new IllegalArgumentException("O projeto não está em revisão.");
+            }
+            // como na entrada em revisão, os índices em memória e o cache voltam a mostrar o projeto pelo evento
+            projetoRepository.findById(idProjeto)
+                    .ifPresent(projeto -> eventPublisher.publishEvent(ProjetoAlteradoEvent.salvo(projeto)));
+            return projetoRepository.buscarResumo(idProjeto)
+                    .orElseThrow(() -> new EntityNotFoundException("Projeto não encontrado."));
+        });
+        // as denúncias da janela já foram avaliadas: só as que chegarem depois contam para nova revisão
+        Janela janela = janelas.remove(idProjeto);
+        if (janela != null) {
+            synchronized (janela) {
+                janela.descartada = true;
+            }
+        }
+        log.info("Projeto {} restaurado para {}", idProjeto, restaurado.getStatus());
+        return restaurado;
+    }
+
+    private void colocarEmRevisao(Long idProjeto) {
+        try {
+            Boolean colocado = transactionTemplate.execute(tx -> {
+                if (projetoRepository.colocarEmRevisao(idProjeto) == 0) {
+                    return false;
+                }
+                // os índices em memória e o cache de detalhes se atualizam pelo evento, depois do commit
+                projetoRepository.findById(idProjeto)
+                        .ifPresent(projeto -> eventPublisher.publishEvent(ProjetoAlteradoEvent.salvo(projeto)));
+                return true;
+            });
+            if (Boolean.TRUE.equals(colocado)) {
+                log.warn("Projeto {} colocado em revisão: {} denúncias em {} s", idProjeto, limite, janelaSegundos);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao colocar o projeto {} em revisão", idProjeto, e);
+            Janela janela = janelas.get(idProjeto);
+            if (janela != null) {
+                synchronized (janela) {
+                    // a próxima denúncia tenta de novo
+                    janela.escalonado = false;
+                }
+            }
+        }
+    }
+
+    private long balde(LocalDateTime instante) {
+        return instante.toInstant(ZoneOffset.UTC).toEpochMilli() / duracaoBaldeMs;
+    }
+
+    /** Denúncias de um projeto por balde; todos os campos só são acessados com o lock do próprio objeto. */
+    private static final class Janela {
+        // número absoluto do balde guardado em cada posição do vetor circular
+        final long[] baldes = new long[BALDES];
+        final int[] contagens = new int[BALDES];
+        LocalDateTime ultimaEm;
+        boolean escalonado;
+        // removida do mapa; quem ainda tem a referência deve buscar de novo
+        boolean descartada;
+
+        void adicionar(long balde, LocalDateTime criadaEm) {
+            int posicao = (int) Math.floorMod(balde, (long) BALDES);
+            if (baldes[posicao] != balde) {
+                if (baldes[posicao] > balde) {
+                    // a posição já guarda um balde mais novo: a denúncia é mais antiga que a janela
+                    return;
+                }
+                baldes[posicao] = balde;
+                contagens[posicao] = 0;
+            }
+            contagens[posicao]++;
+            if (ultimaEm == null || criadaEm.isAfter(ultimaEm)) {
+                ultimaEm = criadaEm;
+            }
+        }
+
+        int contar(long baldeAtual) {
+            int total = 0;
+            for (int i = 0; i < BALDES; i++) {
+                if (baldes[i] > baldeAtual - BALDES && baldes[i] <= baldeAtual) {
+                    total += contagens[i];
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.events.ArrecadacaoAtualizadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.FacetasProjeto;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém um bitmap por status, tipo de arte e faixa de financiamento, com um bit por projeto.
+ * Filtrar é um AND entre bitmaps e a contagem de cada faceta é a cardinalidade do AND com os
+ * filtros das outras facetas, então a contagem de um valor mostra quantos projetos haveria ao
+ * trocar só aquela seleção.
+ *
+ * Os projetos recebem números em ordem de criação (data de criação e id), de modo que percorrer
+ * os bits de trás para frente já devolve os mais recentes primeiro, sem ordenar. Projetos novos
+ * sempre entram no fim, já que a data de criação é a de hoje.
+ */
+@Service
+public class FacetasProjetoService implements FacetasProjetoServiceInterface {
+
+    private static final int LOTE_RECONSTRUCAO = 5000;
+    // LocalDate.MIN não é aceito pelos bancos como parâmetro
+    private static final LocalDate DATA_INICIAL = LocalDate.of(1, 1, 1);
+
+    private final ProjetoRepository projetoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+
+    // uma reconstrução por vez; é um lock e não synchronized porque ela lê o banco
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private volatile boolean reconstruindo;
+    private final Queue<Runnable> pendentes = new ConcurrentLinkedQueue<>();
+
+    public FacetasProjetoService(ProjetoRepository projetoRepository) {
+        this.projetoRepository = projetoRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        if (evento.removido()) {
+            remover(evento.idProjeto());
+        } else {
+            registrar(evento.idProjeto(), evento.status(), evento.tipoArte(), evento.metaCentavos(),
+                    evento.valorArrecadadoCentavos(), evento.dataCriacao());
+        }
+    }
+
+    @EventListener
+    public void aoAtualizarArrecadacao(ArrecadacaoAtualizadaEvent evento) {
+        atualizarArrecadado(evento.idProjeto(), evento.totalCentavos());
+    }
+
+    @Override
+    public ResultadoFacetas filtrar(StatusProjeto status, TipoArte tipoArte, FaixaFinanciamento faixa,
+                                    int pagina, int tamanho) {
+        lock.readLock().lock();
+        try {
+            BitSet filtroStatus = status == null ? null : bitmaps.porStatus.get(status);
+            BitSet filtroTipo = tipoArte == null ? null : bitmaps.porTipoArte.get(tipoArte);
+            BitSet filtroFaixa = faixa == null ? null : bitmaps.porFaixa.get(faixa);
+
+            // cada faceta é contada sob os filtros das outras duas
+            Map<StatusProjeto, Integer> porStatus = contar(StatusProjeto.class, bitmaps.porStatus, intersecao(filtroTipo, filtroFaixa));
+            Map<TipoArte, Integer> porTipoArte = contar(TipoArte.class, bitmaps.porTipoArte, intersecao(filtroStatus, filtroFaixa));
+            Map<FaixaFinanciamento, Integer> porFaixa = contar(FaixaFinanciamento.class, bitmaps.porFaixa, intersecao(filtroStatus, filtroTipo));
+
+            BitSet selecionados = intersecao(filtroStatus, filtroTipo, filtroFaixa);
+            int total = selecionados.cardinality();
+
+            List<Long> ids = new ArrayList<>(Math.min(tamanho, total));
+            long pular = (long) pagina * tamanho;
+            for (int d = selecionados.previousSetBit(selecionados.length() - 1);
+                 d >= 0 && ids.size() < tamanho;
+                 d = selecionados.previousSetBit(d - 1)) {
+                if (pular > 0) {
+                    pular--;
+                } else {
+                    ids.add(bitmaps.idsProjeto[d]);
+                }
+            }
+            return new ResultadoFacetas(ids, total, porStatus, porTipoArte, porFaixa);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void registrar(Long idProjeto, StatusProjeto status, TipoArte tipoArte, long metaCentavos,
+                          long valorArrecadadoCentavos, LocalDate dataCriacao) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.registrar(idProjeto, status, tipoArte, metaCentavos, valorArrecadadoCentavos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reconstruindo) {
+            pendentes.add(() -> registrar(idProjeto, status, tipoArte, metaCentavos, valorArrecadadoCentavos, dataCriacao));
+        }
+    }
+
+    /**
+     * Aplica o total do banco com o maior valor visto vencendo, como no CacheProjetoService: o total
+     * só cresce, então um evento fora de ordem, repetido ou já refletido na reconstrução não muda nada.
+     */
+    @Override
+    public void atualizarArrecadado(Long idProjeto, long totalCentavos) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.atualizarArrecadado(idProjeto, totalCentavos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reconstruindo) {
+            pendentes.add(() -> atualizarArrecadado(idProjeto, totalCentavos));
+        }
+    }
+
+    @Override
+    public void remover(Long idProjeto) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.remover(idProjeto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (reconstruindo) {
+            pendentes.add(() -> remover(idProjeto));
+        }
+    }
+
+    /**
+     * Relê os projetos do banco em ordem de criação. Também renumera os projetos, descartando os
+     * bits de projetos removidos, e corrige eventuais diferenças no valor arrecadado.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.facetas.projetos.reconstruir-ms:600000}",
+            initialDelayString = "${app.facetas.projetos.reconstruir-ms:600000}")
+    public void reconstruir() {
+        reconstrucao.lock();
+        try {
+            reconstruindo = true;
+            try {
+                Bitmaps novos = new Bitmaps();
+                LocalDate dataCursor = DATA_INICIAL;
+                Long idCursor = 0L;
+                List<FacetasProjeto> lote;
+                do {
+                    lote = projetoRepository.listarFacetasAposCursor(dataCursor, idCursor, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                    for (FacetasProjeto projeto : lote) {
+                        novos.registrar(projeto.getIdProjeto(), projeto.getStatus(), projeto.getTipoArte(),
+                                projeto.getMetaCentavos(), projeto.getValorArrecadadoCentavos());
+                        dataCursor = projeto.getDataCriacao();
+                        idCursor = projeto.getIdProjeto();
+                    }
+                } while (lote.size() == LOTE_RECONSTRUCAO);
+
+                lock.writeLock().lock();
+                try {
+                    bitmaps = novos;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                reconstruindo = false;
+            }
+
+            Runnable pendente;
+            while ((pendente = pendentes.poll()) != null) {
+                pendente.run();
+            }
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    private BitSet intersecao(BitSet... filtros) {
+        BitSet resultado = null;
+        for (BitSet filtro : filtros) {
+            if (filtro == null) {
+                continue;
+            }
+            if (resultado == null) {
+                resultado = (BitSet) filtro.clone();
+            } else {
+                resultado.and(filtro);
+            }
+        }
+        return resultado == null ? (BitSet) bitmaps.vivos.clone() : resultado;
+    }
+
+    private <E extends Enum<E>> Map<E, Integer> contar(Class<E> tipo, EnumMap<E, BitSet> porValor, BitSet base) {
+        EnumMap<E, Integer> contagem = new EnumMap<>(tipo);
+        porValor.forEach((valor, bitmap) -> {
+            BitSet comum = (BitSet) bitmap.clone();
+            comum.and(base);
+            contagem.put(valor, comum.cardinality());
+        });
+        return contagem;
+    }
+
+    private static <E extends Enum<E>> EnumMap<E, BitSet> bitmapsPara(Class<E> tipo) {
+        EnumMap<E, BitSet> bitmaps = new EnumMap<>(tipo);
+        for (E valor : tipo.getEnumConstants()) {
+            bitmaps.put(valor, new BitSet());
+        }
+        return bitmaps;
+    }
+
+    private static final class Bitmaps {
+        final BitSet vivos = new BitSet();
+        final EnumMap<StatusProjeto, BitSet> porStatus = bitmapsPara(StatusProjeto.class);
+        final EnumMap<TipoArte, BitSet> porTipoArte = bitmapsPara(TipoArte.class);
+        final EnumMap<FaixaFinanciamento, BitSet> porFaixa = bitmapsPara(FaixaFinanciamento.class);
+        final Map<Long, Integer> documentoPorProjeto = new HashMap<>();
+        long[] idsProjeto = new long[16];
+        long[] metasCentavos = new long[16];
+        long[] arrecadadosCentavos = new long[16];
+        int documentos;
+
+        void registrar(Long idProjeto, StatusProjeto status, TipoArte tipoArte, long metaCentavos,
+                       long valorArrecadadoCentavos) {
+            Integer existente = documentoPorProjeto.get(idProjeto);
+            int documento;
+            if (existente != null) {
+                // o total arrecadado já é acompanhado aqui; o da entidade pode estar atrasado
+                documento = existente;
+                limparFacetas(documento);
+                arrecadadosCentavos[documento] = Math.max(arrecadadosCentavos[documento], valorArrecadadoCentavos);
+            } else {
+                documento = novoDocumento(idProjeto);
+                arrecadadosCentavos[documento] = valorArrecadadoCentavos;
+            }
+            metasCentavos[documento] = metaCentavos;
+            if (status == StatusProjeto.EM_REVISAO) {
+                // mantém o número do projeto para que ele volte à mesma posição quando sair da revisão
+                vivos.clear(documento);
+                return;
+            }
+            vivos.set(documento);
+            porStatus.get(status).set(documento);
+            porTipoArte.get(tipoArte).set(documento);
+            porFaixa.get(FaixaFinanciamento.de(arrecadadosCentavos[documento], metaCentavos)).set(documento);
+        }
+
+        void atualizarArrecadado(Long idProjeto, long totalCentavos) {
+            Integer documento = documentoPorProjeto.get(idProjeto);
+            if (documento == null || totalCentavos <= arrecadadosCentavos[documento]) {
+                return;
+            }
+            FaixaFinanciamento anterior = FaixaFinanciamento.de(arrecadadosCentavos[documento], metasCentavos[documento]);
+            arrecadadosCentavos[documento] = totalCentavos;
+            FaixaFinanciamento atual = FaixaFinanciamento.de(arrecadadosCentavos[documento], metasCentavos[documento]);
+            // projeto em revisão não tem bits de faceta; a faixa é refeita quando ele voltar
+            if (anterior != atual && vivos.get(documento)) {
+                porFaixa.get(anterior).clear(documento);
+                porFaixa.get(atual).set(documento);
+            }
+        }
+
+        void remover(Long idProjeto) {
+            Integer documento = documentoPorProjeto.remove(idProjeto);
+            if (documento != null) {
+                limparFacetas(documento);
+                vivos.clear(documento);
+            }
+        }
+
+        private int novoDocumento(Long idProjeto) {
+            if (documentos == idsProjeto.length) {
+                idsProjeto = Arrays.copyOf(idsProjeto, documentos * 2);
+                metasCentavos = Arrays.copyOf(metasCentavos, documentos * 2);
+                arrecadadosCentavos = Arrays.copyOf(arrecadadosCentavos, documentos * 2);
+            }
+            int documento = documentos++;
+            idsProjeto[documento] = idProjeto;
+            documentoPorProjeto.put(idProjeto, documento);
+            return documento;
+        }
+
+        private void limparFacetas(int documento) {
+            porStatus.values().forEach(bitmap -> bitmap.clear(documento));
+            porTipoArte.values().forEach(bitmap -> bitmap.clear(documento));
+            porFaixa.values().forEach(bitmap -> bitmap.clear(documento));
+        }
+    }
+}
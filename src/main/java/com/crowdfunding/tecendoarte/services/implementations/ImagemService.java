@@ -0,0 +1,69 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.models.Imagem;
+import com.crowdfunding.tecendoarte.repositories.ImagemRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.ImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.RenditionImagemServiceInterface;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class ImagemService implements ImagemServiceInterface {
+
+    private final ImagemRepository imagemRepository;
+    private final ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+    private final RenditionImagemServiceInterface renditionImagemService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConteudoImagem buscarConteudo(Long idImagem, Integer largura) {
+        Imagem imagem = imagemRepository.findById(idImagem)
+                .orElseThrow(() -> new EntityNotFoundException("Imagem não encontrada."));
+        String hash = imagem.getHashConteudo();
+
+        if (largura != null) {
+            if (largura <= 0) {
+                throw new IllegalArgumentException("Largura inválida.");
+            }
+            int larguraRendition = renditionImagemService.larguraAdequada(largura);
+            Optional<Path> rendition = renditionImagemService.localizar(hash, larguraRendition);
+            if (rendition.isPresent()) {
+                return new ConteudoImagem(hash + "-" + larguraRendition, MediaType.IMAGE_JPEG_VALUE,
+                        tamanho(rendition.get()), rendition.get(), false);
+            }
+            // Ainda não gerada (ou imagem menor que a largura pedida): entrega o original e agenda a geração
+            renditionImagemService.agendarSeHouverVaga(hash);
+            return new ConteudoImagem(hash + "-" + larguraRendition + "-original", imagem.getTipoConteudo(),
+                    imagem.getTamanhoBytes(), original(hash), true);
+        }
+
+        return new ConteudoImagem(hash, imagem.getTipoConteudo(), imagem.getTamanhoBytes(), original(hash), false);
+    }
+
+    private Path original(String hash) {
+        Path arquivo = armazenamentoImagemService.localizar(hash);
+        if (!Files.isReadable(arquivo)) {
+            throw new EntityNotFoundException("Conteúdo da imagem não encontrado.");
+        }
+        return arquivo;
+    }
+
+    private long tamanho(Path arquivo) {
+        try {
+            return Files.size(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler rendition da imagem.", e);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository.NomeArtista;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória de trigramas sobre o nome da conta de cada artista, no estilo do pg_trgm.
+ * Os nomes são normalizados sem acentos ("João" casa com "joao") e cada palavra vira trigramas
+ * com espaços de preenchimento; a última palavra do termo buscado é tratada como prefixo, então
+ * "conc" já encontra "Conceição". Os candidatos saem das listas de trigramas do termo, sem
+ * varrer todos os nomes, e são ordenados por similaridade, com prioridade para nomes que
+ * contêm o termo.
+ *
+ * O índice é carregado do banco na subida, mantido pelas gravações de Artista e Conta
+ * (ver IndiceNomeArtistaListener) e reconstruído periodicamente para absorver alterações
+ * feitas por outras instâncias. Alterações recebidas enquanto a reconstrução lê o banco são
+ * guardadas e reaplicadas sobre o índice novo, para não serem perdidas na troca.
+ */
+@Service
+public class IndiceNomeArtistaService implements IndiceNomeArtistaServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceNomeArtistaService.class);
+
+    private final ArtistaRepository artistaRepository;
+    private final double similaridadeMinima;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Entrada> entradas = new HashMap<>();
+    private Map<Long, Long> artistaPorConta = new HashMap<>();
+    private Map<String, Set<Long>> postagens = new HashMap<>();
+    // reconstruindo e pendentes só são lidos e alterados sob o lock de escrita
+    private boolean reconstruindo;
+    private final List<Runnable> pendentes = new ArrayList<>();
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+
+    public IndiceNomeArtistaService(
+            ArtistaRepository artistaRepository,
+            @Value("${app.busca.artistas.similaridade-minima:0.5}") double similaridadeMinima) {
+        this.artistaRepository = artistaRepository;
+        this.similaridadeMinima = similaridadeMinima;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.busca.artistas.reconstruir-ms:600000}",
+            initialDelayString = "${app.busca.artistas.reconstruir-ms:600000}")
+    public void reconstruir() {
+        reconstrucao.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                reconstruindo = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                List<NomeArtista> nomes = artistaRepository.listarNomes();
+
+                Map<Long, Entrada> novasEntradas = new HashMap<>(nomes.size() * 2);
+                Map<Long, Long> novoArtistaPorConta = new HashMap<>(nomes.size() * 2);
+                Map<String, Set<Long>> novasPostagens = new HashMap<>();
+                for (NomeArtista nome : nomes) {
+                    Entrada entrada = novaEntrada(nome.getIdConta(), nome.getNome());
+                    novasEntradas.put(nome.getIdArtista(), entrada);
+                    novoArtistaPorConta.put(nome.getIdConta(), nome.getIdArtista());
+                    adicionarPostagens(novasPostagens, nome.getIdArtista(), entrada);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    entradas = novasEntradas;
+                    artistaPorConta = novoArtistaPorConta;
+                    postagens = novasPostagens;
+                    pendentes.forEach(Runnable::run);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Índice de nomes de artistas reconstruído com {} artistas", nomes.size());
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    reconstruindo = false;
+                    pendentes.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    @Override
+    public PaginaArtistas buscar(String termo, int pagina, int tamanho) {
+        String normalizado = NormalizadorTexto.normalizar(termo);
+        Set<String> consulta = trigramas(normalizado, true);
+        if (consulta.isEmpty()) {
+            return new PaginaArtistas(List.of(), 0);
+        }
+        int minimoComuns = Math.max(1, (int) Math.ceil(consulta.size() * similaridadeMinima));
+
+        List<Candidato> candidatos = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> comuns = new HashMap<>();
+            for (String trigrama : consulta) {
+                Set<Long> ids = postagens.get(trigrama);
+                if (ids != null) {
+                    ids.forEach(id -> comuns.merge(id, 1, Integer::sum));
+                }
+            }
+            comuns.forEach((idArtista, quantidade) -> {
+                if (quantidade < minimoComuns) {
+                    return;
+                }
+                Entrada entrada = entradas.get(idArtista);
+                // similaridade de Jaccard entre os trigramas, como em pg_trgm
+                double similaridade = (double) quantidade / (consulta.size() + entrada.trigramas().size() - quantidade);
+                boolean prefixo = entrada.nomeNormalizado().startsWith(normalizado)
+                        || entrada.nomeNormalizado().contains(" " + normalizado);
+                boolean contem = prefixo || entrada.nomeNormalizado().contains(normalizado);
+                // quem contém o termo sempre fica à frente das correspondências só aproximadas
+                double pontuacao = similaridade + (prefixo ? 1.5 : contem ? 1.0 : 0.0);
+                candidatos.add(new Candidato(idArtista, entrada.nomeNormalizado(), pontuacao, contem));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        candidatos.sort(Comparator.comparingDouble(Candidato::pontuacao).reversed()
+                .thenComparing(Candidato::nomeNormalizado)
+                .thenComparing(Candidato::idArtista));
+
+        int inicio = (int) Math.min((long) pagina * tamanho, candidatos.size());
+        int fim = Math.min(inicio + tamanho, candidatos.size());
+        List<ArtistaEncontrado> itens = candidatos.subList(inicio, fim).stream()
+                .map(c -> new ArtistaEncontrado(c.idArtista(), c.pontuacao(), c.contemTermo()))
+                .toList();
+        return new PaginaArtistas(itens, candidatos.size());
+    }
+
+    @Override
+    public void indexar(Long idArtista, Long idConta, String nome) {
+        Entrada entrada = novaEntrada(idConta, nome);
+        alterar(() -> indexarSemLock(idArtista, entrada));
+    }
+
+    @Override
+    public void renomearConta(Long idConta, String nome) {
+        Entrada entrada = novaEntrada(idConta, nome);
+        alterar(() -> {
+            Long idArtista = artistaPorConta.get(idConta);
+            if (idArtista != null) {
+                indexarSemLock(idArtista, entrada);
+            }
+        });
+    }
+
+    @Override
+    public void remover(Long idArtista) {
+        alterar(() -> removerSemLock(idArtista));
+    }
+
+    /**
+     * Aplica a alteração ao índice atual e, se houver uma reconstrução em andamento, guarda-a para
+     * reaplicar sobre o índice novo, que pode ter sido lido do banco antes dela.
+     */
+    private void alterar(Runnable alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.run();
+            if (reconstruindo) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexarSemLock(Long idArtista, Entrada entrada) {
+        removerSemLock(idArtista);
+        entradas.put(idArtista, entrada);
+        artistaPorConta.put(entrada.idConta(), idArtista);
+        adicionarPostagens(postagens, idArtista, entrada);
+    }
+
+    private void removerSemLock(Long idArtista) {
+        Entrada anterior = entradas.remove(idArtista);
+        if (anterior == null) {
+            return;
+        }
+        artistaPorConta.remove(anterior.idConta(), idArtista);
+        for (String trigrama : anterior.trigramas()) {
+            Set<Long> ids = postagens.get(trigrama);
+            if (ids != null && ids.remove(idArtista) && ids.isEmpty()) {
+                postagens.remove(trigrama);
+            }
+        }
+    }
+
+    private static void adicionarPostagens(Map<String, Set<Long>> destino, Long idArtista, Entrada entrada) {
+        for (String trigrama : entrada.trigramas()) {
+            destino.computeIfAbsent(trigrama, t -> new HashSet<>()).add(idArtista);
+        }
+    }
+
+    private static Entrada novaEntrada(Long idConta, String nome) {
+        String normalizado = NormalizadorTexto.normalizar(nome);
+        return new Entrada(idConta, normalizado, trigramas(normalizado, false));
+    }
+
+    /**
+     * Trigramas de cada palavra com dois espaços antes e um depois, como no pg_trgm. Com
+     * {@code prefixo}, a última palavra não recebe o espaço final e casa com qualquer palavra
+     * que comece por ela.
+     */
+    static Set<String> trigramas(String normalizado, boolean prefixo) {
+        String[] palavras = NormalizadorTexto.palavras(normalizado);
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i < palavras.length; i++) {
+            boolean ultima = i == palavras.length - 1;
+            String preenchida = "  " + palavras[i] + (prefixo && ultima ? "" : " ");
+            for (int j = 0; j + 3 <= preenchida.length(); j++) {
+                trigramas.add(preenchida.substring(j, j + 3));
+            }
+        }
+        return trigramas;
+    }
+
+    private record Entrada(Long idConta, String nomeNormalizado, Set<String> trigramas) {
+    }
+
+    private record Candidato(Long idArtista, String nomeNormalizado, double pontuacao, boolean contemTermo) {
+    }
+}
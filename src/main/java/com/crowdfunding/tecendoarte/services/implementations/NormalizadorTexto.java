@@ -0,0 +1,30 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza texto para busca: remove acentos ("Conceição" vira "conceicao"), passa para
+ * minúsculas e reduz qualquer sequência de caracteres que não seja letra ou dígito a um espaço.
+ */
+public final class NormalizadorTexto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NormalizadorTexto() {
+    }
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static String[] palavras(String textoNormalizado) {
+        return textoNormalizado.isEmpty() ? new String[0] : textoNormalizado.split(" ");
+    }
+}
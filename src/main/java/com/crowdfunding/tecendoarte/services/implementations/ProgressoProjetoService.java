@@ -0,0 +1,268 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProgressoProjetoDTO;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.Centavos;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository.TotaisDoacao;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.ProgressoProjetoServiceInterface;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transmite o progresso de arrecadação dos projetos por Server-Sent Events.
+ * Cada projeto com inscritos tem um único transmissor: os totais são carregados do banco uma vez,
+ * atualizados em memória a cada doação confirmada e enviados no máximo uma vez por intervalo,
+ * com o JSON serializado uma vez e repassado a todos os inscritos. As conexões abertas usam o
+ * suporte assíncrono do servlet e não ocupam threads enquanto estão ociosas. O repasse usa um
+ * pool limitado, com no máximo um repasse por projeto em andamento para que os totais cheguem em
+ * ordem: com a fila cheia ou um repasse ainda em curso, o projeto volta a ser marcado como alterado
+ * e sai no próximo intervalo, já com os totais mais recentes.
+ */
+@Service
+public class ProgressoProjetoService implements ProgressoProjetoServiceInterface {
+
+    private static final String EVENTO = "progresso";
+
+    private final ProjetoRepository projetoRepository;
+    private final DoacaoRepository doacaoRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<Long, Transmissor> transmissores = new ConcurrentHashMap<>();
+    private final Set<Long> alterados = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envio;
+
+    public ProgressoProjetoService(
+            ProjetoRepository projetoRepository,
+            DoacaoRepository doacaoRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.progresso.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.progresso.envio.threads:4}") int threadsEnvio,
+            @Value("${app.progresso.envio.fila:1024}") int capacidadeFilaEnvio) {
+        this.projetoRepository = projetoRepository;
+        this.doacaoRepository = doacaoRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.envio = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFilaEnvio),
+                Thread.ofVirtual().name("progresso-envio-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        transmissores.values().forEach(transmissor -> transmissor.inscritos.forEach(SseEmitter::complete));
+        envio.shutdown();
+    }
+
+    @Override
+    public SseEmitter inscrever(Long idProjeto) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Transmissor transmissor = adicionarInscrito(idProjeto, emitter);
+
+        Runnable remover = () -> remover(idProjeto, transmissor, emitter);
+        emitter.onCompletion(remover);
+        emitter.onTimeout(remover);
+        emitter.onError(erro -> remover.run());
+
+        // Estado atual para quem acabou de chegar, sem esperar a próxima doação
+        enviar(idProjeto, emitter, serializar(idProjeto, transmissor), transmissor);
+        return emitter;
+    }
+
+    /**
+     * Inscreve o emitter no transmissor do projeto, criando-o se preciso. A leitura do banco fica
+     * fora do lock do mapa; a inclusão e a remoção do último inscrito passam pelo compute, então
+     * um emitter nunca entra num transmissor que acabou de sair do mapa.
+     */
+    private Transmissor adicionarInscrito(Long idProjeto, SseEmitter emitter) {
+        Transmissor carregado = null;
+        while (true) {
+            if (carregado == null && !transmissores.containsKey(idProjeto)) {
+                carregado = novoTransmissor(idProjeto);
+            }
+            Transmissor novo = carregado;
+            Transmissor transmissor = transmissores.compute(idProjeto, (id, atual) -> {
+                Transmissor escolhido = atual != null ? atual : novo;
+                if (escolhido != null) {
+                    escolhido.inscritos.add(emitter);
+                }
+                return escolhido;
+            });
+            if (transmissor != null) {
+                return transmissor;
+            }
+            // o transmissor visto perdeu o último inscrito antes do compute: carrega outro
+        }
+    }
+
+    @Override
+    public void registrarDoacao(Long idProjeto, long centavos) {
+        Transmissor transmissor = transmissores.get(idProjeto);
+        if (transmissor == null) {
+            return;
+        }
+        transmissor.arrecadadoCentavos.add(centavos);
+        transmissor.quantidadeDoacoes.increment();
+        alterados.add(idProjeto);
+    }
+
+    /**
+     * Uma meta alterada sai no próximo intervalo. Projeto removido ou em revisão deixa de ser
+     * transmitido: as conexões são encerradas e novas inscrições recebem 404.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        Long idProjeto = evento.idProjeto();
+        if (evento.removido() || evento.status() == StatusProjeto.EM_REVISAO) {
+            Transmissor transmissor = transmissores.remove(idProjeto);
+            alterados.remove(idProjeto);
+            if (transmissor != null) {
+                transmissor.inscritos.forEach(SseEmitter::complete);
+            }
+            return;
+        }
+        Transmissor transmissor = transmissores.get(idProjeto);
+        if (transmissor != null && transmissor.metaCentavos != evento.metaCentavos()) {
+            transmissor.metaCentavos = evento.metaCentavos();
+            alterados.add(idProjeto);
+        }
+    }
+
+    /**
+     * Envia um evento por projeto alterado desde a última execução, o que limita cada projeto
+     * a no máximo um evento por intervalo, independente do volume de doações.
+     */
+    @Scheduled(fixedDelayString = "${app.progresso.intervalo-ms:500}")
+    public void publicarAlterados() {
+        for (Long idProjeto : alterados) {
+            alterados.remove(idProjeto);
+            Transmissor transmissor = transmissores.get(idProjeto);
+            if (transmissor == null || transmissor.inscritos.isEmpty()) {
+                continue;
+            }
+            // um repasse anterior ainda em curso poderia entregar os totais depois deste
+            if (!transmissor.enviando.compareAndSet(false, true)) {
+                alterados.add(idProjeto);
+                continue;
+            }
+            String json = serializar(idProjeto, transmissor);
+            try {
+                envio.execute(() -> {
+                    try {
+                        transmissor.inscritos.forEach(emitter -> enviar(idProjeto, emitter, json, transmissor));
+                    } finally {
+                        transmissor.enviando.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                transmissor.enviando.set(false);
+                alterados.add(idProjeto);
+            }
+        }
+    }
+
+    /**
+     * Recarrega os totais do banco periodicamente, corrigindo qualquer doação contada em dobro
+     * ou perdida na janela entre a criação do transmissor e a leitura inicial.
+     */
+    @Scheduled(fixedDelayString = "${app.progresso.ressincronizar-ms:60000}")
+    public void ressincronizar() {
+        transmissores.forEach((idProjeto, transmissor) -> {
+            TotaisDoacao totais = doacaoRepository.totalizarPorProjeto(idProjeto);
+            long diferencaCentavos = totais.getCentavos() - transmissor.arrecadadoCentavos.sum();
+            long diferencaQuantidade = totais.getQuantidade() - transmissor.quantidadeDoacoes.sum();
+            if (diferencaCentavos != 0 || diferencaQuantidade != 0) {
+                transmissor.arrecadadoCentavos.add(diferencaCentavos);
+                transmissor.quantidadeDoacoes.add(diferencaQuantidade);
+                alterados.add(idProjeto);
+            }
+        });
+    }
+
+    private Transmissor novoTransmissor(Long idProjeto) {
+        long metaCentavos = projetoRepository.buscarMetaCentavos(idProjeto)
+                .orElseThrow(() -> new EntityNotFoundException("Projeto não encontrado."));
+        if (projetoRepository.buscarStatus(idProjeto).orElse(null) == StatusProjeto.EM_REVISAO) {
+            throw new EntityNotFoundException("Projeto não encontrado.");
+        }
+        TotaisDoacao totais = doacaoRepository.totalizarPorProjeto(idProjeto);
+
+        Transmissor transmissor = new Transmissor(metaCentavos);
+        transmissor.arrecadadoCentavos.add(totais.getCentavos());
+        transmissor.quantidadeDoacoes.add(totais.getQuantidade());
+        return transmissor;
+    }
+
+    private void remover(Long idProjeto, Transmissor transmissor, SseEmitter emitter) {
+        transmissores.computeIfPresent(idProjeto, (id, atual) -> {
+            if (atual != transmissor) {
+                return atual;
+            }
+            atual.inscritos.remove(emitter);
+            return atual.inscritos.isEmpty() ? null : atual;
+        });
+        // se o transmissor já saiu do mapa, o compute acima não o alcança
+        transmissor.inscritos.remove(emitter);
+    }
+
+    private void enviar(Long idProjeto, SseEmitter emitter, String json, Transmissor transmissor) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENTO).data(json));
+        } catch (IOException | IllegalStateException e) {
+            // conexão encerrada pelo cliente
+            remover(idProjeto, transmissor, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private String serializar(Long idProjeto, Transmissor transmissor) {
+        long arrecadado = transmissor.arrecadadoCentavos.sum();
+        ProgressoProjetoDTO progresso = ProgressoProjetoDTO.builder()
+                .idProjeto(idProjeto)
+                .meta(Centavos.paraReais(transmissor.metaCentavos))
+                .valorArrecadado(Centavos.paraReais(arrecadado))
+                .quantidadeDoacoes(transmissor.quantidadeDoacoes.sum())
+                .percentualFinanciado(Centavos.percentualFinanciado(arrecadado, transmissor.metaCentavos))
+                .build();
+        try {
+            return objectMapper.writeValueAsString(progresso);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar progresso do projeto.", e);
+        }
+    }
+
+    private static class Transmissor {
+        private volatile long metaCentavos;
+        private final LongAdder arrecadadoCentavos = new LongAdder();
+        private final LongAdder quantidadeDoacoes = new LongAdder();
+        private final CopyOnWriteArrayList<SseEmitter> inscritos = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Transmissor(long metaCentavos) {
+            this.metaCentavos = metaCentavos;
+        }
+    }
+}
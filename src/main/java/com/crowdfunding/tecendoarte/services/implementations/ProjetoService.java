@@ -1,21 +1,41 @@
 package com.crowdfunding.tecendoarte.services.implementations;
 
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoFacetasResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoPaginaResponseDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
 import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Centavos;
 import com.crowdfunding.tecendoarte.models.Projeto;
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
 import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
 import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.BuscaProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.BuscaProjetoServiceInterface.ProjetoEncontrado;
+import com.crowdfunding.tecendoarte.services.interfaces.CacheProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface.ResultadoFacetas;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
 import com.crowdfunding.tecendoarte.services.interfaces.ProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.RankingProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.RankingProjetoServiceInterface.ProjetoRanqueado;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,8 +43,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProjetoService implements ProjetoServiceInterface {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+    private static final int LIMITE_BUSCA_PADRAO = 20;
+    private static final int LIMITE_RANKING_PADRAO = 10;
+
     private final ProjetoRepository projetoRepository;
     private final ArtistaRepository artistaRepository;
+    private final IndiceNomeArtistaServiceInterface indiceNomeArtistaService;
+    private final BuscaProjetoServiceInterface buscaProjetoService;
+    private final FacetasProjetoServiceInterface facetasProjetoService;
+    private final CacheProjetoServiceInterface cacheProjetoService;
+    private final RankingProjetoServiceInterface rankingProjetoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProjetoResponseDTO cadastraProjeto(ProjetoRequestDTO dto, Long idArtistaAutenticado) {
@@ -34,15 +65,16 @@ public class ProjetoService implements ProjetoServiceInterface {
         Projeto projeto = Projeto.builder()
                 .titulo(dto.getTitulo())
                 .descricaoProjeto(dto.getDescricaoProjeto())
-                .meta(dto.getMeta())
+                .metaCentavos(Centavos.deReais(dto.getMeta()))
                 .tipoArte(dto.getTipoArte())
                 .artista(artista)
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
                 .dataCriacao(LocalDate.now())
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0)
                 .build();
 
         projeto = projetoRepository.save(projeto);
+        eventPublisher.publishEvent(ProjetoAlteradoEvent.salvo(projeto));
         return toResponseDTO(projeto);
     }
 
@@ -51,10 +83,11 @@ public class ProjetoService implements ProjetoServiceInterface {
         Projeto projeto = buscarProjetoPorId(idProjeto);
 
         if (!projeto.getArtista().getId().equals(idArtistaAutenticado)) {
-            throw new IllegalArgumentException("Você só pode deletar projetos do seu próprio usuário.");
+            throw new SecurityException("Você só pode deletar projetos do seu próprio usuário.");
         }
 
         projetoRepository.delete(projeto);
+        eventPublisher.publishEvent(ProjetoAlteradoEvent.removido(idProjeto));
         return toResponseDTO(projeto);
     }
 
@@ -63,34 +96,130 @@ public class ProjetoService implements ProjetoServiceInterface {
         Projeto projeto = buscarProjetoPorId(idProjeto);
 
         if (!projeto.getArtista().getId().equals(idArtistaAutenticado)) {
-            throw new IllegalArgumentException("Você só pode atualizar projetos do seu próprio usuário.");
+            throw new SecurityException("Você só pode atualizar projetos do seu próprio usuário.");
         }
 
         projeto.setTitulo(dto.getTitulo());
         projeto.setDescricaoProjeto(dto.getDescricaoProjeto());
-        projeto.setMeta(dto.getMeta());
+        projeto.setMetaCentavos(Centavos.deReais(dto.getMeta()));
         projeto.setTipoArte(dto.getTipoArte());
 
-        projeto = projetoRepository.save(projeto);
+        projeto = projetoRepository.saveAndFlush(projeto);
+        // O UPDATE não inclui o status e deixa a linha travada até o commit: relido agora, reflete uma
+        // revisão que tenha entrado depois do findById, e o evento não devolve o projeto às listagens
+        projetoRepository.buscarStatus(idProjeto).ifPresent(projeto::setStatus);
+        eventPublisher.publishEvent(ProjetoAlteradoEvent.salvo(projeto));
         return toResponseDTO(projeto);
     }
 
-    @Transactional(readOnly = true)
     public ProjetoResponseDTO buscarPorId(Long idProjeto) {
-        Projeto projeto = buscarProjetoPorId(idProjeto);
-        return toResponseDTO(projeto);
+        return cacheProjetoService.buscar(idProjeto);
     }
 
+    @Transactional(readOnly = true)
     public List<ProjetoResponseDTO> listarProjetos() {
-        List<Projeto> projetos = projetoRepository.findAll();
+        List<ProjetoResponseDTO> projetos = projetoRepository.listarResumos();
 
         if (projetos.isEmpty()) {
             throw new EntityNotFoundException("Nenhum projeto encontrado.");
         }
-        
-        return projetos.stream()
-                .map(this::toResponseDTO)
+
+        return projetos;
+    }
+
+    @Transactional(readOnly = true)
+    public ProjetoPaginaResponseDTO listarCatalogo(StatusProjeto status, TipoArte tipoArte, String cursor, Integer tamanho) {
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : tamanho;
+        if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+
+        // Busca um item a mais para saber se existe próxima página sem precisar de COUNT
+        PageRequest limite = PageRequest.of(0, tamanhoPagina + 1);
+        List<ProjetoResponseDTO> encontrados;
+        if (cursor == null || cursor.isBlank()) {
+            encontrados = projetoRepository.buscarCatalogo(status, tipoArte, limite);
+        } else {
+            CursorCatalogo posicao = decodificarCursor(cursor);
+            encontrados = projetoRepository.buscarCatalogoAposCursor(
+                    status, tipoArte, posicao.dataCriacao(), posicao.idProjeto(), limite);
+        }
+
+        boolean temMais = encontrados.size() > tamanhoPagina;
+        List<ProjetoResponseDTO> itens = temMais ? encontrados.subList(0, tamanhoPagina) : encontrados;
+        String proximoCursor = temMais ? codificarCursor(itens.get(itens.size() - 1)) : null;
+
+        return ProjetoPaginaResponseDTO.builder()
+                .itens(List.copyOf(itens))
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjetoResponseDTO> buscarProjetos(String consulta, Integer limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("Termo de busca obrigatório.");
+        }
+        int quantidade = limite == null ? LIMITE_BUSCA_PADRAO : limite;
+        if (quantidade < 1 || quantidade > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+
+        List<Long> ids = buscaProjetoService.buscar(consulta, quantidade).stream()
+                .map(ProjetoEncontrado::idProjeto)
                 .toList();
+        // a ordem do índice é a do ranking
+        return projetoRepository.listarAprovadosNaOrdem(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public ProjetoFacetasResponseDTO listarComFacetas(StatusProjeto status, TipoArte tipoArte, FaixaFinanciamento faixa,
+                                                      Integer pagina, Integer tamanho) {
+        int numeroPagina = pagina == null ? 0 : pagina;
+        if (numeroPagina < 0) {
+            throw new IllegalArgumentException("A página não pode ser negativa.");
+        }
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : tamanho;
+        if (tamanhoPagina < 1 || tamanhoPagina > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+
+        ResultadoFacetas resultado = facetasProjetoService.filtrar(status, tipoArte, faixa, numeroPagina, tamanhoPagina);
+        return ProjetoFacetasResponseDTO.builder()
+                .itens(projetoRepository.listarResumosNaOrdem(resultado.idsProjeto()))
+                .pagina(numeroPagina)
+                .tamanho(tamanhoPagina)
+                .total(resultado.total())
+                .contagemPorStatus(resultado.porStatus())
+                .contagemPorTipoArte(resultado.porTipoArte())
+                .contagemPorFaixa(resultado.porFaixa())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjetoResponseDTO> listarEmAlta(Integer limite) {
+        return projetoRepository.listarResumosNaOrdem(rankingProjetoService.emAlta(limiteRanking(limite)).stream()
+                .map(ProjetoRanqueado::idProjeto)
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjetoResponseDTO> listarPertoDaMeta(Integer limite) {
+        return projetoRepository.listarResumosNaOrdem(rankingProjetoService.pertoDaMeta(limiteRanking(limite)).stream()
+                .map(ProjetoRanqueado::idProjeto)
+                .toList());
+    }
+
+    private int limiteRanking(Integer limite) {
+        int quantidade = limite == null ? LIMITE_RANKING_PADRAO : limite;
+        if (quantidade < 1 || quantidade > TAMANHO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + TAMANHO_PAGINA_MAXIMO + ".");
+        }
+        return quantidade;
+    }
+
+    public int reconstruirIndiceBusca() {
+        return buscaProjetoService.reconstruir();
     }
 
     private Projeto buscarProjetoPorId(Long idProjeto) {
@@ -100,28 +229,67 @@ public class ProjetoService implements ProjetoServiceInterface {
 
     @Transactional(readOnly = true)
     public List<ProjetoResponseDTO> consultarProjetosPorArtista(String nomeArtista) {
-        Artista artista = artistaRepository.findByContaNomeContainingIgnoreCase(nomeArtista)
-                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."));
-        return projetoRepository.findByArtistaId(artista.getId()).stream()
+        Long idArtista = indiceNomeArtistaService.buscar(nomeArtista, 0, 1).itens().stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."))
+                .idArtista();
+        // o próprio artista continua vendo os projetos em revisão; o público não
+        boolean proprioArtista = idArtista.equals(getIdArtistaAutenticadoOuNulo());
+        return projetoRepository.findByArtistaId(idArtista).stream()
+                .filter(projeto -> proprioArtista || projeto.getStatus() != StatusProjeto.EM_REVISAO)
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     public Long getIdArtistaAutenticado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = (String) authentication.getPrincipal();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuario && usuario.idArtista() != null) {
+            return usuario.idArtista();
+        }
+        String email = principal instanceof UsuarioAutenticado autenticado ? autenticado.email() : (String) principal;
         return artistaRepository.findByContaEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Artista não encontrado."))
                 .getId();
     }
 
+    /** Rota pública: sem um artista autenticado, devolve null em vez de lançar. */
+    private Long getIdArtistaAutenticadoOuNulo() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario.idArtista();
+        }
+        return null;
+    }
+
+    private String codificarCursor(ProjetoResponseDTO ultimo) {
+        String valor = ultimo.getDataCriacao() + ":" + ultimo.getIdProjeto();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorCatalogo decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(':');
+            return new CursorCatalogo(
+                    LocalDate.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido.", ex);
+        }
+    }
+
+    private record CursorCatalogo(LocalDate dataCriacao, Long idProjeto) {
+    }
+
     private ProjetoResponseDTO toResponseDTO(Projeto projeto) {
         return ProjetoResponseDTO.builder()
                 .idProjeto(projeto.getIdProjeto())
                 .titulo(projeto.getTitulo())
                 .descricaoProjeto(projeto.getDescricaoProjeto())
-                .meta(projeto.getMeta())
-                .valorArrecadado(projeto.getValorArrecadado())
+                .meta(Centavos.paraReais(projeto.getMetaCentavos()))
+                .valorArrecadado(Centavos.paraReais(projeto.getValorArrecadadoCentavos()))
+                .percentualFinanciado(Centavos.percentualFinanciado(projeto.getValorArrecadadoCentavos(), projeto.getMetaCentavos()))
                 .dataCriacao(projeto.getDataCriacao())
                 .status(projeto.getStatus())
                 .tipoArte(projeto.getTipoArte())
@@ -0,0 +1,331 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.events.DoacaoConfirmadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository.DoacaoRecente;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.FacetasProjeto;
+import com.crowdfunding.tecendoarte.services.interfaces.RankingProjetoServiceInterface;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Mantém os rankings "em alta" e "perto da meta" ordenados em skip lists, atualizados a cada doação:
+ * atualizar custa O(log n) e as k primeiras posições saem em O(k), sem ordenar na consulta.
+ *
+ * A pontuação "em alta" decai exponencialmente com meia-vida configurável. Em vez de envelhecer
+ * todas as pontuações com o tempo, cada doação entra com peso multiplicado por e^(λ·t), contado a
+ * partir de uma época fixa: a ordem entre projetos é a mesma da pontuação decaída e nada precisa ser
+ * recalculado. Esse peso cresce sem limite, por isso a pontuação é guardada em escala logarítmica.
+ *
+ * As pontuações "em alta" são gravadas periodicamente em disco; ao subir, o snapshot é lido e só as
+ * doações posteriores a ele são relidas do banco. "Perto da meta" sai direto da tabela de projetos.
+ */
+@Service
+public class RankingProjetoService implements RankingProjetoServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingProjetoService.class);
+
+    private static final int FORMATO_SNAPSHOT = 0x52414e4b; // "RANK"
+    private static final int VERSAO_SNAPSHOT = 1;
+    private static final int LOTE_RECONSTRUCAO = 5000;
+    private static final LocalDate DATA_INICIAL = LocalDate.of(1, 1, 1);
+    private static final long EPOCA_SEGUNDOS = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    // depois de 20 meias-vidas a contribuição de uma doação é menor que um milionésimo
+    private static final int MEIAS_VIDAS_RELEVANTES = 20;
+
+    private static final Comparator<Entrada> MAIOR_PONTUACAO = Comparator
+            .comparingDouble(Entrada::pontuacao).reversed()
+            .thenComparingLong(Entrada::idProjeto);
+
+    private final ProjetoRepository projetoRepository;
+    private final DoacaoRepository doacaoRepository;
+    private final Path snapshot;
+    private final double lambda;
+    private final long meiaVidaSegundos;
+
+    private final ConcurrentHashMap<Long, Entrada> emAltaPorProjeto = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entrada> emAlta = new ConcurrentSkipListSet<>(MAIOR_PONTUACAO);
+    private final ConcurrentHashMap<Long, Progresso> progressoPorProjeto = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entrada> pertoDaMeta = new ConcurrentSkipListSet<>(MAIOR_PONTUACAO);
+    private volatile boolean alteradoDesdeSnapshot;
+
+    public RankingProjetoService(
+            ProjetoRepository projetoRepository,
+            DoacaoRepository doacaoRepository,
+            @Value("${app.rankings.meia-vida-horas:24}") double meiaVidaHoras,
+            @Value("${app.rankings.snapshot:data/rankings-projetos.bin}") String snapshot) {
+        if (meiaVidaHoras <= 0) {
+            throw new IllegalArgumentException("app.rankings.meia-vida-horas deve ser positivo.");
+        }
+        this.projetoRepository = projetoRepository;
+        this.doacaoRepository = doacaoRepository;
+        this.meiaVidaSegundos = Math.round(meiaVidaHoras * 3600);
+        this.lambda = Math.log(2) / meiaVidaSegundos;
+        this.snapshot = snapshot == null || snapshot.isBlank() ? null : Paths.get(snapshot).toAbsolutePath();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        carregarProjetos();
+
+        LocalDateTime desde = LocalDateTime.now().minusSeconds(MEIAS_VIDAS_RELEVANTES * meiaVidaSegundos);
+        if (snapshot != null && Files.exists(snapshot)) {
+            try {
+                desde = lerSnapshot(snapshot);
+                log.info("Ranking em alta carregado do snapshot com {} projetos", emAltaPorProjeto.size());
+            } catch (IOException | RuntimeException e) {
+                limparEmAlta();
+                log.warn("Snapshot dos rankings ilegível; recalculando a partir das doações", e);
+            }
+        }
+        reaplicarDoacoes(desde);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        salvarSnapshotSeAlterado();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        if (evento.removido()) {
+            remover(evento.idProjeto());
+        } else {
+            registrarProjeto(evento.idProjeto(), evento.status(), evento.metaCentavos(), evento.valorArrecadadoCentavos());
+        }
+    }
+
+    @EventListener
+    public void aoConfirmarDoacao(DoacaoConfirmadaEvent evento) {
+        registrarDoacao(evento.idProjeto(), evento.centavos(), evento.data());
+    }
+
+    @Override
+    public List<ProjetoRanqueado> emAlta(int limite) {
+        // devolve a pontuação decaída até agora, que é o que faz sentido comparar entre consultas
+        double deslocamento = lambda * segundosDesdeEpoca(LocalDateTime.now());
+        List<ProjetoRanqueado> ranking = new ArrayList<>(limite);
+        Iterator<Entrada> entradas = emAlta.iterator();
+        while (entradas.hasNext() && ranking.size() < limite) {
+            Entrada entrada = entradas.next();
+            ranking.add(new ProjetoRanqueado(entrada.idProjeto(), Math.exp(entrada.pontuacao() - deslocamento)));
+        }
+        return ranking;
+    }
+
+    @Override
+    public List<ProjetoRanqueado> pertoDaMeta(int limite) {
+        List<ProjetoRanqueado> ranking = new ArrayList<>(limite);
+        Iterator<Entrada> entradas = pertoDaMeta.iterator();
+        while (entradas.hasNext() && ranking.size() < limite) {
+            Entrada entrada = entradas.next();
+            ranking.add(new ProjetoRanqueado(entrada.idProjeto(), entrada.pontuacao()));
+        }
+        return ranking;
+    }
+
+    @Override
+    public void registrarDoacao(Long idProjeto, long centavos, LocalDateTime data) {
+        somarEmAlta(idProjeto, centavos, data);
+        progressoPorProjeto.computeIfPresent(idProjeto, (id, atual) ->
+                atualizarProgresso(id, atual, atual.aberto(), atual.metaCentavos(), atual.arrecadadoCentavos() + centavos));
+    }
+
+    @Override
+    public void registrarProjeto(Long idProjeto, StatusProjeto status, long metaCentavos, long valorArrecadadoCentavos) {
+        boolean aberto = status == StatusProjeto.APROVADO;
+        // o arrecadado já é acompanhado aqui pelas doações; o da entidade pode estar atrasado
+        progressoPorProjeto.compute(idProjeto, (id, atual) -> atualizarProgresso(id, atual, aberto, metaCentavos,
+                atual == null ? valorArrecadadoCentavos : atual.arrecadadoCentavos()));
+        if (!aberto) {
+            removerEmAlta(idProjeto);
+        }
+    }
+
+    @Override
+    public void remover(Long idProjeto) {
+        Progresso progresso = progressoPorProjeto.remove(idProjeto);
+        if (progresso != null && progresso.entrada() != null) {
+            pertoDaMeta.remove(progresso.entrada());
+        }
+        removerEmAlta(idProjeto);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rankings.intervalo-snapshot-ms:300000}",
+            initialDelayString = "${app.rankings.intervalo-snapshot-ms:300000}")
+    public void salvarSnapshotSeAlterado() {
+        if (snapshot == null || !alteradoDesdeSnapshot) {
+            return;
+        }
+        alteradoDesdeSnapshot = false;
+        try {
+            Files.createDirectories(snapshot.getParent());
+            Path temporario = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            escreverSnapshot(temporario);
+            Files.move(temporario, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            alteradoDesdeSnapshot = true;
+            log.warn("Falha ao gravar snapshot dos rankings de projetos", e);
+        }
+    }
+
+    private void somarEmAlta(Long idProjeto, long centavos, LocalDateTime data) {
+        // doações maiores pesam mais, mas sem que uma única doação grande domine o ranking
+        double logPeso = Math.log1p(Math.log1p(centavos / 100.0)) + lambda * segundosDesdeEpoca(data);
+        emAltaPorProjeto.compute(idProjeto, (id, atual) -> {
+            double pontuacao = logPeso;
+            if (atual != null) {
+                emAlta.remove(atual);
+                pontuacao = somarEmEscalaLog(atual.pontuacao(), logPeso);
+            }
+            Entrada nova = new Entrada(id, pontuacao);
+            emAlta.add(nova);
+            return nova;
+        });
+        alteradoDesdeSnapshot = true;
+    }
+
+    private void removerEmAlta(Long idProjeto) {
+        Entrada entrada = emAltaPorProjeto.remove(idProjeto);
+        if (entrada != null) {
+            emAlta.remove(entrada);
+            alteradoDesdeSnapshot = true;
+        }
+    }
+
+    private void limparEmAlta() {
+        emAltaPorProjeto.clear();
+        emAlta.clear();
+    }
+
+    private Progresso atualizarProgresso(Long idProjeto, Progresso anterior, boolean aberto,
+                                         long metaCentavos, long arrecadadoCentavos) {
+        if (anterior != null && anterior.entrada() != null) {
+            pertoDaMeta.remove(anterior.entrada());
+        }
+        Entrada entrada = null;
+        // projetos já financiados ou sem nenhuma doação não estão "perto da meta"
+        if (aberto && metaCentavos > 0 && arrecadadoCentavos > 0 && arrecadadoCentavos < metaCentavos) {
+            entrada = new Entrada(idProjeto, (double) arrecadadoCentavos / metaCentavos);
+            pertoDaMeta.add(entrada);
+        }
+        return new Progresso(aberto, metaCentavos, arrecadadoCentavos, entrada);
+    }
+
+    private void carregarProjetos() {
+        LocalDate dataCursor = DATA_INICIAL;
+        Long idCursor = 0L;
+        List<FacetasProjeto> lote;
+        do {
+            lote = projetoRepository.listarFacetasAposCursor(dataCursor, idCursor, PageRequest.of(0, LOTE_RECONSTRUCAO));
+            for (FacetasProjeto projeto : lote) {
+                registrarProjeto(projeto.getIdProjeto(), projeto.getStatus(),
+                        projeto.getMetaCentavos(), projeto.getValorArrecadadoCentavos());
+                dataCursor = projeto.getDataCriacao();
+                idCursor = projeto.getIdProjeto();
+            }
+        } while (lote.size() == LOTE_RECONSTRUCAO);
+    }
+
+    private void reaplicarDoacoes(LocalDateTime desde) {
+        Long idCursor = 0L;
+        List<DoacaoRecente> lote;
+        do {
+            lote = doacaoRepository.listarRecentesAposCursor(desde, idCursor, PageRequest.of(0, LOTE_RECONSTRUCAO));
+            for (DoacaoRecente doacao : lote) {
+                Progresso progresso = progressoPorProjeto.get(doacao.getIdProjeto());
+                if (progresso != null && progresso.aberto()) {
+                    somarEmAlta(doacao.getIdProjeto(), doacao.getValorCentavos(), doacao.getData());
+                }
+                idCursor = doacao.getIdDoacao();
+            }
+        } while (lote.size() == LOTE_RECONSTRUCAO);
+    }
+
+    void escreverSnapshot(Path arquivo) throws IOException {
+        LocalDateTime instante = LocalDateTime.now();
+        List<Entrada> entradas = List.copyOf(emAltaPorProjeto.values());
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(arquivo), 1 << 16))) {
+            saida.writeInt(FORMATO_SNAPSHOT);
+            saida.writeInt(VERSAO_SNAPSHOT);
+            saida.writeLong(meiaVidaSegundos);
+            saida.writeLong(instante.toEpochSecond(ZoneOffset.UTC));
+            saida.writeInt(entradas.size());
+            for (Entrada entrada : entradas) {
+                saida.writeLong(entrada.idProjeto());
+                saida.writeDouble(entrada.pontuacao());
+            }
+        }
+    }
+
+    /** Carrega as pontuações do snapshot e devolve o instante em que ele foi gravado. */
+    LocalDateTime lerSnapshot(Path arquivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(arquivo), 1 << 16))) {
+            if (entrada.readInt() != FORMATO_SNAPSHOT || entrada.readInt() != VERSAO_SNAPSHOT) {
+                throw new IOException("Formato de snapshot não reconhecido: " + arquivo);
+            }
+            if (entrada.readLong() != meiaVidaSegundos) {
+                throw new IOException("Snapshot gravado com outra meia-vida: " + arquivo);
+            }
+            LocalDateTime instante = LocalDateTime.ofEpochSecond(entrada.readLong(), 0, ZoneOffset.UTC);
+            int quantidade = entrada.readInt();
+            for (int i = 0; i < quantidade; i++) {
+                long idProjeto = entrada.readLong();
+                double pontuacao = entrada.readDouble();
+                Progresso progresso = progressoPorProjeto.get(idProjeto);
+                if (progresso != null && progresso.aberto()) {
+                    Entrada carregada = new Entrada(idProjeto, pontuacao);
+                    emAltaPorProjeto.put(idProjeto, carregada);
+                    emAlta.add(carregada);
+                }
+            }
+            return instante;
+        }
+    }
+
+    private static long segundosDesdeEpoca(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC) - EPOCA_SEGUNDOS;
+    }
+
+    // log(e^a + e^b) sem estourar
+    private static double somarEmEscalaLog(double a, double b) {
+        double maior = Math.max(a, b);
+        return maior + Math.log1p(Math.exp(Math.min(a, b) - maior));
+    }
+
+    private record Entrada(long idProjeto, double pontuacao) {
+    }
+
+    private record Progresso(boolean aberto, long metaCentavos, long arrecadadoCentavos, Entrada entrada) {
+    }
+}
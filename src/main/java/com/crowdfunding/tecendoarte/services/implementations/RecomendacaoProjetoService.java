@@ -0,0 +1,435 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.events.DoacaoConfirmadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.events.UsuarioAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.Usuario;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ComentarioRepository;
+import com.crowdfunding.tecendoarte.repositories.ComentarioRepository.ProjetoComentado;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository.ProjetoApoiado;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.CandidatoRecomendacao;
+import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.RecomendacaoProjetoServiceInterface;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Recomenda projetos aprovados a um usuário somando pontos por afinidade: tipo de arte entre os
+ * interesses declarados, artista a quem já doou ou cujo projeto comentou, e tipo de arte dos
+ * projetos que já apoiou. Projetos que o usuário já apoiou ficam de fora; empates vão para os
+ * mais recentes.
+ *
+ * Os candidatos ficam em arrays paralelos, ordenados por data de criação, com o tipo de arte como
+ * máscara de bits, de modo que pontuar um projeto são alguns ANDs e buscas binárias, sem alocar.
+ * O catálogo é dividido em partes pontuadas em paralelo, cada uma mantendo seu próprio top-k.
+ * Os arrays são remontados fora das requisições, por uma tarefa agendada, só quando o conjunto de
+ * candidatos de fato mudou; cada remontagem é uma nova geração. As recomendações ficam em cache
+ * por usuário até que ele mude, doe, ou a geração dos candidatos mude.
+ */
+@Service
+public class RecomendacaoProjetoService implements RecomendacaoProjetoServiceInterface {
+
+    private static final int PESO_INTERESSE = 3;
+    private static final int PESO_ARTISTA_APOIADO = 4;
+    private static final int PESO_ARTISTA_COMENTADO = 2;
+    private static final int PESO_TIPO_APOIADO = 1;
+
+    // guardado em cache sempre o máximo; o limite pedido só recorta
+    private static final int MAXIMO_RECOMENDACOES = 100;
+    private static final int TAMANHO_MINIMO_PARTE = 4096;
+    private static final int LOTE_RECONSTRUCAO = 5000;
+
+    private static final Comparator<Candidato> MAIS_ANTIGO_PRIMEIRO = Comparator
+            .comparing(Candidato::dataCriacao)
+            .thenComparingLong(Candidato::idProjeto);
+
+    private final UsuarioRepository usuarioRepository;
+    private final ProjetoRepository projetoRepository;
+    private final DoacaoRepository doacaoRepository;
+    private final ComentarioRepository comentarioRepository;
+    private final int cacheMaximo;
+
+    private final ConcurrentHashMap<Long, Candidato> candidatosPorProjeto = new ConcurrentHashMap<>();
+    private volatile Candidatos candidatos = Candidatos.VAZIO;
+    private volatile boolean candidatosAlterados;
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private final ReentrantLock remontagem = new ReentrantLock();
+    private volatile boolean reconstruindo;
+    private final Queue<Runnable> pendentes = new ConcurrentLinkedQueue<>();
+
+    private final ConcurrentHashMap<Long, Recomendacoes> porUsuario = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> usuarioPorConta = new ConcurrentHashMap<>();
+    private final AtomicLong invalidacoes = new AtomicLong();
+    // geração em que o cache cheio já foi varrido; outra varredura só vale depois de uma nova geração
+    private final AtomicLong geracaoVarrida = new AtomicLong(-1);
+
+    public RecomendacaoProjetoService(
+            UsuarioRepository usuarioRepository,
+            ProjetoRepository projetoRepository,
+            DoacaoRepository doacaoRepository,
+            ComentarioRepository comentarioRepository,
+            @Value("${app.recomendacoes.cache-maximo:10000}") int cacheMaximo) {
+        this.usuarioRepository = usuarioRepository;
+        this.projetoRepository = projetoRepository;
+        this.doacaoRepository = doacaoRepository;
+        this.comentarioRepository = comentarioRepository;
+        this.cacheMaximo = cacheMaximo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProjeto(ProjetoAlteradoEvent evento) {
+        if (evento.removido() || evento.status() != StatusProjeto.APROVADO) {
+            removerCandidato(evento.idProjeto());
+        } else {
+            registrarCandidato(new Candidato(evento.idProjeto(), evento.idArtista(), evento.tipoArte(), evento.dataCriacao()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlteradoEvent evento) {
+        invalidarUsuario(evento.idUsuario());
+    }
+
+    @EventListener
+    public void aoConfirmarDoacao(DoacaoConfirmadaEvent evento) {
+        Long idUsuario = usuarioPorConta.get(evento.idConta());
+        if (idUsuario != null) {
+            invalidarUsuario(idUsuario);
+        }
+    }
+
+    @Override
+    public List<Long> recomendar(Long idUsuario, int limite) {
+        Candidatos atuais = candidatos;
+        Recomendacoes emCache = porUsuario.get(idUsuario);
+        if (emCache != null && emCache.geracao() == atuais.geracao) {
+            return recortar(emCache.idsProjeto(), limite);
+        }
+
+        long versao = invalidacoes.get();
+        Usuario usuario = usuarioRepository.findById(idUsuario)
+                .orElseThrow(() -> new EntityNotFoundException("Usuario não encontrado"));
+        Long idConta = usuario.getConta().getIdConta();
+        long[] idsProjeto = selecionar(atuais, montarPerfil(usuario.getInteresses(), idConta), MAXIMO_RECOMENDACOES);
+
+        // uma invalidação durante o cálculo pode ter chegado depois da leitura do perfil
+        if (invalidacoes.get() == versao) {
+            armazenar(idUsuario, new Recomendacoes(atuais.geracao, idConta, idsProjeto));
+        }
+        return recortar(idsProjeto, limite);
+    }
+
+    @Override
+    public void invalidarUsuario(Long idUsuario) {
+        invalidacoes.incrementAndGet();
+        Recomendacoes removida = porUsuario.remove(idUsuario);
+        if (removida != null) {
+            usuarioPorConta.remove(removida.idConta(), idUsuario);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.recomendacoes.reconstruir-ms:600000}",
+            initialDelayString = "${app.recomendacoes.reconstruir-ms:600000}")
+    public void reconstruir() {
+        reconstrucao.lock();
+        try {
+            reconstruindo = true;
+            try {
+                Map<Long, Candidato> lidos = new ConcurrentHashMap<>();
+                Long idCursor = 0L;
+                List<CandidatoRecomendacao> lote;
+                do {
+                    lote = projetoRepository.listarCandidatosRecomendacaoAposId(idCursor, PageRequest.of(0, LOTE_RECONSTRUCAO));
+                    for (CandidatoRecomendacao projeto : lote) {
+                        lidos.put(projeto.getIdProjeto(), new Candidato(projeto.getIdProjeto(), projeto.getIdArtista(),
+                                projeto.getTipoArte(), projeto.getDataCriacao()));
+                        idCursor = projeto.getIdProjeto();
+                    }
+                } while (lote.size() == LOTE_RECONSTRUCAO);
+
+                if (!candidatosPorProjeto.equals(lidos)) {
+                    candidatosPorProjeto.keySet().retainAll(lidos.keySet());
+                    candidatosPorProjeto.putAll(lidos);
+                    candidatosAlterados = true;
+                }
+            } finally {
+                reconstruindo = false;
+            }
+
+            Runnable pendente;
+            while ((pendente = pendentes.poll()) != null) {
+                pendente.run();
+            }
+        } finally {
+            reconstrucao.unlock();
+        }
+        remontarCandidatos();
+    }
+
+    /**
+     * Remonta os arrays ordenados se algum candidato mudou desde a última remontagem. Roda fora
+     * das requisições, que sempre leem os últimos arrays prontos.
+     */
+    @Scheduled(fixedDelayString = "${app.recomendacoes.remontar-ms:1000}")
+    public void remontarCandidatos() {
+        if (!candidatosAlterados) {
+            return;
+        }
+        remontagem.lock();
+        try {
+            if (candidatosAlterados) {
+                candidatosAlterados = false;
+                List<Candidato> ordenados = new ArrayList<>(candidatosPorProjeto.values());
+                ordenados.sort(MAIS_ANTIGO_PRIMEIRO);
+                candidatos = new Candidatos(geracao.incrementAndGet(), ordenados);
+            }
+        } finally {
+            remontagem.unlock();
+        }
+    }
+
+    private void registrarCandidato(Candidato candidato) {
+        // reaprovar ou salvar o projeto sem mudar artista, tipo ou data não muda a pontuação
+        if (!candidato.equals(candidatosPorProjeto.put(candidato.idProjeto(), candidato))) {
+            candidatosAlterados = true;
+        }
+        if (reconstruindo) {
+            pendentes.add(() -> registrarCandidato(candidato));
+        }
+    }
+
+    private void removerCandidato(Long idProjeto) {
+        if (candidatosPorProjeto.remove(idProjeto) != null) {
+            candidatosAlterados = true;
+        }
+        if (reconstruindo) {
+            pendentes.add(() -> removerCandidato(idProjeto));
+        }
+    }
+
+    private Perfil montarPerfil(List<TipoArte> interesses, Long idConta) {
+        long mascaraInteresses = 0;
+        for (TipoArte tipo : interesses) {
+            mascaraInteresses |= mascara(tipo);
+        }
+
+        List<ProjetoApoiado> apoiados = doacaoRepository.listarProjetosApoiados(idConta);
+        List<ProjetoComentado> comentados = comentarioRepository.listarProjetosComentados(idConta);
+        long mascaraApoiados = 0;
+        long[] projetosApoiados = new long[apoiados.size()];
+        long[] artistasApoiados = new long[apoiados.size()];
+        for (int i = 0; i < apoiados.size(); i++) {
+            ProjetoApoiado apoiado = apoiados.get(i);
+            projetosApoiados[i] = apoiado.getIdProjeto();
+            artistasApoiados[i] = apoiado.getIdArtista();
+            mascaraApoiados |= mascara(apoiado.getTipoArte());
+        }
+        long[] artistasComentados = new long[comentados.size()];
+        for (int i = 0; i < comentados.size(); i++) {
+            artistasComentados[i] = comentados.get(i).getIdArtista();
+            mascaraApoiados |= mascara(comentados.get(i).getTipoArte());
+        }
+        Arrays.sort(projetosApoiados);
+        Arrays.sort(artistasApoiados);
+        Arrays.sort(artistasComentados);
+        return new Perfil(mascaraInteresses, mascaraApoiados, projetosApoiados, artistasApoiados, artistasComentados);
+    }
+
+    private long[] selecionar(Candidatos candidatos, Perfil perfil, int k) {
+        int total = candidatos.quantidade;
+        int partes = Math.min(Runtime.getRuntime().availableProcessors(), total / TAMANHO_MINIMO_PARTE);
+        TopK melhores;
+        if (partes <= 1) {
+            melhores = pontuar(candidatos, perfil, 0, total, k);
+        } else {
+            TopK[] parciais = IntStream.range(0, partes).parallel()
+                    .mapToObj(parte -> pontuar(candidatos, perfil,
+                            (int) ((long) parte * total / partes), (int) ((long) (parte + 1) * total / partes), k))
+                    .toArray(TopK[]::new);
+            melhores = new TopK(k);
+            for (TopK parcial : parciais) {
+                for (int i = 0; i < parcial.tamanho; i++) {
+                    melhores.oferecer(parcial.chaves[i]);
+                }
+            }
+        }
+
+        long[] chaves = melhores.decrescente();
+        long[] idsProjeto = new long[chaves.length];
+        for (int i = 0; i < chaves.length; i++) {
+            idsProjeto[i] = candidatos.idsProjeto[(int) chaves[i]];
+        }
+        return idsProjeto;
+    }
+
+    private static TopK pontuar(Candidatos candidatos, Perfil perfil, int inicio, int fim, int k) {
+        TopK melhores = new TopK(k);
+        for (int i = inicio; i < fim; i++) {
+            if (Arrays.binarySearch(perfil.projetosApoiados(), candidatos.idsProjeto[i]) >= 0) {
+                continue;
+            }
+            long tipo = candidatos.mascarasTipo[i];
+            int pontos = 0;
+            if ((perfil.interesses() & tipo) != 0) {
+                pontos += PESO_INTERESSE;
+            }
+            if ((perfil.tiposApoiados() & tipo) != 0) {
+                pontos += PESO_TIPO_APOIADO;
+            }
+            if (Arrays.binarySearch(perfil.artistasApoiados(), candidatos.idsArtista[i]) >= 0) {
+                pontos += PESO_ARTISTA_APOIADO;
+            } else if (Arrays.binarySearch(perfil.artistasComentados(), candidatos.idsArtista[i]) >= 0) {
+                pontos += PESO_ARTISTA_COMENTADO;
+            }
+            // pontos na parte alta e posição na parte baixa: o desempate favorece os mais recentes
+            melhores.oferecer(((long) pontos << 32) | i);
+        }
+        return melhores;
+    }
+
+    private void armazenar(Long idUsuario, Recomendacoes recomendacoes) {
+        if (porUsuario.size() >= cacheMaximo) {
+            // a varredura é O(n): só uma por geração, já que antes disso não há entradas velhas a achar
+            long atual = candidatos.geracao;
+            long varrida = geracaoVarrida.get();
+            if (varrida != atual && geracaoVarrida.compareAndSet(varrida, atual)) {
+                porUsuario.values().removeIf(entrada -> entrada.geracao() != atual);
+            }
+            if (porUsuario.size() >= cacheMaximo) {
+                return;
+            }
+        }
+        porUsuario.put(idUsuario, recomendacoes);
+        usuarioPorConta.put(recomendacoes.idConta(), idUsuario);
+    }
+
+    private static List<Long> recortar(long[] idsProjeto, int limite) {
+        return Arrays.stream(idsProjeto, 0, Math.min(limite, idsProjeto.length)).boxed().toList();
+    }
+
+    private static long mascara(TipoArte tipo) {
+        return tipo == null ? 0 : 1L << tipo.ordinal();
+    }
+
+    private record Candidato(Long idProjeto, Long idArtista, TipoArte tipoArte, LocalDate dataCriacao) {
+    }
+
+    private record Perfil(long interesses, long tiposApoiados, long[] projetosApoiados,
+                          long[] artistasApoiados, long[] artistasComentados) {
+    }
+
+    private record Recomendacoes(long geracao, Long idConta, long[] idsProjeto) {
+    }
+
+    private static final class Candidatos {
+        static final Candidatos VAZIO = new Candidatos(0, List.of());
+
+        final long geracao;
+        final int quantidade;
+        final long[] idsProjeto;
+        final long[] idsArtista;
+        final long[] mascarasTipo;
+
+        Candidatos(long geracao, List<Candidato> ordenados) {
+            this.geracao = geracao;
+            this.quantidade = ordenados.size();
+            this.idsProjeto = new long[quantidade];
+            this.idsArtista = new long[quantidade];
+            this.mascarasTipo = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                Candidato candidato = ordenados.get(i);
+                idsProjeto[i] = candidato.idProjeto();
+                idsArtista[i] = candidato.idArtista();
+                mascarasTipo[i] = mascara(candidato.tipoArte());
+            }
+        }
+    }
+
+    /** Heap de mínimo com as k maiores chaves vistas. */
+    private static final class TopK {
+        final long[] chaves;
+        int tamanho;
+
+        TopK(int k) {
+            this.chaves = new long[k];
+        }
+
+        void oferecer(long chave) {
+            if (tamanho < chaves.length) {
+                int i = tamanho++;
+                chaves[i] = chave;
+                while (i > 0 && chaves[(i - 1) / 2] > chaves[i]) {
+                    trocar(i, (i - 1) / 2);
+                    i = (i - 1) / 2;
+                }
+            } else if (chave > chaves[0]) {
+                chaves[0] = chave;
+                int i = 0;
+                while (true) {
+                    int menor = i;
+                    int esquerda = 2 * i + 1;
+                    int direita = esquerda + 1;
+                    if (esquerda < tamanho && chaves[esquerda] < chaves[menor]) {
+                        menor = esquerda;
+                    }
+                    if (direita < tamanho && chaves[direita] < chaves[menor]) {
+                        menor = direita;
+                    }
+                    if (menor == i) {
+                        break;
+                    }
+                    trocar(i, menor);
+                    i = menor;
+                }
+            }
+        }
+
+        long[] decrescente() {
+            long[] ordenadas = Arrays.copyOf(chaves, tamanho);
+            Arrays.sort(ordenadas);
+            for (int i = 0, j = ordenadas.length - 1; i < j; i++, j--) {
+                long troca = ordenadas[i];
+                ordenadas[i] = ordenadas[j];
+                ordenadas[j] = troca;
+            }
+            return ordenadas;
+        }
+
+        private void trocar(int a, int b) {
+            long troca = chaves[a];
+            chaves[a] = chaves[b];
+            chaves[b] = troca;
+        }
+    }
+}
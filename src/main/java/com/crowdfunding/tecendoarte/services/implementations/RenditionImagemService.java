@@ -0,0 +1,175 @@
+package com.crowdfunding.tecendoarte.services.implementations;
+
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.RenditionImagemServiceInterface;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gera versões reduzidas (160, 480 e 1200 px de largura, em JPEG) das imagens enviadas.
+ * As renditions ficam em disco, indexadas por hash e largura, e são geradas fora da requisição.
+ * Com o pool cheio, o upload gera na própria thread (backpressure sobre quem envia imagens); a
+ * leitura pública com ?largura desiste, para que requisições anônimas não virem trabalho de CPU.
+ */
+@Service
+public class RenditionImagemService implements RenditionImagemServiceInterface {
+
+    private static final Logger log = LoggerFactory.getLogger(RenditionImagemService.class);
+
+    private static final int[] LARGURAS = {MENOR_LARGURA, 480, 1200};
+    private static final int MAXIMO_PROCESSADAS = 10_000;
+
+    private final ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+    private final TaskExecutor executor;
+    private final Set<String> emProcessamento = ConcurrentHashMap.newKeySet();
+    // Hashes já processados: uma largura que não existe depois disso (original menor ou formato sem leitor)
+    // não volta a ser agendada a cada requisição; uma falha não entra aqui e é tentada de novo. Ao encher,
+    // o conjunto recomeça; gerar pula as renditions que já estão em disco, então reprocessar custa só a
+    // leitura do cabeçalho
+    private final Set<String> processadas = ConcurrentHashMap.newKeySet();
+
+    public RenditionImagemService(ArmazenamentoImagemServiceInterface armazenamentoImagemService,
+                                  @Qualifier("imagemRenditionExecutor") TaskExecutor executor) {
+        this.armazenamentoImagemService = armazenamentoImagemService;
+        this.executor = executor;
+    }
+
+    @Override
+    public void agendar(String hash) {
+        agendar(hash, true);
+    }
+
+    @Override
+    public void agendarSeHouverVaga(String hash) {
+        agendar(hash, false);
+    }
+
+    private void agendar(String hash, boolean gerarSeSemVaga) {
+        if (processadas.contains(hash) || !emProcessamento.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> processar(hash));
+        } catch (TaskRejectedException e) {
+            if (gerarSeSemVaga) {
+                processar(hash);
+            } else {
+                emProcessamento.remove(hash);
+            }
+        }
+    }
+
+    private void processar(String hash) {
+        try {
+            gerar(hash);
+            if (processadas.size() >= MAXIMO_PROCESSADAS) {
+                processadas.clear();
+            }
+            processadas.add(hash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao gerar renditions da imagem {}: {}", hash, e.getMessage());
+        } finally {
+            emProcessamento.remove(hash);
+        }
+    }
+
+    @Override
+    public Optional<Path> localizar(String hash, int largura) {
+        Path rendition = armazenamentoImagemService.localizarRendition(hash, largura);
+        return Files.isReadable(rendition) ? Optional.of(rendition) : Optional.empty();
+    }
+
+    @Override
+    public int larguraAdequada(int larguraSolicitada) {
+        for (int largura : LARGURAS) {
+            if (largura >= larguraSolicitada) {
+                return largura;
+            }
+        }
+        return LARGURAS[LARGURAS.length - 1];
+    }
+
+    private void gerar(String hash) throws IOException {
+        Path original = armazenamentoImagemService.localizar(hash);
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(original.toFile())) {
+            if (entrada == null) {
+                return;
+            }
+            Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+            if (!leitores.hasNext()) {
+                log.debug("Formato de imagem não suportado para renditions: {}", hash);
+                return;
+            }
+            ImageReader leitor = leitores.next();
+            try {
+                leitor.setInput(entrada, true, true);
+                int larguraOriginal = leitor.getWidth(0);
+
+                // Decodifica com subamostragem para não carregar a imagem inteira em resolução máxima
+                BufferedImage base = null;
+                for (int i = LARGURAS.length - 1; i >= 0; i--) {
+                    int largura = LARGURAS[i];
+                    if (largura >= larguraOriginal || localizar(hash, largura).isPresent()) {
+                        continue;
+                    }
+                    if (base == null) {
+                        ImageReadParam parametros = leitor.getDefaultReadParam();
+                        int passo = Math.max(1, larguraOriginal / (largura * 2));
+                        parametros.setSourceSubsampling(passo, passo, 0, 0);
+                        base = leitor.read(0, parametros);
+                    }
+                    gravar(hash, largura, redimensionar(base, largura));
+                }
+            } finally {
+                leitor.dispose();
+            }
+        }
+    }
+
+    private BufferedImage redimensionar(BufferedImage origem, int largura) {
+        int altura = Math.max(1, (int) Math.round((double) origem.getHeight() * largura / origem.getWidth()));
+        BufferedImage destino = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(origem, 0, 0, largura, altura, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return destino;
+    }
+
+    private void gravar(String hash, int largura, BufferedImage imagem) throws IOException {
+        Path destino = armazenamentoImagemService.localizarRendition(hash, largura);
+        Files.createDirectories(destino.getParent());
+        Path temporario = Files.createTempFile(destino.getParent(), hash, ".part");
+        try {
+            ImageIO.write(imagem, "jpg", temporario.toFile());
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+}
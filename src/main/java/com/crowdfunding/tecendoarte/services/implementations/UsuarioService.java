@@ -1,21 +1,31 @@
 package com.crowdfunding.tecendoarte.services.implementations;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginResponseDTO;
+import com.crowdfunding.tecendoarte.events.UsuarioAlteradoEvent;
 import com.crowdfunding.tecendoarte.models.Conta;
 import com.crowdfunding.tecendoarte.models.Usuario;
 import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
 import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.RecomendacaoProjetoServiceInterface;
 import com.crowdfunding.tecendoarte.services.interfaces.UsuarioServiceInterface;
 import com.crowdfunding.tecendoarte.config.JwtUtil;
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class UsuarioService implements UsuarioServiceInterface {
@@ -24,6 +34,12 @@ public class UsuarioService implements UsuarioServiceInterface {
     private final ContaRepository contaRepository;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final ProjetoRepository projetoRepository;
+    private final RecomendacaoProjetoServiceInterface recomendacaoProjetoService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int LIMITE_RECOMENDACOES_PADRAO = 10;
+    private static final int LIMITE_RECOMENDACOES_MAXIMO = 100;
 
     @Override
     @Transactional
@@ -66,6 +82,7 @@ public class UsuarioService implements UsuarioServiceInterface {
         usuario.setInteresses(dto.getInteresses());
 
         usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuario.getId()));
 
         return toResponseDTO(usuario);
     }
@@ -77,10 +94,37 @@ public class UsuarioService implements UsuarioServiceInterface {
             throw new EntityNotFoundException("Usuario não encontrado");
         }
         usuarioRepository.deleteById(id);
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(id));
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public List<ProjetoResponseDTO> listarRecomendacoes(Long id, Integer limite) {
+        int quantidade = limite == null ? LIMITE_RECOMENDACOES_PADRAO : limite;
+        if (quantidade < 1 || quantidade > LIMITE_RECOMENDACOES_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_RECOMENDACOES_MAXIMO + ".");
+        }
+        // as recomendações revelam o que o usuário apoiou e comentou
+        if (!id.equals(getIdUsuarioAutenticado())) {
+            throw new SecurityException("Você só pode ver as recomendações do seu próprio usuário.");
+        }
+        return projetoRepository.listarResumosNaOrdem(recomendacaoProjetoService.recomendar(id, quantidade));
+    }
+
+    private Long getIdUsuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuario && usuario.idUsuario() != null) {
+            return usuario.idUsuario();
+        }
+        String email = principal instanceof UsuarioAutenticado autenticado ? autenticado.email() : (String) principal;
+        return usuarioRepository.findByContaEmail(email)
+                .map(Usuario::getId)
+                .orElse(null);
+    }
+
+    // Sem transação: matches/encode esperam no pool de hash, e nenhuma conexão fica presa nessa espera
+    @Override
     public UsuarioLoginResponseDTO login(UsuarioLoginRequestDTO dto) {
         Conta conta = contaRepository.findByEmail(dto.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
@@ -89,10 +133,14 @@ public class UsuarioService implements UsuarioServiceInterface {
             throw new IllegalArgumentException("Senha incorreta");
         }
 
+        if (passwordEncoder.upgradeEncoding(conta.getSenha())) {
+            contaRepository.regravarSenha(conta.getIdConta(), conta.getSenha(), passwordEncoder.encode(dto.getSenha()));
+        }
+
         Usuario usuario = usuarioRepository.findByConta(conta)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
-        String token = jwtUtil.generateTokenForUsuario(usuario.getId(), conta.getEmail());
+        String token = jwtUtil.generateTokenForUsuario(usuario.getId(), conta.getIdConta(), conta.getEmail());
 
         return new UsuarioLoginResponseDTO(
                 token,
@@ -0,0 +1,23 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AgregacaoDenunciaServiceInterface {
+
+    /** Registra o autor no alvo; devolve false se ele já denunciou esse alvo. */
+    boolean reservarAutor(TipoDenuncia tipo, Long idAlvo, Long idConta);
+
+    /** Desfaz a reserva quando a denúncia não chegou a ser gravada. */
+    void cancelarReserva(TipoDenuncia tipo, Long idAlvo, Long idConta);
+
+    /** Conta a denúncia gravada no alvo, concluindo a reserva feita antes da gravação. */
+    void registrarDenuncia(TipoDenuncia tipo, Long idAlvo, LocalDateTime criadaEm);
+
+    List<AlvoDenunciadoResponseDTO> listarAlvosPendentes(TipoDenuncia tipo, int limite);
+
+    void descarregar();
+}
@@ -0,0 +1,16 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+
+public interface ArmazenamentoImagemServiceInterface {
+
+    ConteudoArmazenado armazenar(InputStream conteudo);
+
+    Path localizar(String hash);
+
+    Path localizarRendition(String hash, int largura);
+
+    record ConteudoArmazenado(String hash, long tamanhoBytes) {
+    }
+}
@@ -9,6 +9,7 @@ public interface ArtistaServiceInterface {
     public ArtistaResponseDTO cadastrarArtista(ArtistaRequestDTO request);
     public ArtistaLoginResponseDTO login(ArtistaLoginRequestDTO request);
     public ArtistaResponseDTO buscarPorNome(String nome);
+    public ArtistaPaginaResponseDTO pesquisarPorNome(String nome, Integer pagina, Integer tamanho);
     public List<ArtistaResponseDTO> listarArtistas();
     public ArtistaResponseDTO atualizarArtista(String nome, ArtistaRequestDTO request);
     public void deletarArtista(String nome);
@@ -0,0 +1,17 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.util.List;
+
+public interface BuscaProjetoServiceInterface {
+
+    record ProjetoEncontrado(Long idProjeto, double pontuacao) {
+    }
+
+    List<ProjetoEncontrado> buscar(String consulta, int limite);
+
+    void indexar(Long idProjeto, String titulo, String descricaoProjeto, String descricaoRecompensa);
+
+    void remover(Long idProjeto);
+
+    int reconstruir();
+}
@@ -0,0 +1,10 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+
+public interface CacheProjetoServiceInterface {
+
+    ProjetoResponseDTO buscar(Long idProjeto);
+
+    void invalidar(Long idProjeto);
+}
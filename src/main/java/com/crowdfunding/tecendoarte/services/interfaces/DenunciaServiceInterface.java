@@ -1,11 +1,24 @@
 package com.crowdfunding.tecendoarte.services.interfaces;
 
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AnaliseLoteDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaPaginaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.DenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ItemAnaliseDenunciaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.ListarDenunciaResponseDTO;
 import com.crowdfunding.tecendoarte.models.Denuncia;
 import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
 
 import java.util.List;
 
 public interface DenunciaServiceInterface {
-    List<Denuncia> listarTodas();
+    DenunciaResponseDTO registrar(DenunciaRequestDTO dto, Long idConta);
+    Long getIdContaAutenticada();
+    List<AlvoDenunciadoResponseDTO> listarAlvosPendentes(TipoDenuncia tipo, Integer limite);
+    List<ListarDenunciaResponseDTO> listarTodas();
+    DenunciaPaginaResponseDTO listarFila(StatusDenuncia status, TipoDenuncia tipo, String cursor, Integer tamanho);
     Denuncia analisar(Long id, StatusDenuncia resultado);
+    AnaliseLoteDenunciaResponseDTO analisarEmLote(List<ItemAnaliseDenunciaRequestDTO> itens);
 }
@@ -0,0 +1,28 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoRequestDTO;
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoResponseDTO;
+
+public interface DoacaoServiceInterface {
+    DoacaoResponseDTO doar(Long idProjeto, DoacaoRequestDTO dto, Long idContaAutenticada);
+    DoacaoResponseDTO buscarPorChave(Long idProjeto, String chaveIdempotencia, Long idContaAutenticada);
+    Long getIdContaAutenticada();
+
+    /**
+     * A doação entrou numa transação que não confirmou a tempo: pode ter sido gravada ou não.
+     * Repetir sem a chave pode duplicá-la; o resultado é consultado (ou o POST repetido) pela chave.
+     */
+    class DoacaoNaoConfirmadaException extends RuntimeException {
+
+        private final String chaveIdempotencia;
+
+        public DoacaoNaoConfirmadaException(String mensagem, String chaveIdempotencia) {
+            super(mensagem);
+            this.chaveIdempotencia = chaveIdempotencia;
+        }
+
+        public String getChaveIdempotencia() {
+            return chaveIdempotencia;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.EscalonamentoDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EscalonamentoDenunciaServiceInterface {
+
+    /** Conta a denúncia na janela do projeto e o coloca em revisão se o limite for atingido. */
+    void registrarDenuncia(Long idProjeto, LocalDateTime criadaEm);
+
+    EscalonamentoDenunciaResponseDTO consultarJanelas(LocalDateTime agora);
+
+    void descartarJanelasVazias();
+
+    /** Projetos em revisão, lidos do banco, do que entrou por último para o primeiro. */
+    List<ProjetoResponseDTO> listarEmRevisao();
+
+    /** Devolve ao projeto em revisão o status que tinha antes dela. */
+    ProjetoResponseDTO restaurar(Long idProjeto);
+}
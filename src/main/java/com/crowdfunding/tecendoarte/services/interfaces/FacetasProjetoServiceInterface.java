@@ -0,0 +1,31 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public interface FacetasProjetoServiceInterface {
+
+    record ResultadoFacetas(
+            List<Long> idsProjeto,
+            int total,
+            Map<StatusProjeto, Integer> porStatus,
+            Map<TipoArte, Integer> porTipoArte,
+            Map<FaixaFinanciamento, Integer> porFaixa) {
+    }
+
+    ResultadoFacetas filtrar(StatusProjeto status, TipoArte tipoArte, FaixaFinanciamento faixa, int pagina, int tamanho);
+
+    void registrar(Long idProjeto, StatusProjeto status, TipoArte tipoArte, long metaCentavos,
+                   long valorArrecadadoCentavos, LocalDate dataCriacao);
+
+    void atualizarArrecadado(Long idProjeto, long totalCentavos);
+
+    void remover(Long idProjeto);
+
+    void reconstruir();
+}
@@ -0,0 +1,13 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.nio.file.Path;
+
+public interface ImagemServiceInterface {
+
+    ConteudoImagem buscarConteudo(Long idImagem, Integer largura);
+
+    // versao identifica de forma única os bytes entregues (hash do original ou hash + largura da rendition).
+    // provisorio indica o original entregue no lugar de uma rendition ainda não gerada: a mesma URL vai mudar de bytes
+    record ConteudoImagem(String versao, String tipoConteudo, long tamanhoBytes, Path arquivo, boolean provisorio) {
+    }
+}
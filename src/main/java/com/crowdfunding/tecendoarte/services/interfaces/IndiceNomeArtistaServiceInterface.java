@@ -0,0 +1,22 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.util.List;
+
+public interface IndiceNomeArtistaServiceInterface {
+
+    record ArtistaEncontrado(Long idArtista, double pontuacao, boolean contemTermo) {
+    }
+
+    record PaginaArtistas(List<ArtistaEncontrado> itens, int total) {
+    }
+
+    PaginaArtistas buscar(String termo, int pagina, int tamanho);
+
+    void indexar(Long idArtista, Long idConta, String nome);
+
+    void renomearConta(Long idConta, String nome);
+
+    void remover(Long idArtista);
+
+    void reconstruir();
+}
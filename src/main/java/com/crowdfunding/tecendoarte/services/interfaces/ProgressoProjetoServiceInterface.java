@@ -0,0 +1,10 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ProgressoProjetoServiceInterface {
+
+    SseEmitter inscrever(Long idProjeto);
+
+    void registrarDoacao(Long idProjeto, long centavos);
+}
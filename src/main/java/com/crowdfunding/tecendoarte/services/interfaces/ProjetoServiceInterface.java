@@ -2,12 +2,23 @@ package com.crowdfunding.tecendoarte.services.interfaces;
 
 import java.util.List;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoFacetasResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoPaginaResponseDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 
 public interface ProjetoServiceInterface {
     ProjetoResponseDTO cadastraProjeto(ProjetoRequestDTO dto, Long idArtistaAutenticado);
     ProjetoResponseDTO deletaProjeto(Long idProjeto, Long idArtistaAutenticado);
     ProjetoResponseDTO atualizaProjeto(Long idProjeto, ProjetoRequestDTO dto, Long idArtistaAutenticado);
     List<ProjetoResponseDTO> listarProjetos();
+    ProjetoPaginaResponseDTO listarCatalogo(StatusProjeto status, TipoArte tipoArte, String cursor, Integer tamanho);
+    List<ProjetoResponseDTO> buscarProjetos(String consulta, Integer limite);
+    ProjetoFacetasResponseDTO listarComFacetas(StatusProjeto status, TipoArte tipoArte, FaixaFinanciamento faixa,
+                                               Integer pagina, Integer tamanho);
+    List<ProjetoResponseDTO> listarEmAlta(Integer limite);
+    List<ProjetoResponseDTO> listarPertoDaMeta(Integer limite);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RankingProjetoServiceInterface {
+
+    record ProjetoRanqueado(Long idProjeto, double pontuacao) {
+    }
+
+    List<ProjetoRanqueado> emAlta(int limite);
+
+    List<ProjetoRanqueado> pertoDaMeta(int limite);
+
+    void registrarDoacao(Long idProjeto, long centavos, LocalDateTime data);
+
+    void registrarProjeto(Long idProjeto, StatusProjeto status, long metaCentavos, long valorArrecadadoCentavos);
+
+    void remover(Long idProjeto);
+}
@@ -0,0 +1,12 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.util.List;
+
+public interface RecomendacaoProjetoServiceInterface {
+
+    List<Long> recomendar(Long idUsuario, int limite);
+
+    void invalidarUsuario(Long idUsuario);
+
+    void reconstruir();
+}
@@ -0,0 +1,19 @@
+package com.crowdfunding.tecendoarte.services.interfaces;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface RenditionImagemServiceInterface {
+
+    int MENOR_LARGURA = 160;
+
+    /** Agenda a geração; com o pool cheio, gera na thread atual. Para uploads. */
+    void agendar(String hash);
+
+    /** Agenda a geração só se houver vaga no pool; senão desiste. Para leituras. */
+    void agendarSeHouverVaga(String hash);
+
+    Optional<Path> localizar(String hash, int largura);
+
+    int larguraAdequada(int larguraSolicitada);
+}
@@ -1,10 +1,13 @@
 package com.crowdfunding.tecendoarte.services.interfaces;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginResponseDTO;
 
+import java.util.List;
+
 public interface UsuarioServiceInterface {
     UsuarioResponseDTO criar(UsuarioRequestDTO dto);
 
@@ -15,4 +18,6 @@ public interface UsuarioServiceInterface {
     void deletar(Long id);
     
     UsuarioLoginResponseDTO login(UsuarioLoginRequestDTO dto);
+
+    List<ProjetoResponseDTO> listarRecomendacoes(Long id, Integer limite);
 }
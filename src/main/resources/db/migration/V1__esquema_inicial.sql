@@ -0,0 +1,136 @@
+-- Esquema equivalente ao que o ddl-auto=update gerava a partir das entidades. Bancos que já existiam
+-- antes das migrações entram com baseline na versão 0 e passam por aqui também: só são criadas as
+-- tabelas que faltam (resumo_denuncia), e a V1_1 converte as colunas antigas das que já existem.
+-- As colunas de enum não têm CHECK: novos valores (como EM_REVISAO) não exigem migração.
+
+CREATE TABLE IF NOT EXISTS administrador (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome  VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_administrador_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS conta (
+    id_conta   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    senha      VARCHAR(255) NOT NULL,
+    nome       VARCHAR(255) NOT NULL,
+    tipo_conta VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_conta_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS artistas (
+    id_artista        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_conta          BIGINT NOT NULL,
+    descricao_artista TEXT,
+    CONSTRAINT uk_artistas_conta UNIQUE (id_conta),
+    CONSTRAINT fk_artistas_conta FOREIGN KEY (id_conta) REFERENCES conta (id_conta)
+);
+
+CREATE TABLE IF NOT EXISTS artista_categorias (
+    id_artista BIGINT       NOT NULL,
+    categorias VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_artista_categorias_artista FOREIGN KEY (id_artista) REFERENCES artistas (id_artista)
+);
+
+CREATE TABLE IF NOT EXISTS usuario (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_conta BIGINT NOT NULL,
+    CONSTRAINT uk_usuario_conta UNIQUE (id_conta),
+    CONSTRAINT fk_usuario_conta FOREIGN KEY (id_conta) REFERENCES conta (id_conta)
+);
+
+CREATE TABLE IF NOT EXISTS usuario_interesse (
+    id        BIGINT       NOT NULL,
+    tipo_arte VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_usuario_interesse_usuario FOREIGN KEY (id) REFERENCES usuario (id)
+);
+
+CREATE TABLE IF NOT EXISTS projetos (
+    id_projeto                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo                    VARCHAR(255) NOT NULL,
+    descricao_projeto         VARCHAR(255) NOT NULL,
+    meta_centavos             BIGINT       NOT NULL,
+    valor_arrecadado_centavos BIGINT       NOT NULL,
+    data_criacao              DATE         NOT NULL,
+    status                    VARCHAR(255) NOT NULL,
+    descricao_recompensa      TEXT,
+    id_validator              BIGINT,
+    tipo_arte                 VARCHAR(255) NOT NULL,
+    id_artista                BIGINT       NOT NULL,
+    CONSTRAINT fk_projetos_validator FOREIGN KEY (id_validator) REFERENCES administrador (id),
+    CONSTRAINT fk_projetos_artista FOREIGN KEY (id_artista) REFERENCES artistas (id_artista)
+);
+
+CREATE TABLE IF NOT EXISTS imagens (
+    id_imagem     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hash_conteudo VARCHAR(64)  NOT NULL,
+    tipo_conteudo VARCHAR(100) NOT NULL,
+    tamanho_bytes BIGINT       NOT NULL,
+    descricao     VARCHAR(500),
+    id_projeto    BIGINT,
+    id_artista    BIGINT,
+    CONSTRAINT fk_imagens_projeto FOREIGN KEY (id_projeto) REFERENCES projetos (id_projeto),
+    CONSTRAINT fk_imagens_artista FOREIGN KEY (id_artista) REFERENCES artistas (id_artista)
+);
+
+CREATE TABLE IF NOT EXISTS comentario (
+    id_comentario BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    conta_id      BIGINT NOT NULL,
+    projeto_id    BIGINT NOT NULL,
+    texto         TEXT   NOT NULL,
+    data          DATE   NOT NULL,
+    CONSTRAINT fk_comentario_conta FOREIGN KEY (conta_id) REFERENCES conta (id_conta),
+    CONSTRAINT fk_comentario_projeto FOREIGN KEY (projeto_id) REFERENCES projetos (id_projeto)
+);
+
+CREATE TABLE IF NOT EXISTS doacao (
+    id_doacao      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    valor_centavos BIGINT       NOT NULL,
+    data           TIMESTAMP(6) NOT NULL,
+    conta_id       BIGINT       NOT NULL,
+    projeto_id     BIGINT       NOT NULL,
+    CONSTRAINT fk_doacao_conta FOREIGN KEY (conta_id) REFERENCES conta (id_conta),
+    CONSTRAINT fk_doacao_projeto FOREIGN KEY (projeto_id) REFERENCES projetos (id_projeto)
+);
+
+CREATE TABLE IF NOT EXISTS interacao (
+    id_interacao    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    mensagem        TEXT         NOT NULL,
+    data            TIMESTAMP(6) NOT NULL,
+    remetente_id    BIGINT       NOT NULL,
+    destinatario_id BIGINT       NOT NULL,
+    projeto_id      BIGINT,
+    CONSTRAINT fk_interacao_remetente FOREIGN KEY (remetente_id) REFERENCES conta (id_conta),
+    CONSTRAINT fk_interacao_destinatario FOREIGN KEY (destinatario_id) REFERENCES conta (id_conta),
+    CONSTRAINT fk_interacao_projeto FOREIGN KEY (projeto_id) REFERENCES projetos (id_projeto)
+);
+
+CREATE TABLE IF NOT EXISTS denuncia (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo          VARCHAR(255) NOT NULL,
+    descricao     TEXT         NOT NULL,
+    status        VARCHAR(255) NOT NULL,
+    id_adm        BIGINT,
+    conta_id      BIGINT       NOT NULL,
+    id_alvo       BIGINT       NOT NULL,
+    projeto_id    BIGINT,
+    criado_em     TIMESTAMP(6) NOT NULL,
+    atualizado_em TIMESTAMP(6) NOT NULL,
+    versao        BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT fk_denuncia_administrador FOREIGN KEY (id_adm) REFERENCES administrador (id),
+    CONSTRAINT fk_denuncia_conta FOREIGN KEY (conta_id) REFERENCES conta (id_conta),
+    CONSTRAINT fk_denuncia_projeto FOREIGN KEY (projeto_id) REFERENCES projetos (id_projeto)
+);
+
+CREATE TABLE IF NOT EXISTS resumo_denuncia (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo        VARCHAR(255) NOT NULL,
+    id_alvo     BIGINT       NOT NULL,
+    quantidade  BIGINT       NOT NULL,
+    pendentes   BIGINT       NOT NULL,
+    primeira_em TIMESTAMP(6) NOT NULL,
+    ultima_em   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_resumo_denuncia_alvo UNIQUE (tipo, id_alvo)
+);
@@ -0,0 +1,43 @@
+-- Índices das consultas do catálogo, das buscas por artista/conta e das chaves estrangeiras
+-- usadas em junções e em exclusões em cascata. Espelham os @Index declarados nas entidades.
+
+-- Bancos criados pelo ddl-auto=update têm CHECK nas colunas de enum com os valores da época
+-- (projetos.status não aceita EM_REVISAO, por exemplo); o esquema versionado não os mantém.
+ALTER TABLE conta DROP CONSTRAINT IF EXISTS conta_tipo_conta_check;
+ALTER TABLE artista_categorias DROP CONSTRAINT IF EXISTS artista_categorias_categorias_check;
+ALTER TABLE usuario_interesse DROP CONSTRAINT IF EXISTS usuario_interesse_tipo_arte_check;
+ALTER TABLE projetos DROP CONSTRAINT IF EXISTS projetos_status_check;
+ALTER TABLE projetos DROP CONSTRAINT IF EXISTS projetos_tipo_arte_check;
+ALTER TABLE denuncia DROP CONSTRAINT IF EXISTS denuncia_tipo_check;
+ALTER TABLE denuncia DROP CONSTRAINT IF EXISTS denuncia_status_check;
+ALTER TABLE resumo_denuncia DROP CONSTRAINT IF EXISTS resumo_denuncia_tipo_check;
+
+-- catálogo: filtro por status e tipo, ordem (data_criacao, id_projeto) descendente com cursor
+CREATE INDEX IF NOT EXISTS idx_projetos_status_tipo_arte_data_criacao ON projetos (status, tipo_arte, data_criacao, id_projeto);
+CREATE INDEX IF NOT EXISTS idx_projetos_data_criacao ON projetos (data_criacao, id_projeto);
+CREATE INDEX IF NOT EXISTS idx_projetos_artista ON projetos (id_artista);
+CREATE INDEX IF NOT EXISTS idx_projetos_validator ON projetos (id_validator);
+
+CREATE INDEX IF NOT EXISTS idx_artista_categorias_artista ON artista_categorias (id_artista);
+CREATE INDEX IF NOT EXISTS idx_usuario_interesse_usuario ON usuario_interesse (id);
+
+CREATE INDEX IF NOT EXISTS idx_imagens_projeto ON imagens (id_projeto);
+CREATE INDEX IF NOT EXISTS idx_imagens_artista ON imagens (id_artista);
+
+CREATE INDEX IF NOT EXISTS idx_doacao_projeto_data ON doacao (projeto_id, data);
+CREATE INDEX IF NOT EXISTS idx_doacao_conta ON doacao (conta_id);
+
+CREATE INDEX IF NOT EXISTS idx_comentario_projeto_data ON comentario (projeto_id, data);
+CREATE INDEX IF NOT EXISTS idx_comentario_conta ON comentario (conta_id);
+
+CREATE INDEX IF NOT EXISTS idx_interacao_remetente ON interacao (remetente_id);
+CREATE INDEX IF NOT EXISTS idx_interacao_destinatario ON interacao (destinatario_id);
+CREATE INDEX IF NOT EXISTS idx_interacao_projeto ON interacao (projeto_id);
+
+-- fila de moderação (status, tipo, ordem por criado_em) e autores de um alvo, ver DenunciaRepository
+CREATE INDEX IF NOT EXISTS idx_denuncia_criado_em ON denuncia (criado_em, id);
+CREATE INDEX IF NOT EXISTS idx_denuncia_status_criado_em ON denuncia (status, criado_em, id);
+CREATE INDEX IF NOT EXISTS idx_denuncia_status_tipo_criado_em ON denuncia (status, tipo, criado_em, id);
+CREATE INDEX IF NOT EXISTS idx_denuncia_alvo_autor ON denuncia (tipo, id_alvo, conta_id);
+CREATE INDEX IF NOT EXISTS idx_denuncia_projeto ON denuncia (projeto_id);
+CREATE INDEX IF NOT EXISTS idx_denuncia_administrador ON denuncia (id_adm);
@@ -0,0 +1,23 @@
+-- Imagem, Doacao, Comentario, Interacao e Denuncia passam a gerar ids por sequência com blocos de 50
+-- (allocationSize das entidades, otimizador pooled-lo): o INCREMENT BY precisa ser o mesmo.
+-- Cada sequência começa depois do maior id já gravado, e a coluna deixa de ser IDENTITY.
+
+CREATE SEQUENCE IF NOT EXISTS imagens_seq INCREMENT BY 50;
+SELECT setval('imagens_seq', COALESCE((SELECT MAX(id_imagem) FROM imagens), 0) + 1, false);
+ALTER TABLE imagens ALTER COLUMN id_imagem DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS doacao_seq INCREMENT BY 50;
+SELECT setval('doacao_seq', COALESCE((SELECT MAX(id_doacao) FROM doacao), 0) + 1, false);
+ALTER TABLE doacao ALTER COLUMN id_doacao DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS comentario_seq INCREMENT BY 50;
+SELECT setval('comentario_seq', COALESCE((SELECT MAX(id_comentario) FROM comentario), 0) + 1, false);
+ALTER TABLE comentario ALTER COLUMN id_comentario DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS interacao_seq INCREMENT BY 50;
+SELECT setval('interacao_seq', COALESCE((SELECT MAX(id_interacao) FROM interacao), 0) + 1, false);
+ALTER TABLE interacao ALTER COLUMN id_interacao DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS denuncia_seq INCREMENT BY 50;
+SELECT setval('denuncia_seq', COALESCE((SELECT MAX(id) FROM denuncia), 0) + 1, false);
+ALTER TABLE denuncia ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,6 @@
+-- Momento da última gravação de cada projeto. Com a quantidade e o maior id, forma a marca que o
+-- índice de busca grava no snapshot para saber, na subida, se o banco mudou desde então.
+
+ALTER TABLE projetos ADD COLUMN atualizado_em TIMESTAMP(6);
+UPDATE projetos SET atualizado_em = CURRENT_TIMESTAMP WHERE atualizado_em IS NULL;
+ALTER TABLE projetos ALTER COLUMN atualizado_em SET NOT NULL;
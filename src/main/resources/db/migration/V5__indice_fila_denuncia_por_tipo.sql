@@ -0,0 +1,4 @@
+-- Fila de moderação filtrada só por tipo: sem este índice a consulta desse caso, ver
+-- DenunciaRepositoryCustomImpl, ordena todas as denúncias do tipo a cada página.
+
+CREATE INDEX IF NOT EXISTS idx_denuncia_tipo_criado_em ON denuncia (tipo, criado_em, id);
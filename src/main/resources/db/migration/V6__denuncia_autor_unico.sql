@@ -0,0 +1,14 @@
+-- Um autor denuncia cada alvo uma vez. Repetições gravadas antes da restrição (requisições em instâncias
+-- diferentes passam pela reserva em memória de cada uma) ficam só na mais antiga; os contadores de
+-- resumo_denuncia são reconciliados com esta tabela na subida da aplicação.
+
+DELETE FROM denuncia d
+USING denuncia anterior
+WHERE anterior.tipo = d.tipo
+  AND anterior.id_alvo = d.id_alvo
+  AND anterior.conta_id = d.conta_id
+  AND anterior.id < d.id;
+
+-- o índice da restrição substitui idx_denuncia_alvo_autor, usado para listar os autores de um alvo
+ALTER TABLE denuncia ADD CONSTRAINT uk_denuncia_alvo_autor UNIQUE (tipo, id_alvo, conta_id);
+DROP INDEX IF EXISTS idx_denuncia_alvo_autor;
@@ -0,0 +1,4 @@
+-- Status do projeto antes de entrar em revisão por denúncias, restaurado pelo administrador.
+-- Projetos já em revisão não têm esse registro e voltam para AGUARDANDO_AVALIACAO, ver ProjetoRepository.
+
+ALTER TABLE projetos ADD COLUMN status_anterior VARCHAR(255);
@@ -0,0 +1,6 @@
+-- Chave de idempotência de cada doação, informada pelo cliente ou gerada pelo servidor. Uma nova
+-- tentativa com a mesma chave devolve a doação já gravada em vez de registrar outra.
+-- Doações anteriores ficam sem chave (NULL não conflita na restrição única).
+
+ALTER TABLE doacao ADD COLUMN chave_idempotencia VARCHAR(64);
+ALTER TABLE doacao ADD CONSTRAINT uk_doacao_conta_chave UNIQUE (conta_id, chave_idempotencia);
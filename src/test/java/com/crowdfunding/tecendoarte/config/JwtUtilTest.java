@@ -0,0 +1,130 @@
+package com.crowdfunding.tecendoarte.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilTest {
+
+    private static final String SEGREDO = "test-secret-change-me-please-very-long-32bytes-min";
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private JwtUtil jwtUtil(long expirationSeconds, int cacheMaxEntries) {
+        JwtUtil jwtUtil = new JwtUtil(SEGREDO, expirationSeconds, cacheMaxEntries);
+        jwtUtil.bindTo(registry);
+        return jwtUtil;
+    }
+
+    private double contador(String nome) {
+        return registry.get(nome).functionCounter().count();
+    }
+
+    private double tamanhoCache() {
+        return registry.get("jwt.cache.size").gauge().value();
+    }
+
+    @Test
+    @DisplayName("Deve verificar a assinatura só na primeira vez e servir o token seguinte do cache")
+    void deveServirTokenVerificadoDoCache() {
+        JwtUtil jwtUtil = jwtUtil(3600, 10);
+        String token = jwtUtil.generateTokenForUsuario(1L, 2L, "ana@teste.com");
+
+        assertEquals("ana@teste.com", jwtUtil.parseValidClaims(token).orElseThrow().getSubject());
+        assertEquals("ana@teste.com", jwtUtil.parseValidClaims(token).orElseThrow().getSubject());
+
+        assertEquals(1, contador("jwt.cache.misses"));
+        assertEquals(1, contador("jwt.cache.hits"));
+        assertEquals(1, tamanhoCache());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token adulterado sem colocá-lo no cache")
+    void deveRejeitarTokenAdulterado() {
+        JwtUtil jwtUtil = jwtUtil(3600, 10);
+        String token = jwtUtil.generateTokenForUsuario(1L, 2L, "ana@teste.com");
+        String[] partes = token.split("\\.");
+        String adulterado = partes[0] + "." + partes[1] + "." + new StringBuilder(partes[2]).reverse();
+
+        assertFalse(jwtUtil.isTokenValid(adulterado));
+        assertEquals(0, tamanhoCache());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token assinado com outra chave")
+    void deveRejeitarTokenDeOutraChave() {
+        JwtUtil jwtUtil = jwtUtil(3600, 10);
+        String token = new JwtUtil(SEGREDO + "-outra-chave", 3600, 10)
+                .generateTokenForUsuario(1L, 2L, "ana@teste.com");
+
+        assertFalse(jwtUtil.isTokenValid(token));
+        assertEquals(0, tamanhoCache());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token já expirado")
+    void deveRejeitarTokenExpirado() {
+        JwtUtil jwtUtil = jwtUtil(3600, 10);
+        Instant emissao = Instant.now().minusSeconds(120);
+        String token = Jwts.builder()
+                .subject("ana@teste.com")
+                .issuedAt(Date.from(emissao))
+                .expiration(Date.from(emissao.plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertFalse(jwtUtil.isTokenValid(token));
+        assertEquals(0, tamanhoCache());
+    }
+
+    @Test
+    @DisplayName("Deve tirar do cache o token que expirou depois de verificado")
+    void deveDescartarTokenQueExpirouNoCache() throws InterruptedException {
+        JwtUtil jwtUtil = jwtUtil(1, 10);
+        String token = jwtUtil.generateTokenForUsuario(1L, 2L, "ana@teste.com");
+        assertTrue(jwtUtil.isTokenValid(token));
+
+        Thread.sleep(2100);
+
+        assertFalse(jwtUtil.isTokenValid(token));
+        assertEquals(0, tamanhoCache());
+    }
+
+    @Test
+    @DisplayName("Deve descartar os tokens mais antigos quando o cache enche")
+    void deveDescartarMaisAntigosQuandoCheio() {
+        JwtUtil jwtUtil = jwtUtil(3600, 2);
+        String primeiro = jwtUtil.generateTokenForUsuario(1L, 11L, "a@teste.com");
+        String segundo = jwtUtil.generateTokenForUsuario(2L, 12L, "b@teste.com");
+        String terceiro = jwtUtil.generateTokenForUsuario(3L, 13L, "c@teste.com");
+
+        assertTrue(jwtUtil.isTokenValid(primeiro));
+        assertTrue(jwtUtil.isTokenValid(segundo));
+        assertTrue(jwtUtil.isTokenValid(terceiro));
+        assertEquals(2, tamanhoCache());
+
+        assertTrue(jwtUtil.isTokenValid(terceiro));
+        assertEquals(1, contador("jwt.cache.hits"));
+        // o primeiro saiu para dar lugar ao terceiro e precisa ser verificado de novo
+        assertTrue(jwtUtil.isTokenValid(primeiro));
+        assertEquals(4, contador("jwt.cache.misses"));
+        assertEquals(2, tamanhoCache());
+    }
+}
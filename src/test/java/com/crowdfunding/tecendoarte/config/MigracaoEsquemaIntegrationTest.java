@@ -0,0 +1,111 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sobe a aplicação num PostgreSQL com o esquema que o ddl-auto=update deixava (db/legado/esquema_legado.sql):
+ * o Flyway aplica o baseline, a V1_1 e as migrações seguintes, e o contexto só carrega se o
+ * ddl-auto=validate aceitar as entidades contra o esquema migrado. Sem Docker, o teste é ignorado.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class MigracaoEsquemaIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/legado/esquema_legado.sql");
+
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+
+    @Test
+    @DisplayName("Deve aplicar o baseline, a conversão do esquema legado e todas as migrações")
+    void deveAplicarTodasAsMigracoes() {
+        List<String> versoes = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        assertEquals(List.of("0", "1", "1.1", "2", "3", "4", "5", "6", "7", "8"), versoes);
+    }
+
+    @Test
+    @DisplayName("Deve converter valores em reais para centavos")
+    void deveConverterValoresParaCentavos() {
+        Map<String, Object> comDoacoes = jdbcTemplate.queryForMap(
+                "SELECT meta_centavos, valor_arrecadado_centavos FROM projetos WHERE id_projeto = 1");
+        Map<String, Object> semArrecadacao = jdbcTemplate.queryForMap(
+                "SELECT meta_centavos, valor_arrecadado_centavos FROM projetos WHERE id_projeto = 2");
+
+        assertEquals(150050L, comDoacoes.get("meta_centavos"));
+        assertEquals(2010L, comDoacoes.get("valor_arrecadado_centavos"));
+        assertEquals(30000L, semArrecadacao.get("meta_centavos"));
+        assertEquals(0L, semArrecadacao.get("valor_arrecadado_centavos"));
+        assertEquals(2010L, jdbcTemplate.queryForObject("SELECT valor_centavos FROM doacao", Long.class));
+        assertFalse(existeColuna("projetos", "meta"));
+        assertFalse(existeColuna("doacao", "valor"));
+    }
+
+    @Test
+    @DisplayName("Deve mover o conteúdo das imagens para o armazenamento por hash e liberar os objetos grandes")
+    void deveMoverImagensParaOArmazenamento() throws IOException {
+        Map<String, Object> imagem = jdbcTemplate.queryForMap(
+                "SELECT hash_conteudo, tipo_conteudo, tamanho_bytes FROM imagens");
+        byte[] esperado = HexFormat.of().parseHex("89504e470d0a1a0a0000000d494844520000000100000001");
+
+        assertEquals("image/png", imagem.get("tipo_conteudo"));
+        assertEquals((long) esperado.length, imagem.get("tamanho_bytes"));
+        assertArrayEquals(esperado,
+                Files.readAllBytes(armazenamentoImagemService.localizar((String) imagem.get("hash_conteudo"))));
+        assertFalse(existeColuna("imagens", "dados_imagem"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_largeobject_metadata", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Deve remover os CHECK de enum que impediam os novos status")
+    void deveAceitarNovosValoresDeEnum() {
+        assertEquals(1, jdbcTemplate.update("UPDATE projetos SET status = 'EM_REVISAO' WHERE id_projeto = 2"));
+    }
+
+    private boolean existeColuna(String tabela, String coluna) {
+        Integer quantidade = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns"
+                        + " WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                Integer.class, tabela, coluna);
+        return quantidade != null && quantidade > 0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * O estado do pool vem de um HikariPoolMXBean simulado; cada chamada a amostrar() é uma amostra
+ * da tarefa agendada. Alarme com ocupação de 90% ou threads aguardando por 3 amostras seguidas.
+ */
+class MonitorPoolConexoesTest {
+
+    private HikariDataSource dataSource;
+    private HikariPoolMXBean estado;
+    private MeterRegistry registry;
+    private MonitorPoolConexoes monitor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataSource = mock(HikariDataSource.class);
+        estado = mock(HikariPoolMXBean.class);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(estado);
+        registry = new SimpleMeterRegistry();
+        monitor = new MonitorPoolConexoes(Map.of("dataSource", dataSource), mock(ObjectProvider.class), 0.9, 3);
+        monitor.bindTo(registry);
+    }
+
+    private void amostrar(int ativas, int aguardando) {
+        when(estado.getActiveConnections()).thenReturn(ativas);
+        when(estado.getThreadsAwaitingConnection()).thenReturn(aguardando);
+        monitor.amostrar();
+    }
+
+    private double saturado() {
+        return registry.get("datasource.pool.saturated").tag("pool", "dataSource").gauge().value();
+    }
+
+    private double alarmes() {
+        return registry.get("datasource.pool.saturation.alarms").tag("pool", "dataSource").functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Deve alarmar só depois das amostras seguidas de saturação e contar uma vez por episódio")
+    void deveAlarmarAposAmostrasSeguidas() {
+        amostrar(9, 0);
+        amostrar(10, 0);
+        assertEquals(0, saturado());
+
+        amostrar(9, 0);
+        assertEquals(1, saturado());
+        assertEquals(1, alarmes());
+
+        // continua saturado: o mesmo episódio não conta de novo
+        amostrar(10, 4);
+        assertEquals(1, saturado());
+        assertEquals(1, alarmes());
+    }
+
+    @Test
+    @DisplayName("Deve recomeçar a contagem quando uma amostra sai da saturação antes do alarme")
+    void deveRecomecarContagemSemSaturacao() {
+        amostrar(9, 0);
+        amostrar(9, 0);
+        amostrar(5, 0);
+        amostrar(9, 0);
+        amostrar(9, 0);
+        assertEquals(0, saturado());
+        assertEquals(0, alarmes());
+    }
+
+    @Test
+    @DisplayName("Deve desligar o alarme na primeira amostra normal e alarmar de novo num novo episódio")
+    void deveDesligarEReativarAlarme() {
+        for (int i = 0; i < 3; i++) {
+            amostrar(10, 0);
+        }
+        assertEquals(1, saturado());
+
+        amostrar(4, 0);
+        assertEquals(0, saturado());
+
+        // threads aguardando conexão bastam para saturar, mesmo abaixo da ocupação limite
+        for (int i = 0; i < 3; i++) {
+            amostrar(2, 1);
+        }
+        assertEquals(1, saturado());
+        assertEquals(2, alarmes());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar o pool que ainda não abriu nenhuma conexão")
+    void deveIgnorarPoolNaoIniciado() {
+        when(dataSource.getHikariPoolMXBean()).thenReturn(null);
+
+        for (int i = 0; i < 5; i++) {
+            monitor.amostrar();
+        }
+
+        assertEquals(0, saturado());
+        assertEquals(0, alarmes());
+    }
+}
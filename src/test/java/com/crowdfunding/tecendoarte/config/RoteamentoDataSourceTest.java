@@ -0,0 +1,124 @@
+package com.crowdfunding.tecendoarte.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dois bancos H2 em memória fazem o papel de primário e réplica; cada um tem uma tabela que
+ * identifica o banco, então a consulta mostra para onde a transação foi roteada.
+ */
+class RoteamentoDataSourceTest {
+
+    private HikariDataSource primario;
+    private HikariDataSource replica;
+    private AderenciaPrimario aderencia;
+    private RoteamentoDataSource roteamento;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primario = banco("primario");
+        replica = banco("replica");
+        aderencia = new AderenciaPrimario(60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primario.close();
+        replica.close();
+    }
+
+    private HikariDataSource banco(String nome) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + nome + "-" + UUID.randomUUID());
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private void rotear(String consultaAtraso) {
+        roteamento = new RoteamentoDataSource(primario, Map.of("replica-1", replica), aderencia, consultaAtraso, 1000);
+        roteamento.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private String origem(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status -> jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Deve mandar transações somente leitura para a réplica e as demais para o primário")
+    void deveRotearPorTipoDeTransacao() {
+        rotear("SELECT 0");
+
+        assertEquals("replica", origem(true));
+        assertEquals("primario", origem(false));
+        // fora de transação não há flag de leitura: vai para o primário
+        assertEquals("primario", jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    @Test
+    @DisplayName("Deve tirar do rodízio a réplica atrasada além do limite e devolvê-la quando alcançar o primário")
+    void deveTirarReplicaAtrasadaDoRodizio() {
+        new JdbcTemplate(replica).execute("CREATE TABLE atraso (ms INT)");
+        new JdbcTemplate(replica).update("INSERT INTO atraso VALUES (5000)");
+        rotear("SELECT ms FROM atraso");
+
+        assertEquals("primario", origem(true));
+
+        new JdbcTemplate(replica).update("UPDATE atraso SET ms = 100");
+        roteamento.verificarReplicas();
+        assertEquals("replica", origem(true));
+    }
+
+    @Test
+    @DisplayName("Deve tirar do rodízio a réplica em que a medição do atraso falha")
+    void deveTirarReplicaInacessivelDoRodizio() {
+        rotear("SELECT ms FROM tabela_inexistente");
+
+        assertEquals("primario", origem(true));
+    }
+
+    @Test
+    @DisplayName("Deve manter no primário as leituras de quem acabou de escrever")
+    void deveLerAsPropriasEscritasNoPrimario() {
+        rotear("SELECT 0");
+        aderencia.registrarEscrita("ana@teste.com");
+
+        autenticar("ana@teste.com");
+        assertEquals("primario", origem(true));
+
+        autenticar("bia@teste.com");
+        assertEquals("replica", origem(true));
+    }
+}
@@ -13,6 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -20,6 +23,10 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -220,6 +227,39 @@ class ArtistaControllerIntegrationTest {
                 .andExpect(content().string(containsString("Artista não encontrado")));
     }
 
+    @Test
+    void devePesquisarArtistasIgnorandoAcentosEmOrdemDeSemelhanca() throws Exception {
+        Conta conceicao = contaRepository.save(Conta.builder()
+                .nome("Maria da Conceição")
+                .email("conceicao@example.com")
+                .senha("senha")
+                .tipoConta(TipoConta.ARTISTA)
+                .build());
+        Conta joao = contaRepository.save(Conta.builder()
+                .nome("João Conceito")
+                .email("joao@example.com")
+                .senha("senha")
+                .tipoConta(TipoConta.ARTISTA)
+                .build());
+        artistaRepository.save(Artista.builder().conta(conceicao).categorias(List.of(TipoArte.PINTURA)).build());
+        artistaRepository.save(Artista.builder().conta(joao).categorias(List.of(TipoArte.PINTURA)).build());
+
+        mockMvc.perform(get("/api/artistas/pesquisar")
+                        .param("nome", "conceicao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("Maria da Conceição"))
+                .andExpect(jsonPath("$.itens[1].nome").value("João Conceito"));
+
+        mockMvc.perform(get("/api/artistas/pesquisar")
+                        .param("nome", "Conce")
+                        .param("tamanho", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].nome").value("João Conceito"));
+    }
+
     @Test
     void deveListarArtistasComSucesso() throws Exception {
         Artista artista = Artista.builder()
@@ -302,4 +342,140 @@ class ArtistaControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string(containsString("Nome obrigatório")));
     }
+
+    // ---------- TESTES DE IMAGENS DO PORTFÓLIO ----------
+
+    private static final byte[] ASSINATURA_PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] ASSINATURA_JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+
+    private static byte[] png(String resto) {
+        byte[] corpo = resto.getBytes(StandardCharsets.UTF_8);
+        byte[] imagem = java.util.Arrays.copyOf(ASSINATURA_PNG, ASSINATURA_PNG.length + corpo.length);
+        System.arraycopy(corpo, 0, imagem, ASSINATURA_PNG.length, corpo.length);
+        return imagem;
+    }
+
+    private Artista autenticarComoArtista() {
+        Artista artista = artistaRepository.save(Artista.builder()
+                .conta(conta)
+                .descricao("Artista com portfólio")
+                .categorias(List.of(TipoArte.FOTOGRAFIA))
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(conta.getEmail(), null, List.of()));
+        return artista;
+    }
+
+    @Test
+    void deveEnviarImagemBinariaAoPortfolio() throws Exception {
+        autenticarComoArtista();
+        byte[] conteudo = png("conteudo-binario-da-imagem");
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType(MediaType.IMAGE_PNG)
+                        .param("descricao", "Obra 1")
+                        .content(conteudo))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idImagem").isNumber())
+                .andExpect(jsonPath("$.hashConteudo").value(HexFormat.of().formatHex(
+                        MessageDigest.getInstance("SHA-256").digest(conteudo))))
+                .andExpect(jsonPath("$.tipoConteudo").value("image/png"))
+                .andExpect(jsonPath("$.tamanhoBytes").value(conteudo.length))
+                .andExpect(jsonPath("$.url").value(org.hamcrest.Matchers.startsWith("/imagens/")));
+    }
+
+    @Test
+    void deveEnviarImagemMultipartAoPortfolio() throws Exception {
+        autenticarComoArtista();
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "arquivo", "obra.jpg", MediaType.IMAGE_JPEG_VALUE, ASSINATURA_JPEG);
+
+        mockMvc.perform(multipart("/api/artistas/perfil/imagens")
+                        .file(arquivo)
+                        .param("descricao", "Obra multipart"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tipoConteudo").value("image/jpeg"))
+                .andExpect(jsonPath("$.tamanhoBytes").value(4))
+                .andExpect(jsonPath("$.descricao").value("Obra multipart"));
+    }
+
+    @Test
+    void deveRejeitarImagemMultipartComTipoInvalido() throws Exception {
+        autenticarComoArtista();
+        MockMultipartFile arquivo = new MockMultipartFile(
+                "arquivo", "texto.txt", MediaType.TEXT_PLAIN_VALUE, new byte[] {1, 2, 3});
+
+        mockMvc.perform(multipart("/api/artistas/perfil/imagens").file(arquivo))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Tipo de conteúdo de imagem inválido")));
+    }
+
+    @Test
+    void deveRejeitarImagemSvg() throws Exception {
+        autenticarComoArtista();
+        byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"><script>alert(1)</script></svg>".getBytes(StandardCharsets.UTF_8);
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType("image/svg+xml")
+                        .content(svg))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Tipo de conteúdo de imagem inválido")));
+    }
+
+    @Test
+    void deveRejeitarImagemCujoConteudoNaoCorrespondeAoTipo() throws Exception {
+        autenticarComoArtista();
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType(MediaType.IMAGE_PNG)
+                        .content(ASSINATURA_JPEG))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("não corresponde ao tipo informado")));
+    }
+
+    @Test
+    void deveRejeitarConteudoQueNaoEImagem() throws Exception {
+        autenticarComoArtista();
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Formato de imagem não suportado")));
+    }
+
+    @Test
+    void deveGravarTipoDetectadoQuandoEnviadoComoOctetStream() throws Exception {
+        autenticarComoArtista();
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(png("sem-tipo-declarado")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tipoConteudo").value("image/png"));
+    }
+
+    @Test
+    void deveListarPortfolioComUrlsEmVezDeBase64() throws Exception {
+        autenticarComoArtista();
+        byte[] conteudo = png("imagem-em-base64");
+        String base64 = Base64.getEncoder().encodeToString(conteudo);
+        String payload = objectMapper.writeValueAsString(List.of(Map.of(
+                "dadosImagemBase64", base64,
+                "tipoConteudo", "image/png",
+                "descricao", "Obra base64"
+        )));
+
+        mockMvc.perform(post("/api/artistas/perfil/imagens")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/artistas/perfil/imagens"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dadosImagemBase64").doesNotExist())
+                .andExpect(jsonPath("$[0].url").value(org.hamcrest.Matchers.startsWith("/imagens/")))
+                .andExpect(jsonPath("$[0].tamanhoBytes").value(conteudo.length))
+                .andExpect(jsonPath("$[0].descricao").value("Obra base64"));
+    }
 }
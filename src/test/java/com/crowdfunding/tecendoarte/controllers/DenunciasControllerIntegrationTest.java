@@ -1,7 +1,9 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
 import com.crowdfunding.tecendoarte.models.Conta;
 import com.crowdfunding.tecendoarte.models.Denuncia;
+import com.crowdfunding.tecendoarte.models.Usuario;
 import com.crowdfunding.tecendoarte.models.enums.StatusDenuncia;
 import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
 import com.crowdfunding.tecendoarte.models.enums.TipoConta;
@@ -19,11 +21,17 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -50,6 +58,8 @@ class DenunciasControllerIntegrationTest {
 
     private MockMvc mockMvc;
     private Conta contaTeste;
+    // cada denúncia salva pelos testes da fila num alvo próprio: o mesmo autor só denuncia um alvo uma vez
+    private long proximoAlvo = 1000L;
 
     @BeforeEach
     void setUp() {
@@ -262,4 +272,246 @@ class DenunciasControllerIntegrationTest {
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.message").value("Resultado inválido para análise."));
     }
+
+    private Denuncia salvarDenuncia(TipoDenuncia tipo, StatusDenuncia status, String descricao) {
+        return denunciaRepository.save(Denuncia.builder()
+                .tipo(tipo)
+                .idAlvo(proximoAlvo++)
+                .autor(contaTeste)
+                .descricao(descricao)
+                .status(status)
+                .build());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void devePaginarFilaFiltrandoPorStatusETipo() throws Exception {
+        Denuncia primeira = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Primeira");
+        salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.IMPROCEDENTE, "Resolvida");
+        Denuncia segunda = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Segunda");
+        salvarDenuncia(TipoDenuncia.USUARIO, StatusDenuncia.PENDENTE, "Outro tipo");
+        Denuncia terceira = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Terceira");
+
+        String resposta = mockMvc.perform(get("/api/admin/denuncias/fila")
+                        .param("status", "PENDENTE")
+                        .param("tipo", "PROJETO")
+                        .param("tamanho", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").value(org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.itens[0].id").value(terceira.getId()))
+                .andExpect(jsonPath("$.itens[0].nomeAutor").value("Usuário Teste"))
+                .andExpect(jsonPath("$.itens[1].id").value(segunda.getId()))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(resposta).get("proximoCursor").asText();
+
+        mockMvc.perform(get("/api/admin/denuncias/fila")
+                        .param("status", "PENDENTE")
+                        .param("tipo", "PROJETO")
+                        .param("tamanho", "2")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").value(org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].id").value(primeira.getId()))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/admin/denuncias/fila").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").value(org.hamcrest.Matchers.hasSize(5)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void devePaginarFilaFiltrandoSoPorTipo() throws Exception {
+        Denuncia primeira = salvarDenuncia(TipoDenuncia.USUARIO, StatusDenuncia.PENDENTE, "Primeira");
+        salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Outro tipo");
+        Denuncia segunda = salvarDenuncia(TipoDenuncia.USUARIO, StatusDenuncia.PROCEDENTE, "Segunda");
+        Denuncia terceira = salvarDenuncia(TipoDenuncia.USUARIO, StatusDenuncia.PENDENTE, "Terceira");
+
+        String resposta = mockMvc.perform(get("/api/admin/denuncias/fila")
+                        .param("tipo", "USUARIO")
+                        .param("tamanho", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(terceira.getId()))
+                .andExpect(jsonPath("$.itens[1].id").value(segunda.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(resposta).get("proximoCursor").asText();
+
+        mockMvc.perform(get("/api/admin/denuncias/fila")
+                        .param("tipo", "USUARIO")
+                        .param("tamanho", "2")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").value(org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].id").value(primeira.getId()))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deveRejeitarCursorInvalidoNaFila() throws Exception {
+        mockMvc.perform(get("/api/admin/denuncias/fila")
+                        .param("cursor", "nao-e-um-cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido."));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deveAnalisarLoteInformandoResultadoDeCadaItem() throws Exception {
+        Denuncia pendente = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Spam 1");
+        Denuncia outraPendente = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PENDENTE, "Spam 2");
+        Denuncia jaAnalisada = salvarDenuncia(TipoDenuncia.PROJETO, StatusDenuncia.PROCEDENTE, "Antiga");
+        Denuncia versaoAntiga = salvarDenuncia(TipoDenuncia.USUARIO, StatusDenuncia.PENDENTE, "Editada");
+
+        String payload = objectMapper.writeValueAsString(Map.of("itens", List.of(
+                Map.of("id", pendente.getId(), "resultado", "PROCEDENTE", "versao", pendente.getVersao()),
+                Map.of("id", outraPendente.getId(), "resultado", "IMPROCEDENTE"),
+                Map.of("id", jaAnalisada.getId(), "resultado", "IMPROCEDENTE"),
+                Map.of("id", versaoAntiga.getId(), "resultado", "PROCEDENTE", "versao", versaoAntiga.getVersao() + 1),
+                Map.of("id", 999999L, "resultado", "PROCEDENTE"),
+                Map.of("id", pendente.getId(), "resultado", "PENDENTE"))));
+
+        mockMvc.perform(post("/api/admin/denuncias/analise-lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.analisadas").value(2))
+                .andExpect(jsonPath("$.resultados[0].situacao").value("ANALISADA"))
+                .andExpect(jsonPath("$.resultados[0].status").value("PROCEDENTE"))
+                .andExpect(jsonPath("$.resultados[0].versao").value(pendente.getVersao() + 1))
+                .andExpect(jsonPath("$.resultados[1].situacao").value("ANALISADA"))
+                .andExpect(jsonPath("$.resultados[1].status").value("IMPROCEDENTE"))
+                .andExpect(jsonPath("$.resultados[2].situacao").value("JA_ANALISADA"))
+                .andExpect(jsonPath("$.resultados[3].situacao").value("CONFLITO"))
+                .andExpect(jsonPath("$.resultados[4].situacao").value("NAO_ENCONTRADA"))
+                .andExpect(jsonPath("$.resultados[5].situacao").value("INVALIDA"));
+
+        assertEquals(StatusDenuncia.PROCEDENTE, denunciaRepository.findById(pendente.getId()).get().getStatus());
+        assertEquals(StatusDenuncia.IMPROCEDENTE, denunciaRepository.findById(outraPendente.getId()).get().getStatus());
+        assertEquals(StatusDenuncia.PENDENTE, denunciaRepository.findById(versaoAntiga.getId()).get().getStatus());
+
+        // a análise individual com a entidade desatualizada esbarra no @Version
+        payload = objectMapper.writeValueAsString(Map.of("resultado", "IMPROCEDENTE"));
+        mockMvc.perform(post("/api/admin/denuncias/" + pendente.getId() + "/analise")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Denúncia já foi analisada."));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deveRejeitarLoteVazio() throws Exception {
+        mockMvc.perform(post("/api/admin/denuncias/analise-lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itens\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.itens").value("Informe ao menos uma denuncia."));
+    }
+
+    private UsernamePasswordAuthenticationToken autenticacao(Conta conta) {
+        UsuarioAutenticado principal = new UsuarioAutenticado(conta.getEmail(), "USUARIO", conta.getIdConta(), null, null, null);
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+    }
+
+    private Conta conta(String email) {
+        return Conta.builder()
+                .email(email)
+                .senha("senha123")
+                .nome("Conta " + email)
+                .tipoConta(TipoConta.USUARIO)
+                .build();
+    }
+
+    private Conta novaConta(String email) {
+        return contaRepository.save(conta(email));
+    }
+
+    private Long novoUsuario(String email) {
+        return usuarioRepository.save(Usuario.builder().conta(conta(email)).build()).getId();
+    }
+
+    private void denunciarUsuario(Conta autor, Long idUsuario, int statusEsperado) throws Exception {
+        String payload = objectMapper.writeValueAsString(Map.of(
+                "tipo_denuncia", "USUARIO", "descricao", "Perfil falso", "id_alvo", idUsuario));
+        mockMvc.perform(post("/denuncias")
+                        .with(authentication(autenticacao(autor)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().is(statusEsperado));
+    }
+
+    @Test
+    void deveAgruparDenunciasPorAlvoERecusarAutorRepetido() throws Exception {
+        Long muitoDenunciado = novoUsuario("alvo1@teste.com");
+        Long poucoDenunciado = novoUsuario("alvo2@teste.com");
+        Conta ana = novaConta("ana@teste.com");
+        Conta bia = novaConta("bia@teste.com");
+
+        denunciarUsuario(ana, muitoDenunciado, 201);
+        denunciarUsuario(bia, muitoDenunciado, 201);
+        denunciarUsuario(ana, muitoDenunciado, 400);
+        denunciarUsuario(ana, poucoDenunciado, 201);
+        denunciarUsuario(ana, 999999L, 404);
+
+        String resposta = mockMvc.perform(get("/api/admin/denuncias/alvos")
+                        .param("tipo", "USUARIO")
+                        .param("limite", "100")
+                        .with(authentication(new UsernamePasswordAuthenticationToken("admin", null,
+                                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")))))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> alvos = new ArrayList<>();
+        objectMapper.readTree(resposta).forEach(alvo -> {
+            long idAlvo = alvo.get("idAlvo").asLong();
+            if (idAlvo == muitoDenunciado) {
+                assertEquals(2, alvo.get("quantidade").asLong());
+            }
+            if (idAlvo == muitoDenunciado || idAlvo == poucoDenunciado) {
+                alvos.add(idAlvo);
+            }
+        });
+        assertEquals(List.of(muitoDenunciado, poucoDenunciado), alvos);
+        assertEquals(3, denunciaRepository.count());
+    }
+
+    @Test
+    void deveRecusarComo400DenunciaRepetidaGravadaDepoisDeCarregarOsAutores() throws Exception {
+        Long alvo = novoUsuario("alvo3@teste.com");
+        Conta ana = novaConta("ana3@teste.com");
+        Conta bia = novaConta("bia3@teste.com");
+        denunciarUsuario(ana, alvo, 201);
+
+        // gravada por fora da reserva em memória, como faria outra instância da aplicação
+        denunciaRepository.save(Denuncia.builder()
+                .tipo(TipoDenuncia.USUARIO)
+                .idAlvo(alvo)
+                .autor(bia)
+                .descricao("Gravada em outra instância")
+                .status(StatusDenuncia.PENDENTE)
+                .build());
+
+        denunciarUsuario(bia, alvo, 400);
+        assertEquals(2, denunciaRepository.listarAutoresPorAlvo(TipoDenuncia.USUARIO, alvo).size());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deveListarProjetosEmRevisaoERecusarRestaurarProjetoInexistente() throws Exception {
+        mockMvc.perform(get("/api/admin/denuncias/projetos-em-revisao").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        mockMvc.perform(post("/api/admin/denuncias/projetos-em-revisao/999999/restauracao")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,354 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
+import com.crowdfunding.tecendoarte.dto.DoacaoDTO.DoacaoRequestDTO;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.models.Projeto;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.models.enums.TipoConta;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.implementations.DoacaoService;
+import com.crowdfunding.tecendoarte.services.implementations.ProgressoProjetoService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DoacaoControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private DoacaoRepository doacaoRepository;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private DoacaoService doacaoService;
+
+    @Autowired
+    private ProgressoProjetoService progressoProjetoService;
+
+    private MockMvc mockMvc;
+    private Conta doador;
+    private Artista artista;
+
+    @BeforeEach
+    void setUp() {
+        doacaoRepository.deleteAll();
+        projetoRepository.deleteAll();
+        artistaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        contaRepository.deleteAll();
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        Conta contaArtista = contaRepository.save(Conta.builder()
+                .nome("Artista Doações")
+                .email("artista.doacoes@exemplo.com")
+                .senha("senha")
+                .tipoConta(TipoConta.ARTISTA)
+                .build());
+        artista = artistaRepository.save(Artista.builder()
+                .conta(contaArtista)
+                .categorias(List.of(TipoArte.PINTURA))
+                .build());
+
+        doador = contaRepository.save(Conta.builder()
+                .nome("Doador")
+                .email("doador@exemplo.com")
+                .senha("senha")
+                .tipoConta(TipoConta.USUARIO)
+                .build());
+    }
+
+    private Projeto criarProjeto(StatusProjeto status) {
+        return projetoRepository.save(Projeto.builder()
+                .titulo("Projeto com doações")
+                .descricaoProjeto("Desc")
+                .metaCentavos(1000000L)
+                .tipoArte(TipoArte.PINTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(status)
+                .valorArrecadadoCentavos(0L)
+                .build());
+    }
+
+    private UsernamePasswordAuthenticationToken autenticacaoDoador() {
+        UsuarioAutenticado principal = new UsuarioAutenticado(doador.getEmail(), "USUARIO",
+                doador.getIdConta(), null, null, null);
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+    }
+
+    @Test
+    void deveRegistrarDoacaoEAtualizarTotalNaMesmaTransacao() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .with(authentication(autenticacaoDoador()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valor\": 25.50}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idDoacao").isNumber())
+                .andExpect(jsonPath("$.projetoId").value(projeto.getIdProjeto()))
+                .andExpect(jsonPath("$.valor").value(25.5));
+
+        assertEquals(2550L, projetoRepository.findById(projeto.getIdProjeto()).orElseThrow().getValorArrecadadoCentavos());
+    }
+
+    @Test
+    void deveDevolverADoacaoJaRegistradaAoRepetirAMesmaChave() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+        String corpo = "{\"valor\": 10, \"chaveIdempotencia\": \"pedido-42\"}";
+
+        MvcResult primeira = mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .with(authentication(autenticacaoDoador()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chaveIdempotencia").value("pedido-42"))
+                .andReturn();
+        Number idDoacao = JsonPath.read(primeira.getResponse().getContentAsString(), "$.idDoacao");
+
+        mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .with(authentication(autenticacaoDoador()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.idDoacao").value(idDoacao.longValue()));
+
+        assertEquals(1, doacaoRepository.countByProjetoIdProjeto(projeto.getIdProjeto()));
+        assertEquals(1000L, projetoRepository.findById(projeto.getIdProjeto()).orElseThrow().getValorArrecadadoCentavos());
+
+        mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/doacoes/pedido-42")
+                        .with(authentication(autenticacaoDoador())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.idDoacao").value(idDoacao.longValue()));
+        mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/doacoes/outra-chave")
+                        .with(authentication(autenticacaoDoador())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveGravarUmaSoDoacaoParaTentativasSimultaneasComAMesmaChave() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+        int tentativas = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(tentativas);
+        List<Long> ids = new ArrayList<>();
+        try {
+            List<Future<Long>> tarefas = new ArrayList<>();
+            for (int t = 0; t < tentativas; t++) {
+                tarefas.add(executor.submit(() -> doacaoService.doar(projeto.getIdProjeto(),
+                        new DoacaoRequestDTO(5.0, "mesma-chave"), doador.getIdConta()).getIdDoacao()));
+            }
+            for (Future<Long> tarefa : tarefas) {
+                ids.add(tarefa.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, ids.stream().distinct().count());
+        assertEquals(1, doacaoRepository.countByProjetoIdProjeto(projeto.getIdProjeto()));
+        assertEquals(500L, projetoRepository.findById(projeto.getIdProjeto()).orElseThrow().getValorArrecadadoCentavos());
+    }
+
+    @Test
+    void deveExigirAutenticacaoParaDoar() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valor\": 10}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveRecusarDoacaoParaProjetoNaoAprovado() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.AGUARDANDO_AVALIACAO);
+
+        mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .with(authentication(autenticacaoDoador()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valor\": 10}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveRecusarValorComMaisDeDuasCasasDecimais() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        mockMvc.perform(post("/projetos/" + projeto.getIdProjeto() + "/doacoes")
+                        .with(authentication(autenticacaoDoador()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"valor\": 10.005}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void naoDevePerderDoacoesConcorrentesNoMesmoProjeto() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+        int threads = 16;
+        int doacoesPorThread = 100;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < doacoesPorThread; i++) {
+                        doacaoService.doar(projeto.getIdProjeto(), new DoacaoRequestDTO(1.01, null), doador.getIdConta());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = threads * doacoesPorThread;
+        assertEquals(total, doacaoRepository.countByProjetoIdProjeto(projeto.getIdProjeto()));
+        assertEquals(total * 101L, projetoRepository.findById(projeto.getIdProjeto()).orElseThrow().getValorArrecadadoCentavos());
+        assertEquals(total * 101L, doacaoRepository.somarCentavosPorProjeto(projeto.getIdProjeto()));
+    }
+
+    @Test
+    void deveTransmitirProgressoAgrupadoAoReceberDoacoes() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        MvcResult inscricao = mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/progresso/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String inicial = inscricao.getResponse().getContentAsString();
+        assertTrue(inicial.contains("event:progresso"));
+        assertTrue(inicial.contains("\"valorArrecadado\":0.0"));
+
+        for (int i = 0; i < 3; i++) {
+            doacaoService.doar(projeto.getIdProjeto(), new DoacaoRequestDTO(100.0, null), doador.getIdConta());
+        }
+        progressoProjetoService.publicarAlterados();
+
+        String esperado = "\"valorArrecadado\":300.0";
+        long limite = System.currentTimeMillis() + 5000;
+        while (!inscricao.getResponse().getContentAsString().contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        String conteudo = inscricao.getResponse().getContentAsString();
+        assertTrue(conteudo.contains(esperado));
+        assertTrue(conteudo.contains("\"quantidadeDoacoes\":3"));
+        assertTrue(conteudo.contains("\"percentualFinanciado\":3"));
+        // três doações, um único evento além do inicial
+        assertEquals(2, conteudo.split("event:progresso", -1).length - 1);
+    }
+
+    @Test
+    void deveTransmitirNovaMetaAoAlterarProjeto() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        MvcResult inscricao = mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/progresso/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(inscricao.getResponse().getContentAsString().contains("\"meta\":10000.0"));
+
+        projeto.setMetaCentavos(500000L);
+        progressoProjetoService.aoAlterarProjeto(ProjetoAlteradoEvent.salvo(projeto));
+        progressoProjetoService.publicarAlterados();
+
+        String esperado = "\"meta\":5000.0";
+        long limite = System.currentTimeMillis() + 5000;
+        while (!inscricao.getResponse().getContentAsString().contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertTrue(inscricao.getResponse().getContentAsString().contains(esperado));
+    }
+
+    @Test
+    void deveEncerrarProgressoDeProjetoEmRevisao() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.APROVADO);
+
+        MvcResult inscricao = mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/progresso/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        projeto.setStatus(StatusProjeto.EM_REVISAO);
+        progressoProjetoService.aoAlterarProjeto(ProjetoAlteradoEvent.salvo(projeto));
+
+        // o resultado assíncrono só é definido quando o emitter é encerrado
+        assertDoesNotThrow(() -> inscricao.getAsyncResult(5000));
+    }
+
+    @Test
+    void deveRetornarNotFoundAoAcompanharProgressoDeProjetoEmRevisao() throws Exception {
+        Projeto projeto = criarProjeto(StatusProjeto.EM_REVISAO);
+
+        // a reconexão automática do EventSource não volta a abrir o fluxo
+        mockMvc.perform(get("/projetos/" + projeto.getIdProjeto() + "/progresso/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveRetornarNotFoundAoAcompanharProgressoDeProjetoInexistente() throws Exception {
+        mockMvc.perform(get("/projetos/999999/progresso/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,123 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.dto.ContaDTO.ContaRequestDTO;
+import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.models.enums.TipoConta;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Ocupa todas as threads e a fila do pool de hash de senhas e confere que login e cadastro respondem 503
+ * com Retry-After em vez de esperar ou falhar com 500.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+class HashSenhaSobrecarregadoIntegrationTest {
+
+    // hash bcrypt qualquer: o login precisa chegar à verificação de senha
+    private static final String HASH_BCRYPT = "$2a$10$LmW6BRoKwTtVNDxp.dYTLOWA0Mg8I5vVc0lVow05okzO41hx7zdAO";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    @Qualifier("hashSenhaExecutor")
+    private ThreadPoolTaskExecutor hashSenhaExecutor;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = "sobrecarga_" + UUID.randomUUID() + "@email.com";
+        contaRepository.save(Conta.builder()
+                .nome("Conta Sobrecarga")
+                .email(email)
+                .senha(HASH_BCRYPT)
+                .tipoConta(TipoConta.USUARIO)
+                .build());
+        lotarPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+    }
+
+    private void lotarPool() {
+        for (int i = 0; i < 100_000; i++) {
+            try {
+                hashSenhaExecutor.execute(() -> {
+                    try {
+                        liberar.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+        throw new IllegalStateException("O pool de hash de senhas não rejeitou tarefas.");
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After no login quando o pool de hash está lotado")
+    void deveResponderIndisponivelNoLogin() throws Exception {
+        UsuarioLoginRequestDTO login = new UsuarioLoginRequestDTO();
+        login.setEmail(email);
+        login.setSenha("123456");
+
+        mockMvc.perform(post("/usuarios/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After no cadastro quando o pool de hash está lotado")
+    void deveResponderIndisponivelNoCadastro() throws Exception {
+        ContaRequestDTO conta = ContaRequestDTO.builder()
+                .nome("Conta Nova")
+                .email("nova_" + UUID.randomUUID() + "@email.com")
+                .senha("123456")
+                .tipoConta(TipoConta.USUARIO)
+                .build();
+
+        mockMvc.perform(post("/contas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(conta)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+}
@@ -0,0 +1,221 @@
+package com.crowdfunding.tecendoarte.controllers;
+
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.models.Imagem;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.models.enums.TipoConta;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.ImagemRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface.ConteudoArmazenado;
+import com.crowdfunding.tecendoarte.services.interfaces.RenditionImagemServiceInterface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ImagemControllerIntegrationTest {
+
+    private static final byte[] CONTEUDO = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ImagemRepository imagemRepository;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+
+    @Autowired
+    private RenditionImagemServiceInterface renditionImagemService;
+
+    private MockMvc mockMvc;
+    private Imagem imagem;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        imagemRepository.deleteAll();
+        artistaRepository.deleteAll();
+        contaRepository.deleteAll();
+
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .build();
+
+        Conta conta = contaRepository.save(Conta.builder()
+                .nome("Artista Imagens")
+                .email("imagens@exemplo.com")
+                .senha("senha")
+                .tipoConta(TipoConta.ARTISTA)
+                .build());
+        Artista artista = artistaRepository.save(Artista.builder()
+                .conta(conta)
+                .categorias(List.of(TipoArte.FOTOGRAFIA))
+                .build());
+
+        ConteudoArmazenado armazenado = armazenamentoImagemService.armazenar(new ByteArrayInputStream(CONTEUDO));
+        imagem = imagemRepository.save(Imagem.builder()
+                .hashConteudo(armazenado.hash())
+                .tipoConteudo("image/png")
+                .tamanhoBytes(armazenado.tamanhoBytes())
+                .artista(artista)
+                .build());
+        etag = "\"" + armazenado.hash() + "\"";
+    }
+
+    @Test
+    void deveRetornarImagemCompletaSemAutenticacao() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/imagens/" + imagem.getIdImagem()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("immutable")))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(CONTEUDO));
+    }
+
+    @Test
+    void deveServirTipoGravadoForaDosFormatosAceitosComoOctetStream() throws Exception {
+        imagem.setTipoConteudo("image/svg+xml");
+        imagemRepository.save(imagem);
+
+        MvcResult resultado = mockMvc.perform(get("/imagens/" + imagem.getIdImagem()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Test
+    void deveRetornarNotModifiedQuandoEtagCorresponde() throws Exception {
+        mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void deveRetornarTrechoSolicitadoPorRange() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/" + CONTEUDO.length))
+                .andExpect(content().bytes("56789".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void deveRetornar416ParaRangeForaDoArquivo() throws Exception {
+        mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).header(HttpHeaders.RANGE, "bytes=500-600"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTEUDO.length));
+    }
+
+    @Test
+    void deveRetornar404ParaImagemInexistente() throws Exception {
+        mockMvc.perform(get("/imagens/999999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveEntregarRenditionJpegQuandoLarguraInformada() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", png);
+        ConteudoArmazenado armazenado = armazenamentoImagemService.armazenar(new ByteArrayInputStream(png.toByteArray()));
+        Imagem foto = imagemRepository.save(Imagem.builder()
+                .hashConteudo(armazenado.hash())
+                .tipoConteudo("image/png")
+                .tamanhoBytes(armazenado.tamanhoBytes())
+                .artista(imagem.getArtista())
+                .build());
+
+        renditionImagemService.agendar(armazenado.hash());
+        for (int i = 0; i < 100 && renditionImagemService.localizar(armazenado.hash(), 160).isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(renditionImagemService.localizar(armazenado.hash(), 160).isPresent());
+
+        MvcResult resultado = mockMvc.perform(get("/imagens/" + foto.getIdImagem()).param("largura", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + armazenado.hash() + "-160\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(160, ImageIO.read(new ByteArrayInputStream(corpo)).getWidth());
+    }
+
+    @Test
+    void deveEntregarOriginalComCacheCurtoEnquantoNaoHaRendition() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).param("largura", "100"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String etagProvisoria = "\"" + imagem.getHashConteudo() + "-160-original\"";
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etagProvisoria))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.not(
+                        org.hamcrest.Matchers.containsString("immutable"))))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("max-age=60")))
+                .andExpect(content().bytes(CONTEUDO));
+
+        mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).param("largura", "100")
+                        .header(HttpHeaders.IF_NONE_MATCH, etagProvisoria))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("max-age=60")));
+    }
+
+    @Test
+    void deveRejeitarLarguraInvalida() throws Exception {
+        mockMvc.perform(get("/imagens/" + imagem.getIdImagem()).param("largura", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
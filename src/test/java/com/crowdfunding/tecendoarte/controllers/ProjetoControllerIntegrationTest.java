@@ -1,5 +1,7 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoRequestDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.models.Artista;
 import com.crowdfunding.tecendoarte.models.Conta;
 import com.crowdfunding.tecendoarte.models.Projeto;
@@ -11,6 +13,8 @@ import com.crowdfunding.tecendoarte.repositories.ContaRepository;
 import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
 import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
 import com.crowdfunding.tecendoarte.services.implementations.ProjetoService;
+import com.crowdfunding.tecendoarte.services.implementations.RankingProjetoService;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +38,7 @@ import java.util.Map;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 
 @SpringBootTest
@@ -58,12 +64,21 @@ class ProjetoControllerIntegrationTest {
     @Autowired
     private ProjetoService projetoService;
 
+    @Autowired
+    private FacetasProjetoServiceInterface facetasProjetoService;
+
+    @Autowired
+    private RankingProjetoService rankingProjetoService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private MockMvc mockMvc;
 
     private Artista artista;
@@ -129,12 +144,12 @@ class ProjetoControllerIntegrationTest {
         Projeto projeto = Projeto.builder()
                 .titulo("Projeto 2")
                 .descricaoProjeto("Desc")
-                .meta(500.0)
+                .metaCentavos(50000L)
                 .tipoArte(TipoArte.PINTURA)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
         projeto = projetoRepository.save(projeto);
 
@@ -155,12 +170,12 @@ class ProjetoControllerIntegrationTest {
         Projeto projeto = Projeto.builder()
                 .titulo("Projeto Teste")
                 .descricaoProjeto("Descrição teste")
-                .meta(1000.0)
+                .metaCentavos(100000L)
                 .tipoArte(TipoArte.DESENHO)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
 
         projeto = projetoRepository.save(projeto);
@@ -185,12 +200,12 @@ class ProjetoControllerIntegrationTest {
         Projeto projeto = Projeto.builder()
                 .titulo("Projeto Antigo")
                 .descricaoProjeto("Desc")
-                .meta(500.0)
+                .metaCentavos(50000L)
                 .tipoArte(TipoArte.PINTURA)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
         projeto = projetoRepository.save(projeto);
 
@@ -209,17 +224,41 @@ class ProjetoControllerIntegrationTest {
                 .andExpect(jsonPath("$.meta").value(1500.0));
     }
 
+    @Test
+    void deveRecusarMetaComMaisDeDuasCasasSemNegarAcesso() throws Exception {
+        Projeto projeto = projetoRepository.save(Projeto.builder()
+                .titulo("Projeto Meta")
+                .descricaoProjeto("Desc")
+                .metaCentavos(50000L)
+                .tipoArte(TipoArte.PINTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(StatusProjeto.AGUARDANDO_AVALIACAO)
+                .valorArrecadadoCentavos(0L)
+                .build());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(artista.getConta().getEmail(), null, List.of())
+        );
+
+        mockMvc.perform(put("/projetos/" + projeto.getIdProjeto())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(buildProjetoRequestJson("Projeto Meta", "Desc", 10.005, "PINTURA")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.meta").value("A meta deve ter no máximo duas casas decimais"));
+    }
+
     @Test
     void deveDeletarProjetoComSucesso() throws Exception {
         Projeto projeto = Projeto.builder()
                 .titulo("Projeto Deletar")
                 .descricaoProjeto("Desc")
-                .meta(500.0)
+                .metaCentavos(50000L)
                 .tipoArte(TipoArte.PINTURA)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
         projeto = projetoRepository.save(projeto);
 
@@ -238,22 +277,22 @@ class ProjetoControllerIntegrationTest {
         Projeto projeto1 = Projeto.builder()
                 .titulo("Projeto A")
                 .descricaoProjeto("Desc A")
-                .meta(100.0)
+                .metaCentavos(10000L)
                 .tipoArte(TipoArte.PINTURA)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
         Projeto projeto2 = Projeto.builder()
                 .titulo("Projeto B")
                 .descricaoProjeto("Desc B")
-                .meta(200.0)
+                .metaCentavos(20000L)
                 .tipoArte(TipoArte.ESCULTURA)
                 .artista(artista)
                 .dataCriacao(LocalDate.now())
                 .status(StatusProjeto.AGUARDANDO_AVALIACAO)
-                .valorArrecadado(0.0)
+                .valorArrecadadoCentavos(0L)
                 .build();
         projetoRepository.saveAll(List.of(projeto1, projeto2));
 
@@ -271,4 +310,215 @@ class ProjetoControllerIntegrationTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Artista não encontrado"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveListarCatalogoPaginadoPorCursor() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            projetoRepository.save(Projeto.builder()
+                    .titulo("Projeto " + i)
+                    .descricaoProjeto("Desc " + i)
+                    .metaCentavos(10000L * i)
+                    .tipoArte(TipoArte.PINTURA)
+                    .artista(artista)
+                    .dataCriacao(LocalDate.now())
+                    .status(StatusProjeto.APROVADO)
+                    .valorArrecadadoCentavos(0L)
+                    .build());
+        }
+
+        String resposta = mockMvc.perform(get("/projetos/catalogo").param("tamanho", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].titulo").value("Projeto 3"))
+                .andExpect(jsonPath("$.itens[0].nomeArtista").value("Artista Teste"))
+                .andExpect(jsonPath("$.itens[1].titulo").value("Projeto 2"))
+                .andExpect(jsonPath("$.proximoCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(resposta).get("proximoCursor").asText();
+
+        mockMvc.perform(get("/projetos/catalogo").param("tamanho", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].titulo").value("Projeto 1"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void deveFiltrarCatalogoPorStatusETipoArte() throws Exception {
+        projetoRepository.save(Projeto.builder()
+                .titulo("Escultura Aprovada")
+                .descricaoProjeto("Desc")
+                .metaCentavos(10000L)
+                .tipoArte(TipoArte.ESCULTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(StatusProjeto.APROVADO)
+                .valorArrecadadoCentavos(0L)
+                .build());
+        projetoRepository.save(Projeto.builder()
+                .titulo("Pintura Aprovada")
+                .descricaoProjeto("Desc")
+                .metaCentavos(10000L)
+                .tipoArte(TipoArte.PINTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(StatusProjeto.APROVADO)
+                .valorArrecadadoCentavos(0L)
+                .build());
+        projetoRepository.save(Projeto.builder()
+                .titulo("Escultura Pendente")
+                .descricaoProjeto("Desc")
+                .metaCentavos(10000L)
+                .tipoArte(TipoArte.ESCULTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(StatusProjeto.AGUARDANDO_AVALIACAO)
+                .valorArrecadadoCentavos(0L)
+                .build());
+
+        mockMvc.perform(get("/projetos/catalogo")
+                        .param("status", "APROVADO")
+                        .param("tipoArte", "ESCULTURA"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(1))
+                .andExpect(jsonPath("$.itens[0].titulo").value("Escultura Aprovada"));
+    }
+
+    @Test
+    void deveRetornarBadRequestParaCursorInvalido() throws Exception {
+        mockMvc.perform(get("/projetos/catalogo").param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido."));
+    }
+
+    private Projeto salvarProjeto(String titulo, String descricao, String recompensa) {
+        return projetoRepository.save(Projeto.builder()
+                .titulo(titulo)
+                .descricaoProjeto(descricao)
+                .descricaoRecompensa(recompensa)
+                .metaCentavos(100000L)
+                .tipoArte(TipoArte.ESCULTURA)
+                .artista(artista)
+                .dataCriacao(LocalDate.now())
+                .status(StatusProjeto.APROVADO)
+                .valorArrecadadoCentavos(0L)
+                .build());
+    }
+
+    @Test
+    void deveBuscarProjetosPorTextoEmOrdemDeRelevancia() throws Exception {
+        Projeto noTitulo = salvarProjeto("Cerâmicas do sertão", "Peças de barro queimadas em forno a lenha", null);
+        Projeto naRecompensa = salvarProjeto("Oficina de escultura", "Modelagem em argila", "Uma cerâmica autografada");
+        salvarProjeto("Mural na praça", "Pintura coletiva", "Foto do mural");
+
+        mockMvc.perform(post("/projetos/busca/reconstruir")
+                        .with(user("admin@exemplo.com").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projetosIndexados").isNumber());
+
+        mockMvc.perform(get("/projetos/busca").param("q", "ceramica"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].idProjeto").value(noTitulo.getIdProjeto()))
+                .andExpect(jsonPath("$[1].idProjeto").value(naRecompensa.getIdProjeto()));
+    }
+
+    @Test
+    void deveAtualizarIndiceDeBuscaAoCadastrarEEditarProjeto() throws Exception {
+        ProjetoResponseDTO criado = projetoService.cadastraProjeto(
+                new ProjetoRequestDTO("Xilogravuras nordestinas", "Cordel ilustrado", 500.0, TipoArte.ESCULTURA),
+                artista.getId());
+
+        // aguardando avaliação não aparece na busca pública
+        mockMvc.perform(get("/projetos/busca").param("q", "xilogravura"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // o status não é gravado pela entidade; a aprovação é feita direto na tabela
+        jdbcTemplate.update("UPDATE projetos SET status = ? WHERE id_projeto = ?",
+                StatusProjeto.APROVADO.name(), criado.getIdProjeto());
+        projetoService.atualizaProjeto(criado.getIdProjeto(),
+                new ProjetoRequestDTO("Xilogravuras nordestinas", "Cordel ilustrado", 500.0, TipoArte.ESCULTURA),
+                artista.getId());
+
+        mockMvc.perform(get("/projetos/busca").param("q", "xilogravura"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].idProjeto").value(criado.getIdProjeto()));
+
+        projetoService.atualizaProjeto(criado.getIdProjeto(),
+                new ProjetoRequestDTO("Tapeçaria artesanal", "Fios de algodão", 500.0, TipoArte.ESCULTURA),
+                artista.getId());
+
+        mockMvc.perform(get("/projetos/busca").param("q", "xilogravura"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/projetos/busca").param("q", "tapecarias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].idProjeto").value(criado.getIdProjeto()));
+    }
+
+    @Test
+    void deveRecusarBuscaSemTermoEReconstrucaoSemAdmin() throws Exception {
+        mockMvc.perform(get("/projetos/busca").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/projetos/busca/reconstruir"))
+                .andExpect(status().isForbidden());
+    }
+
+    private Projeto salvarProjetoFacetado(String titulo, TipoArte tipoArte, long arrecadadoCentavos, LocalDate dataCriacao) {
+        return projetoRepository.save(Projeto.builder()
+                .titulo(titulo)
+                .descricaoProjeto("Desc")
+                .metaCentavos(100000L)
+                .tipoArte(tipoArte)
+                .artista(artista)
+                .dataCriacao(dataCriacao)
+                .status(StatusProjeto.APROVADO)
+                .valorArrecadadoCentavos(arrecadadoCentavos)
+                .build());
+    }
+
+    @Test
+    void deveFiltrarPorFacetasEContarCadaValor() throws Exception {
+        Projeto antigo = salvarProjetoFacetado("Fotos do litoral", TipoArte.FOTOGRAFIA, 60000L, LocalDate.now().minusDays(1));
+        Projeto recente = salvarProjetoFacetado("Retratos de feira", TipoArte.FOTOGRAFIA, 70000L, LocalDate.now());
+        salvarProjetoFacetado("Fotos da serra", TipoArte.FOTOGRAFIA, 0L, LocalDate.now());
+        salvarProjetoFacetado("Escultura em pedra", TipoArte.ESCULTURA, 60000L, LocalDate.now());
+        facetasProjetoService.reconstruir();
+
+        mockMvc.perform(get("/projetos/facetas")
+                        .param("status", "APROVADO")
+                        .param("tipoArte", "FOTOGRAFIA")
+                        .param("faixa", "DE_50_A_75"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.itens[0].idProjeto").value(recente.getIdProjeto()))
+                .andExpect(jsonPath("$.itens[1].idProjeto").value(antigo.getIdProjeto()))
+                .andExpect(jsonPath("$.contagemPorFaixa.ATE_25").value(1))
+                .andExpect(jsonPath("$.contagemPorTipoArte.ESCULTURA").value(1))
+                .andExpect(jsonPath("$.contagemPorTipoArte.FOTOGRAFIA").value(2))
+                .andExpect(jsonPath("$.contagemPorStatus.APROVADO").value(2));
+
+        mockMvc.perform(get("/projetos/facetas").param("tamanho", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveListarProjetosPertoDaMeta() throws Exception {
+        Projeto quaseLa = salvarProjetoFacetado("Quase lá", TipoArte.PINTURA, 90000L, LocalDate.now());
+        Projeto metade = salvarProjetoFacetado("Metade", TipoArte.PINTURA, 50000L, LocalDate.now());
+        salvarProjetoFacetado("Financiado", TipoArte.PINTURA, 100000L, LocalDate.now());
+        rankingProjetoService.carregar();
+
+        mockMvc.perform(get("/projetos/rankings/perto-da-meta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].idProjeto").value(quaseLa.getIdProjeto()))
+                .andExpect(jsonPath("$[1].idProjeto").value(metade.getIdProjeto()));
+
+        mockMvc.perform(get("/projetos/rankings/em-alta").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,5 +1,6 @@
 package com.crowdfunding.tecendoarte.controllers;
 
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
 import com.crowdfunding.tecendoarte.dto.ContaDTO.ContaRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
@@ -13,11 +14,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.transaction.Transactional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -48,7 +52,18 @@ class UsuarioControllerIntegrationTest {
         @Autowired
         private PasswordEncoder passwordEncoder;
 
+        @AfterEach
+        void limparAutenticacao() {
+                SecurityContextHolder.clearContext();
+        }
+
         // ---------- Helpers ----------
+        private void autenticarUsuario(Long idUsuario) {
+                UsuarioAutenticado principal = new UsuarioAutenticado("usuario@email.com", "USUARIO", null, null, idUsuario, null);
+                SecurityContextHolder.getContext().setAuthentication(
+                                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        }
+
         private String novoEmail() {
                 return "conta_" + UUID.randomUUID() + "@email.com";
         }
@@ -249,4 +264,36 @@ class UsuarioControllerIntegrationTest {
 
                 assertThat(response).contains("ID da conta");
         }
-}
\ No newline at end of file
+
+        @Test
+        void listarRecomendacoes_usuarioExistente_deveRetornarOk() throws Exception {
+                Long contaId = criarConta();
+                Long usuarioId = usuarioRepository.findByConta(contaRepository.findById(contaId).get()).get().getId();
+                autenticarUsuario(usuarioId);
+
+                mockMvc.perform(get("/usuarios/{id}/recomendacoes", usuarioId).param("limite", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$").isArray());
+
+                mockMvc.perform(get("/usuarios/{id}/recomendacoes", usuarioId).param("limite", "0"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void listarRecomendacoes_usuarioInexistente_deveRetornar404() throws Exception {
+                autenticarUsuario(999999L);
+
+                mockMvc.perform(get("/usuarios/{id}/recomendacoes", 999999L))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void listarRecomendacoes_deOutroUsuario_deveRetornar403() throws Exception {
+                Long contaId = criarConta();
+                Long usuarioId = usuarioRepository.findByConta(contaRepository.findById(contaId).get()).get().getId();
+                autenticarUsuario(usuarioId + 1);
+
+                mockMvc.perform(get("/usuarios/{id}/recomendacoes", usuarioId))
+                                .andExpect(status().isForbidden());
+        }
+}
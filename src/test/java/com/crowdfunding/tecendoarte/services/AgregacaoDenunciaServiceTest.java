@@ -0,0 +1,203 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.AlvoDenunciadoResponseDTO;
+import com.crowdfunding.tecendoarte.events.DenunciaAnalisadaEvent;
+import com.crowdfunding.tecendoarte.models.ResumoDenuncia;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import com.crowdfunding.tecendoarte.repositories.DenunciaRepository;
+import com.crowdfunding.tecendoarte.repositories.DenunciaRepository.AgregadoAlvo;
+import com.crowdfunding.tecendoarte.repositories.ResumoDenunciaRepository;
+import com.crowdfunding.tecendoarte.services.implementations.AgregacaoDenunciaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AgregacaoDenunciaServiceTest {
+
+    @Mock
+    private DenunciaRepository denunciaRepository;
+
+    @Mock
+    private ResumoDenunciaRepository resumoDenunciaRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private AgregacaoDenunciaService agregacao;
+
+    @BeforeEach
+    void setUp() {
+        agregacao = new AgregacaoDenunciaService(denunciaRepository, resumoDenunciaRepository, transactionTemplate);
+        lenient().when(resumoDenunciaRepository.findByTipoAndIdAlvo(any(), any())).thenReturn(Optional.empty());
+        lenient().when(denunciaRepository.listarAutoresPorAlvo(any(), any())).thenReturn(List.of());
+    }
+
+    private void denunciar(TipoDenuncia tipo, Long idAlvo, Long idConta, LocalDateTime quando) {
+        assertTrue(agregacao.reservarAutor(tipo, idAlvo, idConta));
+        agregacao.registrarDenuncia(tipo, idAlvo, quando);
+    }
+
+    @Test
+    @DisplayName("Deve recusar a segunda denúncia do mesmo autor, inclusive a de quem já denunciou antes da aplicação subir")
+    void deveRecusarAutorRepetido() {
+        when(denunciaRepository.listarAutoresPorAlvo(TipoDenuncia.PROJETO, 1L)).thenReturn(List.of(7L));
+
+        assertFalse(agregacao.reservarAutor(TipoDenuncia.PROJETO, 1L, 7L));
+        assertTrue(agregacao.reservarAutor(TipoDenuncia.PROJETO, 1L, 8L));
+        assertFalse(agregacao.reservarAutor(TipoDenuncia.PROJETO, 1L, 8L));
+        // o mesmo autor pode denunciar outro alvo
+        assertTrue(agregacao.reservarAutor(TipoDenuncia.ARTISTA, 1L, 8L));
+
+        agregacao.cancelarReserva(TipoDenuncia.PROJETO, 1L, 8L);
+        assertTrue(agregacao.reservarAutor(TipoDenuncia.PROJETO, 1L, 8L));
+        verify(denunciaRepository, times(1)).listarAutoresPorAlvo(TipoDenuncia.PROJETO, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve aceitar uma única reserva quando o mesmo autor denuncia várias vezes ao mesmo tempo")
+    void deveAceitarUmaReservaEntreRequisicoesSimultaneas() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger aceitas = new AtomicInteger();
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                long idConta = i % 4;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    if (agregacao.reservarAutor(TipoDenuncia.USUARIO, 5L, idConta)) {
+                        aceitas.incrementAndGet();
+                        agregacao.registrarDenuncia(TipoDenuncia.USUARIO, 5L, LocalDateTime.now());
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4, aceitas.get());
+        assertEquals(4, agregacao.listarAlvosPendentes(null, 10).get(0).getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve listar um item por alvo pendente, do mais denunciado para o menos")
+    void deveListarAlvosPorVolume() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 1, 10, 0);
+        denunciar(TipoDenuncia.PROJETO, 1L, 10L, inicio);
+        denunciar(TipoDenuncia.PROJETO, 2L, 10L, inicio.plusMinutes(1));
+        denunciar(TipoDenuncia.PROJETO, 2L, 11L, inicio.plusMinutes(5));
+        denunciar(TipoDenuncia.PROJETO, 2L, 12L, inicio.plusMinutes(3));
+        denunciar(TipoDenuncia.ARTISTA, 3L, 10L, inicio);
+        denunciar(TipoDenuncia.ARTISTA, 3L, 11L, inicio);
+
+        List<AlvoDenunciadoResponseDTO> alvos = agregacao.listarAlvosPendentes(null, 10);
+        assertEquals(List.of(2L, 3L, 1L), alvos.stream().map(AlvoDenunciadoResponseDTO::getIdAlvo).toList());
+        assertEquals(3, alvos.get(0).getQuantidade());
+        assertEquals(inicio.plusMinutes(1), alvos.get(0).getPrimeiraEm());
+        assertEquals(inicio.plusMinutes(5), alvos.get(0).getUltimaEm());
+        assertEquals(List.of(3L), agregacao.listarAlvosPendentes(TipoDenuncia.ARTISTA, 10).stream()
+                .map(AlvoDenunciadoResponseDTO::getIdAlvo).toList());
+
+        agregacao.aoAnalisarDenuncia(new DenunciaAnalisadaEvent(TipoDenuncia.PROJETO, 1L));
+        assertEquals(List.of(2L, 3L), agregacao.listarAlvosPendentes(null, 10).stream()
+                .map(AlvoDenunciadoResponseDTO::getIdAlvo).toList());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o resumo alterado e tirar da memória o alvo sem pendências")
+    void deveDescarregarResumos() {
+        when(resumoDenunciaRepository.save(any(ResumoDenuncia.class))).thenAnswer(invocacao -> {
+            ResumoDenuncia resumo = invocacao.getArgument(0);
+            resumo.setId(99L);
+            return resumo;
+        });
+        denunciar(TipoDenuncia.PROJETO, 1L, 10L, LocalDateTime.now());
+
+        agregacao.descarregar();
+        ArgumentCaptor<ResumoDenuncia> gravado = ArgumentCaptor.forClass(ResumoDenuncia.class);
+        verify(resumoDenunciaRepository).save(gravado.capture());
+        assertEquals(1, gravado.getValue().getQuantidade());
+        assertEquals(1, gravado.getValue().getPendentes());
+
+        agregacao.aoAnalisarDenuncia(new DenunciaAnalisadaEvent(TipoDenuncia.PROJETO, 1L));
+        agregacao.descarregar();
+        verify(transactionTemplate).executeWithoutResult(any());
+        assertTrue(agregacao.listarAlvosPendentes(null, 10).isEmpty());
+
+        // já gravado e sem pendências: sai da memória na descarga seguinte
+        agregacao.descarregar();
+        verifyNoMoreInteractions(transactionTemplate);
+        // fora da memória: a próxima denúncia recarrega o resumo gravado e os autores
+        when(resumoDenunciaRepository.findByTipoAndIdAlvo(TipoDenuncia.PROJETO, 1L)).thenReturn(Optional.of(
+                new ResumoDenuncia(99L, TipoDenuncia.PROJETO, 1L, 1, 0, LocalDateTime.now(), LocalDateTime.now())));
+        when(denunciaRepository.listarAutoresPorAlvo(TipoDenuncia.PROJETO, 1L)).thenReturn(List.of(10L));
+        assertFalse(agregacao.reservarAutor(TipoDenuncia.PROJETO, 1L, 10L));
+        denunciar(TipoDenuncia.PROJETO, 1L, 11L, LocalDateTime.now());
+        assertEquals(2, agregacao.listarAlvosPendentes(null, 10).get(0).getQuantidade());
+    }
+
+    @Test
+    @DisplayName("Deve reconciliar na subida os resumos gravados com as denúncias, mesmo com a tabela de resumos preenchida")
+    void deveReconciliarResumosNaSubida() {
+        LocalDateTime inicio = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(resumoDenunciaRepository.findAll()).thenReturn(List.of(
+                // uma denúncia gravada depois da última descarga antes da queda
+                new ResumoDenuncia(1L, TipoDenuncia.PROJETO, 1L, 1, 1, inicio, inicio),
+                // em dia e sem pendências
+                new ResumoDenuncia(2L, TipoDenuncia.PROJETO, 2L, 3, 0, inicio, inicio),
+                // denúncias removidas
+                new ResumoDenuncia(3L, TipoDenuncia.ARTISTA, 3L, 2, 2, inicio, inicio)));
+        when(denunciaRepository.agregarPorAlvo()).thenReturn(List.of(
+                agregado(TipoDenuncia.PROJETO, 1L, 2, 2, inicio, inicio.plusMinutes(1)),
+                agregado(TipoDenuncia.PROJETO, 2L, 3, 0, inicio, inicio)));
+
+        agregacao.carregar();
+
+        List<AlvoDenunciadoResponseDTO> alvos = agregacao.listarAlvosPendentes(null, 10);
+        assertEquals(List.of(1L), alvos.stream().map(AlvoDenunciadoResponseDTO::getIdAlvo).toList());
+        assertEquals(2, alvos.get(0).getQuantidade());
+        assertEquals(inicio.plusMinutes(1), alvos.get(0).getUltimaEm());
+
+        // atualiza os alvos 1 e 3, que já têm linha em resumo_denuncia; o 2 não é regravado
+        agregacao.descarregar();
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(resumoDenunciaRepository, never()).save(any());
+    }
+
+    private AgregadoAlvo agregado(TipoDenuncia tipo, Long idAlvo, long quantidade, long pendentes,
+                                  LocalDateTime primeiraEm, LocalDateTime ultimaEm) {
+        AgregadoAlvo agregado = mock(AgregadoAlvo.class);
+        when(agregado.getTipo()).thenReturn(tipo);
+        when(agregado.getIdAlvo()).thenReturn(idAlvo);
+        when(agregado.getQuantidade()).thenReturn(quantidade);
+        when(agregado.getPendentes()).thenReturn(pendentes);
+        when(agregado.getPrimeiraEm()).thenReturn(primeiraEm);
+        when(agregado.getUltimaEm()).thenReturn(ultimaEm);
+        return agregado;
+    }
+}
@@ -3,6 +3,7 @@ package com.crowdfunding.tecendoarte.services;
 import com.crowdfunding.tecendoarte.config.JwtUtil;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.ArtistaLoginRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.ArtistaLoginResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ArtistaDTO.ArtistaPaginaResponseDTO;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.ArtistaRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ArtistaDTO.ArtistaResponseDTO;
 import com.crowdfunding.tecendoarte.models.Artista;
@@ -11,6 +12,9 @@ import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
 import com.crowdfunding.tecendoarte.repositories.ContaRepository;
 import com.crowdfunding.tecendoarte.services.implementations.ArtistaService;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.ArtistaEncontrado;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.PaginaArtistas;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +48,9 @@ class ArtistaServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private IndiceNomeArtistaServiceInterface indiceNomeArtistaService;
+
     @InjectMocks
     private ArtistaService artistaService;
 
@@ -120,7 +127,7 @@ class ArtistaServiceTest {
     void deveRealizarLoginComSucesso() {
         when(artistaRepository.findByContaEmail(anyString())).thenReturn(Optional.of(artista));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtUtil.generateTokenForArtista(anyLong(), anyString())).thenReturn("mocked_token");
+        when(jwtUtil.generateTokenForArtista(anyLong(), any(), anyString())).thenReturn("mocked_token");
 
         ArtistaLoginResponseDTO response = artistaService.login(artistaLoginRequestDTO);
 
@@ -129,6 +136,21 @@ class ArtistaServiceTest {
         assertEquals("mocked_token", response.getToken());
     }
 
+    @Test
+    @DisplayName("Deve regravar a senha com o algoritmo atual quando o hash estiver desatualizado")
+    void deveRegravarSenhaDesatualizadaNoLogin() {
+        when(artistaRepository.findByContaEmail(anyString())).thenReturn(Optional.of(artista));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("senha123")).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("{argon2}novo_hash");
+        when(jwtUtil.generateTokenForArtista(anyLong(), any(), anyString())).thenReturn("mocked_token");
+
+        artistaService.login(artistaLoginRequestDTO);
+
+        verify(contaRepository).regravarSenha(conta.getIdConta(), "senha123", "{argon2}novo_hash");
+        verify(contaRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Deve falhar o login com artista inexistente")
     void deveFalharLoginComArtistaInexistente() {
@@ -150,7 +172,8 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve buscar artista por nome com sucesso")
     void deveBuscarArtistaPorNomeComSucesso() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.of(artista));
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(encontrado(1L, true));
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
 
         ArtistaResponseDTO response = artistaService.buscarPorNome("Artista Teste");
 
@@ -161,7 +184,7 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve falhar ao buscar artista inexistente")
     void deveFalharAoBuscarArtistaInexistente() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(new PaginaArtistas(List.of(), 0));
 
         assertThrows(EntityNotFoundException.class, () -> artistaService.buscarPorNome("Nome Inexistente"));
     }
@@ -191,7 +214,8 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve atualizar artista com sucesso")
     void deveAtualizarArtistaComSucesso() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.of(artista));
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(encontrado(1L, true));
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
         when(artistaRepository.save(any(Artista.class))).thenReturn(artista);
 
         ArtistaResponseDTO response = artistaService.atualizarArtista("Artista Teste", artistaRequestDTO);
@@ -203,7 +227,7 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve falhar ao atualizar artista inexistente")
     void deveFalharAoAtualizarArtistaInexistente() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(new PaginaArtistas(List.of(), 0));
 
         assertThrows(EntityNotFoundException.class,
                 () -> artistaService.atualizarArtista("Nome Inexistente", artistaRequestDTO));
@@ -213,7 +237,8 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve deletar artista com sucesso")
     void deveDeletarArtistaComSucesso() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.of(artista));
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(encontrado(1L, true));
+        when(artistaRepository.findById(1L)).thenReturn(Optional.of(artista));
 
         artistaService.deletarArtista("Artista Teste");
 
@@ -223,8 +248,48 @@ class ArtistaServiceTest {
     @Test
     @DisplayName("Deve falhar ao deletar artista inexistente")
     void deveFalharAoDeletarArtistaInexistente() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(new PaginaArtistas(List.of(), 0));
 
         assertThrows(EntityNotFoundException.class, () -> artistaService.deletarArtista("Nome Inexistente"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Não deve atualizar artista encontrado só por aproximação")
+    void naoDeveAtualizarArtistaEncontradoSoPorAproximacao() {
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(encontrado(1L, false));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> artistaService.atualizarArtista("Artista Tsete", artistaRequestDTO));
+        verify(artistaRepository, never()).save(any(Artista.class));
+    }
+
+    @Test
+    @DisplayName("Deve pesquisar artistas mantendo a ordem do ranking")
+    void devePesquisarArtistasMantendoOrdemDoRanking() {
+        Artista outro = Artista.builder()
+                .id(2L)
+                .conta(Conta.builder().nome("Artista Outro").build())
+                .categorias(List.of(TipoArte.ESCULTURA))
+                .build();
+        when(indiceNomeArtistaService.buscar("artista", 0, 20)).thenReturn(new PaginaArtistas(List.of(
+                new ArtistaEncontrado(2L, 2.0, true),
+                new ArtistaEncontrado(1L, 1.8, true)), 2));
+        when(artistaRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(artista, outro));
+
+        ArtistaPaginaResponseDTO response = artistaService.pesquisarPorNome("artista", null, null);
+
+        assertEquals(2, response.getTotal());
+        assertEquals(List.of(2L, 1L), response.getItens().stream().map(ArtistaResponseDTO::getIdArtista).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar tamanho de página inválido na pesquisa")
+    void deveRecusarTamanhoDePaginaInvalidoNaPesquisa() {
+        assertThrows(IllegalArgumentException.class, () -> artistaService.pesquisarPorNome("artista", 0, 500));
+        verifyNoInteractions(indiceNomeArtistaService);
+    }
+
+    private PaginaArtistas encontrado(Long idArtista, boolean contemTermo) {
+        return new PaginaArtistas(List.of(new ArtistaEncontrado(idArtista, 2.0, contemTermo)), 1);
+    }
+}
@@ -0,0 +1,189 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.MarcaProjetos;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.TextoProjeto;
+import com.crowdfunding.tecendoarte.services.implementations.BuscaProjetoService;
+import com.crowdfunding.tecendoarte.services.interfaces.BuscaProjetoServiceInterface.ProjetoEncontrado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BuscaProjetoServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    private BuscaProjetoService busca;
+
+    @BeforeEach
+    void setUp() {
+        busca = new BuscaProjetoService(projetoRepository, "");
+        busca.indexar(1L, "Canções do sertão", "Disco com violeiros da região", null);
+        busca.indexar(2L, "Oficina de violão", "Aulas para crianças", "Uma canção inédita");
+        busca.indexar(3L, "Mural colorido", "Pintura na praça central", "Pôster do mural");
+    }
+
+    private List<Long> ids(List<ProjetoEncontrado> encontrados) {
+        return encontrados.stream().map(ProjetoEncontrado::idProjeto).toList();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e plural e priorizar o título")
+    void deveIgnorarAcentosEPluralEPriorizarTitulo() {
+        assertEquals(List.of(1L, 2L), ids(busca.buscar("cancao", 10)));
+        assertEquals(List.of(1L, 2L), ids(busca.buscar("CANÇÕES", 10)));
+    }
+
+    @Test
+    @DisplayName("Deve somar a relevância de vários termos e ignorar palavras vazias")
+    void deveSomarRelevanciaDeVariosTermos() {
+        List<ProjetoEncontrado> encontrados = busca.buscar("mural da praça", 10);
+
+        assertEquals(List.of(3L), ids(encontrados));
+        assertTrue(encontrados.get(0).pontuacao() > busca.buscar("praça", 10).get(0).pontuacao());
+        assertTrue(busca.buscar("da de a", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de resultados aos mais relevantes")
+    void deveLimitarAosMaisRelevantes() {
+        assertEquals(List.of(1L), ids(busca.buscar("canção", 1)));
+    }
+
+    @Test
+    @DisplayName("Deve refletir alteração e remoção de projetos")
+    void deveRefletirAlteracaoERemocao() {
+        busca.indexar(1L, "Bordados mineiros", "Linhas e tecidos", null);
+        busca.remover(3L);
+
+        assertEquals(List.of(2L), ids(busca.buscar("canção", 10)));
+        assertEquals(List.of(1L), ids(busca.buscar("bordado", 10)));
+        assertTrue(busca.buscar("mural", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve compactar o índice quando os removidos superam os vivos")
+    void deveCompactarIndice() {
+        for (int i = 0; i < 3000; i++) {
+            busca.indexar(4L, "Versão " + i, "Projeto reescrito muitas vezes", null);
+        }
+
+        assertEquals(List.of(4L), ids(busca.buscar("reescrito", 10)));
+        assertEquals(List.of(1L, 2L), ids(busca.buscar("canção", 10)));
+    }
+
+    @Test
+    @DisplayName("Deve gravar snapshot e recarregá-lo na subida quando confere com o banco")
+    void deveGravarERecarregarSnapshot(@TempDir Path diretorio) {
+        Path arquivo = diretorio.resolve("indice.bin");
+        BuscaProjetoService original = new BuscaProjetoService(projetoRepository, arquivo.toString());
+        original.indexar(1L, "Canções do sertão", null, null);
+        original.indexar(2L, "Mural colorido", null, null);
+        original.remover(2L);
+        when(projetoRepository.buscarMarca()).thenReturn(marca(1, 1L, "2025-01-01T10:00"));
+        original.salvarSnapshotSeAlterado();
+        assertTrue(Files.exists(arquivo));
+
+        BuscaProjetoService reiniciado = new BuscaProjetoService(projetoRepository, arquivo.toString());
+        reiniciado.carregar();
+
+        assertEquals(List.of(1L), ids(reiniciado.buscar("canção", 10)));
+        assertTrue(reiniciado.buscar("mural", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir na subida quando um projeto foi editado depois do snapshot")
+    void deveReconstruirQuandoProjetoFoiEditadoDepoisDoSnapshot(@TempDir Path diretorio) {
+        Path arquivo = diretorio.resolve("indice.bin");
+        BuscaProjetoService original = new BuscaProjetoService(projetoRepository, arquivo.toString());
+        original.indexar(1L, "Canções do sertão", null, null);
+        // mesma quantidade e mesmo maior id: só a última gravação denuncia a edição
+        when(projetoRepository.buscarMarca()).thenReturn(
+                marca(1, 1L, "2025-01-01T10:00"),
+                marca(1, 1L, "2025-01-01T10:05"));
+        original.salvarSnapshotSeAlterado();
+
+        when(projetoRepository.listarTextosAposId(eq(0L), any())).thenReturn(List.of(texto(1L, "Bordados mineiros")));
+        BuscaProjetoService reiniciado = new BuscaProjetoService(projetoRepository, arquivo.toString());
+        reiniciado.carregar();
+
+        assertTrue(reiniciado.buscar("canção", 10).isEmpty());
+        assertEquals(List.of(1L), ids(reiniciado.buscar("bordado", 10)));
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar sobre o índice novo as alterações feitas durante a reconstrução")
+    void deveReaplicarAlteracoesFeitasDuranteReconstrucao() {
+        when(projetoRepository.listarTextosAposId(eq(0L), any())).thenAnswer(invocacao -> {
+            // a leitura do banco já aconteceu quando essas alterações chegam
+            busca.indexar(4L, "Bordados mineiros", null, null);
+            busca.remover(1L);
+            return List.of(texto(1L, "Canções do sertão"), texto(2L, "Oficina de violão"));
+        });
+
+        busca.reconstruir();
+
+        assertEquals(List.of(4L), ids(busca.buscar("bordado", 10)));
+        assertTrue(busca.buscar("canção", 10).isEmpty());
+        assertEquals(List.of(2L), ids(busca.buscar("violão", 10)));
+    }
+
+    private static MarcaProjetos marca(long quantidade, Long maiorId, String ultimaAtualizacao) {
+        return new MarcaProjetos() {
+            @Override
+            public long getQuantidade() {
+                return quantidade;
+            }
+
+            @Override
+            public Long getMaiorId() {
+                return maiorId;
+            }
+
+            @Override
+            public LocalDateTime getUltimaAtualizacao() {
+                return LocalDateTime.parse(ultimaAtualizacao);
+            }
+        };
+    }
+
+    private static TextoProjeto texto(Long idProjeto, String titulo) {
+        return new TextoProjeto() {
+            @Override
+            public Long getIdProjeto() {
+                return idProjeto;
+            }
+
+            @Override
+            public String getTitulo() {
+                return titulo;
+            }
+
+            @Override
+            public String getDescricaoProjeto() {
+                return null;
+            }
+
+            @Override
+            public String getDescricaoRecompensa() {
+                return null;
+            }
+        };
+    }
+}
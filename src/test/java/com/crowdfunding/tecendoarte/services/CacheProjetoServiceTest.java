@@ -0,0 +1,163 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.ArrecadacaoAtualizadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.implementations.CacheProjetoService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheProjetoServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CacheProjetoService cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheProjetoService(projetoRepository, transactionManager, 100);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o projeto numa transação de escrita, que o roteamento mantém no primário")
+    void deveCarregarDoPrimario() {
+        when(projetoRepository.buscarResumoPorId(1L)).thenReturn(resumo(1L, "Mural"));
+
+        cache.buscar(1L);
+
+        ArgumentCaptor<TransactionDefinition> definicao = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definicao.capture());
+        assertFalse(definicao.getValue().isReadOnly());
+    }
+
+    private Optional<ProjetoResponseDTO> resumo(Long idProjeto, String titulo) {
+        return Optional.of(ProjetoResponseDTO.builder().idProjeto(idProjeto).titulo(titulo).build());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco só na primeira leitura do projeto")
+    void deveConsultarBancoSoNaPrimeiraLeitura() {
+        when(projetoRepository.buscarResumoPorId(1L)).thenReturn(resumo(1L, "Mural"));
+
+        assertEquals("Mural", cache.buscar(1L).getTitulo());
+        assertEquals("Mural", cache.buscar(1L).getTitulo());
+
+        verify(projetoRepository, times(1)).buscarResumoPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar o projeto depois de alteração")
+    void deveRecarregarDepoisDeAlteracao() {
+        when(projetoRepository.buscarResumoPorId(1L)).thenReturn(resumo(1L, "Mural"), resumo(1L, "Mural restaurado"));
+
+        cache.buscar(1L);
+        cache.aoAlterarProjeto(ProjetoAlteradoEvent.removido(1L));
+        assertEquals("Mural restaurado", cache.buscar(1L).getTitulo());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o total arrecadado à entrada sem consultar o banco de novo")
+    void deveAplicarTotalArrecadadoSemNovaConsulta() {
+        when(projetoRepository.buscarResumoPorId(1L)).thenReturn(Optional.of(
+                new ProjetoResponseDTO(1L, "Mural", "Pintura", 100000L, 2000L, null, StatusProjeto.APROVADO, TipoArte.PINTURA, "Ana")));
+        cache.buscar(1L);
+
+        cache.aoAtualizarArrecadacao(new ArrecadacaoAtualizadaEvent(1L, 500, 2500));
+        // evento atrasado de um lote anterior não volta o total
+        cache.aoAtualizarArrecadacao(new ArrecadacaoAtualizadaEvent(1L, 300, 2300));
+
+        ProjetoResponseDTO atualizado = cache.buscar(1L);
+        assertEquals(25.0, atualizado.getValorArrecadado());
+        assertEquals(2, atualizado.getPercentualFinanciado());
+        verify(projetoRepository, times(1)).buscarResumoPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Alterar o DTO devolvido não deve alterar o que o cache entrega depois")
+    void naoDeveCompartilharDTOEntreLeituras() {
+        when(projetoRepository.buscarResumoPorId(1L)).thenReturn(resumo(1L, "Mural"));
+
+        cache.buscar(1L).setTitulo("Alterado por quem leu");
+
+        assertEquals("Mural", cache.buscar(1L).getTitulo());
+        assertNotSame(cache.buscar(1L), cache.buscar(1L));
+    }
+
+    @Test
+    @DisplayName("Não deve guardar projeto inexistente")
+    void naoDeveGuardarProjetoInexistente() {
+        when(projetoRepository.buscarResumoPorId(9L)).thenReturn(Optional.empty(), resumo(9L, "Criado depois"));
+
+        assertThrows(EntityNotFoundException.class, () -> cache.buscar(9L));
+        assertEquals("Criado depois", cache.buscar(9L).getTitulo());
+    }
+
+    @Test
+    @DisplayName("Deve fazer uma única consulta para faltas simultâneas do mesmo projeto")
+    void deveCompartilharConsultaEntreFaltasSimultaneas() throws Exception {
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(projetoRepository.buscarResumoPorId(1L)).thenAnswer(invocacao -> {
+            consultando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return resumo(1L, "Mural");
+        });
+
+        CompletableFuture<ProjetoResponseDTO> primeira = CompletableFuture.supplyAsync(() -> cache.buscar(1L));
+        assertTrue(consultando.await(5, TimeUnit.SECONDS));
+        CompletableFuture<ProjetoResponseDTO> segunda = CompletableFuture.supplyAsync(() -> cache.buscar(1L));
+        Thread.sleep(50);
+        liberar.countDown();
+
+        assertEquals("Mural", primeira.get(5, TimeUnit.SECONDS).getTitulo());
+        assertEquals("Mural", segunda.get(5, TimeUnit.SECONDS).getTitulo());
+        verify(projetoRepository, times(1)).buscarResumoPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve manter projetos frequentes quando muitos projetos são lidos uma única vez")
+    void deveManterProjetosFrequentesDuranteVarredura() {
+        when(projetoRepository.buscarResumoPorId(anyLong()))
+                .thenAnswer(invocacao -> resumo(invocacao.getArgument(0), "Projeto"));
+
+        for (int leitura = 0; leitura < 5; leitura++) {
+            for (long id = 1; id <= 10; id++) {
+                cache.buscar(id);
+            }
+        }
+        for (long id = 1000; id < 1500; id++) {
+            cache.buscar(id);
+        }
+        clearInvocations(projetoRepository);
+
+        for (long id = 1; id <= 10; id++) {
+            cache.buscar(id);
+        }
+        verify(projetoRepository, never()).buscarResumoPorId(anyLong());
+    }
+}
@@ -12,10 +12,12 @@ import com.crowdfunding.tecendoarte.services.implementations.ContaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.Optional;
@@ -38,6 +40,9 @@ class ContaServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ContaService contaService;
 
@@ -48,7 +53,7 @@ class ContaServiceTest {
 
     @BeforeEach
     void setUp() {
-        contaService = new ContaService(contaRepository, passwordEncoder, usuarioRepository, artistaRepository);
+        contaService = new ContaService(contaRepository, passwordEncoder, usuarioRepository, artistaRepository, transactionManager);
 
         contaRequestDTO = ContaRequestDTO.builder()
                 .email("teste@teste.com")
@@ -94,6 +99,21 @@ class ContaServiceTest {
         verify(usuarioRepository, times(1)).save(any(Usuario.class));
     }
 
+    @Test
+    void testCadastrarContaDeveCalcularOHashAntesDeAbrirATransacao() {
+        when(contaRepository.existsByEmail(anyString())).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("senhaCriptografada");
+        when(contaRepository.save(any(Conta.class))).thenReturn(contaUsuario);
+
+        contaService.cadastrar(contaRequestDTO);
+
+        InOrder ordem = inOrder(passwordEncoder, transactionManager, contaRepository);
+        ordem.verify(passwordEncoder).encode("senha123");
+        ordem.verify(transactionManager).getTransaction(any());
+        ordem.verify(contaRepository).save(any(Conta.class));
+        ordem.verify(transactionManager).commit(any());
+    }
+
     @Test
     void testCadastrarContaComEmailExistenteDeveLancarExcecao() {
         when(contaRepository.existsByEmail(anyString())).thenReturn(true);
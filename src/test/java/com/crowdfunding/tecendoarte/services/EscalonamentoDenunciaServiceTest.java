@@ -0,0 +1,170 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.EscalonamentoDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.DenunciaDTO.JanelaDenunciaResponseDTO;
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.DenunciaRegistradaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Projeto;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.models.enums.TipoDenuncia;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.services.implementations.EscalonamentoDenunciaService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EscalonamentoDenunciaServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 3, 1, 10, 0);
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EscalonamentoDenunciaService escalonamento;
+
+    @BeforeEach
+    void setUp() {
+        // janela de 10 minutos, limite de 3 denúncias
+        escalonamento = new EscalonamentoDenunciaService(projetoRepository, transactionTemplate, eventPublisher, 600, 3);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocacao ->
+                invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private Projeto projeto(Long id) {
+        Artista artista = new Artista();
+        artista.setId(1L);
+        return Projeto.builder()
+                .idProjeto(id)
+                .titulo("Projeto " + id)
+                .descricaoProjeto("Descrição")
+                .status(StatusProjeto.EM_REVISAO)
+                .tipoArte(TipoArte.PINTURA)
+                .dataCriacao(LocalDate.of(2025, 1, 1))
+                .artista(artista)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve colocar o projeto em revisão uma única vez ao atingir o limite dentro da janela")
+    void deveEscalonarAoAtingirLimite() {
+        when(projetoRepository.colocarEmRevisao(7L)).thenReturn(1);
+        when(projetoRepository.findById(7L)).thenReturn(Optional.of(projeto(7L)));
+
+        escalonamento.registrarDenuncia(7L, INICIO);
+        escalonamento.registrarDenuncia(7L, INICIO.plusMinutes(1));
+        verifyNoInteractions(projetoRepository);
+
+        escalonamento.registrarDenuncia(7L, INICIO.plusMinutes(2));
+        escalonamento.registrarDenuncia(7L, INICIO.plusMinutes(3));
+
+        verify(projetoRepository, times(1)).colocarEmRevisao(7L);
+        ArgumentCaptor<ProjetoAlteradoEvent> evento = ArgumentCaptor.forClass(ProjetoAlteradoEvent.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertEquals(StatusProjeto.EM_REVISAO, evento.getValue().status());
+
+        EscalonamentoDenunciaResponseDTO janelas = escalonamento.consultarJanelas(INICIO.plusMinutes(3));
+        assertEquals(1, janelas.getJanelas().size());
+        assertEquals(4, janelas.getJanelas().get(0).getDenunciasNaJanela());
+        assertTrue(janelas.getJanelas().get(0).isEscalonado());
+    }
+
+    @Test
+    @DisplayName("Não deve escalonar quando as denúncias se espalham por mais que a janela")
+    void naoDeveEscalonarDenunciasForaDaJanela() {
+        escalonamento.registrarDenuncia(7L, INICIO);
+        escalonamento.registrarDenuncia(7L, INICIO.plusMinutes(6));
+        escalonamento.registrarDenuncia(7L, INICIO.plusMinutes(12));
+
+        verifyNoInteractions(projetoRepository);
+        assertEquals(2, escalonamento.consultarJanelas(INICIO.plusMinutes(12)).getJanelas().get(0).getDenunciasNaJanela());
+        assertTrue(escalonamento.consultarJanelas(INICIO.plusMinutes(30)).getJanelas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve contar só denúncias de projeto e listar as janelas do mais denunciado para o menos")
+    void deveListarJanelasPorVolume() {
+        escalonamento.aoRegistrarDenuncia(new DenunciaRegistradaEvent(TipoDenuncia.PROJETO, 1L, INICIO));
+        escalonamento.aoRegistrarDenuncia(new DenunciaRegistradaEvent(TipoDenuncia.PROJETO, 2L, INICIO));
+        escalonamento.aoRegistrarDenuncia(new DenunciaRegistradaEvent(TipoDenuncia.PROJETO, 2L, INICIO.plusSeconds(30)));
+        escalonamento.aoRegistrarDenuncia(new DenunciaRegistradaEvent(TipoDenuncia.ARTISTA, 3L, INICIO));
+
+        assertEquals(List.of(2L, 1L), escalonamento.consultarJanelas(INICIO.plusMinutes(1)).getJanelas().stream()
+                .map(JanelaDenunciaResponseDTO::getIdProjeto).toList());
+    }
+
+    @Test
+    @DisplayName("Deve tentar de novo na denúncia seguinte quando a gravação da revisão falhar")
+    void deveTentarDeNovoAposFalha() {
+        when(projetoRepository.colocarEmRevisao(7L))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(0);
+
+        for (int i = 0; i < 4; i++) {
+            escalonamento.registrarDenuncia(7L, INICIO.plusSeconds(i));
+        }
+
+        verify(projetoRepository, times(2)).colocarEmRevisao(7L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o status anterior, avisar pelo evento e recomeçar a janela do projeto")
+    void deveRestaurarProjetoEmRevisao() {
+        when(projetoRepository.colocarEmRevisao(7L)).thenReturn(1);
+        Projeto restaurado = projeto(7L);
+        when(projetoRepository.findById(7L)).thenReturn(Optional.of(projeto(7L)), Optional.of(restaurado));
+        for (int i = 0; i < 3; i++) {
+            escalonamento.registrarDenuncia(7L, LocalDateTime.now());
+        }
+        restaurado.setStatus(StatusProjeto.APROVADO);
+        when(projetoRepository.restaurarStatus(7L)).thenReturn(1);
+        when(projetoRepository.buscarResumo(7L)).thenReturn(Optional.of(
+                ProjetoResponseDTO.builder().idProjeto(7L).status(StatusProjeto.APROVADO).build()));
+
+        assertEquals(StatusProjeto.APROVADO, escalonamento.restaurar(7L).getStatus());
+
+        ArgumentCaptor<ProjetoAlteradoEvent> eventos = ArgumentCaptor.forClass(ProjetoAlteradoEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventos.capture());
+        assertEquals(StatusProjeto.APROVADO, eventos.getAllValues().get(1).status());
+        assertTrue(escalonamento.consultarJanelas(LocalDateTime.now()).getJanelas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a restauração de projeto fora de revisão ou inexistente")
+    void deveRecusarRestauracaoForaDeRevisao() {
+        when(projetoRepository.restaurarStatus(any())).thenReturn(0);
+        when(projetoRepository.buscarStatus(7L)).thenReturn(Optional.of(StatusProjeto.APROVADO));
+        when(projetoRepository.buscarStatus(8L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> escalonamento.restaurar(7L));
+        assertThrows(EntityNotFoundException.class, () -> escalonamento.restaurar(8L));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
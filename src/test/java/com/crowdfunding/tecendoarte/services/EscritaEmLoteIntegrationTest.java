@@ -0,0 +1,123 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.dto.ImagemDTO.ImagemRequestDTO;
+import com.crowdfunding.tecendoarte.models.Artista;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.models.enums.TipoConta;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.services.implementations.ArtistaService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara os comandos JDBC preparados ao gravar 20 imagens de portfólio com e sem lote. Sem lote o
+ * Hibernate prepara um INSERT por imagem; com lote e ids reservados em blocos, prepara um só INSERT
+ * (reaproveitado por todas as linhas do lote) e no máximo uma leitura da sequência.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EscritaEmLoteIntegrationTest {
+
+    private static final int IMAGENS = 20;
+
+    @Autowired
+    private ArtistaService artistaService;
+
+    @Autowired
+    private ArtistaRepository artistaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private Long idArtista;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        Conta conta = contaRepository.save(Conta.builder()
+                .nome("Artista Lote")
+                .email("lote-" + UUID.randomUUID() + "@exemplo.com")
+                .senha("senha")
+                .tipoConta(TipoConta.ARTISTA)
+                .build());
+        idArtista = artistaRepository.save(Artista.builder()
+                .conta(conta)
+                .categorias(List.of(TipoArte.FOTOGRAFIA))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private static byte[] gif(int i) {
+        return ("GIF89a imagem " + i).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private long comandosAoAdicionarImagens(Integer tamanhoLote) {
+        List<ImagemRequestDTO> imagens = IntStream.range(0, IMAGENS)
+                .mapToObj(i -> ImagemRequestDTO.builder()
+                        .dadosImagemBase64(Base64.getEncoder().encodeToString(gif(i)))
+                        .tipoConteudo("image/gif")
+                        .descricao("Imagem " + i)
+                        .build())
+                .toList();
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            // null mantém o hibernate.jdbc.batch_size configurado
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            artistaService.adicionarImagensAoPerfil(idArtista, imagens);
+        });
+        assertEquals(IMAGENS, statistics.getEntityInsertCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Deve gravar as imagens do portfólio em lote, sem um comando por imagem")
+    void deveGravarImagensEmLote() {
+        long semLote = comandosAoAdicionarImagens(1);
+        long emLote = comandosAoAdicionarImagens(null);
+
+        assertTrue(semLote >= IMAGENS, "sem lote: " + semLote);
+        assertTrue(emLote <= semLote - (IMAGENS - 2), "com lote: " + emLote + ", sem lote: " + semLote);
+        assertEquals(2 * IMAGENS, transactionTemplate.execute(tx ->
+                artistaRepository.findById(idArtista).orElseThrow().getImagensPortifolio().size()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.models.enums.FaixaFinanciamento;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.FacetasProjeto;
+import com.crowdfunding.tecendoarte.services.implementations.FacetasProjetoService;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface.ResultadoFacetas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FacetasProjetoServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    private FacetasProjetoService facetas;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate hoje = LocalDate.now();
+        facetas = new FacetasProjetoService(projetoRepository);
+        facetas.registrar(1L, StatusProjeto.APROVADO, TipoArte.FOTOGRAFIA, 10000, 6000, hoje.minusDays(3));
+        facetas.registrar(2L, StatusProjeto.APROVADO, TipoArte.PINTURA, 10000, 5500, hoje.minusDays(2));
+        facetas.registrar(3L, StatusProjeto.AGUARDANDO_AVALIACAO, TipoArte.FOTOGRAFIA, 10000, 6000, hoje.minusDays(1));
+        facetas.registrar(4L, StatusProjeto.APROVADO, TipoArte.FOTOGRAFIA, 10000, 7000, hoje);
+        facetas.registrar(5L, StatusProjeto.APROVADO, TipoArte.FOTOGRAFIA, 10000, 0, hoje);
+    }
+
+    @Test
+    @DisplayName("Deve cruzar as facetas e devolver os mais recentes primeiro")
+    void deveCruzarFacetasMaisRecentesPrimeiro() {
+        ResultadoFacetas resultado = facetas.filtrar(
+                StatusProjeto.APROVADO, TipoArte.FOTOGRAFIA, FaixaFinanciamento.DE_50_A_75, 0, 10);
+
+        assertEquals(List.of(4L, 1L), resultado.idsProjeto());
+        assertEquals(2, resultado.total());
+    }
+
+    @Test
+    @DisplayName("Deve contar cada faceta sob os filtros das outras")
+    void deveContarCadaFacetaSobOsFiltrosDasOutras() {
+        ResultadoFacetas resultado = facetas.filtrar(
+                StatusProjeto.APROVADO, TipoArte.FOTOGRAFIA, FaixaFinanciamento.DE_50_A_75, 0, 10);
+
+        assertEquals(2, resultado.porStatus().get(StatusProjeto.APROVADO));
+        assertEquals(1, resultado.porStatus().get(StatusProjeto.AGUARDANDO_AVALIACAO));
+        assertEquals(2, resultado.porTipoArte().get(TipoArte.FOTOGRAFIA));
+        assertEquals(1, resultado.porTipoArte().get(TipoArte.PINTURA));
+        assertEquals(1, resultado.porFaixa().get(FaixaFinanciamento.ATE_25));
+        assertEquals(0, resultado.porFaixa().get(FaixaFinanciamento.ACIMA_DE_100));
+    }
+
+    @Test
+    @DisplayName("Deve paginar sem filtros em ordem de criação decrescente")
+    void devePaginarSemFiltros() {
+        assertEquals(List.of(5L, 4L), facetas.filtrar(null, null, null, 0, 2).idsProjeto());
+        assertEquals(List.of(3L, 2L), facetas.filtrar(null, null, null, 1, 2).idsProjeto());
+        assertEquals(List.of(1L), facetas.filtrar(null, null, null, 2, 2).idsProjeto());
+        assertEquals(5, facetas.filtrar(null, null, null, 2, 2).total());
+    }
+
+    @Test
+    @DisplayName("Deve mudar a faixa ao somar doações e manter o arrecadado ao editar o projeto")
+    void deveMudarFaixaAoSomarDoacoes() {
+        facetas.atualizarArrecadado(5L, 8000);
+        assertEquals(List.of(5L), facetas.filtrar(null, null, FaixaFinanciamento.DE_75_A_100, 0, 10).idsProjeto());
+
+        // a entidade ainda traz o valor antigo; o índice mantém o que já somou
+        facetas.registrar(5L, StatusProjeto.APROVADO, TipoArte.PINTURA, 10000, 0, LocalDate.now());
+        ResultadoFacetas resultado = facetas.filtrar(null, TipoArte.PINTURA, FaixaFinanciamento.DE_75_A_100, 0, 10);
+        assertEquals(List.of(5L), resultado.idsProjeto());
+        assertEquals(0, facetas.filtrar(null, TipoArte.FOTOGRAFIA, FaixaFinanciamento.DE_75_A_100, 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar um total menor que chegue fora de ordem")
+    void deveIgnorarTotalForaDeOrdem() {
+        facetas.atualizarArrecadado(5L, 8000);
+        facetas.atualizarArrecadado(5L, 3000);
+
+        assertEquals(List.of(5L), facetas.filtrar(null, null, FaixaFinanciamento.DE_75_A_100, 0, 10).idsProjeto());
+    }
+
+    @Test
+    @DisplayName("Deve manter a doação que chega durante a reconstrução")
+    void deveManterDoacaoRecebidaDuranteReconstrucao() {
+        FacetasProjeto lido = mock(FacetasProjeto.class);
+        when(lido.getIdProjeto()).thenReturn(5L);
+        when(lido.getStatus()).thenReturn(StatusProjeto.APROVADO);
+        when(lido.getTipoArte()).thenReturn(TipoArte.FOTOGRAFIA);
+        when(lido.getMetaCentavos()).thenReturn(10000L);
+        when(lido.getValorArrecadadoCentavos()).thenReturn(0L);
+        when(lido.getDataCriacao()).thenReturn(LocalDate.now());
+        // a doação é confirmada depois de a reconstrução ler o projeto com o total antigo
+        when(projetoRepository.listarFacetasAposCursor(any(), any(), any())).thenAnswer(invocacao -> {
+            facetas.atualizarArrecadado(5L, 8000);
+            return List.of(lido);
+        });
+
+        facetas.reconstruir();
+
+        assertEquals(List.of(5L), facetas.filtrar(null, null, FaixaFinanciamento.DE_75_A_100, 0, 10).idsProjeto());
+    }
+
+    @Test
+    @DisplayName("Deve deixar de listar e contar projetos removidos")
+    void deveIgnorarProjetosRemovidos() {
+        facetas.remover(4L);
+
+        ResultadoFacetas resultado = facetas.filtrar(StatusProjeto.APROVADO, null, null, 0, 10);
+        assertEquals(List.of(5L, 2L, 1L), resultado.idsProjeto());
+        assertEquals(3, resultado.porTipoArte().get(TipoArte.FOTOGRAFIA) + resultado.porTipoArte().get(TipoArte.PINTURA));
+    }
+}
@@ -0,0 +1,140 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
+import com.crowdfunding.tecendoarte.repositories.ArtistaRepository.NomeArtista;
+import com.crowdfunding.tecendoarte.services.implementations.IndiceNomeArtistaService;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.ArtistaEncontrado;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.PaginaArtistas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceNomeArtistaServiceTest {
+
+    @Mock
+    private ArtistaRepository artistaRepository;
+
+    private IndiceNomeArtistaService indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceNomeArtistaService(artistaRepository, 0.5);
+        indice.indexar(1L, 10L, "João da Silva");
+        indice.indexar(2L, 20L, "Maria da Conceição");
+        indice.indexar(3L, 30L, "Joana Prado");
+    }
+
+    private List<Long> ids(PaginaArtistas pagina) {
+        return pagina.itens().stream().map(ArtistaEncontrado::idArtista).toList();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e caixa na busca")
+    void deveIgnorarAcentosECaixa() {
+        assertEquals(List.of(1L), ids(indice.buscar("joao silva", 0, 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("CONCEICAO", 0, 10)));
+        assertEquals(List.of(2L), ids(indice.buscar("Conceição", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Deve tratar a última palavra como prefixo")
+    void deveTratarUltimaPalavraComoPrefixo() {
+        PaginaArtistas resultado = indice.buscar("jo", 0, 10);
+
+        assertEquals(List.of(3L, 1L), ids(resultado));
+        assertTrue(resultado.itens().stream().allMatch(ArtistaEncontrado::contemTermo));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar nomes com erro de digitação sem marcá-los como contendo o termo")
+    void deveEncontrarNomesAproximados() {
+        PaginaArtistas resultado = indice.buscar("maria da concieçao", 0, 10);
+
+        assertEquals(2L, resultado.itens().get(0).idArtista());
+        assertFalse(resultado.itens().get(0).contemTermo());
+    }
+
+    @Test
+    @DisplayName("Não deve retornar nomes sem trigramas suficientes em comum")
+    void naoDeveRetornarNomesDiferentes() {
+        assertEquals(0, indice.buscar("Inexistente", 0, 10).total());
+        assertEquals(0, indice.buscar("  ", 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Deve paginar os resultados ranqueados")
+    void devePaginarResultados() {
+        PaginaArtistas segunda = indice.buscar("jo", 1, 1);
+
+        assertEquals(2, segunda.total());
+        assertEquals(List.of(1L), ids(segunda));
+    }
+
+    @Test
+    @DisplayName("Deve refletir renomeação de conta e remoção de artista")
+    void deveRefletirRenomeacaoERemocao() {
+        indice.renomearConta(10L, "Sebastião Ramos");
+        indice.remover(3L);
+
+        assertEquals(0, indice.buscar("jo", 0, 10).total());
+        assertEquals(List.of(1L), ids(indice.buscar("sebastiao", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir o índice a partir do banco")
+    void deveReconstruirAPartirDoBanco() {
+        when(artistaRepository.listarNomes()).thenReturn(List.of(nome(4L, 40L, "Conceição Evaristo")));
+
+        indice.reconstruir();
+
+        assertEquals(List.of(4L), ids(indice.buscar("conc", 0, 10)));
+        assertEquals(0, indice.buscar("joao", 0, 10).total());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar sobre o índice novo as alterações feitas durante a reconstrução")
+    void deveReaplicarAlteracoesFeitasDuranteReconstrucao() {
+        when(artistaRepository.listarNomes()).thenAnswer(invocacao -> {
+            // a leitura do banco já aconteceu quando essas alterações chegam
+            indice.indexar(5L, 50L, "Tarsila do Amaral");
+            indice.renomearConta(40L, "Carolina Maria");
+            indice.remover(4L);
+            return List.of(nome(4L, 40L, "Conceição Evaristo"), nome(1L, 10L, "João da Silva"));
+        });
+
+        indice.reconstruir();
+
+        assertEquals(List.of(5L), ids(indice.buscar("tarsila", 0, 10)));
+        assertEquals(0, indice.buscar("conceicao", 0, 10).total());
+        assertEquals(0, indice.buscar("carolina", 0, 10).total());
+        assertEquals(List.of(1L), ids(indice.buscar("joao", 0, 10)));
+    }
+
+    private NomeArtista nome(Long idArtista, Long idConta, String nome) {
+        return new NomeArtista() {
+            @Override
+            public Long getIdArtista() {
+                return idArtista;
+            }
+
+            @Override
+            public Long getIdConta() {
+                return idConta;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+        };
+    }
+}
@@ -1,21 +1,33 @@
 package com.crowdfunding.tecendoarte.services;
 
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoRequestDTO;
 import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
 import com.crowdfunding.tecendoarte.models.Artista;
 import com.crowdfunding.tecendoarte.models.Conta;
 import com.crowdfunding.tecendoarte.models.Projeto;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.crowdfunding.tecendoarte.repositories.ArtistaRepository;
 import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
 import com.crowdfunding.tecendoarte.services.implementations.ProjetoService;
+import com.crowdfunding.tecendoarte.services.interfaces.BuscaProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.CacheProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.FacetasProjetoServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.ArtistaEncontrado;
+import com.crowdfunding.tecendoarte.services.interfaces.IndiceNomeArtistaServiceInterface.PaginaArtistas;
+import com.crowdfunding.tecendoarte.services.interfaces.RankingProjetoServiceInterface;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +47,24 @@ class ProjetoServiceTest {
     @Mock
     private ArtistaRepository artistaRepository;
 
+    @Mock
+    private IndiceNomeArtistaServiceInterface indiceNomeArtistaService;
+
+    @Mock
+    private BuscaProjetoServiceInterface buscaProjetoService;
+
+    @Mock
+    private FacetasProjetoServiceInterface facetasProjetoService;
+
+    @Mock
+    private CacheProjetoServiceInterface cacheProjetoService;
+
+    @Mock
+    private RankingProjetoServiceInterface rankingProjetoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -73,6 +103,11 @@ class ProjetoServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testCadastraProjetoComSucesso() {
         when(artistaRepository.findById(anyLong())).thenReturn(Optional.of(artista));
@@ -83,6 +118,7 @@ class ProjetoServiceTest {
         assertNotNull(result);
         assertEquals(projeto.getTitulo(), result.getTitulo());
         verify(projetoRepository, times(1)).save(any(Projeto.class));
+        verify(eventPublisher).publishEvent(ProjetoAlteradoEvent.salvo(projeto));
     }
 
     @Test
@@ -94,17 +130,21 @@ class ProjetoServiceTest {
 
     @Test
     void testBuscarPorIdComSucesso() {
-        when(projetoRepository.findById(anyLong())).thenReturn(Optional.of(projeto));
+        when(cacheProjetoService.buscar(1L)).thenReturn(ProjetoResponseDTO.builder()
+                .idProjeto(1L)
+                .titulo(projeto.getTitulo())
+                .build());
 
         ProjetoResponseDTO result = projetoService.buscarPorId(1L);
 
         assertNotNull(result);
         assertEquals(projeto.getTitulo(), result.getTitulo());
+        verifyNoInteractions(projetoRepository);
     }
 
     @Test
     void testBuscarPorIdComProjetoInexistente() {
-        when(projetoRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(cacheProjetoService.buscar(99L)).thenThrow(new EntityNotFoundException("Projeto não encontrado."));
 
         assertThrows(EntityNotFoundException.class, () -> projetoService.buscarPorId(99L));
     }
@@ -112,14 +152,30 @@ class ProjetoServiceTest {
     @Test
     void testAtualizaProjetoComSucesso() {
         when(projetoRepository.findById(anyLong())).thenReturn(Optional.of(projeto));
-        when(projetoRepository.save(any(Projeto.class))).thenReturn(projeto);
+        when(projetoRepository.saveAndFlush(any(Projeto.class))).thenReturn(projeto);
+        when(projetoRepository.buscarStatus(1L)).thenReturn(Optional.of(StatusProjeto.APROVADO));
 
         ProjetoResponseDTO result = projetoService.atualizaProjeto(1L, projetoRequestDTO, artista.getId());
 
         assertNotNull(result);
         assertEquals(projetoRequestDTO.getTitulo(), result.getTitulo());
         assertEquals(projetoRequestDTO.getDescricaoProjeto(), result.getDescricaoProjeto());
-        verify(projetoRepository, times(1)).save(any(Projeto.class));
+        verify(projetoRepository, times(1)).saveAndFlush(any(Projeto.class));
+    }
+
+    @Test
+    void testAtualizaProjetoMantemRevisaoConcorrente() {
+        projeto.setStatus(StatusProjeto.APROVADO);
+        when(projetoRepository.findById(anyLong())).thenReturn(Optional.of(projeto));
+        when(projetoRepository.saveAndFlush(any(Projeto.class))).thenReturn(projeto);
+        // a moderação colocou o projeto em revisão entre o findById e o UPDATE da edição
+        when(projetoRepository.buscarStatus(1L)).thenReturn(Optional.of(StatusProjeto.EM_REVISAO));
+
+        ProjetoResponseDTO result = projetoService.atualizaProjeto(1L, projetoRequestDTO, artista.getId());
+
+        assertEquals(StatusProjeto.EM_REVISAO, result.getStatus());
+        verify(eventPublisher).publishEvent(argThat((ProjetoAlteradoEvent evento) ->
+                evento.status() == StatusProjeto.EM_REVISAO));
     }
 
     @Test
@@ -132,7 +188,7 @@ class ProjetoServiceTest {
 
         when(projetoRepository.findById(anyLong())).thenReturn(Optional.of(projeto));
 
-        assertThrows(IllegalArgumentException.class,
+        assertThrows(SecurityException.class,
                 () -> projetoService.atualizaProjeto(1L, projetoRequestDTO, outroArtista.getId()));
     }
 
@@ -143,6 +199,7 @@ class ProjetoServiceTest {
 
         assertDoesNotThrow(() -> projetoService.deletaProjeto(1L, artista.getId()));
         verify(projetoRepository, times(1)).delete(any(Projeto.class));
+        verify(eventPublisher).publishEvent(ProjetoAlteradoEvent.removido(1L));
     }
 
     @Test
@@ -162,12 +219,13 @@ class ProjetoServiceTest {
 
         when(projetoRepository.findById(anyLong())).thenReturn(Optional.of(projeto));
 
-        assertThrows(IllegalArgumentException.class, () -> projetoService.deletaProjeto(1L, outroArtista.getId()));
+        assertThrows(SecurityException.class, () -> projetoService.deletaProjeto(1L, outroArtista.getId()));
     }
 
     @Test
     void testConsultarProjetosPorArtistaComSucesso() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.of(artista));
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1)))
+                .thenReturn(new PaginaArtistas(List.of(new ArtistaEncontrado(1L, 2.0, true)), 1));
         when(projetoRepository.findByArtistaId(anyLong())).thenReturn(List.of(projeto));
 
         List<ProjetoResponseDTO> result = projetoService.consultarProjetosPorArtista("Artista Teste");
@@ -178,9 +236,45 @@ class ProjetoServiceTest {
         assertEquals(projeto.getTitulo(), result.get(0).getTitulo());
     }
 
+    private List<Projeto> projetoAprovadoEOutroEmRevisao() {
+        projeto.setStatus(StatusProjeto.APROVADO);
+        Projeto emRevisao = new Projeto();
+        emRevisao.setIdProjeto(2L);
+        emRevisao.setTitulo("Projeto em revisão");
+        emRevisao.setArtista(artista);
+        emRevisao.setStatus(StatusProjeto.EM_REVISAO);
+        return List.of(projeto, emRevisao);
+    }
+
+    @Test
+    void testConsultarProjetosPorArtistaOcultaProjetosEmRevisaoDoPublico() {
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1)))
+                .thenReturn(new PaginaArtistas(List.of(new ArtistaEncontrado(1L, 2.0, true)), 1));
+        when(projetoRepository.findByArtistaId(1L)).thenReturn(projetoAprovadoEOutroEmRevisao());
+
+        List<ProjetoResponseDTO> result = projetoService.consultarProjetosPorArtista("Artista Teste");
+
+        assertEquals(List.of(1L), result.stream().map(ProjetoResponseDTO::getIdProjeto).toList());
+    }
+
+    @Test
+    void testConsultarProjetosPorArtistaMostraProjetosEmRevisaoAoProprioArtista() {
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+        when(authentication.getPrincipal()).thenReturn(
+                new UsuarioAutenticado(artista.getConta().getEmail(), "ARTISTA", 1L, artista.getId(), null, null));
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1)))
+                .thenReturn(new PaginaArtistas(List.of(new ArtistaEncontrado(1L, 2.0, true)), 1));
+        when(projetoRepository.findByArtistaId(1L)).thenReturn(projetoAprovadoEOutroEmRevisao());
+
+        List<ProjetoResponseDTO> result = projetoService.consultarProjetosPorArtista("Artista Teste");
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ProjetoResponseDTO::getIdProjeto).toList());
+    }
+
     @Test
     void testConsultarProjetosPorArtistaComArtistaInexistente() {
-        when(artistaRepository.findByContaNomeContainingIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(indiceNomeArtistaService.buscar(anyString(), eq(0), eq(1))).thenReturn(new PaginaArtistas(List.of(), 0));
 
         assertThrows(EntityNotFoundException.class,
                 () -> projetoService.consultarProjetosPorArtista("Artista Inexistente"));
@@ -209,4 +303,18 @@ class ProjetoServiceTest {
 
         assertThrows(EntityNotFoundException.class, () -> projetoService.getIdArtistaAutenticado());
     }
+
+    @Test
+    void testGetIdArtistaAutenticadoUsaIdDoPrincipalSemConsultarBanco() {
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        when(authentication.getPrincipal()).thenReturn(
+                new UsuarioAutenticado(artista.getConta().getEmail(), "ARTISTA", 1L, artista.getId(), null, null));
+
+        Long id = projetoService.getIdArtistaAutenticado();
+
+        assertEquals(artista.getId(), id);
+        verifyNoInteractions(artistaRepository);
+    }
 }
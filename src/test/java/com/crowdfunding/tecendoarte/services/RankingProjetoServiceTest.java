@@ -0,0 +1,103 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository.FacetasProjeto;
+import com.crowdfunding.tecendoarte.services.implementations.RankingProjetoService;
+import com.crowdfunding.tecendoarte.services.interfaces.RankingProjetoServiceInterface.ProjetoRanqueado;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RankingProjetoServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private DoacaoRepository doacaoRepository;
+
+    private List<Long> ids(List<ProjetoRanqueado> ranking) {
+        return ranking.stream().map(ProjetoRanqueado::idProjeto).toList();
+    }
+
+    @Test
+    @DisplayName("Deve colocar doações recentes acima de doações maiores porém antigas")
+    void deveDecairDoacoesAntigas() {
+        RankingProjetoService ranking = new RankingProjetoService(projetoRepository, doacaoRepository, 1, "");
+        LocalDateTime agora = LocalDateTime.now();
+        ranking.registrarDoacao(1L, 100_000, agora.minusHours(10));
+        ranking.registrarDoacao(2L, 1_000, agora);
+        ranking.registrarDoacao(3L, 500, agora.minusHours(1));
+        ranking.registrarDoacao(3L, 500, agora.minusHours(1));
+
+        assertEquals(List.of(2L, 3L, 1L), ids(ranking.emAlta(10)));
+        assertEquals(List.of(2L, 3L), ids(ranking.emAlta(2)));
+        assertTrue(ranking.emAlta(1).get(0).pontuacao() < 3.5);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar projetos abertos pelo percentual financiado, sem incluir os já financiados")
+    void deveOrdenarPertoDaMeta() {
+        RankingProjetoService ranking = new RankingProjetoService(projetoRepository, doacaoRepository, 24, "");
+        ranking.registrarProjeto(1L, StatusProjeto.APROVADO, 10_000, 9_000);
+        ranking.registrarProjeto(2L, StatusProjeto.APROVADO, 10_000, 5_000);
+        ranking.registrarProjeto(3L, StatusProjeto.APROVADO, 10_000, 10_000);
+        ranking.registrarProjeto(4L, StatusProjeto.AGUARDANDO_AVALIACAO, 10_000, 9_500);
+        ranking.registrarProjeto(5L, StatusProjeto.APROVADO, 10_000, 0);
+
+        assertEquals(List.of(1L, 2L), ids(ranking.pertoDaMeta(10)));
+
+        ranking.registrarDoacao(2L, 4_600, LocalDateTime.now());
+        assertEquals(List.of(2L, 1L), ids(ranking.pertoDaMeta(10)));
+        assertEquals(0.96, ranking.pertoDaMeta(1).get(0).pontuacao(), 1e-9);
+
+        ranking.registrarProjeto(2L, StatusProjeto.REJEITADO, 10_000, 5_000);
+        assertEquals(List.of(1L), ids(ranking.pertoDaMeta(10)));
+        assertTrue(ranking.emAlta(10).isEmpty());
+
+        ranking.registrarDoacao(1L, 1_000, LocalDateTime.now());
+        assertTrue(ranking.pertoDaMeta(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve restaurar o ranking em alta do snapshot sem recalcular as doações antigas")
+    void deveRestaurarDoSnapshot(@TempDir Path diretorio) {
+        Path arquivo = diretorio.resolve("rankings.bin");
+        FacetasProjeto projeto = mock(FacetasProjeto.class);
+        when(projeto.getIdProjeto()).thenReturn(1L);
+        when(projeto.getStatus()).thenReturn(StatusProjeto.APROVADO);
+        when(projeto.getMetaCentavos()).thenReturn(10_000L);
+        when(projeto.getDataCriacao()).thenReturn(LocalDate.now());
+        when(projetoRepository.listarFacetasAposCursor(any(), any(), any())).thenReturn(List.of(projeto));
+
+        RankingProjetoService original = new RankingProjetoService(projetoRepository, doacaoRepository, 24, arquivo.toString());
+        original.carregar();
+        original.registrarDoacao(1L, 2_000, LocalDateTime.now());
+        original.registrarDoacao(7L, 2_000, LocalDateTime.now());
+        original.salvarSnapshotSeAlterado();
+        assertTrue(Files.exists(arquivo));
+
+        RankingProjetoService restaurado = new RankingProjetoService(projetoRepository, doacaoRepository, 24, arquivo.toString());
+        restaurado.carregar();
+
+        // o projeto 7 não existe mais no banco e fica de fora
+        assertEquals(List.of(1L), ids(restaurado.emAlta(10)));
+        assertEquals(original.emAlta(1).get(0).pontuacao(), restaurado.emAlta(1).get(0).pontuacao(), 1e-3);
+        verify(doacaoRepository, atLeastOnce()).listarRecentesAposCursor(any(), eq(0L), any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.events.DoacaoConfirmadaEvent;
+import com.crowdfunding.tecendoarte.events.ProjetoAlteradoEvent;
+import com.crowdfunding.tecendoarte.events.UsuarioAlteradoEvent;
+import com.crowdfunding.tecendoarte.models.Conta;
+import com.crowdfunding.tecendoarte.models.Usuario;
+import com.crowdfunding.tecendoarte.models.enums.StatusProjeto;
+import com.crowdfunding.tecendoarte.models.enums.TipoArte;
+import com.crowdfunding.tecendoarte.repositories.ComentarioRepository;
+import com.crowdfunding.tecendoarte.repositories.ComentarioRepository.ProjetoComentado;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository;
+import com.crowdfunding.tecendoarte.repositories.DoacaoRepository.ProjetoApoiado;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
+import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.implementations.RecomendacaoProjetoService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecomendacaoProjetoServiceTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private DoacaoRepository doacaoRepository;
+
+    @Mock
+    private ComentarioRepository comentarioRepository;
+
+    private RecomendacaoProjetoService recomendacoes;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        recomendacoes = new RecomendacaoProjetoService(usuarioRepository, projetoRepository,
+                doacaoRepository, comentarioRepository, 100);
+        usuario = Usuario.builder()
+                .id(1L)
+                .conta(Conta.builder().idConta(10L).build())
+                .interesses(new ArrayList<>(List.of(TipoArte.PINTURA)))
+                .build();
+    }
+
+    private void aprovar(long idProjeto, long idArtista, TipoArte tipoArte, LocalDate dataCriacao) {
+        recomendacoes.aoAlterarProjeto(new ProjetoAlteradoEvent(idProjeto, false, "Projeto " + idProjeto, null, null,
+                StatusProjeto.APROVADO, tipoArte, 10_000, 0, dataCriacao, idArtista));
+    }
+
+    private ProjetoApoiado apoiado(Long idProjeto, Long idArtista, TipoArte tipoArte) {
+        ProjetoApoiado apoiado = mock(ProjetoApoiado.class);
+        when(apoiado.getIdProjeto()).thenReturn(idProjeto);
+        when(apoiado.getIdArtista()).thenReturn(idArtista);
+        when(apoiado.getTipoArte()).thenReturn(tipoArte);
+        return apoiado;
+    }
+
+    private ProjetoComentado comentado(Long idArtista, TipoArte tipoArte) {
+        ProjetoComentado comentado = mock(ProjetoComentado.class);
+        when(comentado.getIdArtista()).thenReturn(idArtista);
+        when(comentado.getTipoArte()).thenReturn(tipoArte);
+        return comentado;
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por afinidade, sem repetir projetos já apoiados, desempatando pelos mais recentes")
+    void deveOrdenarPorAfinidade() {
+        LocalDate hoje = LocalDate.now();
+        aprovar(1L, 100L, TipoArte.ESCULTURA, hoje.minusDays(9));
+        aprovar(2L, 100L, TipoArte.ESCULTURA, hoje.minusDays(8));
+        aprovar(3L, 200L, TipoArte.PINTURA, hoje.minusDays(7));
+        aprovar(4L, 300L, TipoArte.FOTOGRAFIA, hoje.minusDays(6));
+        aprovar(5L, 400L, TipoArte.DESENHO, hoje.minusDays(5));
+        aprovar(6L, 500L, TipoArte.PINTURA, hoje.minusDays(4));
+        recomendacoes.remontarCandidatos();
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        List<ProjetoApoiado> apoiados = List.of(apoiado(1L, 100L, TipoArte.ESCULTURA));
+        List<ProjetoComentado> comentados = List.of(comentado(300L, TipoArte.FOTOGRAFIA));
+        when(doacaoRepository.listarProjetosApoiados(10L)).thenReturn(apoiados);
+        when(comentarioRepository.listarProjetosComentados(10L)).thenReturn(comentados);
+
+        // 2: artista apoiado + tipo apoiado; 6, 4 e 3 empatam (interesse ou artista e tipo comentados)
+        assertEquals(List.of(2L, 6L, 4L, 3L, 5L), recomendacoes.recomendar(1L, 10));
+        assertEquals(List.of(2L, 6L), recomendacoes.recomendar(1L, 2));
+        verify(usuarioRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recalcular quando o usuário muda, doa ou o catálogo muda")
+    void deveInvalidarCache() {
+        LocalDate hoje = LocalDate.now();
+        aprovar(1L, 100L, TipoArte.ESCULTURA, hoje.minusDays(2));
+        aprovar(2L, 200L, TipoArte.PINTURA, hoje.minusDays(1));
+        recomendacoes.remontarCandidatos();
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        assertEquals(List.of(2L, 1L), recomendacoes.recomendar(1L, 10));
+
+        usuario.setInteresses(new ArrayList<>(List.of(TipoArte.ESCULTURA)));
+        recomendacoes.aoAlterarUsuario(new UsuarioAlteradoEvent(1L));
+        assertEquals(List.of(1L, 2L), recomendacoes.recomendar(1L, 10));
+
+        List<ProjetoApoiado> apoiados = List.of(apoiado(1L, 100L, TipoArte.ESCULTURA));
+        when(doacaoRepository.listarProjetosApoiados(10L)).thenReturn(apoiados);
+        recomendacoes.aoConfirmarDoacao(new DoacaoConfirmadaEvent(1L, 10L, 500, LocalDateTime.now()));
+        assertEquals(List.of(2L), recomendacoes.recomendar(1L, 10));
+
+        recomendacoes.aoAlterarProjeto(ProjetoAlteradoEvent.removido(2L));
+        recomendacoes.remontarCandidatos();
+        assertTrue(recomendacoes.recomendar(1L, 10).isEmpty());
+        verify(usuarioRepository, times(4)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve dividir catálogos grandes em partes sem perder os melhores candidatos")
+    void deveSelecionarEmParalelo() {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        for (long id = 1; id <= 20_000; id++) {
+            aprovar(id, id, id % 1000 == 0 ? TipoArte.PINTURA : TipoArte.OUTRO, inicio.plusDays(id % 365));
+        }
+        recomendacoes.remontarCandidatos();
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        List<Long> recomendados = recomendacoes.recomendar(1L, 20);
+
+        assertEquals(20, recomendados.size());
+        assertTrue(recomendados.stream().allMatch(id -> id % 1000 == 0));
+    }
+
+    @Test
+    @DisplayName("Não deve descartar o cache quando o projeto é salvo sem mudar o que conta na pontuação")
+    void naoDeveDescartarCacheSemMudancaNosCandidatos() {
+        LocalDate hoje = LocalDate.now();
+        aprovar(1L, 100L, TipoArte.PINTURA, hoje);
+        recomendacoes.remontarCandidatos();
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        assertEquals(List.of(1L), recomendacoes.recomendar(1L, 10));
+
+        // título ou valor arrecadado mudaram; artista, tipo e data continuam os mesmos
+        aprovar(1L, 100L, TipoArte.PINTURA, hoje);
+        recomendacoes.remontarCandidatos();
+        assertEquals(List.of(1L), recomendacoes.recomendar(1L, 10));
+
+        // um novo candidato só entra na próxima remontagem, fora da requisição
+        aprovar(2L, 200L, TipoArte.PINTURA, hoje.plusDays(1));
+        assertEquals(List.of(1L), recomendacoes.recomendar(1L, 10));
+        recomendacoes.remontarCandidatos();
+        assertEquals(List.of(2L, 1L), recomendacoes.recomendar(1L, 10));
+        verify(usuarioRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para usuário inexistente")
+    void deveLancarExcecaoParaUsuarioInexistente() {
+        when(usuarioRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> recomendacoes.recomendar(9L, 10));
+    }
+}
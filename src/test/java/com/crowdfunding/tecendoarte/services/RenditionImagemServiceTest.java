@@ -0,0 +1,101 @@
+package com.crowdfunding.tecendoarte.services;
+
+import com.crowdfunding.tecendoarte.services.implementations.RenditionImagemService;
+import com.crowdfunding.tecendoarte.services.interfaces.ArmazenamentoImagemServiceInterface;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RenditionImagemServiceTest {
+
+    private static final String HASH = "abc123";
+
+    @Mock
+    private ArmazenamentoImagemServiceInterface armazenamentoImagemService;
+
+    private final AtomicBoolean poolCheio = new AtomicBoolean();
+    private final AtomicInteger tarefasNoPool = new AtomicInteger();
+
+    private RenditionImagemService service;
+
+    @BeforeEach
+    void setUp() {
+        TaskExecutor executor = tarefa -> {
+            if (poolCheio.get()) {
+                throw new TaskRejectedException("fila cheia");
+            }
+            tarefasNoPool.incrementAndGet();
+            tarefa.run();
+        };
+        service = new RenditionImagemService(armazenamentoImagemService, executor);
+    }
+
+    @Test
+    @DisplayName("Leitura com o pool cheio não deve gerar renditions na thread da requisição")
+    void leituraComPoolCheioNaoDeveGerarNaThreadAtual() {
+        poolCheio.set(true);
+
+        service.agendarSeHouverVaga(HASH);
+
+        verifyNoInteractions(armazenamentoImagemService);
+
+        // A desistência libera o hash: com vaga, a próxima leitura agenda normalmente
+        poolCheio.set(false);
+        when(armazenamentoImagemService.localizar(HASH)).thenThrow(new IllegalStateException("sem original"));
+
+        service.agendarSeHouverVaga(HASH);
+
+        assertEquals(1, tarefasNoPool.get());
+    }
+
+    @Test
+    @DisplayName("Upload com o pool cheio deve gerar renditions na própria thread")
+    void uploadComPoolCheioDeveGerarNaThreadAtual() {
+        poolCheio.set(true);
+        when(armazenamentoImagemService.localizar(HASH)).thenThrow(new IllegalStateException("sem original"));
+
+        service.agendar(HASH);
+
+        verify(armazenamentoImagemService).localizar(HASH);
+        assertEquals(0, tarefasNoPool.get());
+    }
+
+    @Test
+    @DisplayName("Falha na geração não deve marcar a imagem como processada")
+    void falhaNaGeracaoDeveSerTentadaDeNovo() {
+        when(armazenamentoImagemService.localizar(HASH)).thenThrow(new IllegalStateException("disco indisponível"));
+
+        service.agendar(HASH);
+        service.agendar(HASH);
+
+        assertEquals(2, tarefasNoPool.get());
+    }
+
+    @Test
+    @DisplayName("Imagem processada com sucesso não deve ser agendada de novo")
+    void imagemProcessadaNaoDeveSerAgendadaDeNovo(@TempDir Path diretorio) throws IOException {
+        Path original = Files.writeString(diretorio.resolve(HASH), "sem leitor de imagem para este conteúdo");
+        when(armazenamentoImagemService.localizar(HASH)).thenReturn(original);
+
+        service.agendar(HASH);
+        service.agendarSeHouverVaga(HASH);
+
+        assertEquals(1, tarefasNoPool.get());
+    }
+}
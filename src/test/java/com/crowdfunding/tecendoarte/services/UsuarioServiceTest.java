@@ -1,5 +1,6 @@
 package com.crowdfunding.tecendoarte.services;
 
+import com.crowdfunding.tecendoarte.dto.ProjetoDTO.ProjetoResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioRequestDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioResponseDTO;
 import com.crowdfunding.tecendoarte.dto.UsuarioDTO.UsuarioLoginRequestDTO;
@@ -10,10 +11,17 @@ import com.crowdfunding.tecendoarte.models.Usuario;
 import com.crowdfunding.tecendoarte.models.enums.TipoArte;
 import com.crowdfunding.tecendoarte.models.enums.TipoConta;
 import com.crowdfunding.tecendoarte.repositories.ContaRepository;
+import com.crowdfunding.tecendoarte.repositories.ProjetoRepository;
 import com.crowdfunding.tecendoarte.repositories.UsuarioRepository;
+import com.crowdfunding.tecendoarte.services.interfaces.RecomendacaoProjetoServiceInterface;
 import com.crowdfunding.tecendoarte.config.JwtUtil;
+import com.crowdfunding.tecendoarte.config.UsuarioAutenticado;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -39,6 +47,15 @@ class UsuarioServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private RecomendacaoProjetoServiceInterface recomendacaoProjetoService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UsuarioService usuarioService;
 
@@ -59,6 +76,16 @@ class UsuarioServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void autenticar(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
     @Test
     void deveCriarUsuarioComSucesso() {
         UsuarioRequestDTO dto = new UsuarioRequestDTO();
@@ -143,7 +170,7 @@ class UsuarioServiceTest {
         when(contaRepository.findByEmail("usuario@teste.com")).thenReturn(Optional.of(conta));
         when(passwordEncoder.matches("senha123", "senha_criptografada")).thenReturn(true);
         when(usuarioRepository.findByConta(conta)).thenReturn(Optional.of(usuario));
-        when(jwtUtil.generateTokenForUsuario(1L, "usuario@teste.com")).thenReturn("token_jwt");
+        when(jwtUtil.generateTokenForUsuario(1L, 1L, "usuario@teste.com")).thenReturn("token_jwt");
 
         UsuarioLoginResponseDTO response = usuarioService.login(request);
 
@@ -157,7 +184,33 @@ class UsuarioServiceTest {
         verify(contaRepository).findByEmail("usuario@teste.com");
         verify(passwordEncoder).matches("senha123", "senha_criptografada");
         verify(usuarioRepository).findByConta(conta);
-        verify(jwtUtil).generateTokenForUsuario(1L, "usuario@teste.com");
+        verify(jwtUtil).generateTokenForUsuario(1L, 1L, "usuario@teste.com");
+    }
+
+    @Test
+    void login_ComHashDesatualizado_DeveRegravarSenhaSemSalvarAConta() {
+        UsuarioLoginRequestDTO request = new UsuarioLoginRequestDTO();
+        request.setEmail("usuario@teste.com");
+        request.setSenha("senha123");
+
+        Conta conta = Conta.builder()
+                .idConta(1L)
+                .email("usuario@teste.com")
+                .senha("hash_antigo")
+                .nome("Usuário Teste")
+                .tipoConta(TipoConta.USUARIO)
+                .build();
+
+        when(contaRepository.findByEmail("usuario@teste.com")).thenReturn(Optional.of(conta));
+        when(passwordEncoder.matches("senha123", "hash_antigo")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hash_antigo")).thenReturn(true);
+        when(passwordEncoder.encode("senha123")).thenReturn("{argon2}hash_novo");
+        when(usuarioRepository.findByConta(conta)).thenReturn(Optional.of(Usuario.builder().id(1L).conta(conta).build()));
+
+        usuarioService.login(request);
+
+        verify(contaRepository).regravarSenha(1L, "hash_antigo", "{argon2}hash_novo");
+        verify(contaRepository, never()).save(any());
     }
 
     @Test
@@ -232,4 +285,34 @@ class UsuarioServiceTest {
         verify(usuarioRepository).findByConta(conta);
         verifyNoInteractions(jwtUtil);
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveListarRecomendacoesNaOrdemDoRecomendador() {
+        autenticar(new UsuarioAutenticado("usuario@teste.com", "USUARIO", 1L, null, 1L, null));
+        when(recomendacaoProjetoService.recomendar(1L, 10)).thenReturn(List.of(3L, 1L));
+        when(projetoRepository.listarResumosNaOrdem(List.of(3L, 1L))).thenReturn(List.of(
+                ProjetoResponseDTO.builder().idProjeto(3L).build(),
+                ProjetoResponseDTO.builder().idProjeto(1L).build()));
+
+        List<ProjetoResponseDTO> recomendados = usuarioService.listarRecomendacoes(1L, null);
+
+        assertEquals(List.of(3L, 1L), recomendados.stream().map(ProjetoResponseDTO::getIdProjeto).toList());
+    }
+
+    @Test
+    void deveRejeitarLimiteDeRecomendacoesInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> usuarioService.listarRecomendacoes(1L, 0));
+        assertThrows(IllegalArgumentException.class, () -> usuarioService.listarRecomendacoes(1L, 101));
+        verifyNoInteractions(recomendacaoProjetoService);
+    }
+
+    @Test
+    void deveNegarRecomendacoesDeOutroUsuario() {
+        autenticar("outro@teste.com");
+        Usuario outro = Usuario.builder().id(2L).conta(conta).build();
+        when(usuarioRepository.findByContaEmail("outro@teste.com")).thenReturn(Optional.of(outro));
+
+        assertThrows(SecurityException.class, () -> usuarioService.listarRecomendacoes(1L, null));
+        verifyNoInteractions(recomendacaoProjetoService);
+    }
+}
@@ -0,0 +1,81 @@
+-- Banco como o ddl-auto=update deixava antes das migrações: valores em reais (double precision),
+-- conteúdo das imagens em objetos grandes (oid do @Lob byte[]), CHECK nas colunas de enum e denuncia
+-- sem a coluna versao. Tabelas que o teste não usa ficam para a V1 criar.
+
+CREATE TABLE administrador (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome  VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    senha VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE conta (
+    id_conta   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    senha      VARCHAR(255) NOT NULL,
+    nome       VARCHAR(255) NOT NULL,
+    tipo_conta VARCHAR(255) NOT NULL CHECK (tipo_conta IN ('USUARIO', 'ARTISTA', 'ADMIN'))
+);
+
+CREATE TABLE artistas (
+    id_artista        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id_conta          BIGINT NOT NULL UNIQUE REFERENCES conta (id_conta),
+    descricao_artista TEXT
+);
+
+CREATE TABLE projetos (
+    id_projeto           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo               VARCHAR(255)     NOT NULL,
+    descricao_projeto    VARCHAR(255)     NOT NULL,
+    meta                 DOUBLE PRECISION NOT NULL,
+    valor_arrecadado     DOUBLE PRECISION,
+    data_criacao         DATE             NOT NULL,
+    status               VARCHAR(255)     NOT NULL CHECK (status IN ('AGUARDANDO_AVALIACAO', 'APROVADO', 'REJEITADO')),
+    descricao_recompensa TEXT,
+    id_validator         BIGINT REFERENCES administrador (id),
+    tipo_arte            VARCHAR(255)     NOT NULL,
+    id_artista           BIGINT           NOT NULL REFERENCES artistas (id_artista)
+);
+
+CREATE TABLE imagens (
+    id_imagem    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dados_imagem OID NOT NULL,
+    descricao    VARCHAR(500),
+    id_projeto   BIGINT REFERENCES projetos (id_projeto),
+    id_artista   BIGINT REFERENCES artistas (id_artista)
+);
+
+CREATE TABLE doacao (
+    id_doacao  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    valor      DOUBLE PRECISION NOT NULL,
+    data       TIMESTAMP(6)     NOT NULL,
+    conta_id   BIGINT           NOT NULL REFERENCES conta (id_conta),
+    projeto_id BIGINT           NOT NULL REFERENCES projetos (id_projeto)
+);
+
+CREATE TABLE denuncia (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo          VARCHAR(255) NOT NULL CHECK (tipo IN ('PROJETO', 'ARTISTA', 'USUARIO')),
+    descricao     TEXT         NOT NULL,
+    status        VARCHAR(255) NOT NULL CHECK (status IN ('PENDENTE', 'PROCEDENTE', 'IMPROCEDENTE')),
+    id_adm        BIGINT REFERENCES administrador (id),
+    conta_id      BIGINT       NOT NULL REFERENCES conta (id_conta),
+    id_alvo       BIGINT       NOT NULL,
+    projeto_id    BIGINT REFERENCES projetos (id_projeto),
+    criado_em     TIMESTAMP(6) NOT NULL,
+    atualizado_em TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO conta (id_conta, email, senha, nome, tipo_conta)
+VALUES (1, 'artista@legado.com', 'senha-legada', 'Artista Legado', 'ARTISTA');
+INSERT INTO artistas (id_artista, id_conta) VALUES (1, 1);
+
+INSERT INTO projetos (id_projeto, titulo, descricao_projeto, meta, valor_arrecadado, data_criacao, status, tipo_arte, id_artista)
+VALUES (1, 'Bordados', 'Projeto com doações', 1500.5, 20.1, '2024-03-01', 'APROVADO', 'PINTURA', 1),
+       (2, 'Cerâmica', 'Projeto sem arrecadação', 300, NULL, '2024-03-02', 'AGUARDANDO_AVALIACAO', 'ESCULTURA', 1);
+
+INSERT INTO doacao (valor, data, conta_id, projeto_id) VALUES (20.1, '2024-03-05 10:00:00', 1, 1);
+
+-- Assinatura PNG seguida de bytes quaisquer: a conversão detecta o tipo pelo início do conteúdo
+INSERT INTO imagens (dados_imagem, descricao, id_projeto)
+VALUES (lo_from_bytea(0, decode('89504e470d0a1a0a0000000d494844520000000100000001', 'hex')), 'capa', 1);